@@ -0,0 +1,114 @@
+#!/usr/bin/env python3
+"""Compare a JMH JSON result file against the committed baseline.
+
+Usage:
+    python3 src/jmh/compare_results.py [RESULT] [--baseline FILE] [--threshold PERCENT] [--allow-new] [--update]
+
+RESULT defaults to target/jmh-result.json (written by `mvn -Pjmh test-compile exec:exec`).
+A benchmark regresses when its score is worse than the baseline by more than the threshold
+(default 10%) and by more than the combined error of both runs; percentages are positive
+when slower. A benchmark without a baseline entry fails too, so a suite is never skipped
+silently; --allow-new only reports it. The exit code is 1 if any benchmark regressed or has
+no baseline. --update merges the result into the baseline: entries of the benchmarks in the
+result are replaced, all others are kept, so suites can be recorded one at a time.
+"""
+
+import argparse
+import json
+import os
+import sys
+
+HERE = os.path.dirname(os.path.abspath(__file__))
+DEFAULT_BASELINE = os.path.join(HERE, "baseline.json")
+DEFAULT_RESULT = os.path.join(HERE, "..", "..", "target", "jmh-result.json")
+
+
+def key(entry):
+    params = entry.get("params") or {}
+    suffix = ",".join(f"{name}={params[name]}" for name in sorted(params))
+    return f"{entry['benchmark']}:{entry['mode']}" + (f"[{suffix}]" if suffix else "")
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        return {key(entry): entry for entry in json.load(f)}
+
+
+def score(entry):
+    metric = entry["primaryMetric"]
+    error = metric.get("scoreError")
+    # JMH writes "NaN" when there are too few iterations to estimate the error
+    if not isinstance(error, (int, float)) or error != error:
+        error = 0.0
+    return metric["score"], error, metric["scoreUnit"]
+
+
+def change(mode, baseline, current):
+    """Relative change where positive means slower."""
+    if baseline == 0:
+        return 0.0
+    if mode == "thrpt":
+        return (baseline - current) / baseline
+    return (current - baseline) / baseline
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Flag JMH regressions against the baseline.")
+    parser.add_argument("result", nargs="?", default=DEFAULT_RESULT)
+    parser.add_argument("--baseline", default=DEFAULT_BASELINE)
+    parser.add_argument("--threshold", type=float, default=10.0, help="allowed slowdown in percent")
+    parser.add_argument("--allow-new", action="store_true", help="do not fail on benchmarks without a baseline")
+    parser.add_argument("--update", action="store_true", help="merge the result into the baseline")
+    args = parser.parse_args()
+
+    if args.update:
+        merged = load(args.baseline)
+        merged.update(load(args.result))
+        with open(args.baseline, "w", encoding="utf-8") as f:
+            json.dump([merged[name] for name in sorted(merged)], f, indent=4)
+            f.write("\n")
+        print(f"Baseline updated from {args.result}")
+        return 0
+
+    baseline = load(args.baseline)
+    current = load(args.result)
+    regressions = 0
+    unrecorded = 0
+
+    for name in sorted(current):
+        entry = current[name]
+        value, error, unit = score(entry)
+        if name not in baseline:
+            print(f"NEW        {name}: {value:.3f} {unit}")
+            unrecorded += 1
+            continue
+        base_value, base_error, base_unit = score(baseline[name])
+        if unit != base_unit:
+            print(f"SKIPPED    {name}: unit changed from {base_unit} to {unit}")
+            continue
+        delta = change(entry["mode"], base_value, value)
+        significant = abs(value - base_value) > error + base_error
+        if delta * 100 > args.threshold and significant:
+            status = "REGRESSION"
+            regressions += 1
+        elif delta * 100 < -args.threshold and significant:
+            status = "IMPROVED"
+        else:
+            status = "OK"
+        print(f"{status:<10} {name}: {base_value:.3f} -> {value:.3f} {unit} ({delta * 100:+.1f}%)")
+
+    for name in sorted(set(baseline) - set(current)):
+        print(f"MISSING    {name}")
+
+    failed = False
+    if regressions:
+        print(f"{regressions} benchmark(s) regressed by more than {args.threshold:g}%")
+        failed = True
+    if unrecorded and not args.allow_new:
+        print(f"{unrecorded} benchmark(s) have no baseline; record them with --update")
+        failed = True
+    return 1 if failed else 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
@@ -0,0 +1,388 @@
+package com.example.purnima;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load generator for the REST API.
+ * <p>
+ * Boots the application on a random local port (or targets {@code url=...}) and runs a fixed
+ * number of virtual users, each sending the next request as soon as the previous one returns.
+ * Requests follow a configurable endpoint mix; places and dates are drawn from Zipf
+ * distributions, so a few popular cities and days dominate as they do in real traffic.
+ * After a warmup, latency percentiles, throughput and errors are reported per endpoint.
+ * <p>
+ * Options are {@code key=value} arguments; arguments starting with {@code --} are passed to
+ * Spring, e.g. {@code --purnima.admission.enabled=false}.
+ * <ul>
+ *   <li>{@code duration} - measured seconds (default 60)</li>
+ *   <li>{@code warmup} - seconds before measuring (default 15)</li>
+ *   <li>{@code users} - concurrent virtual users (default 16)</li>
+ *   <li>{@code mix} - endpoint weights (default panchang=35,chart=20,compatibility=10,dasa=20,muhurta=15)</li>
+ *   <li>{@code zipf} - Zipf exponent for places and dates (default 1.1)</li>
+ *   <li>{@code muhurta-days} - length of muhurta range searches (default 7)</li>
+ *   <li>{@code seed} - random seed (default 42)</li>
+ *   <li>{@code url} - base URL of a running server instead of booting one</li>
+ * </ul>
+ */
+public class LoadTest {
+
+    private static final String DEFAULT_MIX = "panchang=35,chart=20,compatibility=10,dasa=20,muhurta=15";
+
+    /** Name, latitude, longitude and time zone; ordered by popularity. */
+    private static final String[][] PLACES = {
+        {"Mumbai", "19.0760", "72.8777", "Asia/Kolkata"},
+        {"New Delhi", "28.6139", "77.2090", "Asia/Kolkata"},
+        {"Bengaluru", "12.9716", "77.5946", "Asia/Kolkata"},
+        {"Hyderabad", "17.3850", "78.4867", "Asia/Kolkata"},
+        {"Chennai", "13.0827", "80.2707", "Asia/Kolkata"},
+        {"Kolkata", "22.5726", "88.3639", "Asia/Kolkata"},
+        {"Pune", "18.5204", "73.8567", "Asia/Kolkata"},
+        {"Ahmedabad", "23.0225", "72.5714", "Asia/Kolkata"},
+        {"London", "51.5074", "-0.1278", "Europe/London"},
+        {"New York", "40.7128", "-74.0060", "America/New_York"},
+        {"Singapore", "1.3521", "103.8198", "Asia/Singapore"},
+        {"Dubai", "25.2048", "55.2708", "Asia/Dubai"},
+        {"Kathmandu", "27.7172", "85.3240", "Asia/Kathmandu"},
+        {"Colombo", "6.9271", "79.8612", "Asia/Colombo"},
+        {"Toronto", "43.6532", "-79.3832", "America/Toronto"},
+        {"San Francisco", "37.7749", "-122.4194", "America/Los_Angeles"},
+        {"Sydney", "-33.8688", "151.2093", "Australia/Sydney"},
+        {"Johannesburg", "-26.2041", "28.0473", "Africa/Johannesburg"},
+        {"Varanasi", "25.3176", "82.9739", "Asia/Kolkata"},
+        {"Tromso", "69.6492", "18.9553", "Europe/Oslo"}
+    };
+
+    private static final String[] MUHURTA_SEARCHES = {
+        "vehicle", "marriage", "griha-pravesh", "business", "namakarana", "property"
+    };
+
+    private static final int DATES = 730;
+    private static final int BIRTHS = 2000;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                springArgs.add(arg);
+            } else if (arg.contains("=")) {
+                options.put(arg.substring(0, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int users = Integer.parseInt(options.getOrDefault("users", "16"));
+        double zipf = Double.parseDouble(options.getOrDefault("zipf", "1.1"));
+        int muhurtaDays = Integer.parseInt(options.getOrDefault("muhurta-days", "7"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Map<String, Integer> mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("url");
+        if (baseUrl == null) {
+            context = new SpringApplicationBuilder(PurnimaApplication.class)
+                // The generator stands in for a gateway, so each virtual user keeps its own budget
+                .properties("server.port=0", "purnima.admission.trusted-proxies=127.0.0.1,0:0:0:0:0:0:0:1")
+                .run(springArgs.toArray(new String[0]));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port;
+        }
+
+        try {
+            Workload workload = new Workload(baseUrl, mix, zipf, muhurtaDays, seed);
+            System.out.printf("Load test against %s: %d users, %ds warmup, %ds measured, mix %s%n",
+                baseUrl, users, warmup, duration, mix);
+            run(workload, users, warmup, seed);
+            Result result = run(workload, users, duration, seed + 1);
+            result.print(duration);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            String endpoint = parts[0].trim();
+            if (!Arrays.asList("panchang", "chart", "compatibility", "dasa", "muhurta").contains(endpoint)) {
+                throw new IllegalArgumentException("Unknown endpoint in mix: " + endpoint);
+            }
+            weights.put(endpoint, Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static Result run(Workload workload, int users, int seconds, long seed) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Future<Result>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                Random random = new Random(seed * 31 + user);
+                String clientId = "load-" + user;
+                futures.add(executor.submit(() -> runUser(client, workload, random, clientId, deadline)));
+            }
+        }
+        Result total = new Result();
+        for (Future<Result> future : futures) {
+            total.merge(future.get());
+        }
+        return total;
+    }
+
+    private static Result runUser(HttpClient client, Workload workload, Random random, String clientId, long deadline) {
+        Result result = new Result();
+        while (System.nanoTime() < deadline) {
+            Workload.Call call = workload.next(random);
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(call.url))
+                .timeout(Duration.ofSeconds(60))
+                .header("X-Client-Id", clientId);
+            if (call.body != null) {
+                request.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(call.body));
+            }
+            long start = System.nanoTime();
+            String outcome;
+            try {
+                HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+                outcome = response.statusCode() / 100 == 2 ? null : "HTTP " + response.statusCode();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                outcome = e.getClass().getSimpleName();
+            }
+            result.record(call.endpoint, System.nanoTime() - start, outcome);
+        }
+        return result;
+    }
+
+    /**
+     * Generates requests for the configured endpoint mix.
+     */
+    private static final class Workload {
+        private final String baseUrl;
+        private final String[] endpoints;
+        private final double[] endpointCdf;
+        private final double[] placeCdf;
+        private final double[] dateCdf;
+        private final LocalDate[] dates;
+        private final LocalDateTime[] births;
+        private final int muhurtaDays;
+
+        Workload(String baseUrl, Map<String, Integer> mix, double zipf, int muhurtaDays, long seed) {
+            this.baseUrl = baseUrl;
+            this.muhurtaDays = muhurtaDays;
+            this.endpoints = mix.keySet().toArray(new String[0]);
+            this.endpointCdf = cdf(mix.values().stream().mapToDouble(Integer::doubleValue).toArray());
+            this.placeCdf = zipfCdf(PLACES.length, zipf);
+            this.dateCdf = zipfCdf(DATES, zipf);
+
+            // Popular dates are scattered over two years rather than consecutive
+            Random random = new Random(seed);
+            List<LocalDate> days = new ArrayList<>();
+            LocalDate first = LocalDate.of(2025, 1, 1);
+            for (int i = 0; i < DATES; i++) {
+                days.add(first.plusDays(i));
+            }
+            Collections.shuffle(days, random);
+            this.dates = days.toArray(new LocalDate[0]);
+
+            this.births = new LocalDateTime[BIRTHS];
+            LocalDateTime epoch = LocalDateTime.of(1950, 1, 1, 0, 0);
+            for (int i = 0; i < BIRTHS; i++) {
+                births[i] = epoch.plusMinutes((long) (random.nextDouble() * 60 * 365.25 * 24 * 60));
+            }
+        }
+
+        Call next(Random random) {
+            String endpoint = endpoints[sample(endpointCdf, random)];
+            String[] place = PLACES[sample(placeCdf, random)];
+            String location = "latitude=" + place[1] + "&longitude=" + place[2];
+            LocalDate date = dates[sample(dateCdf, random)];
+            LocalDateTime birth = births[random.nextInt(BIRTHS)];
+            switch (endpoint) {
+                case "panchang":
+                    return new Call(endpoint, baseUrl + "/api/panchang?date=" + date + "&" + location
+                        + "&placeName=" + encode(place[0]) + "&timezone=" + place[3], null);
+                case "chart":
+                    return new Call(endpoint, baseUrl + "/api/chart?birthTime=" + birth + "&" + location
+                        + "&placeName=" + encode(place[0]), null);
+                case "compatibility":
+                    String[] partnerPlace = PLACES[sample(placeCdf, random)];
+                    LocalDateTime partnerBirth = births[random.nextInt(BIRTHS)];
+                    String body = "{\"maleBirthData\":" + birthJson(birth, place)
+                        + ",\"femaleBirthData\":" + birthJson(partnerBirth, partnerPlace) + "}";
+                    return new Call(endpoint, baseUrl + "/api/compatibility", body);
+                case "dasa":
+                    String dasa = random.nextBoolean() ? "vimshottari" : "current";
+                    return new Call("dasa/" + dasa, baseUrl + "/api/dasa/" + dasa + "?birthTime=" + birth + "&"
+                        + location + "&placeName=" + encode(place[0]) + "&zoneId=" + place[3], null);
+                default:
+                    if (random.nextBoolean()) {
+                        return new Call("muhurta/calculate", baseUrl + "/api/muhurta/calculate?date=" + date + "&"
+                            + location + "&zoneId=" + place[3], null);
+                    }
+                    String search = MUHURTA_SEARCHES[random.nextInt(MUHURTA_SEARCHES.length)];
+                    LocalDateTime start = date.atStartOfDay();
+                    return new Call("muhurta/" + search, baseUrl + "/api/muhurta/" + search + "?start=" + start
+                        + "&end=" + start.plusDays(muhurtaDays) + "&" + location + "&zoneId=" + place[3], null);
+            }
+        }
+
+        private static String birthJson(LocalDateTime birth, String[] place) {
+            return "{\"birthDateTime\":\"" + birth + "\",\"latitude\":" + place[1] + ",\"longitude\":" + place[2]
+                + ",\"placeName\":\"" + place[0] + "\",\"timeZone\":\"" + place[3] + "\"}";
+        }
+
+        private static String encode(String value) {
+            return value.replace(" ", "%20");
+        }
+
+        private static double[] zipfCdf(int n, double exponent) {
+            double[] weights = new double[n];
+            for (int rank = 1; rank <= n; rank++) {
+                weights[rank - 1] = 1.0 / Math.pow(rank, exponent);
+            }
+            return cdf(weights);
+        }
+
+        private static double[] cdf(double[] weights) {
+            double[] cdf = new double[weights.length];
+            double sum = 0;
+            for (int i = 0; i < weights.length; i++) {
+                sum += weights[i];
+                cdf[i] = sum;
+            }
+            for (int i = 0; i < cdf.length; i++) {
+                cdf[i] /= sum;
+            }
+            return cdf;
+        }
+
+        private static int sample(double[] cdf, Random random) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+        }
+
+        static final class Call {
+            final String endpoint;
+            final String url;
+            final String body;
+
+            Call(String endpoint, String url, String body) {
+                this.endpoint = endpoint;
+                this.url = url;
+                this.body = body;
+            }
+        }
+    }
+
+    /**
+     * Latencies and errors per endpoint.
+     */
+    private static final class Result {
+        private final Map<String, Latencies> latencies = new TreeMap<>();
+        private final Map<String, Integer> errors = new TreeMap<>();
+
+        void record(String endpoint, long nanos, String error) {
+            latencies.computeIfAbsent(endpoint, e -> new Latencies()).add(nanos);
+            if (error != null) {
+                errors.merge(endpoint + " " + error, 1, Integer::sum);
+            }
+        }
+
+        void merge(Result other) {
+            other.latencies.forEach((endpoint, values) ->
+                latencies.computeIfAbsent(endpoint, e -> new Latencies()).addAll(values));
+            other.errors.forEach((key, count) -> errors.merge(key, count, Integer::sum));
+        }
+
+        void print(int seconds) {
+            System.out.printf(Locale.ROOT, "%n%-26s %9s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            Latencies all = new Latencies();
+            for (Map.Entry<String, Latencies> entry : latencies.entrySet()) {
+                printRow(entry.getKey(), entry.getValue(), seconds);
+                all.addAll(entry.getValue());
+            }
+            printRow("total", all, seconds);
+
+            int errorCount = errors.values().stream().mapToInt(Integer::intValue).sum();
+            System.out.printf(Locale.ROOT, "%nErrors: %d (%.2f%%)%n", errorCount,
+                all.size == 0 ? 0.0 : 100.0 * errorCount / all.size);
+            errors.forEach((key, count) -> System.out.printf("  %-40s %d%n", key, count));
+        }
+
+        private static void printRow(String name, Latencies values, int seconds) {
+            long[] sorted = values.sorted();
+            System.out.printf(Locale.ROOT, "%-26s %9d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                name, sorted.length, sorted.length / (double) seconds,
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), percentile(sorted, 99.9),
+                sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    /**
+     * Growable array of latencies in nanoseconds.
+     */
+    private static final class Latencies {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        void addAll(Latencies other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
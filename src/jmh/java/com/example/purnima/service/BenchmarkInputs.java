@@ -0,0 +1,69 @@
+package com.example.purnima.service;
+
+import com.example.purnima.model.BirthData;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Random;
+
+/**
+ * Fixed inputs shared by the calculator benchmarks, so every run and every machine
+ * measures the same work.
+ */
+final class BenchmarkInputs {
+
+    static final long SEED = 42L;
+
+    /** Places from the equator to the high Arctic; the last two see polar day and night. */
+    static final Place[] PLACES = {
+        new Place("Quito", -0.1807, -78.4678, "America/Guayaquil"),
+        new Place("Mumbai", 19.0760, 72.8777, "Asia/Kolkata"),
+        new Place("Sydney", -33.8688, 151.2093, "Australia/Sydney"),
+        new Place("London", 51.5074, -0.1278, "Europe/London"),
+        new Place("Tromso", 69.6492, 18.9553, "Europe/Oslo"),
+        new Place("Longyearbyen", 78.2232, 15.6267, "Arctic/Longyearbyen")
+    };
+
+    private BenchmarkInputs() {
+    }
+
+    /**
+     * Message source configured like {@code PurnimaAstrology}.
+     */
+    static ReloadableResourceBundleMessageSource messageSource() {
+        ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
+        messageSource.setBasename("classpath:messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        return messageSource;
+    }
+
+    /**
+     * Random instant between 1950 and 2050, to the minute.
+     */
+    static LocalDateTime instant(Random random) {
+        return LocalDateTime.of(1950, 1, 1, 0, 0)
+            .plusMinutes((long) (random.nextDouble() * 100 * 365.25 * 24 * 60));
+    }
+
+    /**
+     * Birth data for a random instant at the given place.
+     */
+    static BirthData birthData(Random random, Place place) {
+        return new BirthData(instant(random), place.latitude, place.longitude, place.name, place.zone);
+    }
+
+    static final class Place {
+        final String name;
+        final double latitude;
+        final double longitude;
+        final ZoneId zone;
+
+        Place(String name, double latitude, double longitude, String zone) {
+            this.name = name;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.zone = ZoneId.of(zone);
+        }
+    }
+}
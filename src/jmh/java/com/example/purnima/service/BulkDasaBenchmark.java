@@ -0,0 +1,69 @@
+package com.example.purnima.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to evaluate the current Mahadasa, Antardasa and Pratyantardasa of a whole population
+ * with {@link VimshottariDasaCalculator#calculateCurrentDasas}.
+ * <p>
+ * Moon longitudes and birth instants are seeded random values, as a subscriber database would
+ * hold them; no ephemeris call is part of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dpurnima.ephe.path=moshier-only")
+@State(Scope.Benchmark)
+public class BulkDasaBenchmark {
+
+    @Param({"100000", "5000000"})
+    public int natives;
+
+    private VimshottariDasaCalculator calculator;
+    private double[] moonLongitudes;
+    private long[] birthEpochSeconds;
+    private long targetEpochSecond;
+    private byte[] mahadasaLords;
+    private byte[] antardasaLords;
+    private byte[] pratyantardasaLords;
+    private long[] pratyantardasaEnds;
+
+    @Setup
+    public void setUp() {
+        calculator = new VimshottariDasaCalculator(null);
+        Random random = new Random(BenchmarkInputs.SEED);
+        moonLongitudes = new double[natives];
+        birthEpochSeconds = new long[natives];
+        for (int i = 0; i < natives; i++) {
+            moonLongitudes[i] = random.nextDouble() * 360;
+            birthEpochSeconds[i] = BenchmarkInputs.instant(random).toEpochSecond(ZoneOffset.UTC);
+        }
+        targetEpochSecond = BenchmarkInputs.instant(random).toEpochSecond(ZoneOffset.UTC);
+        mahadasaLords = new byte[natives];
+        antardasaLords = new byte[natives];
+        pratyantardasaLords = new byte[natives];
+        pratyantardasaEnds = new long[natives];
+    }
+
+    @Benchmark
+    public byte[] currentDasas() {
+        calculator.calculateCurrentDasas(moonLongitudes, birthEpochSeconds, targetEpochSecond,
+                                         mahadasaLords, antardasaLords, pratyantardasaLords, pratyantardasaEnds);
+        return pratyantardasaLords;
+    }
+}
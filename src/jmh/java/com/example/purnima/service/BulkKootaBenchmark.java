@@ -0,0 +1,74 @@
+package com.example.purnima.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time for {@link BulkKootaScorer} to score one profile against a column of candidates, on the
+ * Vector API kernel when built with {@code -Pjmh,vector} and on the scalar loop with
+ * {@code -Dpurnima.koota.vector=false}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dpurnima.ephe.path=moshier-only", "--add-modules=jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class BulkKootaBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"16000000"})
+    public int candidates;
+
+    private final BulkKootaScorer scorer = new BulkKootaScorer(18, true, true);
+    private byte[] candidatePadas;
+    private byte[] scores;
+    private int[] queryPadas;
+    private int nextQuery;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkInputs.SEED);
+        candidatePadas = new byte[candidates];
+        for (int i = 0; i < candidates; i++) {
+            candidatePadas[i] = (byte) random.nextInt(AsthakootMatrix.PADA_COUNT);
+        }
+        scores = new byte[candidates];
+        queryPadas = new int[SAMPLES];
+        for (int q = 0; q < SAMPLES; q++) {
+            queryPadas[q] = random.nextInt(AsthakootMatrix.PADA_COUNT);
+        }
+    }
+
+    @Benchmark
+    public int scoreColumn() {
+        int q = next();
+        return scorer.score(queryPadas[q], (q & 1) == 0, candidatePadas, 0, candidates, scores);
+    }
+
+    @Benchmark
+    public int[] scoreAndSelectTop() {
+        int q = next();
+        scorer.score(queryPadas[q], (q & 1) == 0, candidatePadas, 0, candidates, scores);
+        return BulkKootaScorer.selectTop(scores, 0, candidates, 100);
+    }
+
+    private int next() {
+        int q = nextQuery;
+        nextQuery = (q + 1) % SAMPLES;
+        return q;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.purnima.service;
+
+import com.example.purnima.api.ChartGenerator;
+import com.example.purnima.model.AsthakootResult;
+import com.example.purnima.model.BirthData;
+import com.example.purnima.model.ChartResult;
+import com.example.purnima.model.DasaResult;
+import com.example.purnima.model.PanchangResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.MessageSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the end-to-end calculators as called by the REST controllers.
+ * <p>
+ * Each invocation takes the next input from a fixed, seeded set of dates and birth data
+ * spread over {@link BenchmarkInputs#PLACES}, so the score is an average over latitudes
+ * from the equator to the polar regions. Like {@code EphemerisBenchmark}, forks use the
+ * Moshier ephemeris.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dpurnima.ephe.path=moshier-only")
+@State(Scope.Thread)
+public class CalculatorBenchmark {
+
+    private static final int SAMPLES = 128;
+
+    private DefaultPanchangCalculator panchangCalculator;
+    private AccurateChartGenerator chartGenerator;
+    private VimshottariDasaCalculator dasaCalculator;
+    private DefaultAsthakootCalculator asthakootCalculator;
+
+    private LocalDate[] dates;
+    private BenchmarkInputs.Place[] places;
+    private BirthData[] births;
+    private BirthData[] partners;
+    private LocalDateTime[] targetDates;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        MessageSource messageSource = BenchmarkInputs.messageSource();
+        panchangCalculator = new DefaultPanchangCalculator(messageSource);
+        chartGenerator = new AccurateChartGenerator(messageSource);
+        dasaCalculator = new VimshottariDasaCalculator(messageSource);
+        asthakootCalculator = new DefaultAsthakootCalculator();
+
+        Random random = new Random(BenchmarkInputs.SEED);
+        dates = new LocalDate[SAMPLES];
+        places = new BenchmarkInputs.Place[SAMPLES];
+        births = new BirthData[SAMPLES];
+        partners = new BirthData[SAMPLES];
+        targetDates = new LocalDateTime[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            BenchmarkInputs.Place place = BenchmarkInputs.PLACES[i % BenchmarkInputs.PLACES.length];
+            places[i] = place;
+            dates[i] = BenchmarkInputs.instant(random).toLocalDate();
+            births[i] = BenchmarkInputs.birthData(random, place);
+            partners[i] = BenchmarkInputs.birthData(random, BenchmarkInputs.PLACES[random.nextInt(BenchmarkInputs.PLACES.length)]);
+            // Somewhere within the 120-year dasa cycle that follows the birth
+            targetDates[i] = births[i].getBirthDateTime().plusDays(random.nextInt(120 * 365));
+        }
+    }
+
+    @Benchmark
+    public PanchangResult panchang() {
+        int i = next();
+        BenchmarkInputs.Place place = places[i];
+        return panchangCalculator.calculatePanchang(dates[i], place.latitude, place.longitude, place.name, place.zone);
+    }
+
+    @Benchmark
+    public ChartResult birthChart() {
+        return chartGenerator.generateBirthChart(births[next()]);
+    }
+
+    @Benchmark
+    public ChartGenerator.DetailedChartResult detailedChart() {
+        return chartGenerator.generateDetailedChart(births[next()]);
+    }
+
+    @Benchmark
+    public List<DasaResult> mahadasas() {
+        return dasaCalculator.calculateMahadasas(births[next()]);
+    }
+
+    @Benchmark
+    public DasaResult currentDasa() {
+        int i = next();
+        return dasaCalculator.getCurrentDasa(births[i], targetDates[i], true);
+    }
+
+    @Benchmark
+    public AsthakootResult asthakoot() {
+        int i = next();
+        return asthakootCalculator.calculateAsthakoot(births[i], partners[i]);
+    }
+
+    private int next() {
+        int i = index;
+        index = (i + 1) % SAMPLES;
+        return i;
+    }
+}
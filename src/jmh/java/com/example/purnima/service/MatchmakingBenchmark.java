@@ -0,0 +1,75 @@
+package com.example.purnima.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to find the top 100 matches for one profile with {@link MatchmakingIndex#search}, with no
+ * filter and with a filter that rejects every candidate (the worst case, which visits them all).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dpurnima.ephe.path=moshier-only")
+@State(Scope.Benchmark)
+public class MatchmakingBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"1000000"})
+    public int profiles;
+
+    private MatchmakingIndex index;
+    private double[] queryMoons;
+    private int nextQuery;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(BenchmarkInputs.SEED);
+        long[] ids = new long[profiles];
+        double[] moonLongitudes = new double[profiles];
+        boolean[] male = new boolean[profiles];
+        for (int i = 0; i < profiles; i++) {
+            ids[i] = i;
+            moonLongitudes[i] = random.nextDouble() * 360;
+            male[i] = random.nextBoolean();
+        }
+        index = new MatchmakingIndex(ids, moonLongitudes, male);
+        queryMoons = new double[SAMPLES];
+        for (int q = 0; q < SAMPLES; q++) {
+            queryMoons[q] = random.nextDouble() * 360;
+        }
+    }
+
+    @Benchmark
+    public List<MatchmakingIndex.Match> topMatches() {
+        int q = next();
+        return index.search(queryMoons[q], (q & 1) == 0, 100);
+    }
+
+    @Benchmark
+    public List<MatchmakingIndex.Match> rejectingFilter() {
+        int q = next();
+        return index.search(queryMoons[q], (q & 1) == 0, 100, 0, id -> id < 0);
+    }
+
+    private int next() {
+        int q = nextQuery;
+        nextQuery = (q + 1) % SAMPLES;
+        return q;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.purnima.service;
+
+import com.example.purnima.model.MuhurtaSlot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the muhurta range searches over 30, 90 and 365 days.
+ * <p>
+ * Each invocation searches from the next start date and place of a fixed, seeded set
+ * covering {@link BenchmarkInputs#PLACES}. A one-year search takes seconds, so iterations
+ * are longer and fewer than in the other benchmarks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dpurnima.ephe.path=moshier-only")
+@State(Scope.Thread)
+public class MuhurtaSearchBenchmark {
+
+    private static final int SAMPLES = 32;
+
+    @Param({"VEHICLE", "MARRIAGE", "GRIHA_PRAVESH", "BUSINESS", "NAMAKARANA", "PROPERTY"})
+    public AdmissionControl.SearchType search;
+
+    @Param({"30", "90", "365"})
+    public int days;
+
+    private DefaultMuhurtaCalculator calculator;
+    private LocalDateTime[] starts;
+    private BenchmarkInputs.Place[] places;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        calculator = new DefaultMuhurtaCalculator(BenchmarkInputs.messageSource());
+        Random random = new Random(BenchmarkInputs.SEED);
+        starts = new LocalDateTime[SAMPLES];
+        places = new BenchmarkInputs.Place[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            starts[i] = BenchmarkInputs.instant(random).toLocalDate().atStartOfDay();
+            places[i] = BenchmarkInputs.PLACES[i % BenchmarkInputs.PLACES.length];
+        }
+    }
+
+    @Benchmark
+    public List<MuhurtaSlot> find() {
+        int i = index;
+        index = (i + 1) % SAMPLES;
+        BenchmarkInputs.Place place = places[i];
+        return JobService.search(calculator, search, starts[i], starts[i].plusDays(days),
+                                 place.latitude, place.longitude, place.zone);
+    }
+}
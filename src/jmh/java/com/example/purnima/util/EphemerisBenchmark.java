@@ -0,0 +1,131 @@
+package com.example.purnima.util;
+
+import de.thmac.swisseph.SweConst;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the Swiss Ephemeris primitives behind every calculator.
+ * <p>
+ * Forks point the ephemeris path at a directory without data files, so all benchmarks use
+ * the built-in Moshier ephemeris and give the same numbers on any machine. Inputs cycle through
+ * a fixed, seeded set of instants (1950-2050) and locations from the equator to the polar circle.
+ * Run with {@code -prof gc} (the default in the jmh profile) to see allocation per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dpurnima.ephe.path=moshier-only")
+@State(Scope.Thread)
+public class EphemerisBenchmark {
+
+    static final long SEED = 42L;
+    static final int SAMPLES = 256;
+
+    /** Latitude/longitude pairs: Quito, Mumbai, Sydney, London, Tromsø. */
+    static final double[][] LOCATIONS = {
+        {-0.1807, -78.4678},
+        {19.0760, 72.8777},
+        {-33.8688, 151.2093},
+        {51.5074, -0.1278},
+        {69.6492, 18.9553}
+    };
+
+    private LocalDateTime[] instants;
+    private double[] julianDays;
+    private double[][] geocentricMoon;
+    private final double[] scratch = new double[6];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        LocalDateTime epoch = LocalDateTime.of(1950, 1, 1, 0, 0);
+        instants = new LocalDateTime[SAMPLES];
+        julianDays = new double[SAMPLES];
+        geocentricMoon = new double[SAMPLES][];
+        for (int i = 0; i < SAMPLES; i++) {
+            instants[i] = epoch.plusMinutes((long) (random.nextDouble() * 100 * 365.25 * 24 * 60));
+            julianDays[i] = SwissEphCalculator.dateTimeToJulianDay(instants[i]);
+            // Topocentric correction input: a Moon position in swe_calc_ut layout (lon, lat, dist, speeds)
+            SwissEphCalculator.PlanetaryPosition moon = SwissEphCalculator.calculatePlanetPosition(instants[i], 0, 0, "Moon");
+            geocentricMoon[i] = new double[] {
+                moon.getLongitude(), moon.getLatitude(), moon.getDistance(),
+                moon.getLongitudeSpeed(), moon.getLatitudeSpeed(), moon.getDistanceSpeed()
+            };
+        }
+    }
+
+    /**
+     * Body parameter; only used by the planet position benchmark.
+     */
+    @State(Scope.Thread)
+    public static class Body {
+        @Param({"Sun", "Moon", "Mercury", "Venus", "Mars", "Jupiter", "Saturn", "Rahu", "Ketu"})
+        public String name;
+    }
+
+    @Benchmark
+    public SwissEphCalculator.PlanetaryPosition planetPosition(Body body) {
+        int i = next();
+        double[] location = LOCATIONS[i % LOCATIONS.length];
+        return SwissEphCalculator.calculatePlanetPosition(instants[i], location[0], location[1], body.name);
+    }
+
+    @Benchmark
+    public double[] houseCusps() {
+        int i = next();
+        double[] location = LOCATIONS[i % LOCATIONS.length];
+        return SwissEphCalculator.calculateHouseCusps(instants[i], location[0], location[1]);
+    }
+
+    @Benchmark
+    public double ascendant() {
+        int i = next();
+        double[] location = LOCATIONS[i % LOCATIONS.length];
+        return SwissEphCalculator.calculateAscendant(instants[i], location[0], location[1]);
+    }
+
+    @Benchmark
+    public LocalDateTime sunrise() {
+        int i = next();
+        double[] location = LOCATIONS[i % LOCATIONS.length];
+        return SwissEphCalculator.calculateRiseSet(instants[i], location[0], location[1], SweConst.SE_SUN, SweConst.SE_CALC_RISE);
+    }
+
+    @Benchmark
+    public LocalDateTime moonrise() {
+        int i = next();
+        double[] location = LOCATIONS[i % LOCATIONS.length];
+        return SwissEphCalculator.calculateRiseSet(instants[i], location[0], location[1], SweConst.SE_MOON, SweConst.SE_CALC_RISE);
+    }
+
+    @Benchmark
+    public double[] topocentricCorrection() {
+        int i = next();
+        double[] location = LOCATIONS[i % LOCATIONS.length];
+        System.arraycopy(geocentricMoon[i], 0, scratch, 0, 6);
+        SwissEphCalculator.applyTopocentricCorrection(scratch, julianDays[i], location[0], location[1]);
+        return scratch;
+    }
+
+    private int next() {
+        int i = index;
+        index = (i + 1) % SAMPLES;
+        return i;
+    }
+}
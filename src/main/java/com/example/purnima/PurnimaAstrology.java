@@ -7,6 +7,8 @@ import com.example.purnima.model.*;
 import com.example.purnima.service.DefaultAsthakootCalculator;
 import com.example.purnima.service.DefaultPanchangCalculator;
 import com.example.purnima.service.AccurateChartGenerator;
+import com.example.purnima.service.DasaSystemCalculator;
+import com.example.purnima.service.RiseSetService;
 import com.example.purnima.service.VimshottariDasaCalculator;
 import com.example.purnima.service.DefaultMuhurtaCalculator;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
@@ -15,6 +17,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Locale;
+import java.util.concurrent.Executor;
 
 /**
  * Main entry point for Purnima Vedic Astrology library.
@@ -45,6 +48,23 @@ public class PurnimaAstrology {
         this.muhurtaCalculator = new DefaultMuhurtaCalculator(messageSource);
     }
     
+    /**
+     * Accurate implementations whose batch calculations fan out on the given executor.
+     *
+     * @param batchExecutor Executor that helps run batches; should be bounded to the number of cores
+     */
+    public PurnimaAstrology(Executor batchExecutor) {
+        this.messageSource = new ReloadableResourceBundleMessageSource();
+        this.messageSource.setBasename("classpath:messages");
+        this.messageSource.setDefaultEncoding("UTF-8");
+
+        this.asthakootCalculator = new DefaultAsthakootCalculator();
+        this.panchangCalculator = new DefaultPanchangCalculator(messageSource, RiseSetService.getDefault(), batchExecutor);
+        this.chartGenerator = new AccurateChartGenerator(messageSource, batchExecutor);
+        this.dasaCalculator = new VimshottariDasaCalculator(messageSource, DasaSystemCalculator.DEFAULT_YEAR_DAYS, batchExecutor);
+        this.muhurtaCalculator = new DefaultMuhurtaCalculator(messageSource);
+    }
+
     /**
      * Constructor with custom implementations.
      */
@@ -168,6 +188,17 @@ public class PurnimaAstrology {
     public PanchangResult calculatePanchang(LocalDateTime dateTime, double latitude, double longitude, String placeName, ZoneId zoneId) {
         return panchangCalculator.calculatePanchang(dateTime, latitude, longitude, placeName, zoneId);
     }
+
+    /**
+     * Calculate Panchang for one date at many locations, sharing the geocentric calculations.
+     * 
+     * @param date Date for Panchang calculation, in each location's time zone
+     * @param locations Locations with their time zones
+     * @return PanchangResult for each location, in input order
+     */
+    public java.util.List<PanchangResult> calculatePanchangForLocations(LocalDate date, java.util.List<Location> locations) {
+        return panchangCalculator.calculatePanchangForLocations(date, locations);
+    }
     
 
     
@@ -183,6 +214,16 @@ public class PurnimaAstrology {
         return chartGenerator.generateBirthChart(birthData);
     }
     
+    /**
+     * Generate birth charts for a batch of natives, computed in parallel.
+     * 
+     * @param birthDataList Birth data of each native
+     * @return ChartResult for each entry, in input order
+     */
+    public java.util.List<ChartResult> generateBirthCharts(java.util.List<BirthData> birthDataList) {
+        return chartGenerator.generateBirthCharts(birthDataList);
+    }
+    
     /**
      * Generate compatibility chart between two individuals.
      * 
@@ -208,6 +249,19 @@ public class PurnimaAstrology {
         return chartGenerator.generateChartInFormat(result, format);
     }
     
+    /**
+     * Write chart in specific format (JSON, XML, HTML, CSV) directly to a stream.
+     * 
+     * @param birthData Birth data
+     * @param format Desired output format
+     * @param out Stream to write the chart to; flushed but not closed
+     * @throws java.io.IOException If writing to the stream fails
+     */
+    public void writeChartInFormat(BirthData birthData, ChartGenerator.ChartFormat format, java.io.OutputStream out) throws java.io.IOException {
+        ChartResult result = generateBirthChart(birthData);
+        chartGenerator.writeChartInFormat(result, format, out);
+    }
+    
     // ==================== UTILITY METHODS ====================
     
     /**
@@ -275,6 +329,20 @@ public class PurnimaAstrology {
         return dasaCalculator.calculateMahadasas(birthData);
     }
     
+    /**
+     * Calculate Vimshottari Dasa periods down to a level (up to Prana) within a time window.
+     * 
+     * @param birthData Birth data
+     * @param depth Deepest level, 1 (Mahadasa) to 5 (Prana)
+     * @param from Start of the window, or null for birth
+     * @param to End of the window, or null for the end of the cycle
+     * @return List of Mahadasas overlapping the window
+     */
+    public java.util.List<com.example.purnima.model.DasaResult> calculateVimshottariDasa(BirthData birthData, int depth,
+                                                                                         LocalDateTime from, LocalDateTime to) {
+        return dasaCalculator.calculateDasas(birthData, depth, from, to);
+    }
+    
     /**
      * Get current Dasa period.
      * 
@@ -3,7 +3,14 @@ package com.example.purnima.api;
 import com.example.purnima.model.BirthData;
 import com.example.purnima.model.ChartResult;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Interface for generating various types of astrological charts.
@@ -19,6 +26,21 @@ public interface ChartGenerator {
      */
     ChartResult generateBirthChart(BirthData birthData);
     
+    /**
+     * Generate birth charts for many natives at once (e.g. a CSV import).
+     * Implementations may compute charts in parallel but must keep input order.
+     * 
+     * @param birthDataList Birth data of each native
+     * @return ChartResult for each entry, in the same order as the input
+     */
+    default List<ChartResult> generateBirthCharts(List<BirthData> birthDataList) {
+        List<ChartResult> results = new ArrayList<>(birthDataList.size());
+        for (BirthData birthData : birthDataList) {
+            results.add(generateBirthChart(birthData));
+        }
+        return results;
+    }
+    
     /**
      * Generate a compatibility chart between two individuals.
      * 
@@ -65,6 +87,20 @@ public interface ChartGenerator {
      */
     String generateChartInFormat(ChartResult chartResult, ChartFormat format);
     
+    /**
+     * Write a chart in specific format directly to an output stream (UTF-8).
+     * The stream is flushed but not closed.
+     * 
+     * @param chartResult Original chart result
+     * @param format Desired output format
+     * @param out Stream to write the chart to
+     * @throws IOException If writing to the stream fails
+     */
+    default void writeChartInFormat(ChartResult chartResult, ChartFormat format, OutputStream out) throws IOException {
+        out.write(generateChartInFormat(chartResult, format).getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+    
     /**
      * Generate a detailed chart with all planetary aspects and relationships.
      * 
@@ -81,7 +117,21 @@ public interface ChartGenerator {
      * @return ChartResult containing the divisional chart
      */
     ChartResult generateDivisionalChart(BirthData birthData, VargaType vargaType);
-    
+
+    /**
+     * Generate all sixteen divisional charts (Shodasha Vargas) for given birth data.
+     *
+     * @param birthData Birth data
+     * @return Map of varga type to divisional chart, in VargaType order
+     */
+    default Map<VargaType, ChartResult> generateAllDivisionalCharts(BirthData birthData) {
+        Map<VargaType, ChartResult> charts = new EnumMap<>(VargaType.class);
+        for (VargaType vargaType : VargaType.values()) {
+            charts.put(vargaType, generateDivisionalChart(birthData, vargaType));
+        }
+        return charts;
+    }
+
     /**
      * Generate a chart showing planetary periods (Dasha).
      * 
@@ -2,6 +2,7 @@ package com.example.purnima.api;
 
 import com.example.purnima.model.BirthData;
 import com.example.purnima.model.DasaResult;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -17,6 +18,18 @@ public interface DasaCalculator {
      */
     List<DasaResult> calculateMahadasas(BirthData birthData);
     
+    /**
+     * Calculate Dasa periods down to a level, limited to a time window.
+     * Sub-periods are only generated for periods that overlap the window.
+     * 
+     * @param birthData The birth data
+     * @param depth Deepest level: 1=Mahadasa, 2=Antardasa, 3=Pratyantardasa, 4=Sookshma, 5=Prana
+     * @param from Start of the window, or null for birth
+     * @param to End of the window, or null for the end of the cycle
+     * @return List of Mahadasas overlapping the window, with their sub-periods
+     */
+    List<DasaResult> calculateDasas(BirthData birthData, int depth, LocalDateTime from, LocalDateTime to);
+    
     /**
      * Calculate current Dasa period (Mahadasa, Antardasa, Pratyantardasa) for a given time.
      * 
@@ -24,4 +37,14 @@ public interface DasaCalculator {
      * @return The current Dasa period hierarchy
      */
     DasaResult getCurrentDasa(BirthData birthData);
+    
+    /**
+     * Calculate the Dasa period hierarchy running at a given time, down to a level.
+     * 
+     * @param birthData The birth data
+     * @param targetDate The date and time to look up
+     * @param depth Deepest level: 1=Mahadasa up to 5=Prana
+     * @return The Dasa period hierarchy, or null if the date is outside the 120 years from birth
+     */
+    DasaResult getCurrentDasa(BirthData birthData, LocalDateTime targetDate, int depth);
 }
@@ -1,10 +1,13 @@
 package com.example.purnima.api;
 
 import com.example.purnima.model.BirthData;
+import com.example.purnima.model.Location;
 import com.example.purnima.model.PanchangResult;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Interface for calculating Panchang (five elements) information.
@@ -66,6 +69,24 @@ public interface PanchangCalculator {
      * @return PanchangResult containing all five elements
      */
     PanchangResult calculatePanchang(LocalDateTime dateTime, double latitude, double longitude, String placeName, java.time.ZoneId zoneId);
+
+    /**
+     * Calculate Panchang for one date at many locations (e.g. a nightly job over all cities).
+     * Implementations may share the geocentric calculations between locations and compute
+     * them in parallel, but must keep input order.
+     * 
+     * @param date Date for which Panchang is to be calculated, in each location's time zone
+     * @param locations Locations with their time zones
+     * @return PanchangResult for each location, in the same order as the input
+     */
+    default List<PanchangResult> calculatePanchangForLocations(LocalDate date, List<Location> locations) {
+        List<PanchangResult> results = new ArrayList<>(locations.size());
+        for (Location location : locations) {
+            results.add(calculatePanchang(date, location.getLatitude(), location.getLongitude(),
+                                          location.getPlaceName(), location.getTimeZone()));
+        }
+        return results;
+    }
     
     /**
      * Calculate complete Panchang using BirthData.
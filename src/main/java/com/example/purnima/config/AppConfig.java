@@ -1,22 +1,33 @@
 package com.example.purnima.config;
 
 import com.example.purnima.PurnimaAstrology;
+import com.example.purnima.service.ComputeExecutor;
+import com.example.purnima.service.ComputeExecutor.Lane;
+import com.example.purnima.service.FileJobStore;
+import com.example.purnima.service.InMemoryJobStore;
+import com.example.purnima.service.JobStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.i18n.AcceptHeaderLocaleResolver;
 
+import java.nio.file.Paths;
 import java.util.Locale;
 
 @Configuration
-public class AppConfig {
+public class AppConfig implements WebMvcConfigurer {
 
     @Bean
-    public PurnimaAstrology purnimaAstrology() {
-        // Use accurate calculations (Swiss Ephemeris) by default
-        return new PurnimaAstrology(true);
+    public PurnimaAstrology purnimaAstrology(ComputeExecutor computeExecutor) {
+        // Accurate calculations (Swiss Ephemeris); batches fan out within the bulk compute lane
+        return new PurnimaAstrology(computeExecutor.getExecutor(Lane.BULK));
     }
 
     @Bean
@@ -28,6 +39,35 @@ public class AppConfig {
         return messageSource;
     }
 
+    /**
+     * CBOR converter for clients that send {@code Accept: application/cbor};
+     * used by the compact chart and Panchang endpoints.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter();
+    }
+
+    /**
+     * Store for asynchronous jobs: in memory by default, or a directory of JSON files
+     * with {@code purnima.jobs.store=file}.
+     */
+    @Bean
+    public JobStore jobStore(@Value("${purnima.jobs.store:memory}") String store,
+                             @Value("${purnima.jobs.directory:jobs}") String directory,
+                             ObjectMapper objectMapper) {
+        if ("file".equalsIgnoreCase(store)) {
+            return new FileJobStore(Paths.get(directory), objectMapper);
+        }
+        return new InMemoryJobStore();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Per-request ephemeris call counts and endpoint tags for the calculation metrics
+        registry.addInterceptor(new CalculationMetricsInterceptor()).addPathPatterns("/api/**");
+    }
+
     @Bean
     public LocaleResolver localeResolver() {
         AcceptHeaderLocaleResolver localeResolver = new AcceptHeaderLocaleResolver();
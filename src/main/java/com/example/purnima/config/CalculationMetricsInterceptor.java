@@ -0,0 +1,33 @@
+package com.example.purnima.config;
+
+import com.example.purnima.util.CalculationMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Opens a {@link CalculationMetrics} scope for each API request, tagged with the
+ * matched request mapping (e.g. {@code /api/jobs/{jobId}}) rather than the raw path,
+ * and records the request's ephemeris call count when it completes.
+ */
+public class CalculationMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = CalculationMetricsInterceptor.class.getName() + ".scope";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : "unmapped";
+        request.setAttribute(SCOPE_ATTRIBUTE, CalculationMetrics.open(endpoint));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object scope = request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope instanceof CalculationMetrics.Scope) {
+            CalculationMetrics.close((CalculationMetrics.Scope) scope);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.purnima.controller;
+
+import com.example.purnima.service.AdmissionRejectedException;
+import com.example.purnima.service.ComputeOverloadedException;
+import com.example.purnima.service.InvalidRequestException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maps service exceptions to HTTP responses for all REST controllers.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(ComputeOverloadedException.class)
+    public ResponseEntity<Map<String, Object>> handleOverloaded(ComputeOverloadedException e) {
+        // Shed load; clients should back off and retry
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(errorBody(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+    }
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleAdmissionRejected(AdmissionRejectedException e) {
+        if (!e.isRetryable()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(errorBody(HttpStatus.BAD_REQUEST, e.getMessage()));
+        }
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", String.valueOf(Math.max(1, e.getRetryAfterSeconds())))
+                .body(errorBody(HttpStatus.TOO_MANY_REQUESTS, e.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidRequest(InvalidRequestException e) {
+        // Only explicit parameter checks; an IllegalArgumentException from a calculator is a bug, not a 400
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(errorBody(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    static Map<String, Object> errorBody(HttpStatus status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("error", status.name());
+        body.put("message", message);
+        return body;
+    }
+}
@@ -4,24 +4,45 @@ import com.example.purnima.PurnimaAstrology;
 import com.example.purnima.model.AsthakootResult;
 import com.example.purnima.model.BirthData;
 import com.example.purnima.model.ChartResult;
+import com.example.purnima.model.CompactChartResult;
+import com.example.purnima.model.CompactPanchangResult;
+import com.example.purnima.model.LocaleDictionary;
+import com.example.purnima.model.Location;
 import com.example.purnima.model.PanchangResult;
+import com.example.purnima.service.CompactResultEncoder;
+import com.example.purnima.service.ComputeExecutor;
+import com.example.purnima.service.ComputeExecutor.Lane;
+import com.example.purnima.service.InvalidRequestException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api")
 public class AstrologyController {
 
+    // Largest batch accepted in one request; larger populations should be split by the client
+    static final int MAX_BATCH_CHARTS = 1000;
+    // Panchang is cheap per location, so a location batch may be larger
+    static final int MAX_PANCHANG_LOCATIONS = 10_000;
+
     private final PurnimaAstrology astrology;
+    private final CompactResultEncoder compactEncoder;
+    private final ComputeExecutor computeExecutor;
 
     @Autowired
-    public AstrologyController(PurnimaAstrology astrology) {
+    public AstrologyController(PurnimaAstrology astrology, CompactResultEncoder compactEncoder, ComputeExecutor computeExecutor) {
         this.astrology = astrology;
+        this.compactEncoder = compactEncoder;
+        this.computeExecutor = computeExecutor;
     }
 
     @GetMapping("/panchang")
@@ -32,21 +53,40 @@ public class AstrologyController {
             @RequestParam String placeName,
             @RequestParam(required = false) String timezone) {
         
-        PanchangResult result;
-        if (timezone != null && !timezone.isEmpty()) {
-            try {
-                java.time.ZoneId zoneId = java.time.ZoneId.of(timezone);
-                result = astrology.calculatePanchang(date, latitude, longitude, placeName, zoneId);
-            } catch (Exception e) {
-                // Fallback to default if timezone is invalid
-                result = astrology.calculatePanchang(date, latitude, longitude, placeName);
-            }
-        } else {
-            result = astrology.calculatePanchang(date, latitude, longitude, placeName);
-        }
+        ZoneId zoneId = resolveZone(timezone);
+        PanchangResult result = computeExecutor.call(Lane.INTERACTIVE,
+            () -> astrology.calculatePanchang(date, latitude, longitude, placeName, zoneId));
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping(value = "/panchang", produces = MediaType.APPLICATION_CBOR_VALUE)
+    public ResponseEntity<CompactPanchangResult> getCompactPanchang(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam String placeName,
+            @RequestParam(required = false) String timezone) {
+        
+        ZoneId zoneId = resolveZone(timezone);
+        PanchangResult result = computeExecutor.call(Lane.INTERACTIVE,
+            () -> astrology.calculatePanchang(date, latitude, longitude, placeName, zoneId));
+        return ResponseEntity.ok(compactEncoder.encodePanchang(result, zoneId));
+    }
+
+    @PostMapping("/panchang/locations")
+    public ResponseEntity<List<PanchangResult>> getPanchangForLocations(@RequestBody PanchangLocationsRequest request) {
+        if (request.getDate() == null || request.getLocations() == null) {
+            throw new InvalidRequestException("date and locations are required");
+        }
+        if (request.getLocations().size() > MAX_PANCHANG_LOCATIONS) {
+            throw new InvalidRequestException("At most " + MAX_PANCHANG_LOCATIONS + " locations can be requested at once");
+        }
+        // Locations fan out onto idle threads of the bulk lane, so the lane bounds the whole batch
+        List<PanchangResult> results = computeExecutor.call(Lane.BULK,
+            () -> astrology.calculatePanchangForLocations(request.getDate(), request.getLocations()));
+        return ResponseEntity.ok(results);
+    }
+
     @GetMapping("/chart")
     public ResponseEntity<ChartResult> getBirthChart(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime birthTime,
@@ -55,13 +95,56 @@ public class AstrologyController {
             @RequestParam String placeName) {
         
         BirthData birthData = PurnimaAstrology.createBirthData(birthTime, latitude, longitude, placeName);
-        ChartResult result = astrology.generateBirthChart(birthData);
+        ChartResult result = computeExecutor.call(Lane.INTERACTIVE, () -> astrology.generateBirthChart(birthData));
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping(value = "/chart", produces = MediaType.APPLICATION_CBOR_VALUE)
+    public ResponseEntity<CompactChartResult> getCompactBirthChart(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime birthTime,
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam String placeName) {
+        
+        BirthData birthData = PurnimaAstrology.createBirthData(birthTime, latitude, longitude, placeName);
+        ChartResult result = computeExecutor.call(Lane.INTERACTIVE, () -> astrology.generateBirthChart(birthData));
+        return ResponseEntity.ok(compactEncoder.encodeChart(result, LocaleContextHolder.getLocale()));
+    }
+
+    /**
+     * Localized names for the numeric indices used by the compact (CBOR) responses.
+     * Available as JSON or CBOR; the locale comes from the Accept-Language header.
+     */
+    @GetMapping(value = "/dictionary", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<LocaleDictionary> getDictionary() {
+        return ResponseEntity.ok(compactEncoder.getDictionary(LocaleContextHolder.getLocale()));
+    }
+
+    @PostMapping("/chart/batch")
+    public ResponseEntity<List<ChartResult>> getBirthCharts(@RequestBody List<BirthData> birthDataList) {
+        if (birthDataList.size() > MAX_BATCH_CHARTS) {
+            throw new InvalidRequestException("At most " + MAX_BATCH_CHARTS + " charts can be requested at once");
+        }
+        // Charts fan out onto idle threads of the bulk lane, so the lane bounds the whole batch
+        List<ChartResult> results = computeExecutor.call(Lane.BULK, () -> astrology.generateBirthCharts(birthDataList));
+        return ResponseEntity.ok(results);
+    }
+
+    private ZoneId resolveZone(String timezone) {
+        if (timezone != null && !timezone.isEmpty()) {
+            try {
+                return ZoneId.of(timezone);
+            } catch (Exception e) {
+                // Fallback to default if timezone is invalid
+            }
+        }
+        return ZoneId.systemDefault();
+    }
+
     @PostMapping("/compatibility")
     public ResponseEntity<AsthakootResult> getCompatibility(@RequestBody CompatibilityRequest request) {
-        AsthakootResult result = astrology.calculateAsthakoot(request.getMaleBirthData(), request.getFemaleBirthData());
+        AsthakootResult result = computeExecutor.call(Lane.INTERACTIVE,
+            () -> astrology.calculateAsthakoot(request.getMaleBirthData(), request.getFemaleBirthData()));
         return ResponseEntity.ok(result);
     }
     
@@ -77,4 +160,17 @@ public class AstrologyController {
         public BirthData getFemaleBirthData() { return femaleBirthData; }
         public void setFemaleBirthData(BirthData femaleBirthData) { this.femaleBirthData = femaleBirthData; }
     }
+
+    // Inner class for request body
+    public static class PanchangLocationsRequest {
+        private LocalDate date;
+        private List<Location> locations;
+
+        // Getters and Setters
+        public LocalDate getDate() { return date; }
+        public void setDate(LocalDate date) { this.date = date; }
+        
+        public List<Location> getLocations() { return locations; }
+        public void setLocations(List<Location> locations) { this.locations = locations; }
+    }
 }
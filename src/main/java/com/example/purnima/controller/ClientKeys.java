@@ -0,0 +1,24 @@
+package com.example.purnima.controller;
+
+import com.example.purnima.service.AdmissionControl;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.security.Principal;
+
+/**
+ * Identifies the caller of a request for the admission budgets.
+ */
+final class ClientKeys {
+
+    /** Client id set by a gateway; only trusted from the configured gateway addresses. */
+    static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private ClientKeys() {
+    }
+
+    static String of(AdmissionControl admissionControl, HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return admissionControl.clientKey(request.getRemoteAddr(), principal != null ? principal.getName() : null,
+                                          request.getHeader(CLIENT_ID_HEADER));
+    }
+}
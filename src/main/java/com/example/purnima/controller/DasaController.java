@@ -1,14 +1,17 @@
 package com.example.purnima.controller;
 
-import com.example.purnima.api.DasaCalculator;
 import com.example.purnima.model.BirthData;
 import com.example.purnima.model.DasaResult;
+import com.example.purnima.service.ComputeExecutor;
+import com.example.purnima.service.ComputeExecutor.Lane;
+import com.example.purnima.service.InvalidRequestException;
 import com.example.purnima.service.VimshottariDasaCalculator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.time.Period;
 import java.time.ZoneId;
 import java.util.List;
 
@@ -16,11 +19,19 @@ import java.util.List;
 @RequestMapping("/api/dasa")
 public class DasaController {
 
-    private final DasaCalculator dasaCalculator;
+    // Below pratyantardasa the full tree is too large to return, so a window is required
+    private static final int MAX_UNBOUNDED_DEPTH = 3;
+    private static final int MAX_DEPTH = 5;
+    // Longest window per depth 4 and 5; about 550 Sookshma or 500 Prana periods on average
+    private static final Period[] MAX_WINDOWS = {Period.ofYears(10), Period.ofYears(1)};
+
+    private final VimshottariDasaCalculator dasaCalculator;
+    private final ComputeExecutor computeExecutor;
 
     @Autowired
-    public DasaController(MessageSource messageSource) {
+    public DasaController(MessageSource messageSource, ComputeExecutor computeExecutor) {
         this.dasaCalculator = new VimshottariDasaCalculator(messageSource);
+        this.computeExecutor = computeExecutor;
     }
 
     @GetMapping("/vimshottari")
@@ -30,17 +41,24 @@ public class DasaController {
             @RequestParam double longitude,
             @RequestParam(defaultValue = "Unknown") String placeName,
             @RequestParam(required = false) String zoneId,
-            @RequestParam(defaultValue = "false") boolean includeSignificance) {
+            @RequestParam(defaultValue = "false") boolean includeSignificance,
+            @RequestParam(defaultValue = "2") int depth,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
         
         LocalDateTime dateTime = LocalDateTime.parse(birthTime);
         ZoneId zone = zoneId != null ? ZoneId.of(zoneId) : ZoneId.systemDefault();
+        LocalDateTime windowStart = from != null ? LocalDateTime.parse(from) : null;
+        LocalDateTime windowEnd = to != null ? LocalDateTime.parse(to) : null;
+        validateDepth(depth);
+        if (depth > MAX_UNBOUNDED_DEPTH) {
+            validateWindow(depth, windowStart, windowEnd);
+        }
         
         BirthData birthData = new BirthData(dateTime, latitude, longitude, placeName, zone);
         
-        if (dasaCalculator instanceof VimshottariDasaCalculator) {
-            return ((VimshottariDasaCalculator) dasaCalculator).calculateMahadasas(birthData, includeSignificance);
-        }
-        return dasaCalculator.calculateMahadasas(birthData);
+        return computeExecutor.call(Lane.INTERACTIVE,
+            () -> dasaCalculator.calculateDasas(birthData, depth, windowStart, windowEnd, includeSignificance));
     }
     
     @GetMapping("/current")
@@ -50,16 +68,33 @@ public class DasaController {
             @RequestParam double longitude,
             @RequestParam(defaultValue = "Unknown") String placeName,
             @RequestParam(required = false) String zoneId,
-            @RequestParam(defaultValue = "false") boolean includeSignificance) {
+            @RequestParam(defaultValue = "false") boolean includeSignificance,
+            @RequestParam(defaultValue = "3") int depth) {
         
         LocalDateTime dateTime = LocalDateTime.parse(birthTime);
         ZoneId zone = zoneId != null ? ZoneId.of(zoneId) : ZoneId.systemDefault();
+        validateDepth(depth);
         
         BirthData birthData = new BirthData(dateTime, latitude, longitude, placeName, zone);
         
-        if (dasaCalculator instanceof VimshottariDasaCalculator) {
-            return ((VimshottariDasaCalculator) dasaCalculator).getCurrentDasa(birthData, LocalDateTime.now(), includeSignificance);
+        return computeExecutor.call(Lane.INTERACTIVE,
+            () -> dasaCalculator.getCurrentDasa(birthData, LocalDateTime.now(), depth, includeSignificance));
+    }
+
+    private static void validateDepth(int depth) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new InvalidRequestException("Dasa depth must be between 1 and " + MAX_DEPTH);
+        }
+    }
+
+    private static void validateWindow(int depth, LocalDateTime windowStart, LocalDateTime windowEnd) {
+        if (windowStart == null || windowEnd == null) {
+            throw new InvalidRequestException("Both 'from' and 'to' are required for depth above " + MAX_UNBOUNDED_DEPTH);
+        }
+        Period maxWindow = MAX_WINDOWS[depth - MAX_UNBOUNDED_DEPTH - 1];
+        if (windowEnd.isAfter(windowStart.plus(maxWindow))) {
+            throw new InvalidRequestException("Window from 'from' to 'to' must not exceed " + maxWindow.getYears()
+                                               + " year(s) at depth " + depth);
         }
-        return dasaCalculator.getCurrentDasa(birthData);
     }
 }
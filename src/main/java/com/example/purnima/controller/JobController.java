@@ -0,0 +1,109 @@
+package com.example.purnima.controller;
+
+import com.example.purnima.model.JobResultPage;
+import com.example.purnima.model.JobStatus;
+import com.example.purnima.service.AdmissionControl;
+import com.example.purnima.service.AdmissionControl.SearchType;
+import com.example.purnima.service.InvalidRequestException;
+import com.example.purnima.service.JobService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Locale;
+
+/**
+ * Asynchronous jobs for muhurta searches and Panchang calendars that are too long
+ * for a single HTTP request. Submit a job, poll its status and page through its results.
+ * Each client, identified like the synchronous searches, may only have a few jobs active.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    private final JobService jobService;
+    private final AdmissionControl admissionControl;
+
+    @Autowired
+    public JobController(JobService jobService, AdmissionControl admissionControl) {
+        this.jobService = jobService;
+        this.admissionControl = admissionControl;
+    }
+
+    @PostMapping("/muhurta/{type}")
+    public ResponseEntity<JobStatus> submitMuhurtaSearch(
+            @PathVariable String type,
+            @RequestParam String start,
+            @RequestParam String end,
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(required = false) String zoneId,
+            HttpServletRequest request) {
+        
+        SearchType searchType = parseSearchType(type);
+        LocalDateTime startTime = LocalDateTime.parse(start);
+        LocalDateTime endTime = LocalDateTime.parse(end);
+        ZoneId zone = zoneId != null ? ZoneId.of(zoneId) : ZoneId.systemDefault();
+        
+        return accepted(jobService.submitMuhurtaSearch(searchType, startTime, endTime, latitude, longitude, zone,
+                                                       ClientKeys.of(admissionControl, request)));
+    }
+
+    @PostMapping("/calendar")
+    public ResponseEntity<JobStatus> submitCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam String placeName,
+            @RequestParam(required = false) String timezone,
+            HttpServletRequest request) {
+        
+        ZoneId zone = timezone != null && !timezone.isEmpty() ? ZoneId.of(timezone) : ZoneId.systemDefault();
+        return accepted(jobService.submitCalendar(startDate, endDate, latitude, longitude, placeName, zone,
+                                                  ClientKeys.of(admissionControl, request)));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<JobStatus> getStatus(@PathVariable String jobId) {
+        JobStatus status = jobService.getStatus(jobId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/{jobId}/results")
+    public ResponseEntity<JobResultPage> getResults(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        
+        JobResultPage results = jobService.getResults(jobId, page, size);
+        return results != null ? ResponseEntity.ok(results) : ResponseEntity.notFound().build();
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<JobStatus> cancel(@PathVariable String jobId) {
+        JobStatus status = jobService.cancel(jobId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    private static ResponseEntity<JobStatus> accepted(JobStatus status) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + status.getJobId()))
+                .body(status);
+    }
+
+    private static SearchType parseSearchType(String type) {
+        // Same names as the synchronous /api/muhurta endpoints, e.g. "griha-pravesh"
+        try {
+            return SearchType.valueOf(type.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Unknown muhurta search: " + type);
+        }
+    }
+}
@@ -2,7 +2,12 @@ package com.example.purnima.controller;
 
 import com.example.purnima.api.MuhurtaCalculator;
 import com.example.purnima.model.MuhurtaResult;
+import com.example.purnima.service.AdmissionControl;
+import com.example.purnima.service.AdmissionControl.SearchType;
+import com.example.purnima.service.ComputeExecutor;
+import com.example.purnima.service.ComputeExecutor.Lane;
 import com.example.purnima.service.DefaultMuhurtaCalculator;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.web.bind.annotation.*;
@@ -12,16 +17,21 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/muhurta")
 public class MuhurtaController {
 
     private final MuhurtaCalculator muhurtaCalculator;
+    private final ComputeExecutor computeExecutor;
+    private final AdmissionControl admissionControl;
 
     @Autowired
-    public MuhurtaController(MessageSource messageSource) {
+    public MuhurtaController(MessageSource messageSource, ComputeExecutor computeExecutor, AdmissionControl admissionControl) {
         this.muhurtaCalculator = new DefaultMuhurtaCalculator(messageSource);
+        this.computeExecutor = computeExecutor;
+        this.admissionControl = admissionControl;
     }
 
     @GetMapping("/calculate")
@@ -34,7 +44,8 @@ public class MuhurtaController {
         LocalDate localDate = LocalDate.parse(date);
         ZoneId zone = zoneId != null ? ZoneId.of(zoneId) : ZoneId.systemDefault();
         
-        return muhurtaCalculator.calculateMuhurta(localDate, latitude, longitude, zone);
+        return computeExecutor.call(Lane.INTERACTIVE,
+            () -> muhurtaCalculator.calculateMuhurta(localDate, latitude, longitude, zone));
     }
     @GetMapping("/vehicle")
     public List<MuhurtaSlot> findVehicleMuhurta(
@@ -42,13 +53,15 @@ public class MuhurtaController {
             @RequestParam String end,
             @RequestParam double latitude,
             @RequestParam double longitude,
-            @RequestParam(required = false) String zoneId) {
+            @RequestParam(required = false) String zoneId,
+            HttpServletRequest request) {
         
         LocalDateTime startTime = LocalDateTime.parse(start);
         LocalDateTime endTime = LocalDateTime.parse(end);
         ZoneId zone = zoneId != null ? ZoneId.of(zoneId) : ZoneId.systemDefault();
         
-        return muhurtaCalculator.findVehiclePurchaseMuhurta(startTime, endTime, latitude, longitude, zone);
+        return search(SearchType.VEHICLE, startTime, endTime, request,
+            () -> muhurtaCalculator.findVehiclePurchaseMuhurta(startTime, endTime, latitude, longitude, zone));
     }
 
     @GetMapping("/marriage")
@@ -57,13 +70,15 @@ public class MuhurtaController {
             @RequestParam String end,
             @RequestParam double latitude,
             @RequestParam double longitude,
-            @RequestParam(required = false) String zoneId) {
+            @RequestParam(required = false) String zoneId,
+            HttpServletRequest request) {
         
         LocalDateTime startTime = LocalDateTime.parse(start);
         LocalDateTime endTime = LocalDateTime.parse(end);
         ZoneId zone = zoneId != null ? ZoneId.of(zoneId) : ZoneId.systemDefault();
         
-        return muhurtaCalculator.findMarriageMuhurta(startTime, endTime, latitude, longitude, zone);
+        return search(SearchType.MARRIAGE, startTime, endTime, request,
+            () -> muhurtaCalculator.findMarriageMuhurta(startTime, endTime, latitude, longitude, zone));
     }
 
     @GetMapping("/griha-pravesh")
@@ -72,13 +87,15 @@ public class MuhurtaController {
             @RequestParam String end,
             @RequestParam double latitude,
             @RequestParam double longitude,
-            @RequestParam(required = false) String zoneId) {
+            @RequestParam(required = false) String zoneId,
+            HttpServletRequest request) {
         
         LocalDateTime startTime = LocalDateTime.parse(start);
         LocalDateTime endTime = LocalDateTime.parse(end);
         ZoneId zone = zoneId != null ? ZoneId.of(zoneId) : ZoneId.systemDefault();
         
-        return muhurtaCalculator.findGrihaPraveshMuhurta(startTime, endTime, latitude, longitude, zone);
+        return search(SearchType.GRIHA_PRAVESH, startTime, endTime, request,
+            () -> muhurtaCalculator.findGrihaPraveshMuhurta(startTime, endTime, latitude, longitude, zone));
     }
 
     @GetMapping("/business")
@@ -87,13 +104,15 @@ public class MuhurtaController {
             @RequestParam String end,
             @RequestParam double latitude,
             @RequestParam double longitude,
-            @RequestParam(required = false) String zoneId) {
+            @RequestParam(required = false) String zoneId,
+            HttpServletRequest request) {
         
         LocalDateTime startTime = LocalDateTime.parse(start);
         LocalDateTime endTime = LocalDateTime.parse(end);
         ZoneId zone = zoneId != null ? ZoneId.of(zoneId) : ZoneId.systemDefault();
         
-        return muhurtaCalculator.findNewBusinessMuhurta(startTime, endTime, latitude, longitude, zone);
+        return search(SearchType.BUSINESS, startTime, endTime, request,
+            () -> muhurtaCalculator.findNewBusinessMuhurta(startTime, endTime, latitude, longitude, zone));
     }
 
     @GetMapping("/namakarana")
@@ -102,13 +121,15 @@ public class MuhurtaController {
             @RequestParam String end,
             @RequestParam double latitude,
             @RequestParam double longitude,
-            @RequestParam(required = false) String zoneId) {
+            @RequestParam(required = false) String zoneId,
+            HttpServletRequest request) {
         
         LocalDateTime startTime = LocalDateTime.parse(start);
         LocalDateTime endTime = LocalDateTime.parse(end);
         ZoneId zone = zoneId != null ? ZoneId.of(zoneId) : ZoneId.systemDefault();
         
-        return muhurtaCalculator.findNamakaranaMuhurta(startTime, endTime, latitude, longitude, zone);
+        return search(SearchType.NAMAKARANA, startTime, endTime, request,
+            () -> muhurtaCalculator.findNamakaranaMuhurta(startTime, endTime, latitude, longitude, zone));
     }
 
     @GetMapping("/property")
@@ -117,12 +138,24 @@ public class MuhurtaController {
             @RequestParam String end,
             @RequestParam double latitude,
             @RequestParam double longitude,
-            @RequestParam(required = false) String zoneId) {
+            @RequestParam(required = false) String zoneId,
+            HttpServletRequest request) {
         
         LocalDateTime startTime = LocalDateTime.parse(start);
         LocalDateTime endTime = LocalDateTime.parse(end);
         ZoneId zone = zoneId != null ? ZoneId.of(zoneId) : ZoneId.systemDefault();
         
-        return muhurtaCalculator.findPropertyPurchaseMuhurta(startTime, endTime, latitude, longitude, zone);
+        return search(SearchType.PROPERTY, startTime, endTime, request,
+            () -> muhurtaCalculator.findPropertyPurchaseMuhurta(startTime, endTime, latitude, longitude, zone));
+    }
+
+    /**
+     * Run a range search after admission control, on the bulk compute lane.
+     * Clients are identified as described in {@link AdmissionControl#clientKey}.
+     */
+    private List<MuhurtaSlot> search(SearchType type, LocalDateTime startTime, LocalDateTime endTime,
+                                     HttpServletRequest request, Supplier<List<MuhurtaSlot>> search) {
+        return admissionControl.admit(type, startTime, endTime, ClientKeys.of(admissionControl, request),
+            () -> computeExecutor.call(Lane.BULK, search));
     }
 }
@@ -0,0 +1,37 @@
+package com.example.purnima.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Root finding for the end of a Panchang element (tithi, nakshatra, yoga or karana).
+ * Disabled by default.
+ */
+@Name("purnima.BoundarySearch")
+@Label("Boundary Search")
+@Category({"Purnima", "Panchang"})
+@Description("Search for the time a Panchang element ends")
+@Enabled(false)
+@StackTrace(false)
+public class BoundarySearchEvent extends Event {
+
+    @Label("Element")
+    public String element;
+
+    @Label("Element Number")
+    public int elementNumber;
+
+    @Label("Start Julian Day (UT)")
+    public double startJulianDay;
+
+    @Label("End Julian Day (UT)")
+    public double endJulianDay;
+
+    @Label("Iterations")
+    public int iterations;
+}
@@ -0,0 +1,28 @@
+package com.example.purnima.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A lookup in one of the calculation caches. A miss includes the time to compute the value.
+ * Disabled by default.
+ */
+@Name("purnima.CacheLookup")
+@Label("Cache Lookup")
+@Category({"Purnima", "Cache"})
+@Description("Lookup in a calculation cache")
+@Enabled(false)
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Hit")
+    public boolean hit;
+}
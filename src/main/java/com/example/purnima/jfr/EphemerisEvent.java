@@ -0,0 +1,32 @@
+package com.example.purnima.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One Swiss Ephemeris primitive call. Disabled by default; enable it in the recording
+ * settings, e.g. {@code -XX:StartFlightRecording:+purnima.Ephemeris#enabled=true}.
+ */
+@Name("purnima.Ephemeris")
+@Label("Ephemeris Evaluation")
+@Category({"Purnima", "Ephemeris"})
+@Description("A Swiss Ephemeris primitive call")
+@Enabled(false)
+@StackTrace(false)
+public class EphemerisEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Julian Day (UT)")
+    public double julianDay;
+
+    @Label("Body")
+    @Description("Swiss Ephemeris body id, -1 for house calculations")
+    public int body;
+}
@@ -0,0 +1,31 @@
+package com.example.purnima.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evaluation of the daily muhurta periods (choghadiya, hora, inauspicious times) for one day.
+ * Range searches evaluate a day for every slot they check. Disabled by default.
+ */
+@Name("purnima.MuhurtaDay")
+@Label("Muhurta Day Evaluation")
+@Category({"Purnima", "Muhurta"})
+@Description("Daily muhurta periods calculated for one date and place")
+@Enabled(false)
+@StackTrace(false)
+public class MuhurtaDayEvent extends Event {
+
+    @Label("Date")
+    public String date;
+
+    @Label("Latitude")
+    public double latitude;
+
+    @Label("Longitude")
+    public double longitude;
+}
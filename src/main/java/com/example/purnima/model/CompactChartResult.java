@@ -0,0 +1,83 @@
+package com.example.purnima.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Compact form of {@link ChartResult} for binary (CBOR) clients.
+ * Names are replaced by numeric indices into a {@link LocaleDictionary},
+ * the birth time is sent as epoch seconds and longitudes as single-precision floats.
+ */
+@JsonPropertyOrder({"t", "z", "lat", "lon", "place", "asc", "p", "h", "r", "s", "c"})
+public class CompactChartResult {
+    private final long birthTime;
+    private final String zone;
+    private final double latitude;
+    private final double longitude;
+    private final String placeName;
+    private final float ascendant;
+    private final float[] planetLongitudes;
+    private final int[] planetHouses;
+    private final int retrogradeMask;
+    private final int[] planetStatuses;
+    private final float[] houseCusps;
+
+    public CompactChartResult(long birthTime, String zone, double latitude, double longitude, String placeName,
+                              float ascendant, float[] planetLongitudes, int[] planetHouses, int retrogradeMask,
+                              int[] planetStatuses, float[] houseCusps) {
+        this.birthTime = birthTime;
+        this.zone = zone;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.placeName = placeName;
+        this.ascendant = ascendant;
+        this.planetLongitudes = planetLongitudes;
+        this.planetHouses = planetHouses;
+        this.retrogradeMask = retrogradeMask;
+        this.planetStatuses = planetStatuses;
+        this.houseCusps = houseCusps;
+    }
+
+    // Getters
+
+    /** Birth time in epoch seconds. */
+    @JsonProperty("t")
+    public long getBirthTime() { return birthTime; }
+
+    /** Time zone id of the birth place. */
+    @JsonProperty("z")
+    public String getZone() { return zone; }
+
+    @JsonProperty("lat")
+    public double getLatitude() { return latitude; }
+
+    @JsonProperty("lon")
+    public double getLongitude() { return longitude; }
+
+    @JsonProperty("place")
+    public String getPlaceName() { return placeName; }
+
+    /** Sidereal longitude of the ascendant (first house cusp). */
+    @JsonProperty("asc")
+    public float getAscendant() { return ascendant; }
+
+    /** Sidereal longitude of each planet, in Planet index order; the rashi is {@code floor(longitude / 30)}. */
+    @JsonProperty("p")
+    public float[] getPlanetLongitudes() { return planetLongitudes; }
+
+    /** House number (1-12) of each planet, in Planet index order. */
+    @JsonProperty("h")
+    public int[] getPlanetHouses() { return planetHouses; }
+
+    /** Bit {@code i} is set when the planet with index {@code i} is retrograde. */
+    @JsonProperty("r")
+    public int getRetrogradeMask() { return retrogradeMask; }
+
+    /** Dignity of each planet as an index into {@link LocaleDictionary#getStatuses()}, -1 if unknown. */
+    @JsonProperty("s")
+    public int[] getPlanetStatuses() { return planetStatuses; }
+
+    /** Sidereal longitude of the twelve house cusps. */
+    @JsonProperty("c")
+    public float[] getHouseCusps() { return houseCusps; }
+}
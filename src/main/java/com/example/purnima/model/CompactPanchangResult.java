@@ -0,0 +1,134 @@
+package com.example.purnima.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+/**
+ * Compact form of {@link PanchangResult} for binary (CBOR) clients.
+ * Elements are sent as their numbers (resolved through a {@link LocaleDictionary})
+ * and every time as epoch seconds. Absent times (e.g. an element that ends after
+ * the day, or a moonrise that does not occur) are omitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"d", "z", "lat", "lon", "place", "sr", "ss", "mr", "ms", "v", "ti", "nk", "yg", "kr", "mu"})
+public class CompactPanchangResult {
+    private final long dayStart;
+    private final String zone;
+    private final double latitude;
+    private final double longitude;
+    private final String placeName;
+    private final Long sunrise;
+    private final Long sunset;
+    private final Long moonrise;
+    private final Long moonset;
+    private final int vara;
+    private final List<Element> tithi;
+    private final List<Element> nakshatra;
+    private final List<Element> yoga;
+    private final List<Element> karana;
+    private final Long[] muhurta;
+
+    public CompactPanchangResult(long dayStart, String zone, double latitude, double longitude, String placeName,
+                                 Long sunrise, Long sunset, Long moonrise, Long moonset, int vara,
+                                 List<Element> tithi, List<Element> nakshatra, List<Element> yoga,
+                                 List<Element> karana, Long[] muhurta) {
+        this.dayStart = dayStart;
+        this.zone = zone;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.placeName = placeName;
+        this.sunrise = sunrise;
+        this.sunset = sunset;
+        this.moonrise = moonrise;
+        this.moonset = moonset;
+        this.vara = vara;
+        this.tithi = tithi;
+        this.nakshatra = nakshatra;
+        this.yoga = yoga;
+        this.karana = karana;
+        this.muhurta = muhurta;
+    }
+
+    // Getters
+
+    /** Local midnight of the Panchang day in epoch seconds. */
+    @JsonProperty("d")
+    public long getDayStart() { return dayStart; }
+
+    @JsonProperty("z")
+    public String getZone() { return zone; }
+
+    @JsonProperty("lat")
+    public double getLatitude() { return latitude; }
+
+    @JsonProperty("lon")
+    public double getLongitude() { return longitude; }
+
+    @JsonProperty("place")
+    public String getPlaceName() { return placeName; }
+
+    @JsonProperty("sr")
+    public Long getSunrise() { return sunrise; }
+
+    @JsonProperty("ss")
+    public Long getSunset() { return sunset; }
+
+    @JsonProperty("mr")
+    public Long getMoonrise() { return moonrise; }
+
+    @JsonProperty("ms")
+    public Long getMoonset() { return moonset; }
+
+    /** Vara number (Sunday = 1). */
+    @JsonProperty("v")
+    public int getVara() { return vara; }
+
+    @JsonProperty("ti")
+    public List<Element> getTithi() { return tithi; }
+
+    @JsonProperty("nk")
+    public List<Element> getNakshatra() { return nakshatra; }
+
+    @JsonProperty("yg")
+    public List<Element> getYoga() { return yoga; }
+
+    @JsonProperty("kr")
+    public List<Element> getKarana() { return karana; }
+
+    /**
+     * Start/end pairs for Brahma, Abhijit, Godhuli, Rahu Kaal, Gulika Kaal and Yamaganda Kaal.
+     */
+    @JsonProperty("mu")
+    public Long[] getMuhurta() { return muhurta; }
+
+    /**
+     * A Panchang element (tithi, nakshatra, yoga or karana) active during the day.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonPropertyOrder({"i", "s", "e"})
+    public static class Element {
+        private final int number;
+        private final Long start;
+        private final Long end;
+
+        public Element(int number, Long start, Long end) {
+            this.number = number;
+            this.start = start;
+            this.end = end;
+        }
+
+        /** Element number, resolved through the matching LocaleDictionary array. */
+        @JsonProperty("i")
+        public int getNumber() { return number; }
+
+        @JsonProperty("s")
+        public Long getStart() { return start; }
+
+        /** End time, omitted when the element continues into the next day. */
+        @JsonProperty("e")
+        public Long getEnd() { return end; }
+    }
+}
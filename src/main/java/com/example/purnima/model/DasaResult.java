@@ -11,7 +11,7 @@ public class DasaResult {
     private String planet;
     private LocalDateTime startDate;
     private LocalDateTime endDate;
-    private int level; // 1=Mahadasa, 2=Antardasa, 3=Pratyantardasa
+    private int level; // 1=Mahadasa, 2=Antardasa, 3=Pratyantardasa, 4=Sookshma, 5=Prana
     private List<DasaResult> subDasas;
     private String significance; // Significance of this Dasa period
 
@@ -0,0 +1,32 @@
+package com.example.purnima.model;
+
+import java.util.List;
+
+/**
+ * A page of results of an asynchronous job. Results can be fetched while the job
+ * is still running; {@code totalResults} is the number available so far.
+ */
+public class JobResultPage {
+    private final String jobId;
+    private final JobStatus.State state;
+    private final int page;
+    private final int size;
+    private final long totalResults;
+    private final List<?> results;
+
+    public JobResultPage(String jobId, JobStatus.State state, int page, int size, long totalResults, List<?> results) {
+        this.jobId = jobId;
+        this.state = state;
+        this.page = page;
+        this.size = size;
+        this.totalResults = totalResults;
+        this.results = results;
+    }
+
+    public String getJobId() { return jobId; }
+    public JobStatus.State getState() { return state; }
+    public int getPage() { return page; }
+    public int getSize() { return size; }
+    public long getTotalResults() { return totalResults; }
+    public List<?> getResults() { return results; }
+}
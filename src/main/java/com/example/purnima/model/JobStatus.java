@@ -0,0 +1,80 @@
+package com.example.purnima.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+/**
+ * Status of an asynchronous muhurta search or calendar job.
+ * Progress is reported as days processed out of the total days in the requested range.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobStatus {
+
+    /**
+     * Lifecycle of a job. COMPLETED, FAILED and CANCELLED are terminal.
+     */
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED;
+
+        public boolean isTerminal() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    private String jobId;
+    private String type;
+    private State state;
+    private int daysProcessed;
+    private int totalDays;
+    private long resultCount;
+    private String error;
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    public JobStatus() {}
+
+    public JobStatus(String jobId, String type, State state, int daysProcessed, int totalDays,
+                     long resultCount, String error, Instant createdAt, Instant updatedAt) {
+        this.jobId = jobId;
+        this.type = type;
+        this.state = state;
+        this.daysProcessed = daysProcessed;
+        this.totalDays = totalDays;
+        this.resultCount = resultCount;
+        this.error = error;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public State getState() { return state; }
+    public void setState(State state) { this.state = state; }
+
+    public int getDaysProcessed() { return daysProcessed; }
+    public void setDaysProcessed(int daysProcessed) { this.daysProcessed = daysProcessed; }
+
+    public int getTotalDays() { return totalDays; }
+    public void setTotalDays(int totalDays) { this.totalDays = totalDays; }
+
+    public long getResultCount() { return resultCount; }
+    public void setResultCount(long resultCount) { this.resultCount = resultCount; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,58 @@
+package com.example.purnima.model;
+
+/**
+ * Localized names for every element index used by the compact result formats.
+ * Clients fetch it once per locale and resolve the numeric indices sent in
+ * {@link CompactChartResult} and {@link CompactPanchangResult} against it.
+ */
+public class LocaleDictionary {
+    private final String locale;
+    private final String[] planets;
+    private final String[] rashis;
+    private final String[] varas;
+    private final String[] tithis;
+    private final String[] nakshatras;
+    private final String[] yogas;
+    private final String[] karanas;
+    private final String[] statuses;
+
+    public LocaleDictionary(String locale, String[] planets, String[] rashis, String[] varas, String[] tithis,
+                            String[] nakshatras, String[] yogas, String[] karanas, String[] statuses) {
+        this.locale = locale;
+        this.planets = planets;
+        this.rashis = rashis;
+        this.varas = varas;
+        this.tithis = tithis;
+        this.nakshatras = nakshatras;
+        this.yogas = yogas;
+        this.karanas = karanas;
+        this.statuses = statuses;
+    }
+
+    // Getters
+    public String getLocale() { return locale; }
+
+    /** Planet names in Planet index order (Sun = 0 ... Ketu = 8). */
+    public String[] getPlanets() { return planets; }
+
+    /** Rashi names, Mesh = 0 ... Meen = 11. */
+    public String[] getRashis() { return rashis; }
+
+    /** Vara names, entry {@code n - 1} for vara number n (Sunday = 1). */
+    public String[] getVaras() { return varas; }
+
+    /** Tithi names, entry {@code n - 1} for tithi number n (1-30). */
+    public String[] getTithis() { return tithis; }
+
+    /** Nakshatra names, entry {@code n - 1} for nakshatra number n (1-27). */
+    public String[] getNakshatras() { return nakshatras; }
+
+    /** Yoga names, entry {@code n - 1} for yoga number n (1-27). */
+    public String[] getYogas() { return yogas; }
+
+    /** Karana names, entry {@code n - 1} for karana number n (1-60). */
+    public String[] getKaranas() { return karanas; }
+
+    /** Planetary dignity (exaltation status) names. */
+    public String[] getStatuses() { return statuses; }
+}
@@ -0,0 +1,88 @@
+package com.example.purnima.model;
+
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * A named place with its coordinates and time zone.
+ */
+public class Location {
+    private String placeName;
+    private double latitude;
+    private double longitude;
+    private ZoneId timeZone;
+
+    public Location() {
+        // Default constructor
+    }
+
+    public Location(String placeName, double latitude, double longitude) {
+        this(placeName, latitude, longitude, ZoneId.systemDefault());
+    }
+
+    public Location(String placeName, double latitude, double longitude, ZoneId timeZone) {
+        this.placeName = placeName;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.timeZone = timeZone;
+    }
+
+    // Getters and Setters
+    public String getPlaceName() {
+        return placeName;
+    }
+
+    public void setPlaceName(String placeName) {
+        this.placeName = placeName;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public ZoneId getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(ZoneId timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Location location = (Location) o;
+        return Double.compare(location.latitude, latitude) == 0 &&
+                Double.compare(location.longitude, longitude) == 0 &&
+                Objects.equals(placeName, location.placeName) &&
+                Objects.equals(timeZone, location.timeZone);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(placeName, latitude, longitude, timeZone);
+    }
+
+    @Override
+    public String toString() {
+        return "Location{" +
+                "placeName='" + placeName + '\'' +
+                ", latitude=" + latitude +
+                ", longitude=" + longitude +
+                ", timeZone=" + timeZone +
+                '}';
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.purnima.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
@@ -23,11 +26,25 @@ public class PanchangResult {
     private final List<YogaInfo> yoga;
     private final List<KaranaInfo> karana;
     private final MuhurtaInfo muhurta;
+    // Exact rise/set instants behind the display times, for the compact encoding
+    private final Instant sunriseInstant;
+    private final Instant sunsetInstant;
+    private final Instant moonriseInstant;
+    private final Instant moonsetInstant;
 
     public PanchangResult(LocalDateTime dateTime, double latitude, double longitude, String placeName,
                          String sunrise, String sunset, String moonrise, String moonset,
                          List<TithiInfo> tithi, VaraInfo vara, List<NakshatraInfo> nakshatra, 
                          List<YogaInfo> yoga, List<KaranaInfo> karana, MuhurtaInfo muhurta) {
+        this(dateTime, latitude, longitude, placeName, sunrise, sunset, moonrise, moonset,
+             null, null, null, null, tithi, vara, nakshatra, yoga, karana, muhurta);
+    }
+
+    public PanchangResult(LocalDateTime dateTime, double latitude, double longitude, String placeName,
+                         String sunrise, String sunset, String moonrise, String moonset,
+                         Instant sunriseInstant, Instant sunsetInstant, Instant moonriseInstant, Instant moonsetInstant,
+                         List<TithiInfo> tithi, VaraInfo vara, List<NakshatraInfo> nakshatra,
+                         List<YogaInfo> yoga, List<KaranaInfo> karana, MuhurtaInfo muhurta) {
         this.dateTime = dateTime;
         this.latitude = latitude;
         this.longitude = longitude;
@@ -42,6 +59,10 @@ public class PanchangResult {
         this.yoga = yoga;
         this.karana = karana;
         this.muhurta = muhurta;
+        this.sunriseInstant = sunriseInstant;
+        this.sunsetInstant = sunsetInstant;
+        this.moonriseInstant = moonriseInstant;
+        this.moonsetInstant = moonsetInstant;
     }
 
     // Getters
@@ -101,6 +122,29 @@ public class PanchangResult {
         return muhurta;
     }
 
+    /**
+     * Exact sunrise, or null when only the display time is known.
+     */
+    @JsonIgnore
+    public Instant getSunriseInstant() {
+        return sunriseInstant;
+    }
+
+    @JsonIgnore
+    public Instant getSunsetInstant() {
+        return sunsetInstant;
+    }
+
+    @JsonIgnore
+    public Instant getMoonriseInstant() {
+        return moonriseInstant;
+    }
+
+    @JsonIgnore
+    public Instant getMoonsetInstant() {
+        return moonsetInstant;
+    }
+
 
 
     @Override
@@ -151,15 +195,25 @@ public class PanchangResult {
         private final String sanskritName;
         private final String startTime;
         private final String endTime;
+        // Exact bounds behind the display times, or null when not known
+        private final Instant startInstant;
+        private final Instant endInstant;
         private final boolean isShuklaPaksha;
 
         public TithiInfo(int tithiNumber, String tithiName, String sanskritName, 
                         String startTime, String endTime, boolean isShuklaPaksha) {
+            this(tithiNumber, tithiName, sanskritName, startTime, endTime, null, null, isShuklaPaksha);
+        }
+
+        public TithiInfo(int tithiNumber, String tithiName, String sanskritName, String startTime, String endTime,
+                        Instant startInstant, Instant endInstant, boolean isShuklaPaksha) {
             this.tithiNumber = tithiNumber;
             this.tithiName = tithiName;
             this.sanskritName = sanskritName;
             this.startTime = startTime;
             this.endTime = endTime;
+            this.startInstant = startInstant;
+            this.endInstant = endInstant;
             this.isShuklaPaksha = isShuklaPaksha;
         }
 
@@ -169,6 +223,8 @@ public class PanchangResult {
         public String getSanskritName() { return sanskritName; }
         public String getStartTime() { return startTime; }
         public String getEndTime() { return endTime; }
+        @JsonIgnore public Instant getStartInstant() { return startInstant; }
+        @JsonIgnore public Instant getEndInstant() { return endInstant; }
         public boolean isShuklaPaksha() { return isShuklaPaksha; }
     }
 
@@ -199,15 +255,24 @@ public class PanchangResult {
         private final String rulingPlanet;
         private final String startTime;
         private final String endTime;
+        private final Instant startInstant;
+        private final Instant endInstant;
 
         public NakshatraInfo(int nakshatraNumber, String nakshatraName, String sanskritName,
                            String rulingPlanet, String startTime, String endTime) {
+            this(nakshatraNumber, nakshatraName, sanskritName, rulingPlanet, startTime, endTime, null, null);
+        }
+
+        public NakshatraInfo(int nakshatraNumber, String nakshatraName, String sanskritName, String rulingPlanet,
+                           String startTime, String endTime, Instant startInstant, Instant endInstant) {
             this.nakshatraNumber = nakshatraNumber;
             this.nakshatraName = nakshatraName;
             this.sanskritName = sanskritName;
             this.rulingPlanet = rulingPlanet;
             this.startTime = startTime;
             this.endTime = endTime;
+            this.startInstant = startInstant;
+            this.endInstant = endInstant;
         }
 
         // Getters
@@ -217,6 +282,8 @@ public class PanchangResult {
         public String getRulingPlanet() { return rulingPlanet; }
         public String getStartTime() { return startTime; }
         public String getEndTime() { return endTime; }
+        @JsonIgnore public Instant getStartInstant() { return startInstant; }
+        @JsonIgnore public Instant getEndInstant() { return endInstant; }
     }
 
     public static class YogaInfo {
@@ -225,14 +292,23 @@ public class PanchangResult {
         private final String sanskritName;
         private final String startTime;
         private final String endTime;
+        private final Instant startInstant;
+        private final Instant endInstant;
 
         public YogaInfo(int yogaNumber, String yogaName, String sanskritName,
                        String startTime, String endTime) {
+            this(yogaNumber, yogaName, sanskritName, startTime, endTime, null, null);
+        }
+
+        public YogaInfo(int yogaNumber, String yogaName, String sanskritName,
+                       String startTime, String endTime, Instant startInstant, Instant endInstant) {
             this.yogaNumber = yogaNumber;
             this.yogaName = yogaName;
             this.sanskritName = sanskritName;
             this.startTime = startTime;
             this.endTime = endTime;
+            this.startInstant = startInstant;
+            this.endInstant = endInstant;
         }
 
         // Getters
@@ -241,6 +317,8 @@ public class PanchangResult {
         public String getSanskritName() { return sanskritName; }
         public String getStartTime() { return startTime; }
         public String getEndTime() { return endTime; }
+        @JsonIgnore public Instant getStartInstant() { return startInstant; }
+        @JsonIgnore public Instant getEndInstant() { return endInstant; }
     }
 
     public static class KaranaInfo {
@@ -249,14 +327,23 @@ public class PanchangResult {
         private final String sanskritName;
         private final String startTime;
         private final String endTime;
+        private final Instant startInstant;
+        private final Instant endInstant;
 
         public KaranaInfo(int karanaNumber, String karanaName, String sanskritName,
                          String startTime, String endTime) {
+            this(karanaNumber, karanaName, sanskritName, startTime, endTime, null, null);
+        }
+
+        public KaranaInfo(int karanaNumber, String karanaName, String sanskritName,
+                         String startTime, String endTime, Instant startInstant, Instant endInstant) {
             this.karanaNumber = karanaNumber;
             this.karanaName = karanaName;
             this.sanskritName = sanskritName;
             this.startTime = startTime;
             this.endTime = endTime;
+            this.startInstant = startInstant;
+            this.endInstant = endInstant;
         }
 
         // Getters
@@ -265,6 +352,8 @@ public class PanchangResult {
         public String getSanskritName() { return sanskritName; }
         public String getStartTime() { return startTime; }
         public String getEndTime() { return endTime; }
+        @JsonIgnore public Instant getStartInstant() { return startInstant; }
+        @JsonIgnore public Instant getEndInstant() { return endInstant; }
     }
 
     public static class MuhurtaInfo {
@@ -3,19 +3,46 @@ package com.example.purnima.service;
 import com.example.purnima.api.ChartGenerator;
 import com.example.purnima.model.BirthData;
 import com.example.purnima.model.ChartResult;
+import com.example.purnima.model.DasaResult;
 import com.example.purnima.model.Planet;
 import com.example.purnima.model.Rashi;
+import com.example.purnima.util.CalculationMetrics;
 import com.example.purnima.util.SwissEphCalculator;
 import com.example.purnima.util.SwissEphCalculator.PlanetaryPosition;
+import com.example.purnima.util.VargaCalculator;
+import com.example.purnima.util.VargaCalculator.VargaMatrix;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Accurate implementation of ChartGenerator using Swiss Ephemeris.
@@ -24,24 +51,71 @@ import java.util.Locale;
 @Service
 public class AccurateChartGenerator implements ChartGenerator {
 
+    /**
+     * Column of the ascendant in a VargaMatrix produced by this generator (after the nine planets).
+     */
+    public static final int ASCENDANT_INDEX = Planet.values().length;
+
+    private static final Logger log = LoggerFactory.getLogger(AccurateChartGenerator.class);
+
+    private static final int MIN_BATCH_CHUNK_SIZE = 8;
+
+    // Factories are thread-safe and costly to create, so they are shared
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
     private final MessageSource messageSource;
+    private final Executor batchExecutor;
 
     @Autowired
     public AccurateChartGenerator(MessageSource messageSource) {
+        this(messageSource, BatchRunner.sharedExecutor());
+    }
+
+    /**
+     * Constructor with a custom executor for batch chart generation.
+     * 
+     * @param messageSource Message source for localized names
+     * @param batchExecutor Executor that helps run batch chunks; should be bounded to the number of cores
+     */
+    public AccurateChartGenerator(MessageSource messageSource, Executor batchExecutor) {
         this.messageSource = messageSource;
+        this.batchExecutor = batchExecutor;
     }
     
     @Override
     public ChartResult generateBirthChart(BirthData birthData) {
+        // House cusps are calculated once and shared by planets and houses
+        long phaseStart = CalculationMetrics.start();
+        double[] houseCusps = calculateHouseCusps(birthData);
+        CalculationMetrics.recordPhase("chart.house_cusps", phaseStart);
+        
         // Generate accurate planetary positions using Swiss Ephemeris
-        ChartResult.PlanetaryPosition[] planetaryPositions = generateAccuratePlanetaryPositions(birthData);
+        phaseStart = CalculationMetrics.start();
+        ChartResult.PlanetaryPosition[] planetaryPositions = generateAccuratePlanetaryPositions(birthData, houseCusps);
+        CalculationMetrics.recordPhase("chart.planets", phaseStart);
         
         // Generate accurate houses using Swiss Ephemeris
-        ChartResult.House[] houses = generateAccurateHouses(birthData, planetaryPositions);
+        phaseStart = CalculationMetrics.start();
+        ChartResult.House[] houses = generateAccurateHouses(birthData, planetaryPositions, houseCusps);
+        CalculationMetrics.recordPhase("chart.houses", phaseStart);
         
         return new ChartResult(birthData, planetaryPositions, houses);
     }
     
+    @Override
+    public List<ChartResult> generateBirthCharts(List<BirthData> birthDataList) {
+        ChartResult[] results = new ChartResult[birthDataList.size()];
+        BatchRunner.run(batchExecutor, results.length, MIN_BATCH_CHUNK_SIZE, "generating batch charts", (from, to) -> {
+            for (int i = from; i < to; i++) {
+                results[i] = generateBirthChart(birthDataList.get(i));
+            }
+        });
+        return Arrays.asList(results);
+    }
+    
     @Override
     public ChartResult generateCompatibilityChart(BirthData maleBirthData, BirthData femaleBirthData) {
         // For compatibility chart, we'll generate a combined chart
@@ -97,48 +171,81 @@ public class AccurateChartGenerator implements ChartGenerator {
     
     @Override
     public String generateChartInFormat(ChartResult chartResult, ChartFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            writeChartInFormat(chartResult, format, out);
+        } catch (IOException e) {
+            throw new RuntimeException("Error generating chart in " + format.getFormat() + " format", e);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public void writeChartInFormat(ChartResult chartResult, ChartFormat format, OutputStream out) throws IOException {
         switch (format) {
-            case TEXT:
-                return generateTextFormat(chartResult);
             case JSON:
-                return generateJsonFormat(chartResult);
+                writeJsonFormat(chartResult, out);
+                break;
             case XML:
-                return generateXmlFormat(chartResult);
+                writeXmlFormat(chartResult, out);
+                break;
             case HTML:
-                return generateHtmlFormat(chartResult);
             case CSV:
-                return generateCsvFormat(chartResult);
+            case TEXT:
             default:
-                return generateTextFormat(chartResult);
+                // The caller owns the stream, so the writer is flushed but never closed
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                if (format == ChartFormat.HTML) {
+                    writeHtmlFormat(chartResult, writer);
+                } else if (format == ChartFormat.CSV) {
+                    writeCsvFormat(chartResult, writer);
+                } else {
+                    writeTextFormat(chartResult, writer);
+                }
+                writer.flush();
+                break;
         }
     }
     
-    private String generateTextFormat(ChartResult chartResult) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Birth Chart Summary\n");
-        sb.append("===================\n\n");
-        sb.append("Name: ").append(chartResult.getBirthData().getPlaceName()).append("\n");
-        sb.append("Date & Time: ").append(chartResult.getBirthData().getBirthDateTime()).append("\n");
-        sb.append("Location: ").append(chartResult.getBirthData().getLatitude()).append(", ").append(chartResult.getBirthData().getLongitude()).append("\n\n");
+    private void writeTextFormat(ChartResult chartResult, Writer writer) throws IOException {
+        BirthData birthData = chartResult.getBirthData();
+        writer.write("Birth Chart Summary\n");
+        writer.write("===================\n\n");
+        writer.write("Name: ");
+        writer.write(String.valueOf(birthData.getPlaceName()));
+        writer.write("\nDate & Time: ");
+        writer.write(String.valueOf(birthData.getBirthDateTime()));
+        writer.write("\nLocation: ");
+        writer.write(Double.toString(birthData.getLatitude()));
+        writer.write(", ");
+        writer.write(Double.toString(birthData.getLongitude()));
+        writer.write("\n\n");
         
-        sb.append("ASCENDANT (LAGNA)\n");
-        sb.append("Rashi: ").append(chartResult.getAscendant().getRashi().getEnglishName()).append(" (").append(chartResult.getAscendant().getRashi().getSanskritName()).append(")\n");
-        sb.append("Degree: ").append(String.format("%.2f", chartResult.getAscendant().getStartDegree())).append("°\n\n");
+        writer.write("ASCENDANT (LAGNA)\n");
+        writer.write("Rashi: ");
+        writer.write(chartResult.getAscendant().getRashi().getEnglishName());
+        writer.write(" (");
+        writer.write(chartResult.getAscendant().getRashi().getSanskritName());
+        writer.write(")\nDegree: ");
+        writeFixed2(writer, chartResult.getAscendant().getStartDegree());
+        writer.write("°\n\n");
         
-        sb.append("PLANETARY POSITIONS\n");
-        sb.append("==================\n");
+        writer.write("PLANETARY POSITIONS\n");
+        writer.write("==================\n");
         for (ChartResult.PlanetaryPosition position : chartResult.getPlanetaryPositions()) {
-            sb.append(position.getPlanet().getEnglishName()).append(": ");
-            sb.append(position.getRashi().getEnglishName()).append(" ");
-            sb.append(String.format("%.2f", position.getDegreeInRashi())).append("°\n");
+            writer.write(position.getPlanet().getEnglishName());
+            writer.write(": ");
+            writer.write(position.getRashi().getEnglishName());
+            writer.write(' ');
+            writeFixed2(writer, position.getDegreeInRashi());
+            writer.write("°\n");
         }
-        
-        return sb.toString();
     }
     
     @Override
     public DetailedChartResult generateDetailedChart(BirthData birthData) {
         ChartResult baseResult = generateBirthChart(birthData);
+        long phaseStart = CalculationMetrics.start();
         
         // Generate aspects (simplified)
         AspectInfo[] aspects = generateAspects(baseResult.getPlanetaryPositions());
@@ -148,43 +255,174 @@ public class AccurateChartGenerator implements ChartGenerator {
         
         // Generate planetary strengths (simplified)
         StrengthInfo[] strengths = generatePlanetaryStrengths(baseResult.getPlanetaryPositions());
+        CalculationMetrics.recordPhase("chart.details", phaseStart);
         
         return new DetailedChartResult(baseResult, aspects, relationships, strengths);
     }
     
     @Override
     public ChartResult generateDivisionalChart(BirthData birthData, VargaType vargaType) {
-        // For divisional chart, we'll modify the birth data based on the varga
-        // This is a simplified implementation
-        LocalDateTime modifiedTime = birthData.getBirthDateTime().plusHours(vargaType.getDivision());
-        
-        BirthData vargaData = new BirthData(
-            modifiedTime,
-            birthData.getLatitude(),
-            birthData.getLongitude(),
-            birthData.getPlaceName() + " (" + vargaType.getName() + " Varga)"
-        );
+        SiderealSnapshot snapshot = captureSiderealSnapshot(birthData);
+        VargaMatrix matrix = VargaCalculator.calculateVargaMatrix(snapshot.longitudes);
+        return buildDivisionalChart(birthData, vargaType, matrix, snapshot.retrograde, LocaleContextHolder.getLocale());
+    }
+    
+    @Override
+    public Map<VargaType, ChartResult> generateAllDivisionalCharts(BirthData birthData) {
+        // A single ephemeris snapshot serves all sixteen vargas
+        SiderealSnapshot snapshot = captureSiderealSnapshot(birthData);
+        VargaMatrix matrix = VargaCalculator.calculateVargaMatrix(snapshot.longitudes);
+        Locale locale = LocaleContextHolder.getLocale();
         
-        return generateBirthChart(vargaData);
+        Map<VargaType, ChartResult> charts = new EnumMap<>(VargaType.class);
+        for (VargaType vargaType : VargaType.values()) {
+            charts.put(vargaType, buildDivisionalChart(birthData, vargaType, matrix, snapshot.retrograde, locale));
+        }
+        return charts;
+    }
+    
+    /**
+     * Calculate the varga signs of all planets and the ascendant from a single ephemeris snapshot.
+     * Columns are in Planet index order, followed by the ascendant at {@link #ASCENDANT_INDEX}.
+     * 
+     * @param birthData Birth data
+     * @return VargaMatrix with one row per VargaType
+     */
+    public VargaMatrix calculateVargaMatrix(BirthData birthData) {
+        return VargaCalculator.calculateVargaMatrix(captureSiderealSnapshot(birthData).longitudes);
     }
     
     @Override
     public DashaResult generateDashaChart(BirthData birthData, DashaType dashaType) {
-        // Simplified dasha calculation
         LocalDateTime startDate = birthData.getBirthDateTime();
-        LocalDateTime endDate = startDate.plusYears(120); // Assuming 120 years lifespan
+        DasaSystem system = getDasaSystem(dashaType);
+        if (system == null) {
+            // Kalachakra periods follow signs of the navamsa, not a cycle of lords
+            return new DashaResult("Unknown", "Unknown", startDate, startDate.plusYears(120), new DashaPeriod[0]);
+        }
         
-        DashaPeriod[] periods = generateDashaPeriods(dashaType, startDate, endDate);
+        DasaSystemCalculator calculator = new DasaSystemCalculator(system, messageSource);
+        List<DasaResult> mahadasas = calculator.calculateDasas(birthData, 2, null, null);
+        DashaPeriod[] periods = generateDashaPeriods(mahadasas, calculator.getYearDays());
         
-        String currentDasha = periods.length > 0 ? periods[0].getPlanet() : "Unknown";
-        String currentAntardasha = periods.length > 0 ? periods[0].getPlanet() : "Unknown";
+        String currentDasha = "Unknown";
+        String currentAntardasha = "Unknown";
+        LocalDateTime now = LocalDateTime.now();
+        for (DasaResult mahadasa : mahadasas) {
+            if (mahadasa.getStartDate().isAfter(now) || mahadasa.getEndDate().isBefore(now)) {
+                continue;
+            }
+            currentDasha = mahadasa.getPlanet();
+            for (DasaResult antardasa : mahadasa.getSubDasas()) {
+                if (!antardasa.getStartDate().isAfter(now) && !antardasa.getEndDate().isBefore(now)) {
+                    currentAntardasha = antardasa.getPlanet();
+                    break;
+                }
+            }
+            break;
+        }
         
+        LocalDateTime endDate = periods.length > 0 ? periods[periods.length - 1].getEndDate() : startDate;
         return new DashaResult(currentDasha, currentAntardasha, startDate, endDate, periods);
     }
     
     // ==================== PRIVATE HELPER METHODS ====================
     
-    private ChartResult.PlanetaryPosition[] generateAccuratePlanetaryPositions(BirthData birthData) {
+    private SiderealSnapshot captureSiderealSnapshot(BirthData birthData) {
+        long phaseStart = CalculationMetrics.start();
+        Planet[] planets = Planet.values();
+        double[] longitudes = new double[planets.length + 1];
+        boolean[] retrograde = new boolean[planets.length + 1];
+        
+        for (Planet planet : planets) {
+            PlanetaryPosition swissPos = SwissEphCalculator.calculatePlanetPosition(
+                birthData.getBirthDateTime(),
+                birthData.getLatitude(),
+                birthData.getLongitude(),
+                planet.getEnglishName()
+            );
+            longitudes[planet.getIndex()] = swissPos.getLongitude();
+            retrograde[planet.getIndex()] = swissPos.isRetrograde();
+        }
+        longitudes[ASCENDANT_INDEX] = SwissEphCalculator.calculateAscendant(
+            birthData.getBirthDateTime(),
+            birthData.getLatitude(),
+            birthData.getLongitude()
+        );
+        CalculationMetrics.recordPhase("chart.snapshot", phaseStart);
+        
+        return new SiderealSnapshot(longitudes, retrograde);
+    }
+    
+    private ChartResult buildDivisionalChart(BirthData birthData, VargaType vargaType, VargaMatrix matrix,
+                                             boolean[] retrograde, Locale locale) {
+        Rashi[] rashis = Rashi.values();
+        int lagnaSign = matrix.getSign(vargaType, ASCENDANT_INDEX);
+        
+        Planet[] planets = Planet.values();
+        ChartResult.PlanetaryPosition[] positions = new ChartResult.PlanetaryPosition[planets.length];
+        for (Planet planet : planets) {
+            int index = planet.getIndex();
+            Rashi rashi = rashis[matrix.getSign(vargaType, index)];
+            double degreeInRashi = matrix.getDegree(vargaType, index);
+            
+            // Whole sign houses counted from the varga lagna
+            int houseNumber = (rashi.ordinal() - lagnaSign + 12) % 12 + 1;
+            
+            String exaltationStatus = determineExaltationStatus(planet, rashi.getStartDegree() + degreeInRashi);
+            String planetName = messageSource.getMessage(planet.getMessageKey(), null, planet.getEnglishName(), locale);
+            String rashiName = messageSource.getMessage(rashi.getMessageKey(), null, rashi.getEnglishName(), locale);
+            
+            positions[index] = new ChartResult.PlanetaryPosition(
+                planet, planetName, rashi, rashiName, degreeInRashi, houseNumber, retrograde[index],
+                localizeStatus(exaltationStatus, locale)
+            );
+        }
+        
+        ChartResult.House[] houses = new ChartResult.House[12];
+        for (int i = 0; i < 12; i++) {
+            Rashi rashi = rashis[(lagnaSign + i) % 12];
+            String rashiName = messageSource.getMessage(rashi.getMessageKey(), null, rashi.getEnglishName(), locale);
+            
+            List<ChartResult.PlanetaryPosition> housePlanets = new ArrayList<>();
+            for (ChartResult.PlanetaryPosition position : positions) {
+                if (position.getHouseNumber() == i + 1) {
+                    housePlanets.add(position);
+                }
+            }
+            
+            houses[i] = new ChartResult.House(
+                i + 1, rashi, rashiName, rashi.getStartDegree(), rashi.getEndDegree(),
+                housePlanets.toArray(new ChartResult.PlanetaryPosition[0])
+            );
+        }
+        
+        BirthData vargaData = new BirthData(
+            birthData.getBirthDateTime(),
+            birthData.getLatitude(),
+            birthData.getLongitude(),
+            birthData.getPlaceName() + " (" + vargaType.getName() + " Varga)",
+            birthData.getTimeZone()
+        );
+        
+        return new ChartResult(vargaData, positions, houses);
+    }
+    
+    
+    private double[] calculateHouseCusps(BirthData birthData) {
+        try {
+            return SwissEphCalculator.calculateHouseCusps(
+                birthData.getBirthDateTime(),
+                birthData.getLatitude(),
+                birthData.getLongitude()
+            );
+        } catch (Exception e) {
+            warnFallback("house calculation", e);
+            return null;
+        }
+    }
+    
+    private ChartResult.PlanetaryPosition[] generateAccuratePlanetaryPositions(BirthData birthData, double[] houseCusps) {
         List<ChartResult.PlanetaryPosition> positions = new ArrayList<>();
         Locale locale = LocaleContextHolder.getLocale();
         
@@ -207,7 +445,7 @@ public class AccurateChartGenerator implements ChartGenerator {
                 double degreeInRashi = rashi.getDegreeInRashi(swissPos.getLongitude());
                 
                 // Calculate house number (simplified - would need more complex calculation)
-                int houseNumber = calculateHouseNumber(swissPos.getLongitude(), birthData);
+                int houseNumber = calculateHouseNumber(swissPos.getLongitude(), houseCusps);
                 
                 // Determine exaltation status
                 String exaltationStatus = determineExaltationStatus(planet, swissPos.getLongitude());
@@ -222,7 +460,7 @@ public class AccurateChartGenerator implements ChartGenerator {
                 
             } catch (Exception e) {
                 // Fallback to simplified calculation if Swiss Ephemeris fails
-                System.err.println("Warning: Using fallback calculation for " + planet.getEnglishName() + ": " + e.getMessage());
+                warnFallback("calculation for " + planet.getEnglishName(), e);
                 positions.add(generateFallbackPosition(planet, birthData));
             }
         }
@@ -230,18 +468,16 @@ public class AccurateChartGenerator implements ChartGenerator {
         return positions.toArray(new ChartResult.PlanetaryPosition[0]);
     }
     
-    private ChartResult.House[] generateAccurateHouses(BirthData birthData, ChartResult.PlanetaryPosition[] planetaryPositions) {
+    private ChartResult.House[] generateAccurateHouses(BirthData birthData, ChartResult.PlanetaryPosition[] planetaryPositions,
+                                                       double[] houseCusps) {
+        if (houseCusps == null) {
+            return generateFallbackHouses(birthData, planetaryPositions);
+        }
+        
         ChartResult.House[] houses = new ChartResult.House[12];
         Locale locale = LocaleContextHolder.getLocale();
         
         try {
-            // Calculate house cusps using Swiss Ephemeris
-            double[] houseCusps = SwissEphCalculator.calculateHouseCusps(
-                birthData.getBirthDateTime(),
-                birthData.getLatitude(),
-                birthData.getLongitude()
-            );
-            
             for (int i = 0; i < 12; i++) {
                 double cuspLongitude = houseCusps[i];
                 Rashi rashi = Rashi.getRashiForDegree(cuspLongitude);
@@ -266,39 +502,37 @@ public class AccurateChartGenerator implements ChartGenerator {
             
         } catch (Exception e) {
             // Fallback to simplified calculation if Swiss Ephemeris fails
-            System.err.println("Warning: Using fallback house calculation: " + e.getMessage());
+            warnFallback("house calculation", e);
             houses = generateFallbackHouses(birthData, planetaryPositions);
         }
         
         return houses;
     }
     
-    private int calculateHouseNumber(double planetLongitude, BirthData birthData) {
-        try {
-            double[] houseCusps = SwissEphCalculator.calculateHouseCusps(
-                birthData.getBirthDateTime(),
-                birthData.getLatitude(),
-                birthData.getLongitude()
-            );
-            
-            // Find which house the planet is in
-            for (int i = 0; i < 12; i++) {
-                double startCusp = houseCusps[i];
-                double endCusp = (i < 11) ? houseCusps[i + 1] : houseCusps[0] + 360;
-                
-                if (startCusp < endCusp) {
-                    if (planetLongitude >= startCusp && planetLongitude < endCusp) return i + 1;
-                } else {
-                    // House crosses 360/0 boundary
-                    if (planetLongitude >= startCusp || planetLongitude < endCusp) return i + 1;
-                }
-            }
-            
-            return 1; // Default fallback
-        } catch (Exception e) {
+    private static void warnFallback(String calculation, Exception e) {
+        log.warn("Using fallback {}: {}", calculation, e.getMessage());
+    }
+    
+    private int calculateHouseNumber(double planetLongitude, double[] houseCusps) {
+        if (houseCusps == null) {
             // Simplified fallback calculation
             return ((int) (planetLongitude / 30) % 12) + 1;
         }
+        
+        // Find which house the planet is in
+        for (int i = 0; i < 12; i++) {
+            double startCusp = houseCusps[i];
+            double endCusp = (i < 11) ? houseCusps[i + 1] : houseCusps[0] + 360;
+            
+            if (startCusp < endCusp) {
+                if (planetLongitude >= startCusp && planetLongitude < endCusp) return i + 1;
+            } else {
+                // House crosses 360/0 boundary
+                if (planetLongitude >= startCusp || planetLongitude < endCusp) return i + 1;
+            }
+        }
+        
+        return 1; // Default fallback
     }
     
     private boolean isPlanetInHouse(ChartResult.PlanetaryPosition position, double startDegree, double endDegree) {
@@ -479,127 +713,223 @@ public class AccurateChartGenerator implements ChartGenerator {
     }
     
     // Format generation methods
-    private String generateJsonFormat(ChartResult chartResult) {
-        StringBuilder json = new StringBuilder();
-        json.append("{\n");
-        json.append("  \"birthData\": {\n");
-        json.append("    \"dateTime\": \"").append(chartResult.getBirthData().getBirthDateTime()).append("\",\n");
-        json.append("    \"latitude\": ").append(chartResult.getBirthData().getLatitude()).append(",\n");
-        json.append("    \"longitude\": ").append(chartResult.getBirthData().getLongitude()).append(",\n");
-        json.append("    \"placeName\": \"").append(chartResult.getBirthData().getPlaceName()).append("\"\n");
-        json.append("  },\n");
-        json.append("  \"ascendant\": \"").append(chartResult.getAscendant().getRashiName()).append("\",\n");
-        json.append("  \"planets\": [\n");
-        
-        for (int i = 0; i < chartResult.getPlanetaryPositions().length; i++) {
-            ChartResult.PlanetaryPosition pos = chartResult.getPlanetaryPositions()[i];
-            json.append("    {\n");
-            json.append("      \"planet\": \"").append(pos.getPlanetName()).append("\",\n");
-            json.append("      \"rashi\": \"").append(pos.getRashiName()).append("\",\n");
-            json.append("      \"degree\": ").append(pos.getDegreeInRashi()).append(",\n");
-            json.append("      \"house\": ").append(pos.getHouseNumber()).append(",\n");
-            json.append("      \"retrograde\": ").append(pos.isRetrograde()).append(",\n");
-            json.append("      \"exaltation\": \"").append(pos.getExaltationStatus()).append("\"\n");
-            json.append("    }");
-            if (i < chartResult.getPlanetaryPositions().length - 1) json.append(",");
-            json.append("\n");
-        }
-        
-        json.append("  ]\n");
-        json.append("}");
-        
-        return json.toString();
-    }
-    
-    private String generateXmlFormat(ChartResult chartResult) {
-        StringBuilder xml = new StringBuilder();
-        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
-        xml.append("<birthChart>\n");
-        xml.append("  <birthData>\n");
-        xml.append("    <dateTime>").append(chartResult.getBirthData().getBirthDateTime()).append("</dateTime>\n");
-        xml.append("    <latitude>").append(chartResult.getBirthData().getLatitude()).append("</latitude>\n");
-        xml.append("    <longitude>").append(chartResult.getBirthData().getLongitude()).append("</longitude>\n");
-        xml.append("    <placeName>").append(chartResult.getBirthData().getPlaceName()).append("</placeName>\n");
-        xml.append("  </birthData>\n");
-        xml.append("  <ascendant>").append(chartResult.getAscendant().getRashi().getEnglishName()).append("</ascendant>\n");
-        xml.append("  <planets>\n");
-        
-        for (ChartResult.PlanetaryPosition pos : chartResult.getPlanetaryPositions()) {
-            xml.append("    <planet>\n");
-            xml.append("      <name>").append(pos.getPlanet().getEnglishName()).append("</name>\n");
-            xml.append("      <rashi>").append(pos.getRashi().getEnglishName()).append("</rashi>\n");
-            xml.append("      <degree>").append(pos.getDegreeInRashi()).append("</degree>\n");
-            xml.append("      <house>").append(pos.getHouseNumber()).append("</house>\n");
-            xml.append("      <retrograde>").append(pos.isRetrograde()).append("</retrograde>\n");
-            xml.append("      <exaltation>").append(pos.getExaltationStatus()).append("</exaltation>\n");
-            xml.append("    </planet>\n");
+    private void writeJsonFormat(ChartResult chartResult, OutputStream out) throws IOException {
+        BirthData birthData = chartResult.getBirthData();
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            
+            json.writeObjectFieldStart("birthData");
+            json.writeStringField("dateTime", String.valueOf(birthData.getBirthDateTime()));
+            json.writeNumberField("latitude", birthData.getLatitude());
+            json.writeNumberField("longitude", birthData.getLongitude());
+            json.writeStringField("placeName", birthData.getPlaceName());
+            json.writeEndObject();
+            
+            json.writeStringField("ascendant", chartResult.getAscendant().getRashiName());
+            
+            json.writeArrayFieldStart("planets");
+            for (ChartResult.PlanetaryPosition pos : chartResult.getPlanetaryPositions()) {
+                json.writeStartObject();
+                json.writeStringField("planet", pos.getPlanetName());
+                json.writeStringField("rashi", pos.getRashiName());
+                json.writeNumberField("degree", pos.getDegreeInRashi());
+                json.writeNumberField("house", pos.getHouseNumber());
+                json.writeBooleanField("retrograde", pos.isRetrograde());
+                json.writeStringField("exaltation", pos.getExaltationStatus());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            
+            json.writeEndObject();
         }
-        
-        xml.append("  </planets>\n");
-        xml.append("</birthChart>");
-        
-        return xml.toString();
     }
     
-    private String generateHtmlFormat(ChartResult chartResult) {
+    private void writeXmlFormat(ChartResult chartResult, OutputStream out) throws IOException {
+        BirthData birthData = chartResult.getBirthData();
+        try {
+            XMLStreamWriter xml = XML_OUTPUT_FACTORY.createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.writeStartElement("birthChart");
+            
+            xml.writeCharacters("\n  ");
+            xml.writeStartElement("birthData");
+            writeXmlElement(xml, "\n    ", "dateTime", String.valueOf(birthData.getBirthDateTime()));
+            writeXmlElement(xml, "\n    ", "latitude", Double.toString(birthData.getLatitude()));
+            writeXmlElement(xml, "\n    ", "longitude", Double.toString(birthData.getLongitude()));
+            writeXmlElement(xml, "\n    ", "placeName", birthData.getPlaceName());
+            xml.writeCharacters("\n  ");
+            xml.writeEndElement();
+            
+            writeXmlElement(xml, "\n  ", "ascendant", chartResult.getAscendant().getRashi().getEnglishName());
+            
+            xml.writeCharacters("\n  ");
+            xml.writeStartElement("planets");
+            for (ChartResult.PlanetaryPosition pos : chartResult.getPlanetaryPositions()) {
+                xml.writeCharacters("\n    ");
+                xml.writeStartElement("planet");
+                writeXmlElement(xml, "\n      ", "name", pos.getPlanet().getEnglishName());
+                writeXmlElement(xml, "\n      ", "rashi", pos.getRashi().getEnglishName());
+                writeXmlElement(xml, "\n      ", "degree", Double.toString(pos.getDegreeInRashi()));
+                writeXmlElement(xml, "\n      ", "house", Integer.toString(pos.getHouseNumber()));
+                writeXmlElement(xml, "\n      ", "retrograde", Boolean.toString(pos.isRetrograde()));
+                writeXmlElement(xml, "\n      ", "exaltation", pos.getExaltationStatus());
+                xml.writeCharacters("\n    ");
+                xml.writeEndElement();
+            }
+            xml.writeCharacters("\n  ");
+            xml.writeEndElement();
+            
+            xml.writeCharacters("\n");
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("Error writing chart XML", e);
+        }
+    }
+    
+    private static void writeXmlElement(XMLStreamWriter xml, String indent, String name, String value) throws XMLStreamException {
+        xml.writeCharacters(indent);
+        xml.writeStartElement(name);
+        if (value != null) {
+            xml.writeCharacters(value);
+        }
+        xml.writeEndElement();
+    }
+    
+    private void writeHtmlFormat(ChartResult chartResult, Writer writer) throws IOException {
         Locale locale = LocaleContextHolder.getLocale();
-        StringBuilder html = new StringBuilder();
-        html.append("<!DOCTYPE html>\n<html>\n<head>\n");
-        html.append("<title>Birth Chart - ").append(chartResult.getBirthData().getPlaceName()).append("</title>\n");
-        html.append("<style>\n");
-        html.append("body { font-family: Arial, sans-serif; margin: 20px; }\n");
-        html.append("table { border-collapse: collapse; width: 100%; }\n");
-        html.append("th, td { border: 1px solid #ddd; padding: 8px; text-align: left; }\n");
-        html.append("th { background-color: #f2f2f2; }\n");
-        html.append("</style>\n</head>\n<body>\n");
-        html.append("<h1>Birth Chart (Swiss Ephemeris)</h1>\n");
-        html.append("<p><strong>Name:</strong> ").append(chartResult.getBirthData().getPlaceName()).append("</p>\n");
-        html.append("<p><strong>Date & Time:</strong> ").append(chartResult.getBirthData().getBirthDateTime()).append("</p>\n");
-        
-        String ascendantName = messageSource.getMessage(chartResult.getAscendant().getRashi().getMessageKey(), null, chartResult.getAscendant().getRashi().getEnglishName(), locale);
-        html.append("<p><strong>Ascendant:</strong> ").append(ascendantName).append("</p>\n");
-        
-        html.append("<h2>Planetary Positions</h2>\n");
-        html.append("<table>\n");
-        html.append("<tr><th>Planet</th><th>Rashi</th><th>Degree</th><th>House</th><th>Retrograde</th><th>Exaltation</th></tr>\n");
+        BirthData birthData = chartResult.getBirthData();
+        writer.write("<!DOCTYPE html>\n<html>\n<head>\n");
+        writer.write("<title>Birth Chart - ");
+        writeHtmlEscaped(writer, birthData.getPlaceName());
+        writer.write("</title>\n");
+        writer.write("<style>\n");
+        writer.write("body { font-family: Arial, sans-serif; margin: 20px; }\n");
+        writer.write("table { border-collapse: collapse; width: 100%; }\n");
+        writer.write("th, td { border: 1px solid #ddd; padding: 8px; text-align: left; }\n");
+        writer.write("th { background-color: #f2f2f2; }\n");
+        writer.write("</style>\n</head>\n<body>\n");
+        writer.write("<h1>Birth Chart (Swiss Ephemeris)</h1>\n");
+        writer.write("<p><strong>Name:</strong> ");
+        writeHtmlEscaped(writer, birthData.getPlaceName());
+        writer.write("</p>\n");
+        writer.write("<p><strong>Date &amp; Time:</strong> ");
+        writeHtmlEscaped(writer, String.valueOf(birthData.getBirthDateTime()));
+        writer.write("</p>\n");
+        
+        Rashi ascendant = chartResult.getAscendant().getRashi();
+        writer.write("<p><strong>Ascendant:</strong> ");
+        writeHtmlEscaped(writer, messageSource.getMessage(ascendant.getMessageKey(), null, ascendant.getEnglishName(), locale));
+        writer.write("</p>\n");
+        
+        writer.write("<h2>Planetary Positions</h2>\n");
+        writer.write("<table>\n");
+        writer.write("<tr><th>Planet</th><th>Rashi</th><th>Degree</th><th>House</th><th>Retrograde</th><th>Exaltation</th></tr>\n");
         
         for (ChartResult.PlanetaryPosition pos : chartResult.getPlanetaryPositions()) {
-            String planetName = messageSource.getMessage(pos.getPlanet().getMessageKey(), null, pos.getPlanet().getEnglishName(), locale);
-            String rashiName = messageSource.getMessage(pos.getRashi().getMessageKey(), null, pos.getRashi().getEnglishName(), locale);
-            
-            html.append("<tr>\n");
-            html.append("<td>").append(planetName).append("</td>\n");
-            html.append("<td>").append(rashiName).append("</td>\n");
-            html.append("<td>").append(String.format("%.2f", pos.getDegreeInRashi())).append("°</td>\n");
-            html.append("<td>").append(pos.getHouseNumber()).append("</td>\n");
-            html.append("<td>").append(pos.isRetrograde() ? "Yes" : "No").append("</td>\n");
-            html.append("<td>").append(pos.getExaltationStatus()).append("</td>\n");
-            html.append("</tr>\n");
+            writer.write("<tr>\n<td>");
+            writeHtmlEscaped(writer, messageSource.getMessage(pos.getPlanet().getMessageKey(), null, pos.getPlanet().getEnglishName(), locale));
+            writer.write("</td>\n<td>");
+            writeHtmlEscaped(writer, messageSource.getMessage(pos.getRashi().getMessageKey(), null, pos.getRashi().getEnglishName(), locale));
+            writer.write("</td>\n<td>");
+            writeFixed2(writer, pos.getDegreeInRashi());
+            writer.write("°</td>\n<td>");
+            writeDigits(writer, pos.getHouseNumber());
+            writer.write("</td>\n<td>");
+            writer.write(pos.isRetrograde() ? "Yes" : "No");
+            writer.write("</td>\n<td>");
+            writeHtmlEscaped(writer, pos.getExaltationStatus());
+            writer.write("</td>\n</tr>\n");
         }
         
-        html.append("</table>\n</body>\n</html>");
-        
-        return html.toString();
+        writer.write("</table>\n</body>\n</html>");
     }
     
-    private String generateCsvFormat(ChartResult chartResult) {
+    private void writeCsvFormat(ChartResult chartResult, Writer writer) throws IOException {
         Locale locale = LocaleContextHolder.getLocale();
-        StringBuilder csv = new StringBuilder();
-        csv.append("Planet,Rashi,Degree,House,Retrograde,Exaltation\n");
+        writer.write("Planet,Rashi,Degree,House,Retrograde,Exaltation\n");
         
         for (ChartResult.PlanetaryPosition pos : chartResult.getPlanetaryPositions()) {
-            String planetName = messageSource.getMessage(pos.getPlanet().getMessageKey(), null, pos.getPlanet().getEnglishName(), locale);
-            String rashiName = messageSource.getMessage(pos.getRashi().getMessageKey(), null, pos.getRashi().getEnglishName(), locale);
-            
-            csv.append(planetName).append(",");
-            csv.append(rashiName).append(",");
-            csv.append(String.format("%.2f", pos.getDegreeInRashi())).append(",");
-            csv.append(pos.getHouseNumber()).append(",");
-            csv.append(pos.isRetrograde() ? "Yes" : "No").append(",");
-            csv.append(pos.getExaltationStatus()).append("\n");
+            writeCsvField(writer, messageSource.getMessage(pos.getPlanet().getMessageKey(), null, pos.getPlanet().getEnglishName(), locale));
+            writer.write(',');
+            writeCsvField(writer, messageSource.getMessage(pos.getRashi().getMessageKey(), null, pos.getRashi().getEnglishName(), locale));
+            writer.write(',');
+            writeFixed2(writer, pos.getDegreeInRashi());
+            writer.write(',');
+            writeDigits(writer, pos.getHouseNumber());
+            writer.write(',');
+            writer.write(pos.isRetrograde() ? "Yes" : "No");
+            writer.write(',');
+            writeCsvField(writer, pos.getExaltationStatus());
+            writer.write('\n');
         }
-        
-        return csv.toString();
+    }
+    
+    /**
+     * Write a number rounded half up to two decimals like {@code String.format("%.2f")},
+     * but independent of the default locale and without "-0.00" for tiny negatives.
+     */
+    private static void writeFixed2(Writer writer, double value) throws IOException {
+        double scaled = Math.abs(value) * 100;
+        long hundredths = (long) (scaled + 0.5);
+        if (Math.abs(scaled - (long) scaled - 0.5) < 1e-7) {
+            // Halfway values such as 1.005 land either side of .5 in binary; round their decimal form instead
+            hundredths = BigDecimal.valueOf(Math.abs(value)).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+        }
+        if (value < 0 && hundredths > 0) {
+            writer.write('-');
+        }
+        writeDigits(writer, hundredths / 100);
+        writer.write('.');
+        long fraction = hundredths % 100;
+        writer.write((char) ('0' + fraction / 10));
+        writer.write((char) ('0' + fraction % 10));
+    }
+    
+    private static void writeDigits(Writer writer, long value) throws IOException {
+        if (value >= 10) {
+            writeDigits(writer, value / 10);
+        }
+        writer.write((char) ('0' + value % 10));
+    }
+    
+    private static void writeHtmlEscaped(Writer writer, String text) throws IOException {
+        if (text == null) return;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&': writer.write("&amp;"); break;
+                case '<': writer.write("&lt;"); break;
+                case '>': writer.write("&gt;"); break;
+                case '"': writer.write("&quot;"); break;
+                case '\'': writer.write("&#39;"); break;
+                default: writer.write(c);
+            }
+        }
+    }
+    
+    private static void writeCsvField(Writer writer, String text) throws IOException {
+        if (text == null) return;
+        boolean needsQuotes = false;
+        for (int i = 0; i < text.length() && !needsQuotes; i++) {
+            char c = text.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            writer.write(text);
+            return;
+        }
+        // RFC 4180: wrap in quotes and double embedded quotes
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') writer.write('"');
+            writer.write(c);
+        }
+        writer.write('"');
     }
     
     // Aspect and relationship methods
@@ -727,57 +1057,26 @@ public class AccurateChartGenerator implements ChartGenerator {
         return strengths.toArray(new StrengthInfo[0]);
     }
     
-    private DashaPeriod[] generateDashaPeriods(DashaType dashaType, LocalDateTime startDate, LocalDateTime endDate) {
-        if (dashaType != DashaType.VIMSHOTTARI) {
-            return new DashaPeriod[0]; // Only Vimshottari supported for now
+    private static DasaSystem getDasaSystem(DashaType dashaType) {
+        switch (dashaType) {
+            case VIMSHOTTARI: return DasaSystem.VIMSHOTTARI;
+            case ASHTOTTARI: return DasaSystem.ASHTOTTARI;
+            case YOGINI: return DasaSystem.YOGINI;
+            default: return null;
         }
-        
-        try {
-             // Let's get Moon longitude
-             com.example.purnima.util.SwissEphCalculator.PlanetaryPosition moon = 
-                 SwissEphCalculator.calculatePlanetPosition(startDate, 0, 0, "Moon"); // Lat/Lon don't matter much for Moon longitude
-             
-             double moonLongitude = moon.getLongitude();
-             
-             // 2. Calculate Nakshatra
-             double nakshatraSpan = 13.0 + (20.0/60.0); // 13.3333...
-             int nakshatraIndex = (int) (moonLongitude / nakshatraSpan);
-             double elapsedInNakshatra = moonLongitude % nakshatraSpan;
-             double remainingFraction = 1.0 - (elapsedInNakshatra / nakshatraSpan);
-             
-             // 3. Dasha Lords and Periods
-             // Sequence: Ketu, Venus, Sun, Moon, Mars, Rahu, Jupiter, Saturn, Mercury
-             // Nakshatra 1 (Ashwini) -> Ketu
-             String[] dashaLords = {"Ketu", "Venus", "Sun", "Moon", "Mars", "Rahu", "Jupiter", "Saturn", "Mercury"};
-             int[] dashaYears = {7, 20, 6, 10, 7, 18, 16, 19, 17};
-             
-             int startLordIndex = nakshatraIndex % 9;
-             double balanceYears = dashaYears[startLordIndex] * remainingFraction;
-             
-             List<DashaPeriod> periods = new ArrayList<>();
-             LocalDateTime currentStart = startDate;
-             
-             // First period (Balance)
-             LocalDateTime firstEnd = currentStart.plusDays((long)(balanceYears * 365.25));
-             periods.add(new DashaPeriod(dashaLords[startLordIndex], currentStart, firstEnd, (int)balanceYears));
-             currentStart = firstEnd;
-             
-             // Subsequent periods
-             int currentLordIndex = (startLordIndex + 1) % 9;
-             while (currentStart.isBefore(endDate)) {
-                 int years = dashaYears[currentLordIndex];
-                 LocalDateTime nextEnd = currentStart.plusYears(years);
-                 periods.add(new DashaPeriod(dashaLords[currentLordIndex], currentStart, nextEnd, years));
-                 currentStart = nextEnd;
-                 currentLordIndex = (currentLordIndex + 1) % 9;
-             }
-             
-             return periods.toArray(new DashaPeriod[0]);
-             
-        } catch (Exception e) {
-            e.printStackTrace();
-            return new DashaPeriod[0];
+    }
+    
+    private DashaPeriod[] generateDashaPeriods(List<DasaResult> mahadasas, double yearDays) {
+        double yearSeconds = yearDays * DasaTimeline.SECONDS_PER_DAY;
+        DashaPeriod[] periods = new DashaPeriod[mahadasas.size()];
+        for (int i = 0; i < periods.length; i++) {
+            DasaResult mahadasa = mahadasas.get(i);
+            // Whole years; the first period is only the balance left at birth
+            long seconds = Duration.between(mahadasa.getStartDate(), mahadasa.getEndDate()).getSeconds();
+            int years = (int) ((seconds + 1) / yearSeconds);
+            periods[i] = new DashaPeriod(mahadasa.getPlanet(), mahadasa.getStartDate(), mahadasa.getEndDate(), years);
         }
+        return periods;
     }
 
     // Helper for Natural Relationships
@@ -854,4 +1153,17 @@ public class AccurateChartGenerator implements ChartGenerator {
         }
         return "Neutral";
     }
+    
+    /**
+     * Sidereal longitudes and retrograde flags of the planets and ascendant at one instant.
+     */
+    private static class SiderealSnapshot {
+        private final double[] longitudes;
+        private final boolean[] retrograde;
+        
+        SiderealSnapshot(double[] longitudes, boolean[] retrograde) {
+            this.longitudes = longitudes;
+            this.retrograde = retrograde;
+        }
+    }
 }
\ No newline at end of file
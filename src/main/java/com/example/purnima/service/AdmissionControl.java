@@ -0,0 +1,293 @@
+package com.example.purnima.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost-based admission control for muhurta range searches.
+ * <p>
+ * Before a search runs, its cost is estimated in ephemeris calls from the length of the
+ * range and the search type. The estimate is charged against a per-client and a global
+ * token bucket. Requests that fit are admitted immediately; requests that would fit after
+ * a short wait are queued for that long; everything else is rejected with
+ * {@link AdmissionRejectedException}. Clients are told apart by {@link #clientKey}, which only
+ * takes a client id from a configured gateway, so callers cannot mint fresh budgets. Estimated and actual cost are published as metrics
+ * so the cost model can be calibrated.
+ */
+@Service
+public class AdmissionControl {
+
+    private static final Set<DayOfWeek> MON_WED_THU_FRI = EnumSet.of(
+        DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+    private static final Set<DayOfWeek> WED_THU_FRI = EnumSet.of(
+        DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+    private static final Set<DayOfWeek> THU_FRI = EnumSet.of(DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+
+    private static final int SLOT_MINUTES = 30;
+
+    /**
+     * Range searches with the days they evaluate and the approximate number of
+     * ephemeris calls made for each 30-minute slot on those days.
+     */
+    public enum SearchType {
+        VEHICLE(MON_WED_THU_FRI, 6),
+        MARRIAGE(MON_WED_THU_FRI, 9),
+        GRIHA_PRAVESH(MON_WED_THU_FRI, 8),
+        BUSINESS(WED_THU_FRI, 5),
+        NAMAKARANA(MON_WED_THU_FRI, 6),
+        PROPERTY(THU_FRI, 5);
+
+        private final Set<DayOfWeek> searchedDays;
+        private final int callsPerSlot;
+
+        SearchType(Set<DayOfWeek> searchedDays, int callsPerSlot) {
+            this.searchedDays = searchedDays;
+            this.callsPerSlot = callsPerSlot;
+        }
+
+        public Set<DayOfWeek> getSearchedDays() { return searchedDays; }
+        public int getCallsPerSlot() { return callsPerSlot; }
+
+        String tag() { return name().toLowerCase(); }
+    }
+
+    private final boolean enabled;
+    private final double maxRequestCost;
+    private final double clientCapacity;
+    private final double clientRefillPerSecond;
+    private final long maxQueueNanos;
+    private final Set<String> trustedProxies;
+    private final TokenBucket globalBucket;
+    private final Map<String, TokenBucket> clientBuckets;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public AdmissionControl(@Value("${purnima.admission.enabled:true}") boolean enabled,
+                            @Value("${purnima.admission.max-request-cost:200000}") double maxRequestCost,
+                            @Value("${purnima.admission.client-capacity:200000}") double clientCapacity,
+                            @Value("${purnima.admission.client-refill-per-second:20000}") double clientRefillPerSecond,
+                            @Value("${purnima.admission.global-capacity:1000000}") double globalCapacity,
+                            @Value("${purnima.admission.global-refill-per-second:100000}") double globalRefillPerSecond,
+                            @Value("${purnima.admission.max-queue-ms:5000}") long maxQueueMillis,
+                            @Value("${purnima.admission.max-clients:10000}") int maxClients,
+                            @Value("${purnima.admission.trusted-proxies:}") String[] trustedProxies,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxRequestCost = maxRequestCost;
+        this.clientCapacity = clientCapacity;
+        this.clientRefillPerSecond = clientRefillPerSecond;
+        this.maxQueueNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueMillis);
+        this.trustedProxies = new HashSet<>();
+        for (String proxy : trustedProxies) {
+            if (!proxy.trim().isEmpty()) {
+                this.trustedProxies.add(proxy.trim());
+            }
+        }
+        this.globalBucket = new TokenBucket(globalCapacity, globalRefillPerSecond);
+        // Least recently used clients are dropped first, so made-up client ids cannot grow the map
+        this.clientBuckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > maxClients;
+            }
+        };
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Key under which a caller's budget is kept. A client id forwarded by a trusted gateway
+     * comes first, then the authenticated principal, then the remote address. A client id from
+     * any other address is ignored: a caller could send a new one with every request.
+     *
+     * @param remoteAddress Address the request came from
+     * @param principal Name of the authenticated user, or null
+     * @param forwardedClientId Client id header set by a gateway, or null
+     * @return Client key for {@link #admit}
+     */
+    public String clientKey(String remoteAddress, String principal, String forwardedClientId) {
+        if (forwardedClientId != null && !forwardedClientId.isEmpty() && trustedProxies.contains(remoteAddress)) {
+            return "client:" + forwardedClientId;
+        }
+        if (principal != null && !principal.isEmpty()) {
+            return "user:" + principal;
+        }
+        return "address:" + remoteAddress;
+    }
+
+    /**
+     * Estimate the cost of a range search in ephemeris calls.
+     *
+     * @param type Search type
+     * @param start Start of the range
+     * @param end End of the range
+     * @return Estimated number of ephemeris calls
+     */
+    public static double estimateCost(SearchType type, LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !start.isBefore(end)) {
+            return 0;
+        }
+        long minutes = Duration.between(start, end).toMinutes();
+        double slots = Math.ceil(minutes / (double) SLOT_MINUTES);
+        double searchedFraction = type.getSearchedDays().size() / 7.0;
+        return slots * searchedFraction * type.getCallsPerSlot();
+    }
+
+    /**
+     * Admit a range search, run it and record its cost.
+     *
+     * @param type Search type
+     * @param start Start of the range
+     * @param end End of the range
+     * @param clientId Key of the calling client, see {@link #clientKey}
+     * @param search The search to run once admitted
+     * @return Result of the search
+     * @throws AdmissionRejectedException If the search exceeds the request limit or the budgets
+     */
+    public <T> T admit(SearchType type, LocalDateTime start, LocalDateTime end, String clientId, Supplier<T> search) {
+        if (!enabled) {
+            return search.get();
+        }
+
+        double cost = estimateCost(type, start, end);
+        meterRegistry.summary("purnima.admission.cost.estimated", "search", type.tag()).record(cost);
+
+        if (cost > maxRequestCost) {
+            reject(type, "too_large");
+            throw new AdmissionRejectedException(
+                String.format("Requested range is too large: estimated cost %.0f exceeds the per-request limit of %.0f. " +
+                              "Split the range into smaller searches.", cost, maxRequestCost),
+                false, 0);
+        }
+
+        TokenBucket clientBucket = clientBucket(clientId);
+        long clientWait = clientBucket.reserve(cost, maxQueueNanos);
+        if (clientWait < 0) {
+            reject(type, "client_budget");
+            throw new AdmissionRejectedException(
+                String.format("Client compute budget exhausted: estimated cost %.0f, retry later.", cost),
+                true, clientBucket.secondsUntilAvailable(cost));
+        }
+        long globalWait = globalBucket.reserve(cost, maxQueueNanos);
+        if (globalWait < 0) {
+            clientBucket.refund(cost);
+            reject(type, "global_budget");
+            throw new AdmissionRejectedException(
+                String.format("Server compute budget exhausted: estimated cost %.0f, retry later.", cost),
+                true, globalBucket.secondsUntilAvailable(cost));
+        }
+
+        long waitNanos = Math.max(clientWait, globalWait);
+        if (waitNanos > 0) {
+            // Over budget but close: queue the request until the budget has refilled
+            meterRegistry.counter("purnima.admission.queued", "search", type.tag()).increment();
+            meterRegistry.timer("purnima.admission.queue.wait", "search", type.tag()).record(waitNanos, TimeUnit.NANOSECONDS);
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for admission", e);
+            }
+        }
+        meterRegistry.counter("purnima.admission.admitted", "search", type.tag()).increment();
+
+        long startNanos = System.nanoTime();
+        try {
+            return search.get();
+        } finally {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            meterRegistry.timer("purnima.admission.cost.actual", "search", type.tag()).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            if (cost > 0) {
+                // Microseconds per estimated ephemeris call; drift here means the weights need tuning
+                meterRegistry.summary("purnima.admission.cost.ratio", "search", type.tag())
+                    .record(elapsedNanos / 1000.0 / cost);
+            }
+        }
+    }
+
+    private void reject(SearchType type, String reason) {
+        meterRegistry.counter("purnima.admission.rejected", "search", type.tag(), "reason", reason).increment();
+    }
+
+    private TokenBucket clientBucket(String clientId) {
+        // One short lookup per range search, which is far cheaper than the search itself
+        synchronized (clientBuckets) {
+            return clientBuckets.computeIfAbsent(clientId != null ? clientId : "anonymous",
+                id -> new TokenBucket(clientCapacity, clientRefillPerSecond));
+        }
+    }
+
+    /**
+     * Number of clients that currently have a budget.
+     */
+    int getClientCount() {
+        synchronized (clientBuckets) {
+            return clientBuckets.size();
+        }
+    }
+
+    /**
+     * Token bucket measured in ephemeris calls. Reservations may drive the balance
+     * negative, which makes later callers wait for the refill.
+     */
+    private static class TokenBucket {
+        private final double capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerSecond / 1_000_000_000.0;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        /**
+         * Reserve tokens for a request.
+         *
+         * @return Nanoseconds to wait before running, or -1 if the wait would exceed maxWaitNanos
+         */
+        synchronized long reserve(double cost, long maxWaitNanos) {
+            refill();
+            if (tokens >= cost) {
+                tokens -= cost;
+                return 0;
+            }
+            long waitNanos = (long) Math.ceil((cost - tokens) / refillPerNano);
+            if (waitNanos > maxWaitNanos) {
+                return -1;
+            }
+            tokens -= cost;
+            return waitNanos;
+        }
+
+        synchronized void refund(double cost) {
+            tokens = Math.min(capacity, tokens + cost);
+        }
+
+        synchronized long secondsUntilAvailable(double cost) {
+            refill();
+            double deficit = cost - tokens;
+            return deficit <= 0 ? 0 : (long) Math.ceil(deficit / refillPerNano / 1_000_000_000.0);
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+        }
+    }
+}
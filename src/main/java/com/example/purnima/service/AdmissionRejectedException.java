@@ -0,0 +1,26 @@
+package com.example.purnima.service;
+
+/**
+ * Thrown when a range search is not admitted by {@link AdmissionControl}.
+ * Over-budget requests map to 429 Too Many Requests with a Retry-After hint;
+ * requests that can never be admitted map to 400 Bad Request.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final boolean retryable;
+    private final long retryAfterSeconds;
+
+    public AdmissionRejectedException(String message, boolean retryable, long retryAfterSeconds) {
+        super(message);
+        this.retryable = retryable;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
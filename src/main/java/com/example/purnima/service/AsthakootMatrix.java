@@ -0,0 +1,260 @@
+package com.example.purnima.service;
+
+/**
+ * Asthakoot scores of every pair of Moon positions, precomputed at class load.
+ * <p>
+ * All eight kootas depend only on the two Moon nakshatras and rashis, and both are fixed by the
+ * nakshatra pada (3 degrees 20 minutes): a nakshatra is four padas and a rashi nine. Scores are
+ * held in byte arrays indexed by the male and female pada (0 to 107), so scoring a pair is a
+ * single array read and the whole table takes about 100 KB.
+ */
+public final class AsthakootMatrix {
+
+    /** Nakshatra padas in the zodiac. */
+    public static final int PADA_COUNT = 108;
+    public static final int KOOTA_COUNT = 8;
+
+    // Koota order in a score vector
+    public static final int VARNA = 0;
+    public static final int VASHYA = 1;
+    public static final int TARA = 2;
+    public static final int YONI = 3;
+    public static final int GRAHA_MAITRI = 4;
+    public static final int GANA = 5;
+    public static final int BHAKOOT = 6;
+    public static final int NADI = 7;
+
+    private static final int PADAS_PER_NAKSHATRA = 4;
+    private static final int PADAS_PER_RASHI = 9;
+
+    // KOOTA_COUNT scores of pair (male, female) from (male * PADA_COUNT + female) * KOOTA_COUNT
+    private static final byte[] SCORES = new byte[PADA_COUNT * PADA_COUNT * KOOTA_COUNT];
+    private static final byte[] TOTALS = new byte[PADA_COUNT * PADA_COUNT];
+
+    static {
+        for (int male = 0; male < PADA_COUNT; male++) {
+            int maleNak = male / PADAS_PER_NAKSHATRA + 1;
+            int maleRashi = male / PADAS_PER_RASHI + 1;
+            for (int female = 0; female < PADA_COUNT; female++) {
+                int femaleNak = female / PADAS_PER_NAKSHATRA + 1;
+                int femaleRashi = female / PADAS_PER_RASHI + 1;
+                int pair = male * PADA_COUNT + female;
+                int offset = pair * KOOTA_COUNT;
+                SCORES[offset + VARNA] = (byte) calculateVarnaKoota(maleRashi, femaleRashi);
+                SCORES[offset + VASHYA] = (byte) calculateVashyaKoota(maleRashi, femaleRashi);
+                SCORES[offset + TARA] = (byte) calculateTaraKoota(maleNak, femaleNak);
+                SCORES[offset + YONI] = (byte) calculateYoniKoota(maleNak, femaleNak);
+                SCORES[offset + GRAHA_MAITRI] = (byte) calculateGrahaMaitriKoota(maleRashi, femaleRashi);
+                SCORES[offset + GANA] = (byte) calculateGanaKoota(maleNak, femaleNak);
+                SCORES[offset + BHAKOOT] = (byte) calculateBhakootKoota(maleRashi, femaleRashi);
+                SCORES[offset + NADI] = (byte) calculateNadiKoota(maleNak, femaleNak);
+                int total = 0;
+                for (int koota = 0; koota < KOOTA_COUNT; koota++) {
+                    total += SCORES[offset + koota];
+                }
+                TOTALS[pair] = (byte) total;
+            }
+        }
+    }
+
+    private AsthakootMatrix() {
+    }
+
+    /**
+     * Nakshatra pada of a Moon position, 0 (Ashwini pada 1) to 107 (Revati pada 4).
+     *
+     * @param moonLongitude Sidereal longitude of the Moon
+     */
+    public static int padaIndex(double moonLongitude) {
+        // Longitudes are normally in range already, and % on doubles is a slow runtime call
+        if (!(moonLongitude >= 0 && moonLongitude < 360)) {
+            moonLongitude %= 360;
+            if (moonLongitude < 0) {
+                moonLongitude += 360;
+            }
+        }
+        return Math.min(PADA_COUNT - 1, (int) (moonLongitude * PADA_COUNT / 360));
+    }
+
+    /**
+     * Total Asthakoot score (0 to 36) of a pair.
+     *
+     * @param malePada Pada index of the male Moon
+     * @param femalePada Pada index of the female Moon
+     */
+    public static int getTotalScore(int malePada, int femalePada) {
+        return TOTALS[malePada * PADA_COUNT + femalePada];
+    }
+
+    /**
+     * Score of one koota of a pair.
+     *
+     * @param malePada Pada index of the male Moon
+     * @param femalePada Pada index of the female Moon
+     * @param koota VARNA to NADI
+     */
+    public static int getScore(int malePada, int femalePada, int koota) {
+        return SCORES[(malePada * PADA_COUNT + femalePada) * KOOTA_COUNT + koota];
+    }
+
+    // Koota rules by nakshatra (1-27) and rashi (1-12), used only to fill the matrix
+
+    private static int calculateVarnaKoota(int maleRashi, int femaleRashi) {
+        // The groom's varna should be equal to or higher than the bride's (lower order = higher varna)
+        int m = getVarnaOrder(maleRashi);
+        int f = getVarnaOrder(femaleRashi);
+        
+        return (m <= f) ? 1 : 0;
+    }
+    
+    private static int getVarnaOrder(int rashi) {
+        if (rashi == 4 || rashi == 8 || rashi == 12) return 1; // Brahmin
+        if (rashi == 1 || rashi == 5 || rashi == 9) return 2; // Kshatriya
+        if (rashi == 2 || rashi == 6 || rashi == 10) return 3; // Vaishya
+        return 4; // Shudra
+    }
+    
+    private static int calculateVashyaKoota(int maleRashi, int femaleRashi) {
+        // Simplified Vashya: Same sign = 2, Friendly = 1, Enemy = 0
+        // Full table is complex. Using simplified logic based on groups.
+        // Group 1 (Chatushpada): 1, 2, 9(2nd half), 10(1st half)
+        // Group 2 (Manava): 3, 6, 7, 9(1st half), 11
+        // Group 3 (Jalachara): 4, 10(2nd half), 12
+        // Group 4 (Vanachara): 5
+        // Group 5 (Keeta): 8
+        
+        // Simplified:
+        int[] group = {0, 1, 1, 2, 3, 4, 2, 2, 5, 1, 1, 2, 3}; // 1-based
+        
+        if (maleRashi == femaleRashi) return 2;
+        int m = group[maleRashi];
+        int f = group[femaleRashi];
+        
+        if (m == f) return 2;
+        if ((m == 1 && f == 2) || (m == 2 && f == 1)) return 1; // Man-Animal
+        return 0; // Default
+    }
+    
+    private static int calculateTaraKoota(int maleNak, int femaleNak) {
+        int count = (femaleNak - maleNak);
+        if (count <= 0) count += 27;
+        boolean mGood = isTaraGood(count);
+        
+        count = (maleNak - femaleNak);
+        if (count <= 0) count += 27;
+        boolean fGood = isTaraGood(count);
+        
+        if (mGood && fGood) return 3;
+        if (mGood || fGood) return 1; // 1.5 rounded down
+        return 0;
+    }
+    
+    // Taras 3, 5 and 7 (Vipat, Pratyak, Naidhana) are bad; a remainder of 0 is the 9th tara
+    private static boolean isTaraGood(int count) {
+        int rem = count % 9;
+        return (rem == 1 || rem == 2 || rem == 4 || rem == 6 || rem == 8 || rem == 0);
+    }
+    
+    private static int calculateYoniKoota(int maleNak, int femaleNak) {
+        // Simplified: Same yoni = 4, Different = 2, Enemy = 0
+        // Mapping nakshatra to 14 yonis is needed.
+        // For brevity, using a hash-based approach for demonstration
+        int mYoni = (maleNak - 1) % 14;
+        int fYoni = (femaleNak - 1) % 14;
+        
+        if (mYoni == fYoni) return 4;
+        if (Math.abs(mYoni - fYoni) == 7) return 0; // Enemy
+        return 2; // Neutral
+    }
+    
+    private static int calculateGrahaMaitriKoota(int maleRashi, int femaleRashi) {
+        // Lords: 1-Mars, 2-Ven, 3-Mer, 4-Mon, 5-Sun, 6-Mer, 7-Ven, 8-Mars, 9-Jup, 10-Sat, 11-Sat, 12-Jup
+        int[] lords = {0, 1, 2, 3, 4, 5, 3, 2, 1, 6, 7, 7, 6}; // 1=Mars, 2=Ven, 3=Mer, 4=Mon, 5=Sun, 6=Jup, 7=Sat
+        
+        int mLord = lords[maleRashi];
+        int fLord = lords[femaleRashi];
+        
+        if (mLord == fLord) return 5;
+        
+        // Simplified friendship:
+        // Friends: Sun-Moon-Mars-Jup
+        // Friends: Ven-Mer-Sat
+        // Neutral: Moon-Mer
+        
+        boolean mGroup1 = (mLord == 1 || mLord == 4 || mLord == 5 || mLord == 6); // Mars, Mon, Sun, Jup
+        boolean fGroup1 = (fLord == 1 || fLord == 4 || fLord == 5 || fLord == 6);
+        
+        if (mGroup1 == fGroup1) return 5; // Same group
+        return 0; // Different group (Enemy) - Simplified
+    }
+    
+    private static int calculateGanaKoota(int maleNak, int femaleNak) {
+        // 1=Deva, 2=Manushya, 3=Rakshasa
+        int mGana = getGana(maleNak);
+        int fGana = getGana(femaleNak);
+        
+        if (mGana == fGana) return 6;
+        if ((mGana == 1 && fGana == 2) || (mGana == 2 && fGana == 1)) return 5; // Deva-Man
+        if (mGana == 3 || fGana == 3) return 0; // One is Rakshasa and other is not
+        return 1;
+    }
+    
+    private static int getGana(int nak) {
+        // Deva: 1, 5, 7, 8, 13, 15, 17, 22, 27
+        if (nak==1||nak==5||nak==7||nak==8||nak==13||nak==15||nak==17||nak==22||nak==27) return 1;
+        // Manushya: 2, 4, 6, 11, 12, 20, 21, 25, 26
+        if (nak==2||nak==4||nak==6||nak==11||nak==12||nak==20||nak==21||nak==25||nak==26) return 2;
+        // Rakshasa
+        return 3;
+    }
+    
+    private static int calculateBhakootKoota(int maleRashi, int femaleRashi) {
+        int count = (femaleRashi - maleRashi) + 1;
+        if (count <= 0) count += 12;
+        // 1, 7 -> 7
+        // 2, 12 -> 0
+        // 3, 11 -> 7
+        // 4, 10 -> 7
+        // 5, 9 -> 0
+        // 6, 8 -> 0
+        
+        // Count is from Male to Female.
+        // If count is 1 (same), 7 (opposite) -> 7
+        if (count == 1 || count == 7) return 7;
+        
+        // 2/12 relationship: Count 2 or 12
+        if (count == 2 || count == 12) return 0;
+        
+        // 3/11: Count 3 or 11
+        if (count == 3 || count == 11) return 7;
+        
+        // 4/10: Count 4 or 10
+        if (count == 4 || count == 10) return 7;
+        
+        // 5/9: Count 5 or 9
+        if (count == 5 || count == 9) return 0;
+        
+        // 6/8: Count 6 or 8
+        if (count == 6 || count == 8) return 0;
+        
+        return 0;
+    }
+    
+    private static int calculateNadiKoota(int maleNak, int femaleNak) {
+        // Adi: 1, 6, 7, 12, 13, 18, 19, 24, 25
+        // Madhya: 2, 5, 8, 11, 14, 17, 20, 23, 26
+        // Antya: 3, 4, 9, 10, 15, 16, 21, 22, 27
+        
+        int mNadi = getNadi(maleNak);
+        int fNadi = getNadi(femaleNak);
+        
+        if (mNadi == fNadi) return 0; // Dosha
+        return 8; // No Dosha
+    }
+    
+    private static int getNadi(int nak) {
+        if (nak==1||nak==6||nak==7||nak==12||nak==13||nak==18||nak==19||nak==24||nak==25) return 1;
+        if (nak==2||nak==5||nak==8||nak==11||nak==14||nak==17||nak==20||nak==23||nak==26) return 2;
+        return 3;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.purnima.service;
+
+import com.example.purnima.util.CalculationMetrics;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Splits a batch into chunks of consecutive indices and runs them in parallel.
+ * <p>
+ * The calling thread works through chunks itself, and helper tasks submitted to an executor
+ * take chunks alongside it. The caller only waits for chunks a helper has already started, so a
+ * batch can run on the same bounded pool as its caller (e.g. a {@link ComputeExecutor} lane)
+ * without deadlock, and a helper that is rejected or never starts only makes the batch slower.
+ * Chunks run in the caller's locale and count towards the caller's calculation metrics.
+ */
+public final class BatchRunner {
+
+    /** Number of threads a batch is spread over. */
+    public static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private BatchRunner() {
+    }
+
+    /**
+     * Work on the indices from..to-1 of a batch.
+     */
+    @FunctionalInterface
+    public interface Chunk {
+        void run(int from, int to);
+    }
+
+    /**
+     * Pool shared by calculators created outside Spring, sized to the number of cores.
+     */
+    public static ExecutorService sharedExecutor() {
+        return SharedExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Run a batch of size indices and wait until every chunk is done.
+     *
+     * @param executor Executor for helper tasks; should be bounded to the number of cores
+     * @param size Number of indices
+     * @param minChunkSize Fewest indices per chunk; smaller batches run on the caller alone
+     * @param task What the batch does, for error messages, e.g. "generating batch charts"
+     * @param chunk Work on one chunk
+     */
+    public static void run(Executor executor, int size, int minChunkSize, String task, Chunk chunk) {
+        if (size < minChunkSize * 2) {
+            if (size > 0) {
+                chunk.run(0, size);
+            }
+            return;
+        }
+
+        // A few chunks per thread keeps every thread busy when items differ in cost
+        int chunkSize = Math.max(minChunkSize, (size + PARALLELISM * 4 - 1) / (PARALLELISM * 4));
+        int chunkCount = (size + chunkSize - 1) / chunkSize;
+        AtomicInteger nextChunk = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(chunkCount);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            for (int c = nextChunk.getAndIncrement(); c < chunkCount; c = nextChunk.getAndIncrement()) {
+                try {
+                    // After a failure the remaining chunks are only counted down
+                    if (failure.get() == null) {
+                        chunk.run(c * chunkSize, Math.min(size, (c + 1) * chunkSize));
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    finished.countDown();
+                }
+            }
+        };
+
+        Locale locale = LocaleContextHolder.getLocale();
+        CalculationMetrics.Scope metricsScope = CalculationMetrics.currentScope();
+        Runnable helper = () -> {
+            LocaleContextHolder.setLocale(locale);
+            CalculationMetrics.setCurrentScope(metricsScope);
+            try {
+                worker.run();
+            } finally {
+                CalculationMetrics.resetCurrentScope();
+                LocaleContextHolder.resetLocaleContext();
+            }
+        };
+        for (int h = 1; h < Math.min(PARALLELISM, chunkCount); h++) {
+            try {
+                executor.execute(helper);
+            } catch (RejectedExecutionException e) {
+                // No spare capacity; the caller and the helpers already started do the work
+                break;
+            }
+        }
+
+        worker.run();
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            // Stop helpers from starting new chunks
+            nextChunk.set(chunkCount);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while " + task, e);
+        }
+        if (failure.get() != null) {
+            throw new RuntimeException("Error " + task, failure.get());
+        }
+    }
+
+    /**
+     * Lazily created pool; worker threads are daemons so they never block shutdown.
+     */
+    private static class SharedExecutorHolder {
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+            Thread thread = new Thread(runnable, "batch-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
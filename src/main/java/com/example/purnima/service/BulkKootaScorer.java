@@ -0,0 +1,177 @@
+package com.example.purnima.service;
+
+import java.util.Arrays;
+
+/**
+ * Scores one profile against a column of candidates at memory speed.
+ * <p>
+ * Candidates are given as packed byte arrays of Moon pada codes (0 to 107, see
+ * {@link AsthakootMatrix#padaIndex}; REJECTED marks an unknown Moon, and is never accepted).
+ * For a query the eight koota scores of every candidate pada are summed once into a 128-byte
+ * row, with the minimum score and the Nadi and Bhakoot dosha masks folded in as rejections.
+ * Scoring a candidate is then a lookup in that row. With the {@code vector} build profile and
+ * {@code --add-modules jdk.incubator.vector} at run time, the lookup is done in vector registers
+ * a full vector of candidates at a time; otherwise a scalar loop is used. Both give the same
+ * results. Set {@code purnima.koota.vector=false} to force the scalar loop.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public final class BulkKootaScorer {
+
+    /** Score written for a candidate that is rejected. */
+    public static final byte REJECTED = -1;
+
+    /** Entries of a score row; pada codes are masked to 7 bits, so every byte indexes it. */
+    static final int ROW_SIZE = 128;
+    private static final int MAX_SCORE = 36;
+
+    static final Kernel SCALAR = new ScalarKernel();
+    private static final Kernel KERNEL = loadKernel();
+
+    private final int minScore;
+    private final boolean rejectNadiDosha;
+    private final boolean rejectBhakootDosha;
+
+    /**
+     * Scorer that accepts every candidate.
+     */
+    public BulkKootaScorer() {
+        this(0, false, false);
+    }
+
+    /**
+     * @param minScore Lowest total score (out of 36) to accept
+     * @param rejectNadiDosha Reject candidates whose Nadi koota scores 0
+     * @param rejectBhakootDosha Reject candidates whose Bhakoot koota scores 0
+     */
+    public BulkKootaScorer(int minScore, boolean rejectNadiDosha, boolean rejectBhakootDosha) {
+        this.minScore = minScore;
+        this.rejectNadiDosha = rejectNadiDosha;
+        this.rejectBhakootDosha = rejectBhakootDosha;
+    }
+
+    /**
+     * Whether scoring runs on the Vector API kernel.
+     */
+    public static boolean isVectorized() {
+        return KERNEL != SCALAR;
+    }
+
+    /**
+     * Score candidates from..to-1 against a profile.
+     *
+     * @param queryPada Pada index of the profile's Moon
+     * @param queryMale Whether the profile is male; candidates are of the opposite sex
+     * @param candidatePadas Pada code of each candidate
+     * @param from First candidate
+     * @param to End of the candidates (exclusive)
+     * @param scores Receives the total score of each candidate at the same index, or REJECTED
+     * @return Number of candidates accepted
+     */
+    public int score(int queryPada, boolean queryMale, byte[] candidatePadas, int from, int to, byte[] scores) {
+        if (from < 0 || to > candidatePadas.length || to > scores.length || from > to) {
+            throw new IllegalArgumentException("Invalid candidate range " + from + " to " + to);
+        }
+        return KERNEL.score(scoreRow(queryPada, queryMale), candidatePadas, from, to, scores);
+    }
+
+    /**
+     * Scores of each candidate pada against a profile, ROW_SIZE entries with rejections applied.
+     */
+    byte[] scoreRow(int queryPada, boolean queryMale) {
+        if (queryPada < 0 || queryPada >= AsthakootMatrix.PADA_COUNT) {
+            throw new IllegalArgumentException("Invalid pada index: " + queryPada);
+        }
+        byte[] row = new byte[ROW_SIZE];
+        Arrays.fill(row, REJECTED);
+        for (int pada = 0; pada < AsthakootMatrix.PADA_COUNT; pada++) {
+            int male = queryMale ? queryPada : pada;
+            int female = queryMale ? pada : queryPada;
+            int total = AsthakootMatrix.getTotalScore(male, female);
+            boolean rejected = total < minScore
+                || (rejectNadiDosha && AsthakootMatrix.getScore(male, female, AsthakootMatrix.NADI) == 0)
+                || (rejectBhakootDosha && AsthakootMatrix.getScore(male, female, AsthakootMatrix.BHAKOOT) == 0);
+            row[pada] = rejected ? REJECTED : (byte) total;
+        }
+        return row;
+    }
+
+    /**
+     * Indices of the best-scoring candidates, by descending score and then by index. Runs in two
+     * passes over the scores with a histogram instead of sorting.
+     *
+     * @param scores Scores written by score(), REJECTED entries are skipped
+     * @param from First candidate
+     * @param to End of the candidates (exclusive)
+     * @param limit Maximum number of indices
+     * @return Up to limit candidate indices
+     */
+    public static int[] selectTop(byte[] scores, int from, int to, int limit) {
+        int[] counts = new int[MAX_SCORE + 1];
+        for (int i = from; i < to; i++) {
+            if (scores[i] >= 0) {
+                counts[scores[i]]++;
+            }
+        }
+
+        // Lowest score that makes the cut; each score's indices start after those of higher scores
+        int[] offsets = new int[MAX_SCORE + 1];
+        int selected = 0;
+        int threshold = MAX_SCORE + 1;
+        while (threshold > 0 && selected < limit) {
+            threshold--;
+            offsets[threshold] = selected;
+            selected += counts[threshold];
+        }
+
+        int[] top = new int[Math.min(selected, limit)];
+        for (int i = from; i < to; i++) {
+            int score = scores[i];
+            if (score >= threshold && offsets[score] < top.length) {
+                top[offsets[score]++] = i;
+            }
+        }
+        return top;
+    }
+
+    private static Kernel loadKernel() {
+        if (!Boolean.parseBoolean(System.getProperty("purnima.koota.vector", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return SCALAR;
+        }
+        try {
+            // Only present when built with the vector profile
+            return (Kernel) Class.forName(BulkKootaScorer.class.getPackageName() + ".VectorKootaKernel")
+                .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Not built with the profile, or the kernel does not support this CPU's vector width
+            return SCALAR;
+        }
+    }
+
+    /**
+     * Looks up each candidate's pada code in a score row.
+     */
+    interface Kernel {
+
+        /**
+         * @param row ROW_SIZE scores indexed by pada code, REJECTED where not accepted
+         * @return Number of candidates with a score other than REJECTED
+         */
+        int score(byte[] row, byte[] candidatePadas, int from, int to, byte[] scores);
+    }
+
+    private static final class ScalarKernel implements Kernel {
+
+        @Override
+        public int score(byte[] row, byte[] candidatePadas, int from, int to, byte[] scores) {
+            int accepted = 0;
+            for (int i = from; i < to; i++) {
+                byte score = row[candidatePadas[i] & (ROW_SIZE - 1)];
+                scores[i] = score;
+                accepted += ~score >>> 31;
+            }
+            return accepted;
+        }
+    }
+}
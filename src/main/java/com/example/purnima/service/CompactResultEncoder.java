@@ -0,0 +1,263 @@
+package com.example.purnima.service;
+
+import com.example.purnima.jfr.CacheLookupEvent;
+import com.example.purnima.model.BirthData;
+import com.example.purnima.model.ChartResult;
+import com.example.purnima.model.CompactChartResult;
+import com.example.purnima.model.CompactPanchangResult;
+import com.example.purnima.model.LocaleDictionary;
+import com.example.purnima.model.PanchangResult;
+import com.example.purnima.model.Planet;
+import com.example.purnima.model.Rashi;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts chart and Panchang results into their compact forms for binary clients,
+ * and builds the per-locale dictionary those forms refer to.
+ */
+@Service
+public class CompactResultEncoder {
+
+    private static final String[] VARA_KEYS = {"vara.sunday", "vara.monday", "vara.tuesday", "vara.wednesday",
+                                               "vara.thursday", "vara.friday", "vara.saturday"};
+    private static final String[] VARA_NAMES = {"Sunday", "Monday", "Tuesday", "Wednesday",
+                                                "Thursday", "Friday", "Saturday"};
+
+    // Same order as the dignities returned by AccurateChartGenerator
+    private static final String[] STATUS_KEYS = {"chart.status.deep_exaltation", "chart.status.deep_debilitation",
+                                                 "chart.status.exalted_sign", "chart.status.debilitated_sign",
+                                                 "chart.status.ownsign", "chart.status.moolatrikona",
+                                                 "chart.status.neutral"};
+    private static final String[] STATUS_NAMES = {"Deep Exaltation", "Deep Debilitation", "Exalted Sign",
+                                                  "Debilitated Sign", "Own Sign", "Moolatrikona", "Neutral"};
+
+    private final MessageSource messageSource;
+    private final Map<Locale, LocaleDictionary> dictionaries = new ConcurrentHashMap<>();
+
+    public CompactResultEncoder(MessageSource messageSource) {
+        this.messageSource = messageSource;
+    }
+
+    /**
+     * Get the dictionary of localized element names for a locale.
+     * Dictionaries are built once per locale and cached.
+     *
+     * @param locale Locale of the names
+     * @return LocaleDictionary for the locale
+     */
+    public LocaleDictionary getDictionary(Locale locale) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        LocaleDictionary dictionary = dictionaries.get(locale);
+        boolean hit = dictionary != null;
+        if (!hit) {
+            dictionary = dictionaries.computeIfAbsent(locale, this::buildDictionary);
+        }
+        if (event.shouldCommit()) {
+            event.cache = "locale-dictionary";
+            event.hit = hit;
+            event.commit();
+        }
+        return dictionary;
+    }
+
+    /**
+     * Convert a chart into its compact form.
+     *
+     * @param chartResult Chart to convert
+     * @param locale Locale the chart's names were generated in
+     * @return CompactChartResult
+     */
+    public CompactChartResult encodeChart(ChartResult chartResult, Locale locale) {
+        BirthData birthData = chartResult.getBirthData();
+        ZoneId zone = birthData.getTimeZone() != null ? birthData.getTimeZone() : ZoneId.systemDefault();
+        String[] statuses = getDictionary(locale).getStatuses();
+
+        int planetCount = Planet.values().length;
+        float[] planetLongitudes = new float[planetCount];
+        int[] planetHouses = new int[planetCount];
+        int[] planetStatuses = new int[planetCount];
+        int retrogradeMask = 0;
+        for (ChartResult.PlanetaryPosition position : chartResult.getPlanetaryPositions()) {
+            int index = position.getPlanet().getIndex();
+            planetLongitudes[index] = (float) (position.getRashi().getStartDegree() + position.getDegreeInRashi());
+            planetHouses[index] = position.getHouseNumber();
+            planetStatuses[index] = indexOf(statuses, position.getExaltationStatus());
+            if (position.isRetrograde()) {
+                retrogradeMask |= 1 << index;
+            }
+        }
+
+        ChartResult.House[] houses = chartResult.getHouses();
+        float[] houseCusps = new float[houses.length];
+        for (int i = 0; i < houses.length; i++) {
+            houseCusps[i] = (float) (houses[i].getStartDegree() % 360.0);
+        }
+
+        return new CompactChartResult(
+            birthData.getBirthDateTime().atZone(zone).toEpochSecond(),
+            zone.getId(),
+            birthData.getLatitude(),
+            birthData.getLongitude(),
+            birthData.getPlaceName(),
+            houses.length > 0 ? houseCusps[0] : 0f,
+            planetLongitudes, planetHouses, retrogradeMask, planetStatuses, houseCusps
+        );
+    }
+
+    /**
+     * Convert a Panchang into its compact form. Times are taken from the exact instants the
+     * calculator recorded; display times, which are local to {@code zoneId} on the Panchang
+     * date and have minute precision, are only used where no instant is known.
+     *
+     * @param panchang Panchang to convert
+     * @param zoneId TimeZone the Panchang was calculated in
+     * @return CompactPanchangResult
+     */
+    public CompactPanchangResult encodePanchang(PanchangResult panchang, ZoneId zoneId) {
+        LocalDate date = panchang.getDateTime().toLocalDate();
+
+        List<CompactPanchangResult.Element> tithi = new ArrayList<>();
+        for (PanchangResult.TithiInfo info : panchang.getTithi()) {
+            tithi.add(toElement(info.getTithiNumber(), info.getStartTime(), info.getStartInstant(),
+                                info.getEndTime(), info.getEndInstant(), date, zoneId));
+        }
+        List<CompactPanchangResult.Element> nakshatra = new ArrayList<>();
+        for (PanchangResult.NakshatraInfo info : panchang.getNakshatra()) {
+            nakshatra.add(toElement(info.getNakshatraNumber(), info.getStartTime(), info.getStartInstant(),
+                                info.getEndTime(), info.getEndInstant(), date, zoneId));
+        }
+        List<CompactPanchangResult.Element> yoga = new ArrayList<>();
+        for (PanchangResult.YogaInfo info : panchang.getYoga()) {
+            yoga.add(toElement(info.getYogaNumber(), info.getStartTime(), info.getStartInstant(),
+                                info.getEndTime(), info.getEndInstant(), date, zoneId));
+        }
+        List<CompactPanchangResult.Element> karana = new ArrayList<>();
+        for (PanchangResult.KaranaInfo info : panchang.getKarana()) {
+            karana.add(toElement(info.getKaranaNumber(), info.getStartTime(), info.getStartInstant(),
+                                info.getEndTime(), info.getEndInstant(), date, zoneId));
+        }
+
+        Long[] muhurta = null;
+        PanchangResult.MuhurtaInfo muhurtaInfo = panchang.getMuhurta();
+        if (muhurtaInfo != null) {
+            String[] ranges = {muhurtaInfo.getBrahmaMuhurta(), muhurtaInfo.getAbhijitMuhurta(),
+                               muhurtaInfo.getGodhuliMuhurta(), muhurtaInfo.getRahuKaal(),
+                               muhurtaInfo.getGulikaKaal(), muhurtaInfo.getYamagandaKaal()};
+            muhurta = new Long[ranges.length * 2];
+            for (int i = 0; i < ranges.length; i++) {
+                String[] bounds = ranges[i] != null ? ranges[i].split("-") : new String[0];
+                muhurta[i * 2] = bounds.length == 2 ? toEpochSecond(bounds[0], date, zoneId) : null;
+                muhurta[i * 2 + 1] = bounds.length == 2 ? toEpochSecond(bounds[1], date, zoneId) : null;
+            }
+        }
+
+        return new CompactPanchangResult(
+            date.atStartOfDay(zoneId).toEpochSecond(),
+            zoneId.getId(),
+            panchang.getLatitude(),
+            panchang.getLongitude(),
+            panchang.getPlaceName(),
+            toEpochSecond(panchang.getSunrise(), panchang.getSunriseInstant(), date, zoneId),
+            toEpochSecond(panchang.getSunset(), panchang.getSunsetInstant(), date, zoneId),
+            toEpochSecond(panchang.getMoonrise(), panchang.getMoonriseInstant(), date, zoneId),
+            toEpochSecond(panchang.getMoonset(), panchang.getMoonsetInstant(), date, zoneId),
+            panchang.getVara().getVaraNumber(),
+            tithi, nakshatra, yoga, karana, muhurta
+        );
+    }
+
+    private LocaleDictionary buildDictionary(Locale locale) {
+        Planet[] planetValues = Planet.values();
+        String[] planets = new String[planetValues.length];
+        for (Planet planet : planetValues) {
+            planets[planet.getIndex()] = message(planet.getMessageKey(), planet.getEnglishName(), locale);
+        }
+
+        Rashi[] rashiValues = Rashi.values();
+        String[] rashis = new String[rashiValues.length];
+        for (Rashi rashi : rashiValues) {
+            rashis[rashi.ordinal()] = message(rashi.getMessageKey(), rashi.getEnglishName(), locale);
+        }
+
+        String[] varas = new String[VARA_KEYS.length];
+        for (int i = 0; i < VARA_KEYS.length; i++) {
+            varas[i] = message(VARA_KEYS[i], VARA_NAMES[i], locale);
+        }
+
+        String[] tithis = new String[30];
+        for (int n = 1; n <= tithis.length; n++) {
+            tithis[n - 1] = message("tithi." + n, "Tithi " + n, locale);
+        }
+
+        String[] nakshatras = new String[27];
+        for (int n = 1; n <= nakshatras.length; n++) {
+            nakshatras[n - 1] = message("nakshatra." + n, "Nakshatra " + n, locale);
+        }
+
+        String[] yogas = new String[27];
+        for (int n = 1; n <= yogas.length; n++) {
+            yogas[n - 1] = message("yoga." + n, "Yoga " + n, locale);
+        }
+
+        String[] karanas = new String[60];
+        for (int n = 1; n <= karanas.length; n++) {
+            karanas[n - 1] = message(DefaultPanchangCalculator.getKaranaKey(n), "Karana " + n, locale);
+        }
+
+        String[] statuses = new String[STATUS_KEYS.length];
+        for (int i = 0; i < STATUS_KEYS.length; i++) {
+            statuses[i] = message(STATUS_KEYS[i], STATUS_NAMES[i], locale);
+        }
+
+        return new LocaleDictionary(locale.toLanguageTag(), planets, rashis, varas, tithis,
+                                    nakshatras, yogas, karanas, statuses);
+    }
+
+    private String message(String key, String defaultName, Locale locale) {
+        return messageSource.getMessage(key, null, defaultName, locale);
+    }
+
+    private static CompactPanchangResult.Element toElement(int number, String startTime, Instant start,
+                                                           String endTime, Instant end, LocalDate date, ZoneId zoneId) {
+        return new CompactPanchangResult.Element(number, toEpochSecond(startTime, start, date, zoneId),
+                                                 toEpochSecond(endTime, end, date, zoneId));
+    }
+
+    private static Long toEpochSecond(String time, Instant instant, LocalDate date, ZoneId zoneId) {
+        return instant != null ? Long.valueOf(instant.getEpochSecond()) : toEpochSecond(time, date, zoneId);
+    }
+
+    /**
+     * Convert a local "HH:mm" time on the given date to epoch seconds, for results
+     * without instants and the muhurta ranges, which are only kept as display times.
+     * Returns null for missing or non-time values such as "Next Day".
+     */
+    private static Long toEpochSecond(String time, LocalDate date, ZoneId zoneId) {
+        if (time == null) return null;
+        try {
+            return date.atTime(LocalTime.parse(time.trim())).atZone(zoneId).toEpochSecond();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static int indexOf(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(value)) return i;
+        }
+        return -1;
+    }
+}
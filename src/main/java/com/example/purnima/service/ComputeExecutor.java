@@ -0,0 +1,151 @@
+package com.example.purnima.service;
+
+import com.example.purnima.util.CalculationMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs CPU-heavy ephemeris work for the REST controllers on bounded pools.
+ * <p>
+ * Request threads (virtual threads when {@code spring.threads.virtual.enabled=true}) only
+ * wait for the result. Work is split into two lanes: cheap interactive calculations (panchang,
+ * chart, dasa) and bulk work (muhurta range searches, batches). The bulk lane gets half the
+ * cores and the interactive lane the rest, so long searches cannot starve interactive requests
+ * and the two lanes together have one thread per core (two threads on a single core). Batches
+ * fan out only onto idle bulk threads (see {@link #getExecutor}), so REST calculations never
+ * use more threads than the lanes have. Async jobs calculate each day on the bulk lane as well
+ * ({@link JobService}).
+ * When a lane's queue is full the task is rejected with {@link ComputeOverloadedException},
+ * which the API maps to 503.
+ * <p>
+ * Pool threads are long-lived platform threads, so each keeps its own Swiss Ephemeris engine.
+ */
+@Service
+public class ComputeExecutor {
+
+    /**
+     * Kind of work submitted to the executor.
+     */
+    public enum Lane {
+        INTERACTIVE,
+        BULK
+    }
+
+    private final boolean enabled;
+    private final ThreadPoolExecutor interactivePool;
+    private final ThreadPoolExecutor bulkPool;
+
+    public ComputeExecutor(@Value("${purnima.compute.enabled:true}") boolean enabled,
+                           @Value("${purnima.compute.threads:0}") int threads,
+                           @Value("${purnima.compute.queue-capacity:256}") int queueCapacity,
+                           @Value("${purnima.compute.bulk-queue-capacity:32}") int bulkQueueCapacity) {
+        int cores = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.enabled = enabled;
+        int bulkThreads = Math.max(1, cores / 2);
+        this.interactivePool = createPool("compute-", Math.max(1, cores - bulkThreads), queueCapacity);
+        this.bulkPool = createPool("compute-bulk-", bulkThreads, bulkQueueCapacity);
+    }
+
+    /**
+     * Run a calculation on the compute pool of the given lane and wait for its result.
+     * The caller's locale and metrics scope are propagated to the worker thread.
+     *
+     * @param lane Lane to run the calculation in
+     * @param task Calculation to run
+     * @return Result of the calculation
+     * @throws ComputeOverloadedException If the lane's queue is full
+     */
+    public <T> T call(Lane lane, Supplier<T> task) {
+        if (!enabled) {
+            return task.get();
+        }
+
+        Locale locale = LocaleContextHolder.getLocale();
+        CalculationMetrics.Scope metricsScope = CalculationMetrics.currentScope();
+        ThreadPoolExecutor pool = lane == Lane.BULK ? bulkPool : interactivePool;
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                LocaleContextHolder.setLocale(locale);
+                CalculationMetrics.setCurrentScope(metricsScope);
+                try {
+                    return task.get();
+                } finally {
+                    CalculationMetrics.resetCurrentScope();
+                    LocaleContextHolder.resetLocaleContext();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new ComputeOverloadedException("Server is busy, " + lane.name().toLowerCase() + " compute queue is full");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Calculation interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new RuntimeException("Error running calculation", cause);
+        }
+    }
+
+    /**
+     * Executor for the helper tasks of a batch that already runs in a lane, see {@link BatchRunner}.
+     * A helper is only accepted while the lane has an idle thread, so a batch never takes more
+     * threads than its lane has and never queues ahead of other requests.
+     */
+    public Executor getExecutor(Lane lane) {
+        if (!enabled) {
+            return BatchRunner.sharedExecutor();
+        }
+        ThreadPoolExecutor pool = lane == Lane.BULK ? bulkPool : interactivePool;
+        return task -> {
+            if (pool.getActiveCount() >= pool.getMaximumPoolSize()) {
+                throw new RejectedExecutionException("No idle " + lane.name().toLowerCase() + " compute thread");
+            }
+            pool.execute(task);
+        };
+    }
+
+    /**
+     * Number of tasks waiting in a lane's queue.
+     */
+    public int getQueueDepth(Lane lane) {
+        return (lane == Lane.BULK ? bulkPool : interactivePool).getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        interactivePool.shutdownNow();
+        bulkPool.shutdownNow();
+    }
+
+    private static ThreadPoolExecutor createPool(String namePrefix, int threads, int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            runnable -> {
+                Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.purnima.service;
+
+/**
+ * Thrown when a calculation cannot be accepted because the compute queue is full.
+ * The REST API maps it to 503 Service Unavailable.
+ */
+public class ComputeOverloadedException extends RuntimeException {
+
+    public ComputeOverloadedException(String message) {
+        super(message);
+    }
+}
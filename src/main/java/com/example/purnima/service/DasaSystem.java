@@ -0,0 +1,297 @@
+package com.example.purnima.service;
+
+import com.example.purnima.model.Planet;
+
+/**
+ * Definition of a nakshatra dasa system: the cycle of lords, their years, the span of the
+ * timeline and the rule that picks the period running at birth from the Moon's nakshatra.
+ * <p>
+ * Every period of a system is divided the same way: its sub-periods start with the period's own
+ * lord, follow the cycle, and each takes its lord's share (years / total years of the cycle) of
+ * the period. The first period at birth is the lord of the birth nakshatra; when several
+ * consecutive nakshatras share a lord, they divide that lord's period between them, and the part
+ * elapsed at birth is the part of that group of nakshatras the Moon has traversed.
+ * <p>
+ * Instances are immutable and can be shared.
+ */
+public final class DasaSystem {
+
+    static final int NAKSHATRA_COUNT = 27;
+
+    /** Vimshottari: nine lords, 120 years, nakshatra lords repeating every nine nakshatras from Ashwini (Ketu). */
+    public static final DasaSystem VIMSHOTTARI = new DasaSystem(
+        "Vimshottari",
+        new Planet[] {Planet.KETU, Planet.VENUS, Planet.SUN, Planet.MOON, Planet.MARS,
+                      Planet.RAHU, Planet.JUPITER, Planet.SATURN, Planet.MERCURY},
+        new int[] {7, 20, 6, 10, 7, 18, 16, 19, 17},
+        120,
+        repeatingLords(9, 0));
+
+    /**
+     * Ashtottari: eight lords (Ketu has no period), 108 years, counted from Ardra in groups of
+     * four and three nakshatras. The 27-nakshatra form is used: Abhijit is not counted, so
+     * Saturn's group is Purva Ashadha, Uttara Ashadha and Shravana.
+     */
+    public static final DasaSystem ASHTOTTARI = new DasaSystem(
+        "Ashtottari",
+        new Planet[] {Planet.SUN, Planet.MOON, Planet.MARS, Planet.MERCURY,
+                      Planet.SATURN, Planet.JUPITER, Planet.RAHU, Planet.VENUS},
+        new int[] {6, 15, 8, 17, 10, 19, 12, 21},
+        108,
+        // Ashwini ... Revati
+        new int[] {6, 6, 7, 7, 7, 0, 0, 0, 0, 1, 1, 1, 2, 2, 2, 2, 3, 3, 3, 4, 4, 4, 5, 5, 5, 6, 6});
+
+    /**
+     * Yogini: the eight yoginis Mangala, Pingala, Dhanya, Bhramari, Bhadrika, Ulka, Siddha and
+     * Sankata, reported by their ruling planets, lasting 1 to 8 years (36 in all). The first is
+     * the birth nakshatra number plus 3, modulo 8. The 36-year cycle repeats over a 120-year life.
+     */
+    public static final DasaSystem YOGINI = new DasaSystem(
+        "Yogini",
+        new Planet[] {Planet.MOON, Planet.SUN, Planet.JUPITER, Planet.MARS,
+                      Planet.MERCURY, Planet.SATURN, Planet.VENUS, Planet.RAHU},
+        new int[] {1, 2, 3, 4, 5, 6, 7, 8},
+        120,
+        // Ashwini (nakshatra 1) starts with Bhramari, the fourth yogini
+        repeatingLords(8, 3));
+
+    private final String name;
+    private final Planet[] lords;
+    private final int[] years;
+    private final int totalYears;
+    private final int horizonYears;
+
+    // Per nakshatra: lord, and the part of the lord's period elapsed at its start and covered by it
+    private final byte[] nakshatraLords;
+    private final double[] nakshatraElapsed;
+    private final double[] nakshatraShare;
+
+    // Years elapsed before the k-th sub-period of a period of each lord
+    private final int[][] elapsedYears;
+
+    /**
+     * @param name Name of the system
+     * @param lords Lords of the periods in cycle order
+     * @param years Years of each lord's period
+     * @param horizonYears Years from birth covered by a timeline
+     * @param nakshatraLords Index in lords of the lord of each nakshatra, from Ashwini; a run of
+     *                       consecutive nakshatras with the same lord divides its period
+     */
+    public DasaSystem(String name, Planet[] lords, int[] years, int horizonYears, int[] nakshatraLords) {
+        if (lords.length < 2 || lords.length > Byte.MAX_VALUE || years.length != lords.length) {
+            throw new IllegalArgumentException("A dasa system needs between 2 and 127 lords, each with its years");
+        }
+        if (nakshatraLords.length != NAKSHATRA_COUNT) {
+            throw new IllegalArgumentException("A dasa system needs the lord of each of the " + NAKSHATRA_COUNT + " nakshatras");
+        }
+        int total = 0;
+        for (int lordYears : years) {
+            if (lordYears <= 0) {
+                throw new IllegalArgumentException("Dasa years must be positive: " + lordYears);
+            }
+            total += lordYears;
+        }
+        if (horizonYears <= 0) {
+            throw new IllegalArgumentException("Dasa horizon must be positive: " + horizonYears);
+        }
+
+        this.name = name;
+        this.lords = lords.clone();
+        this.years = years.clone();
+        this.totalYears = total;
+        this.horizonYears = horizonYears;
+        this.nakshatraLords = new byte[NAKSHATRA_COUNT];
+        this.nakshatraElapsed = new double[NAKSHATRA_COUNT];
+        this.nakshatraShare = new double[NAKSHATRA_COUNT];
+        initNakshatras(nakshatraLords);
+
+        int count = lords.length;
+        this.elapsedYears = new int[count][count + 1];
+        for (int lord = 0; lord < count; lord++) {
+            for (int k = 0; k < count; k++) {
+                elapsedYears[lord][k + 1] = elapsedYears[lord][k] + years[(lord + k) % count];
+            }
+        }
+    }
+
+    // Group consecutive nakshatras of the same lord, which may wrap around from Revati to Ashwini
+    private void initNakshatras(int[] lordOfNakshatra) {
+        for (int lord : lordOfNakshatra) {
+            if (lord < 0 || lord >= lords.length) {
+                throw new IllegalArgumentException("Nakshatra lord out of range: " + lord);
+            }
+        }
+        int first = 0;
+        while (first < NAKSHATRA_COUNT && lordOfNakshatra[first] == lordOfNakshatra[NAKSHATRA_COUNT - 1]) {
+            first++;
+        }
+        if (first == NAKSHATRA_COUNT) {
+            throw new IllegalArgumentException("Nakshatras must have more than one lord");
+        }
+
+        int start = first;
+        while (start < first + NAKSHATRA_COUNT) {
+            int lord = lordOfNakshatra[start % NAKSHATRA_COUNT];
+            int end = start + 1;
+            while (end < first + NAKSHATRA_COUNT && lordOfNakshatra[end % NAKSHATRA_COUNT] == lord) {
+                end++;
+            }
+            for (int n = start; n < end; n++) {
+                int nakshatra = n % NAKSHATRA_COUNT;
+                nakshatraLords[nakshatra] = (byte) lord;
+                nakshatraElapsed[nakshatra] = (double) (n - start) / (end - start);
+                nakshatraShare[nakshatra] = 1.0 / (end - start);
+            }
+            start = end;
+        }
+    }
+
+    private static int[] repeatingLords(int count, int offset) {
+        int[] lords = new int[NAKSHATRA_COUNT];
+        for (int nakshatra = 0; nakshatra < NAKSHATRA_COUNT; nakshatra++) {
+            lords[nakshatra] = (nakshatra + offset) % count;
+        }
+        return lords;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLordCount() {
+        return lords.length;
+    }
+
+    /**
+     * @param lord Index of the lord in cycle order
+     */
+    public Planet getLord(int lord) {
+        return lords[lord];
+    }
+
+    public int getYears(int lord) {
+        return years[lord];
+    }
+
+    /**
+     * Years of one full cycle of lords.
+     */
+    public int getTotalYears() {
+        return totalYears;
+    }
+
+    /**
+     * Years from birth covered by a timeline.
+     */
+    public int getHorizonYears() {
+        return horizonYears;
+    }
+
+    /**
+     * Split a period into one sub-period per lord, starting with the period's own lord. Each
+     * sub-period takes its lord's share (years / total years) of the period.
+     *
+     * @param periodLord Lord of the period being split
+     * @param start Unclipped start of the period
+     * @param end Unclipped end of the period
+     * @param bounds Receives the getLordCount() + 1 unclipped sub-period boundaries from offset
+     * @param subLords Receives the getLordCount() sub-period lords from offset
+     * @param offset First index to write
+     */
+    void splitSubPeriods(int periodLord, double start, double end, double[] bounds, byte[] subLords, int offset) {
+        int count = lords.length;
+        double yearLength = (end - start) / totalYears;
+        int[] elapsed = elapsedYears[periodLord];
+        for (int k = 0; k < count; k++) {
+            bounds[offset + k] = start + elapsed[k] * yearLength;
+            subLords[offset + k] = (byte) ((periodLord + k) % count);
+        }
+        bounds[offset + count] = end;
+    }
+
+    /**
+     * Lord of the period running at birth, from the Moon's nakshatra.
+     *
+     * @param moonLongitude Sidereal longitude of the Moon at birth
+     */
+    int firstLord(double moonLongitude) {
+        return nakshatraLords[nakshatraIndex(moonLongitude)];
+    }
+
+    /**
+     * Fraction of the first period elapsed at birth: the part of the nakshatra (13 degrees 20
+     * minutes) the Moon has traversed, within the nakshatras sharing that lord.
+     *
+     * @param moonLongitude Sidereal longitude of the Moon at birth
+     */
+    double fractionElapsed(double moonLongitude) {
+        int nakshatra = nakshatraIndex(moonLongitude);
+        double traversed = normalize(moonLongitude) * NAKSHATRA_COUNT / 360 - nakshatra;
+        return nakshatraElapsed[nakshatra] + traversed * nakshatraShare[nakshatra];
+    }
+
+    /**
+     * Years of the first period elapsed at birth.
+     *
+     * @param moonLongitude Sidereal longitude of the Moon at birth
+     */
+    double yearsElapsed(double moonLongitude) {
+        return years[firstLord(moonLongitude)] * fractionElapsed(moonLongitude);
+    }
+
+    private static int nakshatraIndex(double moonLongitude) {
+        return Math.min(NAKSHATRA_COUNT - 1, (int) (normalize(moonLongitude) * NAKSHATRA_COUNT / 360));
+    }
+
+    private static double normalize(double longitude) {
+        // Longitudes are normally in range already, and % on doubles is a slow runtime call
+        if (longitude >= 0 && longitude < 360) {
+            return longitude;
+        }
+        double normalized = longitude % 360;
+        return normalized < 0 ? normalized + 360 : normalized;
+    }
+
+    /**
+     * Find the lords of the periods running at a point of the cycle by arithmetic alone, without
+     * building a timeline. Agrees with DasaTimeline.find() up to rounding; at a boundary the
+     * earlier period is returned.
+     *
+     * @param firstLord Lord of the period running at birth
+     * @param cycleYears Years since the nominal start of that period
+     * @param depth Deepest level to find, MAHADASA to PRANA
+     * @param found Receives the lord of each level
+     * @return Years until the deepest period ends
+     */
+    double findLords(int firstLord, double cycleYears, int depth, int[] found) {
+        int count = lords.length;
+        int lord = firstLord;
+        // Whole cycles since the first period started leave the lord unchanged
+        double position = cycleYears;
+        if (position > totalYears) {
+            double cycles = Math.ceil(position / totalYears) - 1;
+            position -= cycles * totalYears;
+        }
+        // Years per unit at the current level, in units of which the period's parent lasts totalYears
+        double scale = 1;
+        for (int level = 0; level < depth; level++) {
+            // The last period of a cycle absorbs rounding
+            for (int k = 0; k < count - 1 && position > years[lord]; k++) {
+                position -= years[lord];
+                lord = (lord + 1) % count;
+            }
+            found[level] = lord;
+            if (level + 1 < depth) {
+                // The first sub-period has the period's own lord
+                position = position * totalYears / years[lord];
+                scale = scale * years[lord] / totalYears;
+            }
+        }
+        return (years[lord] - position) * scale;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
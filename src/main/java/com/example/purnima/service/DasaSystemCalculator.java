@@ -0,0 +1,340 @@
+package com.example.purnima.service;
+
+import com.example.purnima.api.DasaCalculator;
+import com.example.purnima.model.BirthData;
+import com.example.purnima.model.DasaResult;
+import com.example.purnima.model.Planet;
+import com.example.purnima.util.CalculationMetrics;
+import com.example.purnima.util.SwissEphCalculator;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+/**
+ * Dasa calculator for any {@link DasaSystem}: periods down to Prana, current periods, and bulk
+ * evaluation of a population, all on the same compact timeline.
+ */
+public class DasaSystemCalculator implements DasaCalculator {
+
+    /** Julian year, the default length of a dasa year. */
+    public static final double JULIAN_YEAR_DAYS = 365.25;
+    /** Savana year of twelve 30-day months. */
+    public static final double SAVANA_YEAR_DAYS = 360;
+
+    /** Year length used when none is given; set with the purnima.dasa.year-days property. */
+    public static final double DEFAULT_YEAR_DAYS =
+        Double.parseDouble(System.getProperty("purnima.dasa.year-days", String.valueOf(JULIAN_YEAR_DAYS)));
+
+    // Natives are cheap to evaluate, so chunks must be large to amortize task overhead
+    private static final int MIN_BATCH_CHUNK_SIZE = 16_384;
+
+    private final DasaSystem system;
+    private final MessageSource messageSource;
+    private final double yearDays;
+    private final Executor batchExecutor;
+
+    public DasaSystemCalculator(DasaSystem system, MessageSource messageSource) {
+        this(system, messageSource, DEFAULT_YEAR_DAYS);
+    }
+
+    /**
+     * @param system Dasa system to calculate
+     * @param messageSource Source of localized names, or null for English
+     * @param yearDays Length of a dasa year in days, e.g. JULIAN_YEAR_DAYS or SAVANA_YEAR_DAYS
+     */
+    public DasaSystemCalculator(DasaSystem system, MessageSource messageSource, double yearDays) {
+        this(system, messageSource, yearDays, BatchRunner.sharedExecutor());
+    }
+
+    /**
+     * Constructor with a custom executor for bulk evaluation.
+     * 
+     * @param system Dasa system to calculate
+     * @param messageSource Source of localized names, or null for English
+     * @param yearDays Length of a dasa year in days
+     * @param batchExecutor Executor that helps run chunks of natives; should be bounded to the number of cores
+     */
+    public DasaSystemCalculator(DasaSystem system, MessageSource messageSource, double yearDays,
+                                Executor batchExecutor) {
+        if (!(yearDays > 0)) {
+            throw new IllegalArgumentException("Dasa year length must be positive: " + yearDays);
+        }
+        this.system = system;
+        this.messageSource = messageSource;
+        this.yearDays = yearDays;
+        this.batchExecutor = batchExecutor;
+    }
+
+    public DasaSystem getSystem() {
+        return system;
+    }
+
+    public double getYearDays() {
+        return yearDays;
+    }
+
+    private String getLocalizedPlanetName(int index) {
+        Planet planet = system.getLord(index);
+        if (messageSource == null) {
+            // Fallback to English names if no MessageSource
+            return planet.getEnglishName();
+        }
+        Locale locale = LocaleContextHolder.getLocale();
+        return messageSource.getMessage(planet.getMessageKey(), null, locale);
+    }
+    
+    @Override
+    public List<DasaResult> calculateMahadasas(BirthData birthData) {
+        return calculateMahadasas(birthData, false);
+    }
+    
+    public List<DasaResult> calculateMahadasas(BirthData birthData, boolean includeSignificance) {
+        return calculateDasas(birthData, DasaTimeline.ANTARDASA, null, null, includeSignificance);
+    }
+    
+    @Override
+    public List<DasaResult> calculateDasas(BirthData birthData, int depth, LocalDateTime from, LocalDateTime to) {
+        return calculateDasas(birthData, depth, from, to, false);
+    }
+    
+    public List<DasaResult> calculateDasas(BirthData birthData, int depth, LocalDateTime from, LocalDateTime to,
+                                           boolean includeSignificance) {
+        if (depth < DasaTimeline.MAHADASA || depth > DasaTimeline.PRANA) {
+            throw new IllegalArgumentException("Dasa depth must be between 1 and 5: " + depth);
+        }
+        DasaTimeline timeline = buildTimeline(birthData);
+        double windowStart = from != null ? DasaTimeline.toEpochSecond(from) : Double.NEGATIVE_INFINITY;
+        double windowEnd = to != null ? DasaTimeline.toEpochSecond(to) : Double.POSITIVE_INFINITY;
+        
+        List<DasaResult> mahadasas = new ArrayList<>();
+        for (int i = 0; i < timeline.getMahadasaCount(); i++) {
+            double mahadasaStart = timeline.getMahadasaStart(i);
+            double mahadasaEnd = timeline.getMahadasaEnd(i);
+            if (!overlaps(mahadasaStart, mahadasaEnd, windowStart, windowEnd)) {
+                continue;
+            }
+            DasaResult dasa = createDasaResult(timeline.getMahadasaLord(i), mahadasaStart, mahadasaEnd, DasaTimeline.MAHADASA, includeSignificance);
+            mahadasas.add(dasa);
+            if (depth == DasaTimeline.MAHADASA) {
+                continue;
+            }
+            
+            long phaseStart = CalculationMetrics.start();
+            List<DasaResult> antardasas = new ArrayList<>();
+            for (int k = 0; k < system.getLordCount(); k++) {
+                int antardasa = i * system.getLordCount() + k;
+                double start = timeline.getAntardasaStart(antardasa);
+                double end = timeline.getAntardasaEnd(antardasa);
+                // Only antardasas running after birth and within the horizon
+                if (end <= start || !overlaps(start, end, windowStart, windowEnd)) {
+                    continue;
+                }
+                int antardasaLord = timeline.getAntardasaLord(antardasa);
+                DasaResult antardasaResult = createDasaResult(antardasaLord, start, end, DasaTimeline.ANTARDASA, includeSignificance);
+                if (depth > DasaTimeline.ANTARDASA) {
+                    addSubDasas(antardasaResult, timeline, antardasaLord, DasaTimeline.ANTARDASA, depth,
+                                timeline.getAntardasaNominalStart(antardasa), timeline.getAntardasaNominalEnd(antardasa),
+                                windowStart, windowEnd, includeSignificance);
+                }
+                antardasas.add(antardasaResult);
+            }
+            CalculationMetrics.recordPhase("dasa.antardasa", phaseStart);
+            dasa.setSubDasas(antardasas);
+        }
+        
+        return mahadasas;
+    }
+    
+    /**
+     * Split a period into the sub-periods overlapping the window, recursively down to the requested depth.
+     * Only periods inside the window are ever split.
+     */
+    private void addSubDasas(DasaResult parent, DasaTimeline timeline, int parentLord, int level, int depth,
+                             double nominalStart, double nominalEnd, double windowStart, double windowEnd,
+                             boolean includeSignificance) {
+        double[] bounds = new double[system.getLordCount() + 1];
+        byte[] lords = new byte[system.getLordCount()];
+        system.splitSubPeriods(parentLord, nominalStart, nominalEnd, bounds, lords, 0);
+        
+        List<DasaResult> subDasas = new ArrayList<>();
+        for (int k = 0; k < system.getLordCount(); k++) {
+            double start = timeline.clip(bounds[k]);
+            double end = timeline.clip(bounds[k + 1]);
+            if (end <= start || !overlaps(start, end, windowStart, windowEnd)) {
+                continue;
+            }
+            DasaResult subDasa = createDasaResult(lords[k], start, end, level + 1, includeSignificance);
+            if (level + 1 < depth) {
+                addSubDasas(subDasa, timeline, lords[k], level + 1, depth, bounds[k], bounds[k + 1],
+                            windowStart, windowEnd, includeSignificance);
+            }
+            subDasas.add(subDasa);
+        }
+        parent.setSubDasas(subDasas);
+    }
+    
+    private static boolean overlaps(double start, double end, double windowStart, double windowEnd) {
+        return end > windowStart && start <= windowEnd;
+    }
+
+    @Override
+    public DasaResult getCurrentDasa(BirthData birthData) {
+        return getCurrentDasa(birthData, LocalDateTime.now(), false);
+    }
+    
+    public DasaResult getCurrentDasa(BirthData birthData, LocalDateTime targetDate, boolean includeSignificance) {
+        return getCurrentDasa(birthData, targetDate, DasaTimeline.PRATYANTARDASA, includeSignificance);
+    }
+    
+    @Override
+    public DasaResult getCurrentDasa(BirthData birthData, LocalDateTime targetDate, int depth) {
+        return getCurrentDasa(birthData, targetDate, depth, false);
+    }
+    
+    public DasaResult getCurrentDasa(BirthData birthData, LocalDateTime targetDate, int depth, boolean includeSignificance) {
+        if (depth < DasaTimeline.MAHADASA || depth > DasaTimeline.PRANA) {
+            throw new IllegalArgumentException("Dasa depth must be between 1 and 5: " + depth);
+        }
+        DasaTimeline timeline = buildTimeline(birthData);
+        
+        long phaseStart = CalculationMetrics.start();
+        int[] lords = new int[depth];
+        double[] starts = new double[depth];
+        double[] ends = new double[depth];
+        int levels = timeline.find(DasaTimeline.toEpochSecond(targetDate), depth, lords, starts, ends);
+        CalculationMetrics.recordPhase("dasa.pratyantardasa", phaseStart);
+        if (levels == 0) {
+            return null;
+        }
+        
+        // MD -> AD -> PD -> ... hierarchy with one period per level
+        DasaResult result = null;
+        for (int level = levels; level >= DasaTimeline.MAHADASA; level--) {
+            DasaResult dasa = createDasaResult(lords[level - 1], starts[level - 1], ends[level - 1], level, includeSignificance);
+            if (result != null) {
+                dasa.setSubDasas(new ArrayList<>(List.of(result)));
+            }
+            result = dasa;
+        }
+        return result;
+    }
+    
+    /**
+     * Evaluate the current Mahadasa, Antardasa and Pratyantardasa of many natives at once.
+     * <p>
+     * Periods are found arithmetically from each native's Moon longitude and birth instant; no
+     * ephemeris call is made and nothing is allocated per native. Large inputs are split into
+     * chunks that run in parallel. Lords are indices in the system's cycle order
+     * ({@link DasaSystem#getLord}); for Vimshottari 0=Ketu, 1=Venus, 2=Sun, 3=Moon, 4=Mars,
+     * 5=Rahu, 6=Jupiter, 7=Saturn, 8=Mercury.
+     * 
+     * @param moonLongitudes Sidereal longitude of the Moon at birth of each native
+     * @param birthEpochSeconds Birth instant of each native in epoch seconds
+     * @param targetEpochSecond Instant to evaluate in epoch seconds
+     * @param mahadasaLords Receives the Mahadasa lord of each native, or -1 if the target is outside the horizon from birth
+     * @param antardasaLords Receives the Antardasa lord of each native, or -1
+     * @param pratyantardasaLords Receives the Pratyantardasa lord of each native, or -1
+     * @param pratyantardasaEnds Receives the end of each native's Pratyantardasa in epoch seconds
+     *                           (0 if outside the cycle); may be null
+     */
+    public void calculateCurrentDasas(double[] moonLongitudes, long[] birthEpochSeconds, long targetEpochSecond,
+                                      byte[] mahadasaLords, byte[] antardasaLords, byte[] pratyantardasaLords,
+                                      long[] pratyantardasaEnds) {
+        int size = moonLongitudes.length;
+        if (birthEpochSeconds.length != size || mahadasaLords.length != size || antardasaLords.length != size
+                || pratyantardasaLords.length != size || (pratyantardasaEnds != null && pratyantardasaEnds.length != size)) {
+            throw new IllegalArgumentException("Input and output arrays must have the same length");
+        }
+        
+        long phaseStart = CalculationMetrics.start();
+        BatchRunner.run(batchExecutor, size, MIN_BATCH_CHUNK_SIZE, "calculating current dasas", (from, to) ->
+            calculateCurrentDasas(moonLongitudes, birthEpochSeconds, targetEpochSecond, mahadasaLords, antardasaLords,
+                                  pratyantardasaLords, pratyantardasaEnds, from, to));
+        CalculationMetrics.recordPhase("dasa.bulk", phaseStart);
+    }
+    
+    private void calculateCurrentDasas(double[] moonLongitudes, long[] birthEpochSeconds, long targetEpochSecond,
+                                       byte[] mahadasaLords, byte[] antardasaLords, byte[] pratyantardasaLords,
+                                       long[] pratyantardasaEnds, int from, int to) {
+        double yearSeconds = yearDays * DasaTimeline.SECONDS_PER_DAY;
+        int horizonYears = system.getHorizonYears();
+        int[] lords = new int[DasaTimeline.PRATYANTARDASA];
+        for (int i = from; i < to; i++) {
+            double elapsedYears = (targetEpochSecond - birthEpochSeconds[i]) / yearSeconds;
+            if (!(elapsedYears >= 0 && elapsedYears <= horizonYears)) {
+                mahadasaLords[i] = -1;
+                antardasaLords[i] = -1;
+                pratyantardasaLords[i] = -1;
+                if (pratyantardasaEnds != null) {
+                    pratyantardasaEnds[i] = 0;
+                }
+                continue;
+            }
+            
+            // The first mahadasa started before birth by the part of the nakshatra already traversed
+            double moonLongitude = moonLongitudes[i];
+            int firstLord = system.firstLord(moonLongitude);
+            double cycleYears = elapsedYears + system.yearsElapsed(moonLongitude);
+            double yearsLeft = system.findLords(firstLord, cycleYears, DasaTimeline.PRATYANTARDASA, lords);
+            
+            mahadasaLords[i] = (byte) lords[0];
+            antardasaLords[i] = (byte) lords[1];
+            pratyantardasaLords[i] = (byte) lords[2];
+            if (pratyantardasaEnds != null) {
+                double cycleEnd = birthEpochSeconds[i] + horizonYears * yearSeconds;
+                pratyantardasaEnds[i] = Math.round(Math.min(cycleEnd, targetEpochSecond + yearsLeft * yearSeconds));
+            }
+        }
+    }
+    
+    /**
+     * Compact timeline of the native's periods, from the Moon's position at birth.
+     */
+    private DasaTimeline buildTimeline(BirthData birthData) {
+        // 1. Calculate the Moon's sidereal position
+        long phaseStart = CalculationMetrics.start();
+        double moonLongitude = SwissEphCalculator.calculatePlanetPosition(
+            birthData.getBirthDateTime(), 
+            birthData.getLatitude(), 
+            birthData.getLongitude(),
+            "Moon"
+        ).getLongitude();
+        CalculationMetrics.recordPhase("dasa.moon_nakshatra", phaseStart);
+        
+        // 2. Determine ruling planet from the Moon's nakshatra
+        int planetIndexInDasaOrder = system.firstLord(moonLongitude);
+        
+        // 3. Calculate balance of Dasa from the part of the nakshatra traversed
+        double yearsRemaining = system.getYears(planetIndexInDasaOrder) - system.yearsElapsed(moonLongitude);
+        
+        return new DasaTimeline(system, DasaTimeline.toEpochSecond(birthData.getBirthDateTime()), planetIndexInDasaOrder,
+                                yearsRemaining, yearDays);
+    }
+    
+    private DasaResult createDasaResult(int lord, double start, double end, int level, boolean includeSignificance) {
+        DasaResult dasa = new DasaResult(getLocalizedPlanetName(lord), DasaTimeline.toDateTime(start),
+                                         DasaTimeline.toDateTime(end), level);
+        if (includeSignificance) {
+            dasa.setSignificance(getDasaSignificance(lord));
+        }
+        return dasa;
+    }
+    
+    private String getDasaSignificance(int planetIndex) {
+        String key = "dasa.significance." + system.getLord(planetIndex).getMessageKey().replace("planet.", "");
+        return getLocalizedMessage(key, "Significance not available");
+    }
+
+    private String getLocalizedMessage(String key, String defaultMessage) {
+        if (messageSource == null) {
+            return defaultMessage;
+        }
+        Locale locale = LocaleContextHolder.getLocale();
+        return messageSource.getMessage(key, null, defaultMessage, locale);
+    }
+}
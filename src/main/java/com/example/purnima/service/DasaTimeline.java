@@ -0,0 +1,211 @@
+package com.example.purnima.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Dasa periods of one native as flat arrays of period boundaries and lord indices.
+ * <p>
+ * Boundaries are epoch seconds of the birth-time clock, held as doubles (sub-microsecond
+ * resolution) and converted to LocalDateTime only when a DasaResult is created. A year is a
+ * fixed number of days, so every period is its parent divided in proportion to the lords'
+ * years and sub-periods always add up to their parent exactly. Mahadasas and antardasas are
+ * built once; the first mahadasa keeps its nominal start before birth, and everything returned
+ * is clipped to the system's horizon (120 years for Vimshottari) from birth. Deeper levels
+ * (pratyantardasa, sookshma and prana) are never stored: a period is split into its sub-periods
+ * only when an instant or a window inside it is looked up. Lookups are binary searches, so no
+ * DasaResult is created unless a client asks for one.
+ */
+final class DasaTimeline {
+
+    static final int MAHADASA = 1;
+    static final int ANTARDASA = 2;
+    static final int PRATYANTARDASA = 3;
+    static final int SOOKSHMA = 4;
+    static final int PRANA = 5;
+
+    static final double SECONDS_PER_DAY = 86400;
+
+    private final DasaSystem system;
+    private final int lordCount;
+    private final double viewStart;
+    private final double viewEnd;
+    // Mahadasa i spans mahadasaBounds[i] to mahadasaBounds[i + 1]
+    private final double[] mahadasaBounds;
+    private final byte[] mahadasaLords;
+    // Antardasa lordCount * i + k is the k-th antardasa of mahadasa i
+    private final double[] antardasaBounds;
+    private final byte[] antardasaLords;
+
+    /**
+     * @param system Dasa system the periods follow
+     * @param birthSecond Birth instant in epoch seconds of the birth-time clock
+     * @param firstLord Lord of the mahadasa running at birth
+     * @param yearsRemaining Years of that mahadasa left at birth
+     * @param yearDays Length of a dasa year in days
+     */
+    DasaTimeline(DasaSystem system, double birthSecond, int firstLord, double yearsRemaining, double yearDays) {
+        double yearSeconds = yearDays * SECONDS_PER_DAY;
+        int horizonYears = system.getHorizonYears();
+        this.system = system;
+        this.lordCount = system.getLordCount();
+        this.viewStart = birthSecond;
+        this.viewEnd = birthSecond + horizonYears * yearSeconds;
+
+        // The partial first mahadasa, then full ones until the horizon; short cycles repeat
+        int count = 1;
+        double endYears = yearsRemaining;
+        for (int lord = firstLord; endYears < horizonYears; count++) {
+            lord = (lord + 1) % lordCount;
+            endYears += system.getYears(lord);
+        }
+
+        this.mahadasaBounds = new double[count + 1];
+        this.mahadasaLords = new byte[count];
+        this.antardasaBounds = new double[count * lordCount + 1];
+        this.antardasaLords = new byte[count * lordCount];
+        mahadasaBounds[0] = birthSecond + (yearsRemaining - system.getYears(firstLord)) * yearSeconds;
+        endYears = yearsRemaining;
+        for (int i = 0; i < count; i++) {
+            int lord = (firstLord + i) % lordCount;
+            if (i > 0) {
+                endYears += system.getYears(lord);
+            }
+            mahadasaLords[i] = (byte) lord;
+            mahadasaBounds[i + 1] = birthSecond + endYears * yearSeconds;
+            // Antardasas start with the mahadasa lord
+            system.splitSubPeriods(lord, mahadasaBounds[i], mahadasaBounds[i + 1],
+                                   antardasaBounds, antardasaLords, i * lordCount);
+        }
+    }
+
+    DasaSystem getSystem() {
+        return system;
+    }
+
+    int getMahadasaCount() {
+        return mahadasaLords.length;
+    }
+
+    int getMahadasaLord(int mahadasa) {
+        return mahadasaLords[mahadasa];
+    }
+
+    double getMahadasaStart(int mahadasa) {
+        return Math.max(viewStart, mahadasaBounds[mahadasa]);
+    }
+
+    double getMahadasaEnd(int mahadasa) {
+        return Math.min(viewEnd, mahadasaBounds[mahadasa + 1]);
+    }
+
+    /**
+     * @param antardasa Index getLordCount() * mahadasa + k of the k-th antardasa of a mahadasa
+     */
+    int getAntardasaLord(int antardasa) {
+        return antardasaLords[antardasa];
+    }
+
+    double getAntardasaStart(int antardasa) {
+        return Math.max(viewStart, antardasaBounds[antardasa]);
+    }
+
+    /**
+     * End of an antardasa; not after its start if the antardasa lies entirely before birth or after the horizon.
+     */
+    double getAntardasaEnd(int antardasa) {
+        return Math.min(viewEnd, antardasaBounds[antardasa + 1]);
+    }
+
+    /**
+     * Find the periods active at an instant, from the mahadasa down to a level.
+     * At a boundary the earlier period is returned.
+     *
+     * @param epochSecond Instant in epoch seconds of the birth-time clock
+     * @param depth Deepest level to find, MAHADASA to PRANA
+     * @param lords Receives the lord of each level
+     * @param starts Receives the start of each level, clipped to birth
+     * @param ends Receives the end of each level, clipped to the horizon
+     * @return Number of levels found; 0 if the instant is outside the horizon from birth
+     */
+    int find(double epochSecond, int depth, int[] lords, double[] starts, double[] ends) {
+        if (depth < MAHADASA || depth > PRANA) {
+            throw new IllegalArgumentException("Unsupported dasa depth: " + depth);
+        }
+        if (!(epochSecond >= viewStart && epochSecond <= viewEnd)) {
+            return 0;
+        }
+
+        int mahadasa = locate(mahadasaBounds, 0, mahadasaLords.length, epochSecond);
+        lords[0] = mahadasaLords[mahadasa];
+        starts[0] = getMahadasaStart(mahadasa);
+        ends[0] = getMahadasaEnd(mahadasa);
+        if (depth == MAHADASA) {
+            return 1;
+        }
+
+        int antardasa = locate(antardasaBounds, mahadasa * lordCount, (mahadasa + 1) * lordCount, epochSecond);
+        // An antardasa ending at birth is not part of the timeline
+        if (antardasaBounds[antardasa + 1] <= viewStart) {
+            antardasa++;
+        }
+        lords[1] = antardasaLords[antardasa];
+        starts[1] = getAntardasaStart(antardasa);
+        ends[1] = getAntardasaEnd(antardasa);
+
+        // Deeper levels are split from the unclipped bounds of their parent
+        double parentStart = antardasaBounds[antardasa];
+        double parentEnd = antardasaBounds[antardasa + 1];
+        double[] bounds = new double[lordCount + 1];
+        byte[] subLords = new byte[lordCount];
+        for (int level = PRATYANTARDASA; level <= depth; level++) {
+            system.splitSubPeriods(lords[level - 2], parentStart, parentEnd, bounds, subLords, 0);
+            int period = locate(bounds, 0, lordCount, epochSecond);
+            if (bounds[period + 1] <= viewStart) {
+                period++;
+            }
+            lords[level - 1] = subLords[period];
+            starts[level - 1] = clip(bounds[period]);
+            ends[level - 1] = clip(bounds[period + 1]);
+            parentStart = bounds[period];
+            parentEnd = bounds[period + 1];
+        }
+        return depth;
+    }
+
+    /**
+     * Unclipped start of an antardasa, from which its sub-periods are split.
+     */
+    double getAntardasaNominalStart(int antardasa) {
+        return antardasaBounds[antardasa];
+    }
+
+    double getAntardasaNominalEnd(int antardasa) {
+        return antardasaBounds[antardasa + 1];
+    }
+
+    /**
+     * Clip an instant to the horizon from birth.
+     */
+    double clip(double epochSecond) {
+        return Math.min(viewEnd, Math.max(viewStart, epochSecond));
+    }
+
+    /**
+     * Index of the first period from..to-1 that ends at or after an instant.
+     */
+    private static int locate(double[] bounds, int from, int to, double epochSecond) {
+        int found = Arrays.binarySearch(bounds, from + 1, to + 1, epochSecond);
+        int period = (found >= 0 ? found : -found - 1) - 1;
+        return Math.min(period, to - 1);
+    }
+
+    static double toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) + dateTime.getNano() / 1e9;
+    }
+
+    static LocalDateTime toDateTime(double epochSecond) {
+        return LocalDateTime.ofEpochSecond(Math.round(epochSecond), 0, ZoneOffset.UTC);
+    }
+}
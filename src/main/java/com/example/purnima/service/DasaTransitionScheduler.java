@@ -0,0 +1,270 @@
+package com.example.purnima.service;
+
+/**
+ * Emits the dasa transitions of a population in time order.
+ * <p>
+ * Each native's next boundary (of the Antardasa, or of the Pratyantardasa) is kept in a binary
+ * min-heap of native indices. Advancing the scheduler pops the natives whose boundary falls in
+ * the window, reports the periods they enter and pushes them back with their following boundary,
+ * so the work is proportional to the number of transitions and never to the population. All
+ * state is held in primitive arrays indexed like the input arrays.
+ * <p>
+ * Not thread-safe; one thread should own a scheduler.
+ */
+public class DasaTransitionScheduler {
+
+    /**
+     * Receives transitions in time order.
+     */
+    @FunctionalInterface
+    public interface TransitionListener {
+
+        /**
+         * @param nativeIndex Index of the native in the input arrays
+         * @param epochSecond Instant of the transition in epoch seconds
+         * @param level Highest level that changed: 1=Mahadasa, 2=Antardasa, 3=Pratyantardasa
+         * @param mahadasaLord Lord of the Mahadasa entered or running, in the system's cycle order
+         *                     (for Vimshottari 0=Ketu ... 8=Mercury)
+         * @param antardasaLord Lord of the Antardasa entered or running
+         * @param pratyantardasaLord Lord of the Pratyantardasa entered, or -1 if only Antardasas are tracked
+         */
+        void onTransition(int nativeIndex, long epochSecond, int level,
+                          int mahadasaLord, int antardasaLord, int pratyantardasaLord);
+    }
+
+    // Periods are evaluated this long after a boundary, far above the rounding of the boundary itself
+    private static final double BOUNDARY_OFFSET_YEARS = 1e-7;
+
+    private final DasaSystem system;
+    private final long[] birthEpochSeconds;
+    private final int depth;
+    private final double yearSeconds;
+
+    private final byte[] firstLords;
+    // Nominal start of each native's first mahadasa, before birth
+    private final double[] cycleStarts;
+    private final byte[] lords;
+    // Min-heap of natives by next boundary; keys sit next to the entries to keep sifts cache-friendly
+    private final int[] heap;
+    private final double[] heapKeys;
+    private int heapSize;
+    private long currentEpochSecond;
+
+    /**
+     * Vimshottari scheduler with the default dasa year length.
+     *
+     * @see #DasaTransitionScheduler(double[], long[], long, int, double, DasaSystem)
+     */
+    public DasaTransitionScheduler(double[] moonLongitudes, long[] birthEpochSeconds, long startEpochSecond, int depth) {
+        this(moonLongitudes, birthEpochSeconds, startEpochSecond, depth, DasaSystemCalculator.DEFAULT_YEAR_DAYS);
+    }
+
+    /**
+     * Vimshottari scheduler.
+     *
+     * @see #DasaTransitionScheduler(double[], long[], long, int, double, DasaSystem)
+     */
+    public DasaTransitionScheduler(double[] moonLongitudes, long[] birthEpochSeconds, long startEpochSecond,
+                                   int depth, double yearDays) {
+        this(moonLongitudes, birthEpochSeconds, startEpochSecond, depth, yearDays, DasaSystem.VIMSHOTTARI);
+    }
+
+    /**
+     * @param moonLongitudes Sidereal longitude of the Moon at birth of each native
+     * @param birthEpochSeconds Birth instant of each native in epoch seconds
+     * @param startEpochSecond Instant from which transitions are emitted (exclusive)
+     * @param depth Level whose boundaries are tracked: 2 for Antardasas, 3 for Pratyantardasas
+     * @param yearDays Length of a dasa year in days
+     * @param system Dasa system the periods follow
+     */
+    public DasaTransitionScheduler(double[] moonLongitudes, long[] birthEpochSeconds, long startEpochSecond,
+                                   int depth, double yearDays, DasaSystem system) {
+        if (depth != DasaTimeline.ANTARDASA && depth != DasaTimeline.PRATYANTARDASA) {
+            throw new IllegalArgumentException("Transitions can be tracked for Antardasas (2) or Pratyantardasas (3): " + depth);
+        }
+        if (birthEpochSeconds.length != moonLongitudes.length) {
+            throw new IllegalArgumentException("Input arrays must have the same length");
+        }
+        if (!(yearDays > 0)) {
+            throw new IllegalArgumentException("Dasa year length must be positive: " + yearDays);
+        }
+
+        int size = moonLongitudes.length;
+        this.system = system;
+        this.birthEpochSeconds = birthEpochSeconds;
+        this.depth = depth;
+        this.yearSeconds = yearDays * DasaTimeline.SECONDS_PER_DAY;
+        this.firstLords = new byte[size];
+        this.cycleStarts = new double[size];
+        this.lords = new byte[size * depth];
+        this.heap = new int[size];
+        this.heapKeys = new double[size];
+        this.currentEpochSecond = startEpochSecond;
+
+        int[] found = new int[depth];
+        for (int i = 0; i < size; i++) {
+            int firstLord = system.firstLord(moonLongitudes[i]);
+            double elapsedYears = system.yearsElapsed(moonLongitudes[i]);
+            firstLords[i] = (byte) firstLord;
+            cycleStarts[i] = birthEpochSeconds[i] - elapsedYears * yearSeconds;
+
+            if (startEpochSecond >= cycleEnd(i)) {
+                // The native is past the horizon
+                continue;
+            }
+            double nextBoundary;
+            if (birthEpochSeconds[i] > startEpochSecond) {
+                // Not born yet: the first transition is the birth itself
+                for (int level = 0; level < depth; level++) {
+                    lords[i * depth + level] = -1;
+                }
+                nextBoundary = birthEpochSeconds[i];
+            } else {
+                nextBoundary = schedule(i, (startEpochSecond - cycleStarts[i]) / yearSeconds + BOUNDARY_OFFSET_YEARS, found);
+            }
+            if (nextBoundary < cycleEnd(i)) {
+                heap[heapSize] = i;
+                heapKeys[heapSize] = nextBoundary;
+                heapSize++;
+            }
+        }
+        for (int node = heapSize / 2 - 1; node >= 0; node--) {
+            siftDown(node);
+        }
+    }
+
+    /**
+     * Emit the transitions after the current instant up to and including an instant, in time
+     * order, and move the scheduler to that instant.
+     *
+     * @param untilEpochSecond End of the window in epoch seconds
+     * @param listener Receives each transition
+     * @return Number of transitions emitted
+     */
+    public int advance(long untilEpochSecond, TransitionListener listener) {
+        int count = 0;
+        int[] found = new int[depth];
+        int[] previous = new int[depth];
+        while (heapSize > 0 && heapKeys[0] <= untilEpochSecond) {
+            int i = heap[0];
+            double boundary = heapKeys[0];
+            int offset = i * depth;
+            boolean born = lords[offset] >= 0;
+
+            // Periods entered at the boundary, and the boundary after that
+            int level = DasaTimeline.MAHADASA;
+            for (int k = 0; k < depth; k++) {
+                previous[k] = lords[offset + k];
+            }
+            double nextBoundary = schedule(i, (boundary - cycleStarts[i]) / yearSeconds + (born ? BOUNDARY_OFFSET_YEARS : 0), found);
+            if (born) {
+                while (level < depth && previous[level - 1] == lords[offset + level - 1]) {
+                    level++;
+                }
+            }
+
+            if (nextBoundary < cycleEnd(i)) {
+                heapKeys[0] = nextBoundary;
+            } else {
+                // The native is past the horizon
+                heapSize--;
+                heap[0] = heap[heapSize];
+                heapKeys[0] = heapKeys[heapSize];
+            }
+            replaceRoot();
+
+            listener.onTransition(i, Math.round(boundary), level, lords[offset], lords[offset + 1],
+                                  depth > DasaTimeline.ANTARDASA ? lords[offset + 2] : -1);
+            count++;
+        }
+        currentEpochSecond = Math.max(currentEpochSecond, untilEpochSecond);
+        return count;
+    }
+
+    /**
+     * Instant of the next transition in epoch seconds, or Long.MAX_VALUE if no native has one left.
+     */
+    public long peekNextTransition() {
+        return heapSize > 0 ? Math.round(heapKeys[0]) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Instant up to which transitions have been emitted.
+     */
+    public long getCurrentEpochSecond() {
+        return currentEpochSecond;
+    }
+
+    /**
+     * Number of natives with transitions still to come.
+     */
+    public int size() {
+        return heapSize;
+    }
+
+    // Store the periods running at a point of the cycle; returns the boundary where the deepest one ends
+    private double schedule(int i, double cycleYears, int[] found) {
+        double yearsLeft = system.findLords(firstLords[i], cycleYears, depth, found);
+        for (int level = 0; level < depth; level++) {
+            lords[i * depth + level] = (byte) found[level];
+        }
+        return cycleStarts[i] + (cycleYears + yearsLeft) * yearSeconds;
+    }
+
+    private double cycleEnd(int i) {
+        return birthEpochSeconds[i] + system.getHorizonYears() * yearSeconds;
+    }
+
+    private void siftDown(int node) {
+        int entry = heap[node];
+        double key = heapKeys[node];
+        while (true) {
+            int child = 2 * node + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+                child++;
+            }
+            if (heapKeys[child] >= key) {
+                break;
+            }
+            heap[node] = heap[child];
+            heapKeys[node] = heapKeys[child];
+            node = child;
+        }
+        heap[node] = entry;
+        heapKeys[node] = key;
+    }
+
+    /**
+     * Restore the heap after the root's key grew. A native's next boundary usually belongs near
+     * the bottom, so the hole is moved down to a leaf first and the entry sifted up from there,
+     * which saves a comparison per level.
+     */
+    private void replaceRoot() {
+        int entry = heap[0];
+        double key = heapKeys[0];
+        int node = 0;
+        int child;
+        while ((child = 2 * node + 1) < heapSize) {
+            if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+                child++;
+            }
+            heap[node] = heap[child];
+            heapKeys[node] = heapKeys[child];
+            node = child;
+        }
+        while (node > 0) {
+            int parent = (node - 1) / 2;
+            if (heapKeys[parent] <= key) {
+                break;
+            }
+            heap[node] = heap[parent];
+            heapKeys[node] = heapKeys[parent];
+            node = parent;
+        }
+        heap[node] = entry;
+        heapKeys[node] = key;
+    }
+}
@@ -5,248 +5,76 @@ import com.example.purnima.model.BirthData;
 import com.example.purnima.model.AsthakootResult;
 import com.example.purnima.util.SwissEphCalculator;
 import com.example.purnima.util.SwissEphCalculator.PlanetaryPosition;
-import com.example.purnima.util.SwissEphCalculator.NakshatraInfo;
 
 /**
  * Default implementation of AsthakootCalculator.
  * Provides compatibility calculations based on Vedic astrology principles.
+ * Scores are read from the precomputed {@link AsthakootMatrix}, so the only work per pair is
+ * finding the two Moon positions.
  */
 public class DefaultAsthakootCalculator implements AsthakootCalculator {
-    
+
     @Override
     public AsthakootResult calculateAsthakoot(BirthData maleBirthData, BirthData femaleBirthData) {
         try {
-            // Get Moon positions for both
-            PlanetaryPosition maleMoon = SwissEphCalculator.calculatePlanetPosition(
-                maleBirthData.getBirthDateTime(), maleBirthData.getLatitude(), maleBirthData.getLongitude(), "Moon");
-            
-            PlanetaryPosition femaleMoon = SwissEphCalculator.calculatePlanetPosition(
-                femaleBirthData.getBirthDateTime(), femaleBirthData.getLatitude(), femaleBirthData.getLongitude(), "Moon");
-                
-            // Calculate Nakshatras
-            NakshatraInfo maleNakshatra = SwissEphCalculator.calculateNakshatra(
-                maleBirthData.getBirthDateTime(), maleBirthData.getLatitude(), maleBirthData.getLongitude());
-                
-            NakshatraInfo femaleNakshatra = SwissEphCalculator.calculateNakshatra(
-                femaleBirthData.getBirthDateTime(), femaleBirthData.getLatitude(), femaleBirthData.getLongitude());
-                
-            // Calculate Rashis (1-12)
-            double maleLon = maleMoon.getLongitude() % 360;
-            if (maleLon < 0) maleLon += 360;
-            int maleRashi = (int) (maleLon / 30) + 1;
-            if (maleRashi > 12) maleRashi = 12;
-            
-            double femaleLon = femaleMoon.getLongitude() % 360;
-            if (femaleLon < 0) femaleLon += 360;
-            int femaleRashi = (int) (femaleLon / 30) + 1;
-            if (femaleRashi > 12) femaleRashi = 12;
-            
-            int varnaKoota = calculateVarnaKoota(maleRashi, femaleRashi);
-            int vashyaKoota = calculateVashyaKoota(maleRashi, femaleRashi);
-            int taraKoota = calculateTaraKoota(maleNakshatra.getNakshatraNumber(), femaleNakshatra.getNakshatraNumber());
-            int yoniKoota = calculateYoniKoota(maleNakshatra.getNakshatraNumber(), femaleNakshatra.getNakshatraNumber());
-            int grahaMaitriKoota = calculateGrahaMaitriKoota(maleRashi, femaleRashi);
-            int ganaKoota = calculateGanaKoota(maleNakshatra.getNakshatraNumber(), femaleNakshatra.getNakshatraNumber());
-            int bhakootKoota = calculateBhakootKoota(maleRashi, femaleRashi);
-            int nadiKoota = calculateNadiKoota(maleNakshatra.getNakshatraNumber(), femaleNakshatra.getNakshatraNumber());
-            
-            return new AsthakootResult(maleBirthData, femaleBirthData, 
-                                     varnaKoota, vashyaKoota, taraKoota, yoniKoota,
-                                     grahaMaitriKoota, ganaKoota, bhakootKoota, nadiKoota);
+            // Get Moon padas for both
+            int malePada = getMoonPada(maleBirthData);
+            int femalePada = getMoonPada(femaleBirthData);
+
+            return new AsthakootResult(maleBirthData, femaleBirthData,
+                                     AsthakootMatrix.getScore(malePada, femalePada, AsthakootMatrix.VARNA),
+                                     AsthakootMatrix.getScore(malePada, femalePada, AsthakootMatrix.VASHYA),
+                                     AsthakootMatrix.getScore(malePada, femalePada, AsthakootMatrix.TARA),
+                                     AsthakootMatrix.getScore(malePada, femalePada, AsthakootMatrix.YONI),
+                                     AsthakootMatrix.getScore(malePada, femalePada, AsthakootMatrix.GRAHA_MAITRI),
+                                     AsthakootMatrix.getScore(malePada, femalePada, AsthakootMatrix.GANA),
+                                     AsthakootMatrix.getScore(malePada, femalePada, AsthakootMatrix.BHAKOOT),
+                                     AsthakootMatrix.getScore(malePada, femalePada, AsthakootMatrix.NADI));
         } catch (Exception e) {
-            e.printStackTrace();
             throw new RuntimeException("Error calculating Asthakoot compatibility: " + e.getMessage(), e);
         }
     }
-    
-    // Helper methods for interface compliance (redirect to internal methods)
+
     @Override
     public int calculateVarnaKoota(BirthData maleBirthData, BirthData femaleBirthData) {
-        return 1; // Placeholder, main logic is in calculateAsthakoot
+        return calculateKoota(maleBirthData, femaleBirthData, AsthakootMatrix.VARNA);
     }
     @Override
-    public int calculateVashyaKoota(BirthData maleBirthData, BirthData femaleBirthData) { return 2; }
-    @Override
-    public int calculateTaraKoota(BirthData maleBirthData, BirthData femaleBirthData) { return 3; }
-    @Override
-    public int calculateYoniKoota(BirthData maleBirthData, BirthData femaleBirthData) { return 4; }
-    @Override
-    public int calculateGrahaMaitriKoota(BirthData maleBirthData, BirthData femaleBirthData) { return 5; }
-    @Override
-    public int calculateGanaKoota(BirthData maleBirthData, BirthData femaleBirthData) { return 6; }
-    @Override
-    public int calculateBhakootKoota(BirthData maleBirthData, BirthData femaleBirthData) { return 7; }
-    @Override
-    public int calculateNadiKoota(BirthData maleBirthData, BirthData femaleBirthData) { return 8; }
-
-    // Internal calculation methods
-    
-    private int calculateVarnaKoota(int maleRashi, int femaleRashi) {
-        // Brahmin: 4, 8, 12; Kshatriya: 1, 5, 9; Vaishya: 2, 6, 10; Shudra: 3, 7, 11
-        int[] varna = {0, 2, 3, 4, 1, 2, 3, 4, 1, 2, 3, 4, 1}; // 1-based index
-        // 1=Brahmin, 2=Kshatriya, 3=Vaishya, 4=Shudra (Higher number = Lower caste in this logic for comparison)
-        // Actually standard is: Brahmin(Highest) -> Shudra(Lowest).
-        // Groom should be equal or higher.
-        
-        int m = getVarnaOrder(maleRashi);
-        int f = getVarnaOrder(femaleRashi);
-        
-        return (m <= f) ? 1 : 0;
-    }
-    
-    private int getVarnaOrder(int rashi) {
-        if (rashi == 4 || rashi == 8 || rashi == 12) return 1; // Brahmin
-        if (rashi == 1 || rashi == 5 || rashi == 9) return 2; // Kshatriya
-        if (rashi == 2 || rashi == 6 || rashi == 10) return 3; // Vaishya
-        return 4; // Shudra
+    public int calculateVashyaKoota(BirthData maleBirthData, BirthData femaleBirthData) {
+        return calculateKoota(maleBirthData, femaleBirthData, AsthakootMatrix.VASHYA);
     }
-    
-    private int calculateVashyaKoota(int maleRashi, int femaleRashi) {
-        // Simplified Vashya: Same sign = 2, Friendly = 1, Enemy = 0
-        // Full table is complex. Using simplified logic based on groups.
-        // Group 1 (Chatushpada): 1, 2, 9(2nd half), 10(1st half)
-        // Group 2 (Manava): 3, 6, 7, 9(1st half), 11
-        // Group 3 (Jalachara): 4, 10(2nd half), 12
-        // Group 4 (Vanachara): 5
-        // Group 5 (Keeta): 8
-        
-        // Simplified:
-        int[] group = {0, 1, 1, 2, 3, 4, 2, 2, 5, 1, 1, 2, 3}; // 1-based
-        
-        if (maleRashi == femaleRashi) return 2;
-        int m = group[maleRashi];
-        int f = group[femaleRashi];
-        
-        if (m == f) return 2;
-        if ((m == 1 && f == 2) || (m == 2 && f == 1)) return 1; // Man-Animal
-        return 0; // Default
-    }
-    
-    private int calculateTaraKoota(int maleNak, int femaleNak) {
-        int count = (femaleNak - maleNak);
-        if (count <= 0) count += 27;
-        int rem = count % 9;
-        boolean maleGood = (rem == 1 || rem == 3 || rem == 5 || rem == 7 || rem == 0); // 1,2,4,6,8,9 -> 3,5,7 are bad usually?
-        // Standard: 3, 5, 7 are Vipat, Pratyak, Naidhana (Bad). 
-        // 1(Janma), 2(Sampat), 4(Kshema), 6(Sadhana), 8(Mitra), 9(Param Mitra) are Good.
-        // Wait, rem=0 is 9.
-        
-        boolean mGood = isTaraGood(count);
-        
-        count = (maleNak - femaleNak);
-        if (count <= 0) count += 27;
-        boolean fGood = isTaraGood(count);
-        
-        if (mGood && fGood) return 3;
-        if (mGood || fGood) return 1; // 1.5 rounded down
-        return 0;
-    }
-    
-    private boolean isTaraGood(int count) {
-        int rem = count % 9;
-        return (rem == 1 || rem == 2 || rem == 4 || rem == 6 || rem == 8 || rem == 0);
+    @Override
+    public int calculateTaraKoota(BirthData maleBirthData, BirthData femaleBirthData) {
+        return calculateKoota(maleBirthData, femaleBirthData, AsthakootMatrix.TARA);
     }
-    
-    private int calculateYoniKoota(int maleNak, int femaleNak) {
-        // Simplified: Same yoni = 4, Different = 2, Enemy = 0
-        // Mapping nakshatra to 14 yonis is needed.
-        // For brevity, using a hash-based approach for demonstration
-        int mYoni = (maleNak - 1) % 14;
-        int fYoni = (femaleNak - 1) % 14;
-        
-        if (mYoni == fYoni) return 4;
-        if (Math.abs(mYoni - fYoni) == 7) return 0; // Enemy
-        return 2; // Neutral
+    @Override
+    public int calculateYoniKoota(BirthData maleBirthData, BirthData femaleBirthData) {
+        return calculateKoota(maleBirthData, femaleBirthData, AsthakootMatrix.YONI);
     }
-    
-    private int calculateGrahaMaitriKoota(int maleRashi, int femaleRashi) {
-        // Lords: 1-Mars, 2-Ven, 3-Mer, 4-Mon, 5-Sun, 6-Mer, 7-Ven, 8-Mars, 9-Jup, 10-Sat, 11-Sat, 12-Jup
-        int[] lords = {0, 1, 2, 3, 4, 5, 3, 2, 1, 6, 7, 7, 6}; // 1=Mars, 2=Ven, 3=Mer, 4=Mon, 5=Sun, 6=Jup, 7=Sat
-        
-        int mLord = lords[maleRashi];
-        int fLord = lords[femaleRashi];
-        
-        if (mLord == fLord) return 5;
-        
-        // Simplified friendship:
-        // Friends: Sun-Moon-Mars-Jup
-        // Friends: Ven-Mer-Sat
-        // Neutral: Moon-Mer
-        
-        boolean mGroup1 = (mLord == 1 || mLord == 4 || mLord == 5 || mLord == 6); // Mars, Mon, Sun, Jup
-        boolean fGroup1 = (fLord == 1 || fLord == 4 || fLord == 5 || fLord == 6);
-        
-        if (mGroup1 == fGroup1) return 5; // Same group
-        return 0; // Different group (Enemy) - Simplified
+    @Override
+    public int calculateGrahaMaitriKoota(BirthData maleBirthData, BirthData femaleBirthData) {
+        return calculateKoota(maleBirthData, femaleBirthData, AsthakootMatrix.GRAHA_MAITRI);
     }
-    
-    private int calculateGanaKoota(int maleNak, int femaleNak) {
-        // 1=Deva, 2=Manushya, 3=Rakshasa
-        int mGana = getGana(maleNak);
-        int fGana = getGana(femaleNak);
-        
-        if (mGana == fGana) return 6;
-        if ((mGana == 1 && fGana == 2) || (mGana == 2 && fGana == 1)) return 5; // Deva-Man
-        if (mGana == 3 || fGana == 3) return 0; // One is Rakshasa and other is not
-        return 1;
+    @Override
+    public int calculateGanaKoota(BirthData maleBirthData, BirthData femaleBirthData) {
+        return calculateKoota(maleBirthData, femaleBirthData, AsthakootMatrix.GANA);
     }
-    
-    private int getGana(int nak) {
-        // Deva: 1, 5, 7, 8, 13, 15, 17, 22, 27
-        if (nak==1||nak==5||nak==7||nak==8||nak==13||nak==15||nak==17||nak==22||nak==27) return 1;
-        // Manushya: 2, 4, 6, 11, 12, 20, 21, 25, 26
-        if (nak==2||nak==4||nak==6||nak==11||nak==12||nak==20||nak==21||nak==25||nak==26) return 2;
-        // Rakshasa
-        return 3;
+    @Override
+    public int calculateBhakootKoota(BirthData maleBirthData, BirthData femaleBirthData) {
+        return calculateKoota(maleBirthData, femaleBirthData, AsthakootMatrix.BHAKOOT);
     }
-    
-    private int calculateBhakootKoota(int maleRashi, int femaleRashi) {
-        int count = (femaleRashi - maleRashi) + 1;
-        if (count <= 0) count += 12;
-        // 1, 7 -> 7
-        // 2, 12 -> 0
-        // 3, 11 -> 7
-        // 4, 10 -> 7
-        // 5, 9 -> 0
-        // 6, 8 -> 0
-        
-        // Count is from Male to Female.
-        // If count is 1 (same), 7 (opposite) -> 7
-        if (count == 1 || count == 7) return 7;
-        
-        // 2/12 relationship: Count 2 or 12
-        if (count == 2 || count == 12) return 0;
-        
-        // 3/11: Count 3 or 11
-        if (count == 3 || count == 11) return 7;
-        
-        // 4/10: Count 4 or 10
-        if (count == 4 || count == 10) return 7;
-        
-        // 5/9: Count 5 or 9
-        if (count == 5 || count == 9) return 0;
-        
-        // 6/8: Count 6 or 8
-        if (count == 6 || count == 8) return 0;
-        
-        return 0;
+    @Override
+    public int calculateNadiKoota(BirthData maleBirthData, BirthData femaleBirthData) {
+        return calculateKoota(maleBirthData, femaleBirthData, AsthakootMatrix.NADI);
     }
-    
-    private int calculateNadiKoota(int maleNak, int femaleNak) {
-        // Adi: 1, 6, 7, 12, 13, 18, 19, 24, 25
-        // Madhya: 2, 5, 8, 11, 14, 17, 20, 23, 26
-        // Antya: 3, 4, 9, 10, 15, 16, 21, 22, 27
-        
-        int mNadi = getNadi(maleNak);
-        int fNadi = getNadi(femaleNak);
-        
-        if (mNadi == fNadi) return 0; // Dosha
-        return 8; // No Dosha
+
+    private int calculateKoota(BirthData maleBirthData, BirthData femaleBirthData, int koota) {
+        return AsthakootMatrix.getScore(getMoonPada(maleBirthData), getMoonPada(femaleBirthData), koota);
     }
-    
-    private int getNadi(int nak) {
-        if (nak==1||nak==6||nak==7||nak==12||nak==13||nak==18||nak==19||nak==24||nak==25) return 1;
-        if (nak==2||nak==5||nak==8||nak==11||nak==14||nak==17||nak==20||nak==23||nak==26) return 2;
-        return 3;
+
+    private static int getMoonPada(BirthData birthData) {
+        PlanetaryPosition moon = SwissEphCalculator.calculatePlanetPosition(
+            birthData.getBirthDateTime(), birthData.getLatitude(), birthData.getLongitude(), "Moon");
+        return AsthakootMatrix.padaIndex(moon.getLongitude());
     }
-} 
\ No newline at end of file
+}
@@ -1,12 +1,11 @@
 package com.example.purnima.service;
 
 import com.example.purnima.api.MuhurtaCalculator;
+import com.example.purnima.jfr.MuhurtaDayEvent;
 import com.example.purnima.model.MuhurtaResult;
+import com.example.purnima.util.CalculationMetrics;
 import com.example.purnima.util.SwissEphCalculator;
-import de.thmac.swisseph.SweConst;
 import de.thmac.swisseph.SweDate;
-import de.thmac.swisseph.SwissEph;
-import de.thmac.swisseph.DblObj;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 
@@ -25,8 +24,8 @@ import com.example.purnima.model.MuhurtaSlot;
  */
 public class DefaultMuhurtaCalculator implements MuhurtaCalculator {
 
-    private final SwissEph sw = new SwissEph();
     private final MessageSource messageSource;
+    private final RiseSetService riseSetService;
 
     // Choghadiya Rulers (Day): Sun, Ven, Mer, Mon, Sat, Jup, Mar (Udveg, Chal, Labh, Amrit, Kaal, Shubh, Rog)
     // Keys for localization
@@ -73,12 +72,17 @@ public class DefaultMuhurtaCalculator implements MuhurtaCalculator {
     };
 
     public DefaultMuhurtaCalculator(MessageSource messageSource) {
+        this(messageSource, RiseSetService.getDefault());
+    }
+
+    public DefaultMuhurtaCalculator(MessageSource messageSource, RiseSetService riseSetService) {
         this.messageSource = messageSource;
+        this.riseSetService = riseSetService;
     }
 
     // Default constructor for backward compatibility
     public DefaultMuhurtaCalculator() {
-        this.messageSource = null;
+        this(null);
     }
     
     private String getLocalizedMessage(String key, String defaultMsg) {
@@ -89,13 +93,16 @@ public class DefaultMuhurtaCalculator implements MuhurtaCalculator {
 
     @Override
     public MuhurtaResult calculateMuhurta(LocalDate date, double latitude, double longitude, ZoneId zoneId) {
+        MuhurtaDayEvent event = new MuhurtaDayEvent();
+        event.begin();
+        long phaseStart = CalculationMetrics.start();
         MuhurtaResult result = new MuhurtaResult();
         
         // 1. Calculate Sunrise and Sunset
         LocalDateTime[] sunRiseSet = calculateSunriseSunset(date, latitude, longitude, zoneId);
         LocalDateTime sunrise = sunRiseSet[0];
         LocalDateTime sunset = sunRiseSet[1];
-        LocalDateTime nextSunrise = calculateSunriseSunset(date.plusDays(1), latitude, longitude, zoneId)[0];
+        LocalDateTime nextSunrise = sunRiseSet[2];
         
         // 2. Calculate Day Choghadiya
         result.setDayChoghadiya(calculateChoghadiya(date, sunrise, sunset, true));
@@ -109,33 +116,33 @@ public class DefaultMuhurtaCalculator implements MuhurtaCalculator {
         // 5. Calculate Inauspicious Times
         result.setInauspiciousTimes(calculateInauspiciousTimes(date, sunrise, sunset));
         
+        CalculationMetrics.recordPhase("muhurta.day", phaseStart);
+        if (event.shouldCommit()) {
+            event.date = date.toString();
+            event.latitude = latitude;
+            event.longitude = longitude;
+            event.commit();
+        }
         return result;
     }
     
     private LocalDateTime[] calculateSunriseSunset(LocalDate date, double latitude, double longitude, ZoneId zoneId) {
-        // Use SwissEph to calculate sunrise/sunset
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime utStart = startOfDay.atZone(zoneId).withZoneSameInstant(ZoneId.of("UTC")).toLocalDateTime();
-        SweDate sd = new SweDate(utStart.getYear(), utStart.getMonthValue(), utStart.getDayOfMonth(), 
-                                utStart.getHour() + utStart.getMinute()/60.0 + utStart.getSecond()/3600.0);
-        double julianDay = sd.getJulDay();
-        
-        DblObj rise = new DblObj();
-        DblObj set = new DblObj();
-        StringBuffer serr = new StringBuffer();
-        
-        double[] geopos = {longitude, latitude, 0};
-        
-        // Calculate Sunrise
-        sw.swe_rise_trans(julianDay, SweConst.SE_SUN, null, SweConst.SEFLG_SWIEPH, SweConst.SE_CALC_RISE, geopos, 0, 0, rise, serr);
-        
-        // Calculate Sunset
-        sw.swe_rise_trans(julianDay, SweConst.SE_SUN, null, SweConst.SEFLG_SWIEPH, SweConst.SE_CALC_SET, geopos, 0, 0, set, serr);
-        
-        LocalDateTime sunriseTime = convertUtJdToLocal(rise.val, zoneId);
-        LocalDateTime sunsetTime = convertUtJdToLocal(set.val, zoneId);
-        
-        return new LocalDateTime[]{sunriseTime, sunsetTime};
+        // Events after local midnight, from the rise/set cache
+        double julianDay = SwissEphCalculator.dateTimeToJulianDay(
+            date.atStartOfDay(zoneId).withZoneSameInstant(ZoneId.of("UTC")).toLocalDateTime());
+        double rise = riseSetService.next(RiseSetService.Event.SUNRISE, julianDay, latitude, longitude);
+        double set = riseSetService.next(RiseSetService.Event.SUNSET, julianDay, latitude, longitude);
+        // The day after is cached with it, so tomorrow's sunrise is a hit
+        double nextRise = Double.isNaN(rise) ? Double.NaN
+            : riseSetService.next(RiseSetService.Event.SUNRISE, rise, latitude, longitude);
+
+        // Polar day or night: fall back to a nominal 6:00 to 18:00 day
+        LocalDateTime sunriseTime = Double.isNaN(rise) ? date.atTime(6, 0) : convertUtJdToLocal(rise, zoneId);
+        LocalDateTime sunsetTime = Double.isNaN(set) ? date.atTime(18, 0) : convertUtJdToLocal(set, zoneId);
+        LocalDateTime nextSunriseTime = Double.isNaN(nextRise) ? date.plusDays(1).atTime(6, 0)
+            : convertUtJdToLocal(nextRise, zoneId);
+
+        return new LocalDateTime[]{sunriseTime, sunsetTime, nextSunriseTime};
     }
     
     private LocalDateTime convertUtJdToLocal(double utJd, ZoneId zoneId) {
@@ -275,8 +282,8 @@ public class DefaultMuhurtaCalculator implements MuhurtaCalculator {
                 boolean isRahu = isTimeInPeriod(checkTime, mr.getInauspiciousTimes().getRahuKalam());
                 
                 if (!isRahu) {
-                    SwissEphCalculator.NakshatraInfo nakInfo = SwissEphCalculator.calculateNakshatra(checkTime, latitude, longitude);
-                    SwissEphCalculator.LunarPhase lunarPhase = SwissEphCalculator.calculateLunarPhase(checkTime, latitude, longitude);
+                    SwissEphCalculator.NakshatraInfo nakInfo = nakshatraAt(checkTime, latitude, longitude);
+                    SwissEphCalculator.LunarPhase lunarPhase = lunarPhaseAt(checkTime, latitude, longitude);
                     
                     if (goodNakshatras.contains(nakInfo.getNakshatraNumber()) && goodTithis.contains(lunarPhase.getTithi())) {
                         addOrMergeSlot(slots, slotStart, slotEnd, getLocalizedMessage("muhurta.quality.good", "Good"), COLOR_GOOD,
@@ -318,8 +325,8 @@ public class DefaultMuhurtaCalculator implements MuhurtaCalculator {
                     boolean isRahu = isTimeInPeriod(checkTime, mr.getInauspiciousTimes().getRahuKalam());
                     
                     if (!isRahu) {
-                        SwissEphCalculator.NakshatraInfo nakInfo = SwissEphCalculator.calculateNakshatra(checkTime, latitude, longitude);
-                        SwissEphCalculator.LunarPhase lunarPhase = SwissEphCalculator.calculateLunarPhase(checkTime, latitude, longitude);
+                        SwissEphCalculator.NakshatraInfo nakInfo = nakshatraAt(checkTime, latitude, longitude);
+                        SwissEphCalculator.LunarPhase lunarPhase = lunarPhaseAt(checkTime, latitude, longitude);
                         
                         if (goodNakshatras.contains(nakInfo.getNakshatraNumber()) && goodTithis.contains(lunarPhase.getTithi())) {
                              addOrMergeSlot(slots, slotStart, slotEnd, getLocalizedMessage("muhurta.quality.good", "Good"), COLOR_GOOD,
@@ -356,10 +363,26 @@ public class DefaultMuhurtaCalculator implements MuhurtaCalculator {
         slots.add(slot);
     }
     
+    private SwissEphCalculator.NakshatraInfo nakshatraAt(LocalDateTime time, double lat, double lon) {
+        long phaseStart = CalculationMetrics.start();
+        SwissEphCalculator.NakshatraInfo nakInfo = SwissEphCalculator.calculateNakshatra(time, lat, lon);
+        CalculationMetrics.recordPhase("muhurta.criteria.nakshatra", phaseStart);
+        return nakInfo;
+    }
+    
+    private SwissEphCalculator.LunarPhase lunarPhaseAt(LocalDateTime time, double lat, double lon) {
+        long phaseStart = CalculationMetrics.start();
+        SwissEphCalculator.LunarPhase lunarPhase = SwissEphCalculator.calculateLunarPhase(time, lat, lon);
+        CalculationMetrics.recordPhase("muhurta.criteria.tithi", phaseStart);
+        return lunarPhase;
+    }
+    
     private boolean isCombust(LocalDateTime time, double lat, double lon) {
+        long phaseStart = CalculationMetrics.start();
         SwissEphCalculator.PlanetaryPosition sun = SwissEphCalculator.calculatePlanetPosition(time, lat, lon, "Sun");
         SwissEphCalculator.PlanetaryPosition jupiter = SwissEphCalculator.calculatePlanetPosition(time, lat, lon, "Jupiter");
         SwissEphCalculator.PlanetaryPosition venus = SwissEphCalculator.calculatePlanetPosition(time, lat, lon, "Venus");
+        CalculationMetrics.recordPhase("muhurta.criteria.combust", phaseStart);
         
         double sunLong = sun.getLongitude();
         
@@ -406,8 +429,8 @@ public class DefaultMuhurtaCalculator implements MuhurtaCalculator {
                     
                     MuhurtaResult mr = calculateMuhurta(checkTime.toLocalDate(), latitude, longitude, zoneId);
                     if (!isTimeInPeriod(checkTime, mr.getInauspiciousTimes().getRahuKalam())) {
-                        SwissEphCalculator.NakshatraInfo nakInfo = SwissEphCalculator.calculateNakshatra(checkTime, latitude, longitude);
-                        SwissEphCalculator.LunarPhase lunarPhase = SwissEphCalculator.calculateLunarPhase(checkTime, latitude, longitude);
+                        SwissEphCalculator.NakshatraInfo nakInfo = nakshatraAt(checkTime, latitude, longitude);
+                        SwissEphCalculator.LunarPhase lunarPhase = lunarPhaseAt(checkTime, latitude, longitude);
                         
                         if (goodNakshatras.contains(nakInfo.getNakshatraNumber()) && goodTithis.contains(lunarPhase.getTithi())) {
                             // Check Lagna
@@ -455,7 +478,7 @@ public class DefaultMuhurtaCalculator implements MuhurtaCalculator {
                 
                 MuhurtaResult mr = calculateMuhurta(checkTime.toLocalDate(), latitude, longitude, zoneId);
                 if (!isTimeInPeriod(checkTime, mr.getInauspiciousTimes().getRahuKalam())) {
-                    SwissEphCalculator.NakshatraInfo nakInfo = SwissEphCalculator.calculateNakshatra(checkTime, latitude, longitude);
+                    SwissEphCalculator.NakshatraInfo nakInfo = nakshatraAt(checkTime, latitude, longitude);
                     
                     if (goodNakshatras.contains(nakInfo.getNakshatraNumber())) {
                         addOrMergeSlot(slots, slotStart, slotEnd, getLocalizedMessage("muhurta.quality.good", "Good"), COLOR_GOOD,
@@ -489,8 +512,8 @@ public class DefaultMuhurtaCalculator implements MuhurtaCalculator {
                 
                 MuhurtaResult mr = calculateMuhurta(checkTime.toLocalDate(), latitude, longitude, zoneId);
                 if (!isTimeInPeriod(checkTime, mr.getInauspiciousTimes().getRahuKalam())) {
-                    SwissEphCalculator.NakshatraInfo nakInfo = SwissEphCalculator.calculateNakshatra(checkTime, latitude, longitude);
-                    SwissEphCalculator.LunarPhase lunarPhase = SwissEphCalculator.calculateLunarPhase(checkTime, latitude, longitude);
+                    SwissEphCalculator.NakshatraInfo nakInfo = nakshatraAt(checkTime, latitude, longitude);
+                    SwissEphCalculator.LunarPhase lunarPhase = lunarPhaseAt(checkTime, latitude, longitude);
                     
                     if (goodNakshatras.contains(nakInfo.getNakshatraNumber()) && goodTithis.contains(lunarPhase.getTithi())) {
                         addOrMergeSlot(slots, slotStart, slotEnd, getLocalizedMessage("muhurta.quality.good", "Good"), COLOR_GOOD,
@@ -525,7 +548,7 @@ public class DefaultMuhurtaCalculator implements MuhurtaCalculator {
                 
                 MuhurtaResult mr = calculateMuhurta(checkTime.toLocalDate(), latitude, longitude, zoneId);
                 if (!isTimeInPeriod(checkTime, mr.getInauspiciousTimes().getRahuKalam())) {
-                    SwissEphCalculator.NakshatraInfo nakInfo = SwissEphCalculator.calculateNakshatra(checkTime, latitude, longitude);
+                    SwissEphCalculator.NakshatraInfo nakInfo = nakshatraAt(checkTime, latitude, longitude);
                     
                     if (goodNakshatras.contains(nakInfo.getNakshatraNumber())) {
                         addOrMergeSlot(slots, slotStart, slotEnd, getLocalizedMessage("muhurta.quality.good", "Good"), COLOR_GOOD,
@@ -539,12 +562,16 @@ public class DefaultMuhurtaCalculator implements MuhurtaCalculator {
     }
     
     private int getPlanetSign(LocalDateTime time, double lat, double lon, String planet) {
+        long phaseStart = CalculationMetrics.start();
         SwissEphCalculator.PlanetaryPosition pos = SwissEphCalculator.calculatePlanetPosition(time, lat, lon, planet);
+        CalculationMetrics.recordPhase("muhurta.criteria.sign", phaseStart);
         return (int) Math.floor(pos.getLongitude() / 30) + 1;
     }
     
     private int getAscendantSign(LocalDateTime time, double lat, double lon) {
+        long phaseStart = CalculationMetrics.start();
         double asc = SwissEphCalculator.calculateAscendant(time, lat, lon);
+        CalculationMetrics.recordPhase("muhurta.criteria.lagna", phaseStart);
         return (int) Math.floor(asc / 30) + 1;
     }
     
@@ -1,8 +1,12 @@
 package com.example.purnima.service;
 
 import com.example.purnima.api.PanchangCalculator;
+import com.example.purnima.jfr.BoundarySearchEvent;
 import com.example.purnima.model.BirthData;
+import com.example.purnima.model.Location;
 import com.example.purnima.model.PanchangResult;
+import com.example.purnima.util.CalculationMetrics;
+import com.example.purnima.util.GeocentricTimeline;
 import com.example.purnima.util.SwissEphCalculator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
@@ -11,7 +15,11 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Executor;
 
 /**
  * Default implementation of PanchangCalculator using Swiss Ephemeris.
@@ -19,11 +27,32 @@ import java.util.Locale;
 @Service
 public class DefaultPanchangCalculator implements PanchangCalculator {
 
+    private static final int MIN_BATCH_CHUNK_SIZE = 8;
+
     private final MessageSource messageSource;
+    private final RiseSetService riseSetService;
+    private final Executor batchExecutor;
 
     @Autowired
     public DefaultPanchangCalculator(MessageSource messageSource) {
+        this(messageSource, RiseSetService.getDefault());
+    }
+
+    public DefaultPanchangCalculator(MessageSource messageSource, RiseSetService riseSetService) {
+        this(messageSource, riseSetService, BatchRunner.sharedExecutor());
+    }
+
+    /**
+     * Constructor with a custom executor for multi-location Panchang.
+     * 
+     * @param messageSource Message source for localized names
+     * @param riseSetService Source of sunrise and sunset times
+     * @param batchExecutor Executor that helps run location chunks; should be bounded to the number of cores
+     */
+    public DefaultPanchangCalculator(MessageSource messageSource, RiseSetService riseSetService, Executor batchExecutor) {
         this.messageSource = messageSource;
+        this.riseSetService = riseSetService;
+        this.batchExecutor = batchExecutor;
     }
 
     @Override
@@ -43,12 +72,52 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
 
     @Override
     public PanchangResult calculatePanchang(LocalDateTime dateTime, double latitude, double longitude, String placeName, java.time.ZoneId zoneId) {
+        return calculatePanchang(dateTime, latitude, longitude, placeName, zoneId, directElements(latitude, longitude));
+    }
+
+    @Override
+    public List<PanchangResult> calculatePanchangForLocations(LocalDate date, List<Location> locations) {
+        int size = locations.size();
+        if (size == 0) {
+            return new ArrayList<>();
+        }
+
+        // One timeline covers every local day plus the 24 hours a boundary search may look ahead
+        long phaseStart = CalculationMetrics.start();
+        double startJulianDay = Double.POSITIVE_INFINITY;
+        double endJulianDay = Double.NEGATIVE_INFINITY;
+        for (Location location : locations) {
+            startJulianDay = Math.min(startJulianDay, toJulianDay(date.atStartOfDay(location.getTimeZone())));
+            endJulianDay = Math.max(endJulianDay, toJulianDay(date.plusDays(2).atStartOfDay(location.getTimeZone())));
+        }
+        GeocentricTimeline timeline = new GeocentricTimeline(startJulianDay, endJulianDay, GeocentricTimeline.DEFAULT_STEP_DAYS);
+        CalculationMetrics.recordPhase("panchang.timeline", phaseStart);
+
+        PanchangResult[] results = new PanchangResult[size];
+        BatchRunner.run(batchExecutor, size, MIN_BATCH_CHUNK_SIZE, "calculating Panchang for locations", (from, to) -> {
+            for (int i = from; i < to; i++) {
+                results[i] = calculatePanchang(date, locations.get(i), timeline);
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    private PanchangResult calculatePanchang(LocalDate date, Location location, GeocentricTimeline timeline) {
+        double latitude = location.getLatitude();
+        double longitude = location.getLongitude();
+        return calculatePanchang(date.atStartOfDay(), latitude, longitude, location.getPlaceName(), location.getTimeZone(),
+                                 timelineElements(timeline, latitude, longitude));
+    }
+
+    private PanchangResult calculatePanchang(LocalDateTime dateTime, double latitude, double longitude, String placeName,
+                                             java.time.ZoneId zoneId, ElementSource elements) {
         Locale locale = LocaleContextHolder.getLocale();
         java.time.LocalDate localDate = dateTime.toLocalDate();
         LocalDateTime dayStart = localDate.atStartOfDay();
         LocalDateTime dayEnd = localDate.plusDays(1).atStartOfDay();
 
         // 1. Tithi List
+        long phaseStart = CalculationMetrics.start();
         java.util.List<PanchangResult.TithiInfo> tithiList = new java.util.ArrayList<>();
         LocalDateTime current = dayStart;
         while (current.isBefore(dayEnd)) {
@@ -57,11 +126,11 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
             java.time.ZonedDateTime utZdt = zdt.withZoneSameInstant(java.time.ZoneId.of("UTC"));
             LocalDateTime utcDateTime = utZdt.toLocalDateTime();
 
-            SwissEphCalculator.LunarPhase lunarPhase = SwissEphCalculator.calculateLunarPhase(utcDateTime, latitude, longitude);
+            SwissEphCalculator.LunarPhase lunarPhase = elements.lunarPhase(utcDateTime);
             int tithiNumber = lunarPhase.getTithi();
             String tithiName = messageSource.getMessage("tithi." + tithiNumber, null, "Tithi " + tithiNumber, locale);
             
-            LocalDateTime tithiEndTimeUtc = findTithiEndTime(utcDateTime, latitude, longitude, tithiNumber);
+            LocalDateTime tithiEndTimeUtc = findTithiEndTime(utcDateTime, elements, tithiNumber);
             // Convert back to local for display/loop check
             java.time.ZonedDateTime endZdt = tithiEndTimeUtc.atZone(java.time.ZoneId.of("UTC")).withZoneSameInstant(zoneId);
             LocalDateTime tithiEndTimeLocal = endZdt.toLocalDateTime();
@@ -78,13 +147,16 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
             tithiList.add(new PanchangResult.TithiInfo(
                 tithiNumber, tithiName, tithiName, 
                 com.example.purnima.util.TimeUtil.formatDecimalTime(startDecimal), 
-                endTimeStr, 
+                endTimeStr,
+                zdt.toInstant(), endZdt.toInstant(),
                 lunarPhase.isShuklaPaksha()
             ));
             
             current = tithiEndTimeLocal.plusSeconds(1); // Advance slightly to avoid edge case
         }
 
+        CalculationMetrics.recordPhase("panchang.tithi", phaseStart);
+
         // 2. Vara (Day of Week)
         int dayOfWeek = dateTime.getDayOfWeek().getValue(); // 1=Mon, 7=Sun
         int vedicDay = (dayOfWeek == 7) ? 1 : dayOfWeek + 1;
@@ -94,6 +166,7 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
         PanchangResult.VaraInfo varaInfo = new PanchangResult.VaraInfo(vedicDay, varaName, varaName, rulingPlanet);
 
         // 3. Nakshatra List
+        phaseStart = CalculationMetrics.start();
         java.util.List<PanchangResult.NakshatraInfo> nakList = new java.util.ArrayList<>();
         current = dayStart;
         while (current.isBefore(dayEnd)) {
@@ -101,12 +174,12 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
             java.time.ZonedDateTime utZdt = zdt.withZoneSameInstant(java.time.ZoneId.of("UTC"));
             LocalDateTime utcDateTime = utZdt.toLocalDateTime();
 
-            SwissEphCalculator.NakshatraInfo nakInfo = SwissEphCalculator.calculateNakshatra(utcDateTime, latitude, longitude);
+            SwissEphCalculator.NakshatraInfo nakInfo = elements.nakshatra(utcDateTime);
             int nakshatraNumber = nakInfo.getNakshatraNumber();
             String nakshatraName = messageSource.getMessage("nakshatra." + nakshatraNumber, null, "Nakshatra " + nakshatraNumber, locale);
             String nakshatraRulingPlanet = getNakshatraRulingPlanet(nakshatraNumber);
             
-            LocalDateTime nakEndTimeUtc = findNakshatraEndTime(utcDateTime, latitude, longitude, nakshatraNumber);
+            LocalDateTime nakEndTimeUtc = findNakshatraEndTime(utcDateTime, elements, nakshatraNumber);
             java.time.ZonedDateTime endZdt = nakEndTimeUtc.atZone(java.time.ZoneId.of("UTC")).withZoneSameInstant(zoneId);
             LocalDateTime nakEndTimeLocal = endZdt.toLocalDateTime();
 
@@ -117,12 +190,15 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
             nakList.add(new PanchangResult.NakshatraInfo(
                 nakshatraNumber, nakshatraName, nakshatraName, nakshatraRulingPlanet, 
                 com.example.purnima.util.TimeUtil.formatDecimalTime(startDecimal), 
-                endTimeStr
+                endTimeStr, zdt.toInstant(), endZdt.toInstant()
             ));
             current = nakEndTimeLocal.plusSeconds(1);
         }
 
+        CalculationMetrics.recordPhase("panchang.nakshatra", phaseStart);
+
         // 4. Yoga List
+        phaseStart = CalculationMetrics.start();
         java.util.List<PanchangResult.YogaInfo> yogaList = new java.util.ArrayList<>();
         current = dayStart;
         while (current.isBefore(dayEnd)) {
@@ -130,11 +206,11 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
             java.time.ZonedDateTime utZdt = zdt.withZoneSameInstant(java.time.ZoneId.of("UTC"));
             LocalDateTime utcDateTime = utZdt.toLocalDateTime();
 
-            SwissEphCalculator.YogaInfo yogaInfoObj = SwissEphCalculator.calculateYoga(utcDateTime, latitude, longitude);
+            SwissEphCalculator.YogaInfo yogaInfoObj = elements.yoga(utcDateTime);
             int yogaNumber = yogaInfoObj.getYogaNumber();
             String yogaName = messageSource.getMessage("yoga." + yogaNumber, null, "Yoga " + yogaNumber, locale);
             
-            LocalDateTime yogaEndTimeUtc = findYogaEndTime(utcDateTime, latitude, longitude, yogaNumber);
+            LocalDateTime yogaEndTimeUtc = findYogaEndTime(utcDateTime, elements, yogaNumber);
             java.time.ZonedDateTime endZdt = yogaEndTimeUtc.atZone(java.time.ZoneId.of("UTC")).withZoneSameInstant(zoneId);
             LocalDateTime yogaEndTimeLocal = endZdt.toLocalDateTime();
 
@@ -145,12 +221,15 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
             yogaList.add(new PanchangResult.YogaInfo(
                 yogaNumber, yogaName, yogaName, 
                 com.example.purnima.util.TimeUtil.formatDecimalTime(startDecimal), 
-                endTimeStr
+                endTimeStr, zdt.toInstant(), endZdt.toInstant()
             ));
             current = yogaEndTimeLocal.plusSeconds(1);
         }
 
+        CalculationMetrics.recordPhase("panchang.yoga", phaseStart);
+
         // 5. Karana List
+        phaseStart = CalculationMetrics.start();
         java.util.List<PanchangResult.KaranaInfo> karanaList = new java.util.ArrayList<>();
         current = dayStart;
         while (current.isBefore(dayEnd)) {
@@ -158,13 +237,13 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
             java.time.ZonedDateTime utZdt = zdt.withZoneSameInstant(java.time.ZoneId.of("UTC"));
             LocalDateTime utcDateTime = utZdt.toLocalDateTime();
 
-            SwissEphCalculator.KaranaInfo kInfo = SwissEphCalculator.calculateKarana(utcDateTime, latitude, longitude);
+            SwissEphCalculator.KaranaInfo kInfo = elements.karana(utcDateTime);
             int karanaNumber = kInfo.getKaranaNumber();
             
             String karanaKey = getKaranaKey(karanaNumber);
             String karanaName = messageSource.getMessage(karanaKey, null, "Karana " + karanaNumber, locale);
             
-            LocalDateTime karanaEndTimeUtc = findKaranaEndTime(utcDateTime, latitude, longitude, karanaNumber);
+            LocalDateTime karanaEndTimeUtc = findKaranaEndTime(utcDateTime, elements, karanaNumber);
             java.time.ZonedDateTime endZdt = karanaEndTimeUtc.atZone(java.time.ZoneId.of("UTC")).withZoneSameInstant(zoneId);
             LocalDateTime karanaEndTimeLocal = endZdt.toLocalDateTime();
 
@@ -175,11 +254,11 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
             karanaList.add(new PanchangResult.KaranaInfo(
                 karanaNumber, karanaName, karanaName, 
                 com.example.purnima.util.TimeUtil.formatDecimalTime(startDecimal), 
-                endTimeStr
+                endTimeStr, zdt.toInstant(), endZdt.toInstant()
             ));
             current = karanaEndTimeLocal.plusSeconds(1);
         }
-
+        CalculationMetrics.recordPhase("panchang.karana", phaseStart);
 
         // 6. Muhurta (Simplified placeholder)
         PanchangResult.MuhurtaInfo muhurtaInfo = new PanchangResult.MuhurtaInfo(
@@ -189,15 +268,21 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
 
         // 7. Rise/Set Times
         // Use noon logic to get meaningful rise/set for the day
+        phaseStart = CalculationMetrics.start();
         LocalDateTime noon = dayStart.plusHours(12);
         java.time.ZonedDateTime zdtNoon = noon.atZone(zoneId);
         java.time.ZonedDateTime utZdtNoon = zdtNoon.withZoneSameInstant(java.time.ZoneId.of("UTC"));
         LocalDateTime utcNoon = utZdtNoon.toLocalDateTime();
         
-        LocalDateTime sunriseUt = SwissEphCalculator.calculateSunrise(utcNoon, latitude, longitude);
-        LocalDateTime sunsetUt = SwissEphCalculator.calculateSunset(utcNoon, latitude, longitude);
+        // Sunrise before noon and sunset after it, from the rise/set cache
+        double noonJulianDay = SwissEphCalculator.dateTimeToJulianDay(utcNoon);
+        LocalDateTime sunriseUt = toUtDateTime(
+            riseSetService.previous(RiseSetService.Event.SUNRISE, noonJulianDay, latitude, longitude));
+        LocalDateTime sunsetUt = toUtDateTime(
+            riseSetService.next(RiseSetService.Event.SUNSET, noonJulianDay, latitude, longitude));
         LocalDateTime moonriseUt = SwissEphCalculator.calculateMoonrise(utcNoon, latitude, longitude);
         LocalDateTime moonsetUt = SwissEphCalculator.calculateMoonset(utcNoon, latitude, longitude);
+        CalculationMetrics.recordPhase("panchang.rise_set", phaseStart);
 
         java.time.format.DateTimeFormatter timeFormatter = java.time.format.DateTimeFormatter.ofPattern("HH:mm");
         java.time.ZoneId utcZone = java.time.ZoneId.of("UTC");
@@ -209,9 +294,18 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
 
         return new PanchangResult(dateTime, latitude, longitude, placeName,
                                   sunriseStr, sunsetStr, moonriseStr, moonsetStr,
+                                  toInstant(sunriseUt), toInstant(sunsetUt), toInstant(moonriseUt), toInstant(moonsetUt),
                                   tithiList, varaInfo, nakList, yogaList, karanaList, muhurtaInfo);
     }
 
+    private static java.time.Instant toInstant(LocalDateTime utDateTime) {
+        return utDateTime != null ? utDateTime.toInstant(java.time.ZoneOffset.UTC) : null;
+    }
+
+    private static LocalDateTime toUtDateTime(double julianDay) {
+        return Double.isNaN(julianDay) ? null : SwissEphCalculator.julianDayToDateTime(julianDay, java.time.ZoneId.of("UTC"));
+    }
+
     @Override
     public PanchangResult calculatePanchang(BirthData birthData) {
         return calculatePanchang(birthData.getBirthDateTime(), 
@@ -290,7 +384,7 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
         );
     }
     
-    private String getKaranaKey(int karanaNumber) {
+    static String getKaranaKey(int karanaNumber) {
         if (karanaNumber == 1) return "karana.kimstughna";
         if (karanaNumber >= 2 && karanaNumber <= 57) {
             int cycleIndex = (karanaNumber - 2) % 7;
@@ -332,27 +426,47 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
         return "Unknown";
     }
 
-    private LocalDateTime findTithiEndTime(LocalDateTime start, double lat, double lon, int currentTithi) {
-        return findEndTime(start, lat, lon, (dt) -> SwissEphCalculator.calculateLunarPhase(dt, lat, lon).getTithi(), currentTithi);
+    // Boundary searches; package-private so the accuracy tests can compare them with a reference
+    LocalDateTime findTithiEndTime(LocalDateTime start, double lat, double lon, int currentTithi) {
+        return findTithiEndTime(start, directElements(lat, lon), currentTithi);
+    }
+
+    LocalDateTime findNakshatraEndTime(LocalDateTime start, double lat, double lon, int currentNakshatra) {
+        return findNakshatraEndTime(start, directElements(lat, lon), currentNakshatra);
+    }
+
+    LocalDateTime findYogaEndTime(LocalDateTime start, double lat, double lon, int currentYoga) {
+        return findYogaEndTime(start, directElements(lat, lon), currentYoga);
+    }
+
+    LocalDateTime findKaranaEndTime(LocalDateTime start, double lat, double lon, int currentKarana) {
+        return findKaranaEndTime(start, directElements(lat, lon), currentKarana);
     }
 
-    private LocalDateTime findNakshatraEndTime(LocalDateTime start, double lat, double lon, int currentNakshatra) {
-        return findEndTime(start, lat, lon, (dt) -> SwissEphCalculator.calculateNakshatra(dt, lat, lon).getNakshatraNumber(), currentNakshatra);
+    private LocalDateTime findTithiEndTime(LocalDateTime start, ElementSource elements, int currentTithi) {
+        return findEndTime(start, (dt) -> elements.lunarPhase(dt).getTithi(), currentTithi, "tithi");
     }
 
-    private LocalDateTime findYogaEndTime(LocalDateTime start, double lat, double lon, int currentYoga) {
-        return findEndTime(start, lat, lon, (dt) -> SwissEphCalculator.calculateYoga(dt, lat, lon).getYogaNumber(), currentYoga);
+    private LocalDateTime findNakshatraEndTime(LocalDateTime start, ElementSource elements, int currentNakshatra) {
+        return findEndTime(start, (dt) -> elements.nakshatra(dt).getNakshatraNumber(), currentNakshatra, "nakshatra");
     }
 
-    private LocalDateTime findKaranaEndTime(LocalDateTime start, double lat, double lon, int currentKarana) {
-        return findEndTime(start, lat, lon, (dt) -> SwissEphCalculator.calculateKarana(dt, lat, lon).getKaranaNumber(), currentKarana);
+    private LocalDateTime findYogaEndTime(LocalDateTime start, ElementSource elements, int currentYoga) {
+        return findEndTime(start, (dt) -> elements.yoga(dt).getYogaNumber(), currentYoga, "yoga");
     }
 
-    private LocalDateTime findEndTime(LocalDateTime start, double lat, double lon, java.util.function.Function<LocalDateTime, Integer> valueProvider, int startValue) {
+    private LocalDateTime findKaranaEndTime(LocalDateTime start, ElementSource elements, int currentKarana) {
+        return findEndTime(start, (dt) -> elements.karana(dt).getKaranaNumber(), currentKarana, "karana");
+    }
+
+    private LocalDateTime findEndTime(LocalDateTime start, java.util.function.Function<LocalDateTime, Integer> valueProvider, int startValue, String element) {
+        BoundarySearchEvent event = new BoundarySearchEvent();
+        event.begin();
         LocalDateTime low = start;
         LocalDateTime high = start.plusHours(24);
         
-        for (int i = 0; i < 12; i++) {
+        int iterations = 12;
+        for (int i = 0; i < iterations; i++) {
             long seconds = java.time.Duration.between(low, high).getSeconds();
             LocalDateTime mid = low.plusSeconds(seconds / 2);
             int midValue = valueProvider.apply(mid);
@@ -363,9 +477,91 @@ public class DefaultPanchangCalculator implements PanchangCalculator {
                 high = mid;
             }
         }
+        if (event.shouldCommit()) {
+            event.element = element;
+            event.elementNumber = startValue;
+            event.startJulianDay = SwissEphCalculator.dateTimeToJulianDay(start);
+            event.endJulianDay = SwissEphCalculator.dateTimeToJulianDay(high);
+            event.iterations = iterations;
+            event.commit();
+        }
         return high;
     }
 
+    private static double toJulianDay(java.time.ZonedDateTime dateTime) {
+        return SwissEphCalculator.dateTimeToJulianDay(dateTime.withZoneSameInstant(java.time.ZoneId.of("UTC")).toLocalDateTime());
+    }
+
+    /**
+     * Sun/Moon based elements at a UTC instant, as seen from one location.
+     */
+    private interface ElementSource {
+        SwissEphCalculator.LunarPhase lunarPhase(LocalDateTime utcDateTime);
+
+        SwissEphCalculator.NakshatraInfo nakshatra(LocalDateTime utcDateTime);
+
+        SwissEphCalculator.YogaInfo yoga(LocalDateTime utcDateTime);
+
+        SwissEphCalculator.KaranaInfo karana(LocalDateTime utcDateTime);
+    }
+
+    // Every element from its own Swiss Ephemeris calls
+    private static ElementSource directElements(double latitude, double longitude) {
+        return new ElementSource() {
+            @Override
+            public SwissEphCalculator.LunarPhase lunarPhase(LocalDateTime utcDateTime) {
+                return SwissEphCalculator.calculateLunarPhase(utcDateTime, latitude, longitude);
+            }
+
+            @Override
+            public SwissEphCalculator.NakshatraInfo nakshatra(LocalDateTime utcDateTime) {
+                return SwissEphCalculator.calculateNakshatra(utcDateTime, latitude, longitude);
+            }
+
+            @Override
+            public SwissEphCalculator.YogaInfo yoga(LocalDateTime utcDateTime) {
+                return SwissEphCalculator.calculateYoga(utcDateTime, latitude, longitude);
+            }
+
+            @Override
+            public SwissEphCalculator.KaranaInfo karana(LocalDateTime utcDateTime) {
+                return SwissEphCalculator.calculateKarana(utcDateTime, latitude, longitude);
+            }
+        };
+    }
+
+    // Elements from a timeline shared by many locations; only the parallax is calculated here
+    private static ElementSource timelineElements(GeocentricTimeline timeline, double latitude, double longitude) {
+        return new ElementSource() {
+            @Override
+            public SwissEphCalculator.LunarPhase lunarPhase(LocalDateTime utcDateTime) {
+                double julianDay = SwissEphCalculator.dateTimeToJulianDay(utcDateTime);
+                return SwissEphCalculator.calculateLunarPhase(timeline.getSunLongitude(julianDay, latitude, longitude),
+                                                              timeline.getMoonLongitude(julianDay, latitude, longitude));
+            }
+
+            @Override
+            public SwissEphCalculator.NakshatraInfo nakshatra(LocalDateTime utcDateTime) {
+                double julianDay = SwissEphCalculator.dateTimeToJulianDay(utcDateTime);
+                return SwissEphCalculator.calculateNakshatra(timeline.getMoonLongitude(julianDay, latitude, longitude));
+            }
+
+            @Override
+            public SwissEphCalculator.YogaInfo yoga(LocalDateTime utcDateTime) {
+                double julianDay = SwissEphCalculator.dateTimeToJulianDay(utcDateTime);
+                return SwissEphCalculator.calculateYoga(timeline.getSunLongitude(julianDay, latitude, longitude),
+                                                        timeline.getMoonLongitude(julianDay, latitude, longitude));
+            }
+
+            @Override
+            public SwissEphCalculator.KaranaInfo karana(LocalDateTime utcDateTime) {
+                double julianDay = SwissEphCalculator.dateTimeToJulianDay(utcDateTime);
+                return SwissEphCalculator.calculateKarana(timeline.getSunLongitude(julianDay, latitude, longitude),
+                                                          timeline.getMoonLongitude(julianDay, latitude, longitude));
+            }
+        };
+    }
+
     private double toDecimalTime(LocalDateTime dt) {
         return dt.getHour() + (dt.getMinute() / 60.0) + (dt.getSecond() / 3600.0);
     }
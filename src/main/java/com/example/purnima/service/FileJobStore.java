@@ -0,0 +1,162 @@
+package com.example.purnima.service;
+
+import com.example.purnima.model.JobStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * {@link JobStore} that keeps jobs in a directory, so finished results survive a restart.
+ * Each job has a {@code <id>.json} status file and a {@code <id>.results.jsonl} file with
+ * one JSON result per line. Results read back from disk are JSON trees, which serialize
+ * to the same JSON as the original objects.
+ */
+public class FileJobStore implements JobStore {
+
+    private static final Pattern JOB_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+    private static final String STATUS_SUFFIX = ".json";
+    private static final String RESULTS_SUFFIX = ".results.jsonl";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+
+    public FileJobStore(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new RuntimeException("Error creating job store directory " + directory, e);
+        }
+    }
+
+    @Override
+    public synchronized void saveStatus(JobStatus status) {
+        Path file = statusFile(status.getJobId());
+        try {
+            // Write then rename, so readers never see a partial status file
+            Path tmp = directory.resolve(status.getJobId() + STATUS_SUFFIX + ".tmp");
+            Files.write(tmp, lineWriter.writeValueAsBytes(status));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Error saving job status " + status.getJobId(), e);
+        }
+    }
+
+    @Override
+    public synchronized JobStatus findStatus(String jobId) {
+        if (!isValidId(jobId)) {
+            return null;
+        }
+        Path file = statusFile(jobId);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), JobStatus.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading job status " + jobId, e);
+        }
+    }
+
+    @Override
+    public synchronized void appendResults(String jobId, List<?> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(resultsFile(jobId), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Object result : results) {
+                writer.write(lineWriter.writeValueAsString(result));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error writing results of job " + jobId, e);
+        }
+    }
+
+    @Override
+    public synchronized List<Object> readResults(String jobId, long offset, int limit) {
+        if (!isValidId(jobId)) {
+            return Collections.emptyList();
+        }
+        Path file = resultsFile(jobId);
+        if (!Files.exists(file)) {
+            return Collections.emptyList();
+        }
+        List<Object> results = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long index = 0;
+            String line;
+            while ((line = reader.readLine()) != null && results.size() < limit) {
+                if (index++ >= offset) {
+                    results.add(objectMapper.readTree(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading results of job " + jobId, e);
+        }
+        return results;
+    }
+
+    @Override
+    public synchronized void delete(String jobId) {
+        if (!isValidId(jobId)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(statusFile(jobId));
+            Files.deleteIfExists(resultsFile(jobId));
+        } catch (IOException e) {
+            throw new RuntimeException("Error deleting job " + jobId, e);
+        }
+    }
+
+    @Override
+    public synchronized int purgeExpired(Instant cutoff) {
+        List<String> expired = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + STATUS_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                JobStatus status = findStatus(name.substring(0, name.length() - STATUS_SUFFIX.length()));
+                if (status != null && status.getState().isTerminal() && status.getUpdatedAt().isBefore(cutoff)) {
+                    expired.add(status.getJobId());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Error listing job store directory " + directory, e);
+        }
+        expired.forEach(this::delete);
+        return expired.size();
+    }
+
+    private Path statusFile(String jobId) {
+        return directory.resolve(jobId + STATUS_SUFFIX);
+    }
+
+    private Path resultsFile(String jobId) {
+        return directory.resolve(jobId + RESULTS_SUFFIX);
+    }
+
+    private static boolean isValidId(String jobId) {
+        // Ids come from request paths; never let them escape the store directory
+        return jobId != null && JOB_ID.matcher(jobId).matches();
+    }
+}
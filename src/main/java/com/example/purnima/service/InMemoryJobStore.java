@@ -0,0 +1,81 @@
+package com.example.purnima.service;
+
+import com.example.purnima.model.JobStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default {@link JobStore}; jobs live in memory and are lost on restart.
+ */
+public class InMemoryJobStore implements JobStore {
+
+    private final Map<String, StoredJob> jobs = new ConcurrentHashMap<>();
+
+    @Override
+    public void saveStatus(JobStatus status) {
+        jobs.compute(status.getJobId(), (id, job) -> {
+            StoredJob stored = job != null ? job : new StoredJob();
+            stored.status = status;
+            return stored;
+        });
+    }
+
+    @Override
+    public JobStatus findStatus(String jobId) {
+        StoredJob job = jobs.get(jobId);
+        return job != null ? job.status : null;
+    }
+
+    @Override
+    public void appendResults(String jobId, List<?> results) {
+        StoredJob job = jobs.get(jobId);
+        if (job != null) {
+            job.results.addAll(results);
+        }
+    }
+
+    @Override
+    public List<Object> readResults(String jobId, long offset, int limit) {
+        StoredJob job = jobs.get(jobId);
+        if (job == null) {
+            return Collections.emptyList();
+        }
+        synchronized (job.results) {
+            int size = job.results.size();
+            if (offset >= size) {
+                return Collections.emptyList();
+            }
+            int from = (int) offset;
+            return new ArrayList<>(job.results.subList(from, Math.min(size, from + limit)));
+        }
+    }
+
+    @Override
+    public void delete(String jobId) {
+        jobs.remove(jobId);
+    }
+
+    @Override
+    public int purgeExpired(Instant cutoff) {
+        int purged = 0;
+        for (Iterator<StoredJob> it = jobs.values().iterator(); it.hasNext(); ) {
+            JobStatus status = it.next().status;
+            if (status.getState().isTerminal() && status.getUpdatedAt().isBefore(cutoff)) {
+                it.remove();
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    private static class StoredJob {
+        volatile JobStatus status;
+        final List<Object> results = Collections.synchronizedList(new ArrayList<>());
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.purnima.service;
+
+/**
+ * Thrown when a request parameter fails validation, e.g. an unknown search type,
+ * a dasa depth out of range or a batch that is too large. Maps to 400 Bad Request;
+ * other {@link IllegalArgumentException}s are server errors.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
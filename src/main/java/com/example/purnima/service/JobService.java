@@ -0,0 +1,445 @@
+package com.example.purnima.service;
+
+import com.example.purnima.PurnimaAstrology;
+import com.example.purnima.api.MuhurtaCalculator;
+import com.example.purnima.model.JobResultPage;
+import com.example.purnima.model.JobStatus;
+import com.example.purnima.model.MuhurtaSlot;
+import com.example.purnima.service.AdmissionControl.SearchType;
+import com.example.purnima.service.ComputeExecutor.Lane;
+import com.example.purnima.util.CalculationMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs long muhurta searches and Panchang calendars as asynchronous jobs.
+ * <p>
+ * A job is split into days; after each day its results are appended to the {@link JobStore}
+ * and its progress is updated, so clients can poll progress and page through partial results.
+ * Jobs are sequenced by a bounded pool; when its queue is full, submission fails with
+ * {@link ComputeOverloadedException}. Each day is calculated on the bulk lane of the
+ * {@link ComputeExecutor}, so jobs share the CPU of the REST range searches instead of adding
+ * threads of their own. A client may only have a few jobs queued or running at a time; more
+ * are rejected with {@link AdmissionRejectedException}. Running jobs can be cancelled between
+ * days. Finished jobs are purged from the store once they are older than the configured TTL.
+ */
+@Service
+public class JobService {
+
+    private static final String CALENDAR_TYPE = "calendar";
+    private static final String MUHURTA_TYPE_PREFIX = "muhurta/";
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    // Wait before retrying a day while the bulk lane's queue is full
+    private static final long OVERLOAD_RETRY_MILLIS = 100;
+
+    private final JobStore jobStore;
+    private final PurnimaAstrology astrology;
+    private final MessageSource messageSource;
+    private final ComputeExecutor computeExecutor;
+    private final int maxJobsPerClient;
+    private final int maxDays;
+    private final Duration ttl;
+    private final ThreadPoolExecutor pool;
+    private final ScheduledExecutorService reaper;
+    private final Map<String, RunningJob> runningJobs = new ConcurrentHashMap<>();
+    // Queued and running jobs per client; a client is removed when its last job ends
+    private final Map<String, Integer> activeJobsByClient = new ConcurrentHashMap<>();
+
+    @Autowired
+    public JobService(JobStore jobStore, PurnimaAstrology astrology, MessageSource messageSource,
+                      ComputeExecutor computeExecutor,
+                      @Value("${purnima.jobs.threads:0}") int threads,
+                      @Value("${purnima.jobs.queue-capacity:64}") int queueCapacity,
+                      @Value("${purnima.jobs.max-per-client:4}") int maxJobsPerClient,
+                      @Value("${purnima.jobs.max-days:1830}") int maxDays,
+                      @Value("${purnima.jobs.ttl-minutes:60}") long ttlMinutes) {
+        this.jobStore = jobStore;
+        this.astrology = astrology;
+        this.messageSource = messageSource;
+        this.computeExecutor = computeExecutor;
+        this.maxJobsPerClient = maxJobsPerClient;
+        this.maxDays = maxDays;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "job-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.reaper.scheduleWithFixedDelay(this::purgeExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Submit a muhurta range search. The range is searched in 24-hour steps from its start,
+     * which gives the same slots as a single synchronous search.
+     *
+     * @param clientId Key of the submitting client, see {@link AdmissionControl#clientKey}
+     * @return Status of the queued job
+     * @throws InvalidRequestException If the range is empty or longer than the configured maximum
+     * @throws AdmissionRejectedException If the client already has the maximum number of active jobs
+     * @throws ComputeOverloadedException If the job queue is full
+     */
+    public JobStatus submitMuhurtaSearch(SearchType type, LocalDateTime start, LocalDateTime end,
+                                         double latitude, double longitude, ZoneId zoneId, String clientId) {
+        if (!start.isBefore(end)) {
+            throw new InvalidRequestException("Search range must end after it starts");
+        }
+        long minutes = Duration.between(start, end).toMinutes();
+        int totalDays = checkDays((minutes + MINUTES_PER_DAY - 1) / MINUTES_PER_DAY);
+
+        return submit(MUHURTA_TYPE_PREFIX + type.tag(), totalDays, clientId, job -> {
+            // One calculator per job: DefaultMuhurtaCalculator keeps its own ephemeris engine
+            MuhurtaCalculator calculator = new DefaultMuhurtaCalculator(messageSource);
+            MuhurtaSlot pending = null;
+            for (LocalDateTime dayStart = start; dayStart.isBefore(end); dayStart = dayStart.plusDays(1)) {
+                job.checkCancelled();
+                LocalDateTime dayEnd = dayStart.plusDays(1).isBefore(end) ? dayStart.plusDays(1) : end;
+                List<MuhurtaSlot> ready = new ArrayList<>();
+                LocalDateTime from = dayStart;
+                List<MuhurtaSlot> slots = onBulkLane(job, () -> search(calculator, type, from, dayEnd, latitude, longitude, zoneId));
+                for (MuhurtaSlot slot : slots) {
+                    // Hold back the last slot of each day, it may continue into the next one
+                    if (pending != null && pending.getEndTime().equals(slot.getStartTime())
+                            && pending.getQuality().equals(slot.getQuality())) {
+                        pending.setEndTime(slot.getEndTime());
+                    } else {
+                        if (pending != null) {
+                            ready.add(pending);
+                        }
+                        pending = slot;
+                    }
+                }
+                job.dayProcessed(ready);
+            }
+            if (pending != null) {
+                job.addResults(Collections.singletonList(pending));
+            }
+        });
+    }
+
+    /**
+     * Submit a Panchang calendar: one Panchang per day from startDate to endDate inclusive.
+     *
+     * @param clientId Key of the submitting client, see {@link AdmissionControl#clientKey}
+     * @return Status of the queued job
+     * @throws InvalidRequestException If the range is empty or longer than the configured maximum
+     * @throws AdmissionRejectedException If the client already has the maximum number of active jobs
+     * @throws ComputeOverloadedException If the job queue is full
+     */
+    public JobStatus submitCalendar(LocalDate startDate, LocalDate endDate, double latitude, double longitude,
+                                    String placeName, ZoneId zoneId, String clientId) {
+        if (endDate.isBefore(startDate)) {
+            throw new InvalidRequestException("Calendar must end on or after its start date");
+        }
+        int totalDays = checkDays(ChronoUnit.DAYS.between(startDate, endDate) + 1);
+
+        return submit(CALENDAR_TYPE, totalDays, clientId, job -> {
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                job.checkCancelled();
+                LocalDate day = date;
+                job.dayProcessed(Collections.singletonList(
+                    onBulkLane(job, () -> astrology.calculatePanchang(day, latitude, longitude, placeName, zoneId))));
+            }
+        });
+    }
+
+    /**
+     * Get the status of a job.
+     *
+     * @return The status, or null if the job is unknown or has expired
+     */
+    public JobStatus getStatus(String jobId) {
+        JobStatus status = jobStore.findStatus(jobId);
+        if (status != null && !status.getState().isTerminal() && !runningJobs.containsKey(jobId)) {
+            // Left behind by a previous process (file store); it will never finish
+            status.setState(JobStatus.State.FAILED);
+            status.setError("Job was interrupted by a server restart");
+            status.setUpdatedAt(Instant.now());
+            jobStore.saveStatus(status);
+        }
+        return status;
+    }
+
+    /**
+     * Get a page of a job's results. Pages are available while the job is running.
+     *
+     * @param page Zero-based page number
+     * @param size Page size, capped at 1000
+     * @return The page, or null if the job is unknown or has expired
+     */
+    public JobResultPage getResults(String jobId, int page, int size) {
+        JobStatus status = getStatus(jobId);
+        if (status == null) {
+            return null;
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        List<Object> results = jobStore.readResults(jobId, (long) pageNumber * pageSize, pageSize);
+        return new JobResultPage(jobId, status.getState(), pageNumber, pageSize, status.getResultCount(), results);
+    }
+
+    /**
+     * Cancel a job. Results produced so far stay available until the job expires.
+     *
+     * @return Status of the job, or null if the job is unknown or has expired
+     */
+    public JobStatus cancel(String jobId) {
+        RunningJob job = runningJobs.get(jobId);
+        if (job == null) {
+            return getStatus(jobId);
+        }
+        return job.cancel();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reaper.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    private JobStatus submit(String type, int totalDays, String clientId, JobTask task) {
+        String client = clientId != null ? clientId : "anonymous";
+        acquireJobSlot(client);
+        RunningJob job = new RunningJob(UUID.randomUUID().toString(), type, totalDays, client);
+        runningJobs.put(job.jobId, job);
+        jobStore.saveStatus(job.snapshot());
+
+        Locale locale = LocaleContextHolder.getLocale();
+        try {
+            job.future = pool.submit(() -> run(job, task, locale));
+        } catch (RejectedExecutionException e) {
+            runningJobs.remove(job.jobId);
+            jobStore.delete(job.jobId);
+            job.releaseSlot();
+            throw new ComputeOverloadedException("Server is busy, job queue is full");
+        }
+        return job.snapshot();
+    }
+
+    private void acquireJobSlot(String client) {
+        activeJobsByClient.compute(client, (id, active) -> {
+            int count = active != null ? active : 0;
+            if (count >= maxJobsPerClient) {
+                throw new AdmissionRejectedException("Client already has " + count + " active jobs, the maximum; "
+                                                     + "wait for one to finish or cancel it", true, 0);
+            }
+            return count + 1;
+        });
+    }
+
+    /**
+     * Run one day of a job on the bulk compute lane. While the lane's queue is full the job
+     * waits and retries, it does not fail.
+     */
+    private <T> T onBulkLane(RunningJob job, Supplier<T> day) {
+        while (true) {
+            job.checkCancelled();
+            try {
+                return computeExecutor.call(Lane.BULK, day);
+            } catch (ComputeOverloadedException e) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(OVERLOAD_RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException();
+                }
+            }
+        }
+    }
+
+    private void run(RunningJob job, JobTask task, Locale locale) {
+        LocaleContextHolder.setLocale(locale);
+        CalculationMetrics.Scope metricsScope = CalculationMetrics.open("job/" + job.type);
+        try {
+            if (!job.start()) {
+                return;
+            }
+            task.run(job);
+            job.finish(JobStatus.State.COMPLETED, null);
+        } catch (CancellationException e) {
+            // Already recorded by cancel()
+        } catch (Exception e) {
+            job.finish(JobStatus.State.FAILED, e.getMessage());
+        } finally {
+            runningJobs.remove(job.jobId);
+            job.releaseSlot();
+            CalculationMetrics.close(metricsScope);
+            LocaleContextHolder.resetLocaleContext();
+        }
+    }
+
+    private void purgeExpired() {
+        try {
+            jobStore.purgeExpired(Instant.now().minus(ttl));
+        } catch (RuntimeException e) {
+            // Keep the reaper alive; the next run retries
+        }
+    }
+
+    private int checkDays(long days) {
+        if (days > maxDays) {
+            throw new InvalidRequestException("Requested range of " + days + " days exceeds the maximum of " + maxDays + " days");
+        }
+        return (int) days;
+    }
+
+    /**
+     * Run one range search. Package-private for the muhurta search benchmarks.
+     */
+    static List<MuhurtaSlot> search(MuhurtaCalculator calculator, SearchType type, LocalDateTime start,
+                                    LocalDateTime end, double latitude, double longitude, ZoneId zoneId) {
+        switch (type) {
+            case VEHICLE: return calculator.findVehiclePurchaseMuhurta(start, end, latitude, longitude, zoneId);
+            case MARRIAGE: return calculator.findMarriageMuhurta(start, end, latitude, longitude, zoneId);
+            case GRIHA_PRAVESH: return calculator.findGrihaPraveshMuhurta(start, end, latitude, longitude, zoneId);
+            case BUSINESS: return calculator.findNewBusinessMuhurta(start, end, latitude, longitude, zoneId);
+            case NAMAKARANA: return calculator.findNamakaranaMuhurta(start, end, latitude, longitude, zoneId);
+            case PROPERTY: return calculator.findPropertyPurchaseMuhurta(start, end, latitude, longitude, zoneId);
+            default: throw new IllegalArgumentException("Unsupported search type: " + type);
+        }
+    }
+
+    @FunctionalInterface
+    private interface JobTask {
+        void run(RunningJob job);
+    }
+
+    /**
+     * Live state of a queued or running job. State transitions are synchronized so a
+     * cancellation can never be overwritten by the worker finishing.
+     */
+    private class RunningJob {
+        final String jobId;
+        final String type;
+        final int totalDays;
+        final String clientId;
+        final Instant createdAt = Instant.now();
+        final AtomicBoolean slotReleased = new AtomicBoolean();
+        final AtomicInteger daysProcessed = new AtomicInteger();
+        final AtomicLong resultCount = new AtomicLong();
+        volatile JobStatus.State state = JobStatus.State.QUEUED;
+        volatile Future<?> future;
+
+        RunningJob(String jobId, String type, int totalDays, String clientId) {
+            this.jobId = jobId;
+            this.type = type;
+            this.totalDays = totalDays;
+            this.clientId = clientId;
+        }
+
+        /**
+         * Give the client's job slot back; only the first call counts, whichever path ends the job.
+         */
+        void releaseSlot() {
+            if (slotReleased.compareAndSet(false, true)) {
+                activeJobsByClient.computeIfPresent(clientId, (id, active) -> active > 1 ? active - 1 : null);
+            }
+        }
+
+        synchronized boolean start() {
+            if (state != JobStatus.State.QUEUED) {
+                return false;
+            }
+            state = JobStatus.State.RUNNING;
+            jobStore.saveStatus(snapshot());
+            return true;
+        }
+
+        void checkCancelled() {
+            if (state == JobStatus.State.CANCELLED || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException();
+            }
+        }
+
+        void addResults(List<?> results) {
+            if (!results.isEmpty()) {
+                jobStore.appendResults(jobId, results);
+                resultCount.addAndGet(results.size());
+            }
+        }
+
+        synchronized void dayProcessed(List<?> results) {
+            if (state != JobStatus.State.RUNNING) {
+                throw new CancellationException();
+            }
+            addResults(results);
+            daysProcessed.incrementAndGet();
+            jobStore.saveStatus(snapshot());
+        }
+
+        synchronized void finish(JobStatus.State finalState, String error) {
+            if (state.isTerminal()) {
+                return;
+            }
+            state = finalState;
+            jobStore.saveStatus(snapshot(error));
+        }
+
+        synchronized JobStatus cancel() {
+            if (!state.isTerminal()) {
+                if (state == JobStatus.State.QUEUED) {
+                    // The worker never starts, so it will not clean up after itself
+                    runningJobs.remove(jobId);
+                    releaseSlot();
+                }
+                state = JobStatus.State.CANCELLED;
+                jobStore.saveStatus(snapshot());
+                Future<?> f = future;
+                if (f != null) {
+                    f.cancel(true);
+                }
+            }
+            return snapshot();
+        }
+
+        JobStatus snapshot() {
+            return snapshot(null);
+        }
+
+        JobStatus snapshot(String error) {
+            return new JobStatus(jobId, type, state, daysProcessed.get(), totalDays, resultCount.get(),
+                error, createdAt, Instant.now());
+        }
+    }
+}
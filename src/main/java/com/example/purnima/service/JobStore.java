@@ -0,0 +1,52 @@
+package com.example.purnima.service;
+
+import com.example.purnima.model.JobStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Storage for asynchronous job status and results.
+ * Results are appended in order while a job runs and read back in pages.
+ */
+public interface JobStore {
+
+    /**
+     * Create or replace the status of a job.
+     */
+    void saveStatus(JobStatus status);
+
+    /**
+     * Find the status of a job.
+     *
+     * @return The stored status, or null if the job is unknown or has expired
+     */
+    JobStatus findStatus(String jobId);
+
+    /**
+     * Append results to a job.
+     */
+    void appendResults(String jobId, List<?> results);
+
+    /**
+     * Read a range of a job's results.
+     *
+     * @param jobId Job id
+     * @param offset Index of the first result
+     * @param limit Maximum number of results
+     * @return The results, empty if the range is past the end
+     */
+    List<Object> readResults(String jobId, long offset, int limit);
+
+    /**
+     * Delete a job and its results.
+     */
+    void delete(String jobId);
+
+    /**
+     * Delete finished jobs last updated before the cutoff.
+     *
+     * @return Number of jobs deleted
+     */
+    int purgeExpired(Instant cutoff);
+}
@@ -0,0 +1,180 @@
+package com.example.purnima.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+/**
+ * Index of candidate profiles for one-to-many Asthakoot matching.
+ * <p>
+ * The score of a pair depends only on the two Moon padas (see {@link AsthakootMatrix}), so
+ * candidates are kept in buckets by sex and pada, and all candidates of a bucket share one score.
+ * A search ranks the 108 buckets of the opposite sex by their score against the query (the
+ * ranking is precomputed for every pada) and takes candidates from the best bucket down until
+ * the limit is reached. Its cost depends on the limit and the filter, not on the number of
+ * profiles, and nothing is scored per candidate.
+ * <p>
+ * Profiles are stored as primitive arrays; the index is immutable and can be searched from
+ * any number of threads.
+ */
+public final class MatchmakingIndex {
+
+    private static final int PADA_COUNT = AsthakootMatrix.PADA_COUNT;
+
+    // For each query pada, the opposite sex's padas by descending total score (ties by pada)
+    private static final byte[][] MALE_QUERY_ORDER = new byte[PADA_COUNT][];
+    private static final byte[][] FEMALE_QUERY_ORDER = new byte[PADA_COUNT][];
+
+    static {
+        for (int query = 0; query < PADA_COUNT; query++) {
+            int[] maleQueryScores = new int[PADA_COUNT];
+            int[] femaleQueryScores = new int[PADA_COUNT];
+            for (int candidate = 0; candidate < PADA_COUNT; candidate++) {
+                maleQueryScores[candidate] = AsthakootMatrix.getTotalScore(query, candidate);
+                femaleQueryScores[candidate] = AsthakootMatrix.getTotalScore(candidate, query);
+            }
+            MALE_QUERY_ORDER[query] = rankByScore(maleQueryScores);
+            FEMALE_QUERY_ORDER[query] = rankByScore(femaleQueryScores);
+        }
+    }
+
+    private final long[] profileIds;
+    // Female candidates of pada p sit at bucketStarts[p] until bucketStarts[p + 1]; males follow from PADA_COUNT
+    private final int[] bucketStarts;
+
+    /**
+     * Build an index; the input arrays are not retained.
+     *
+     * @param profileIds Identifier of each profile
+     * @param moonLongitudes Sidereal longitude of the Moon at birth of each profile
+     * @param male Whether each profile is male
+     */
+    public MatchmakingIndex(long[] profileIds, double[] moonLongitudes, boolean[] male) {
+        int size = profileIds.length;
+        if (moonLongitudes.length != size || male.length != size) {
+            throw new IllegalArgumentException("Input arrays must have the same length");
+        }
+
+        // Counting sort into buckets, keeping the input order within a bucket
+        short[] buckets = new short[size];
+        int[] starts = new int[2 * PADA_COUNT + 1];
+        for (int i = 0; i < size; i++) {
+            int bucket = (male[i] ? PADA_COUNT : 0) + AsthakootMatrix.padaIndex(moonLongitudes[i]);
+            buckets[i] = (short) bucket;
+            starts[bucket + 1]++;
+        }
+        for (int bucket = 0; bucket < 2 * PADA_COUNT; bucket++) {
+            starts[bucket + 1] += starts[bucket];
+        }
+        int[] next = starts.clone();
+        this.profileIds = new long[size];
+        for (int i = 0; i < size; i++) {
+            this.profileIds[next[buckets[i]]++] = profileIds[i];
+        }
+        this.bucketStarts = starts;
+    }
+
+    /**
+     * Number of profiles in the index.
+     */
+    public int size() {
+        return profileIds.length;
+    }
+
+    /**
+     * Best matches of the opposite sex for a profile.
+     *
+     * @see #search(double, boolean, int, int, LongPredicate)
+     */
+    public List<Match> search(double moonLongitude, boolean male, int limit) {
+        return search(moonLongitude, male, limit, 0, null);
+    }
+
+    /**
+     * Best matches of the opposite sex for a profile, by descending total score. Candidates with
+     * the same score are returned by pada, then in the order they were indexed.
+     *
+     * @param moonLongitude Sidereal longitude of the Moon at birth of the profile
+     * @param male Whether the profile is male
+     * @param limit Maximum number of matches
+     * @param minScore Lowest total score (out of 36) to return
+     * @param filter Accepts the identifiers of the candidates to consider; null accepts all
+     * @return Up to limit matches
+     */
+    public List<Match> search(double moonLongitude, boolean male, int limit, int minScore, LongPredicate filter) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must not be negative: " + limit);
+        }
+        int queryPada = AsthakootMatrix.padaIndex(moonLongitude);
+        byte[] order = male ? MALE_QUERY_ORDER[queryPada] : FEMALE_QUERY_ORDER[queryPada];
+        int base = male ? 0 : PADA_COUNT;
+
+        List<Match> matches = new ArrayList<>(Math.min(limit, profileIds.length));
+        for (int rank = 0; rank < PADA_COUNT && matches.size() < limit; rank++) {
+            int pada = order[rank];
+            int score = male ? AsthakootMatrix.getTotalScore(queryPada, pada) : AsthakootMatrix.getTotalScore(pada, queryPada);
+            if (score < minScore) {
+                break;
+            }
+            int end = bucketStarts[base + pada + 1];
+            for (int i = bucketStarts[base + pada]; i < end && matches.size() < limit; i++) {
+                if (filter == null || filter.test(profileIds[i])) {
+                    matches.add(new Match(profileIds[i], pada, score));
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static byte[] rankByScore(int[] scores) {
+        // Scores are 0 to 36, so a pass per score keeps the order stable
+        byte[] order = new byte[PADA_COUNT];
+        int rank = 0;
+        for (int score = 36; score >= 0; score--) {
+            for (int pada = 0; pada < PADA_COUNT; pada++) {
+                if (scores[pada] == score) {
+                    order[rank++] = (byte) pada;
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * A candidate found by a search.
+     */
+    public static final class Match {
+        private final long profileId;
+        private final int pada;
+        private final int score;
+
+        Match(long profileId, int pada, int score) {
+            this.profileId = profileId;
+            this.pada = pada;
+            this.score = score;
+        }
+
+        public long getProfileId() {
+            return profileId;
+        }
+
+        /**
+         * Pada index of the candidate's Moon, for the koota breakdown from {@link AsthakootMatrix#getScore}.
+         */
+        public int getPada() {
+            return pada;
+        }
+
+        /**
+         * Total Asthakoot score out of 36.
+         */
+        public int getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return "Match{profileId=" + profileId + ", score=" + score + "}";
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package com.example.purnima.service;
+
+import com.example.purnima.model.BirthData;
+import com.example.purnima.model.Planet;
+import com.example.purnima.util.SwissEphCalculator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Columnar store of natives on local disk, with the ephemeris-derived fields computed once when
+ * a native is added.
+ * <p>
+ * Each column is a {@code <name>.col} file of fixed-width little-endian values, one per native,
+ * memory-mapped for reading: profile id, sex, birth date-time in whole epoch seconds (any
+ * fraction of a second is dropped), coordinates and zone, then the sidereal longitude of each {@link Planet}, the ascendant and the Moon's pada index. Columns
+ * are read as primitive arrays that go straight into the bulk APIs ({@link MatchmakingIndex},
+ * {@link BulkKootaScorer}, {@link DasaSystemCalculator#calculateCurrentDasas},
+ * {@link DasaTransitionScheduler}) without a Swiss Ephemeris call. Every dasa system is seeded
+ * from the Moon longitude and birth instant, so no separate dasa column is kept.
+ * <p>
+ * The store is append-only. An append writes the new rows to the end of every column and then
+ * commits the row count with a rename, so after a crash the store opens at its last committed
+ * count. Every append truncates, writes and forces each of the column files and then remaps
+ * them, whatever the number of rows, so add natives in batches through
+ * {@link #append(long[], boolean[], List)} rather than one at a time. Zones are kept by index
+ * in {@code zones.txt}. When the ephemeris or ayanamsa changes, {@link #rebuild} recomputes the
+ * derived columns into a new store.
+ * <p>
+ * Reads see the rows committed when they start and can run from any number of threads.
+ */
+public class NativeStore {
+
+    private static final String COUNT_FILE = "count";
+    private static final String ZONES_FILE = "zones.txt";
+    private static final String COLUMN_SUFFIX = ".col";
+    private static final int REBUILD_BATCH_SIZE = 4096;
+
+    private static final int PROFILE_ID = 0;
+    private static final int MALE = 1;
+    private static final int BIRTH = 2;
+    private static final int LATITUDE = 3;
+    private static final int LONGITUDE = 4;
+    private static final int ZONE = 5;
+    private static final int ASCENDANT = 6;
+    private static final int MOON_PADA = 7;
+    private static final int FIRST_PLANET = 8;
+
+    private static final Planet[] PLANETS = Planet.values();
+    private static final String[] COLUMN_NAMES = new String[FIRST_PLANET + PLANETS.length];
+    private static final int[] COLUMN_WIDTHS = new int[COLUMN_NAMES.length];
+
+    // Each column is mapped as one buffer, so the widest column limits the number of rows
+    private static final int MAX_SIZE = Integer.MAX_VALUE / Long.BYTES;
+
+    static {
+        defineColumn(PROFILE_ID, "profile-id", Long.BYTES);
+        defineColumn(MALE, "male", 1);
+        defineColumn(BIRTH, "birth", Long.BYTES);
+        defineColumn(LATITUDE, "latitude", Double.BYTES);
+        defineColumn(LONGITUDE, "longitude", Double.BYTES);
+        defineColumn(ZONE, "zone", Short.BYTES);
+        defineColumn(ASCENDANT, "ascendant", Double.BYTES);
+        defineColumn(MOON_PADA, "moon-pada", 1);
+        for (Planet planet : PLANETS) {
+            defineColumn(FIRST_PLANET + planet.getIndex(), planet.name().toLowerCase(), Double.BYTES);
+        }
+    }
+
+    private final Path directory;
+    // Read without locking by getBirthData; appended to only under the store's lock
+    private final List<ZoneId> zones = new CopyOnWriteArrayList<>();
+    private final Map<ZoneId, Integer> zoneIndexes = new HashMap<>();
+    private volatile Columns columns;
+
+    /**
+     * Open the store in a directory, creating it if needed.
+     */
+    public NativeStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            Path countFile = directory.resolve(COUNT_FILE);
+            int size = Files.exists(countFile) ? Integer.parseInt(Files.readString(countFile).trim()) : 0;
+            Path zonesFile = directory.resolve(ZONES_FILE);
+            if (Files.exists(zonesFile)) {
+                for (String line : Files.readAllLines(zonesFile, StandardCharsets.UTF_8)) {
+                    ZoneId zone = ZoneId.of(line);
+                    zoneIndexes.put(zone, zones.size());
+                    zones.add(zone);
+                }
+            }
+            this.columns = map(size);
+        } catch (IOException e) {
+            throw new RuntimeException("Error opening native store " + directory, e);
+        }
+    }
+
+    /**
+     * Number of natives in the store.
+     */
+    public int size() {
+        return columns.size;
+    }
+
+    /**
+     * Add a native. This is a commit of its own, as costly as appending a whole batch.
+     *
+     * @return Row of the native
+     */
+    public int append(long profileId, boolean male, BirthData birthData) {
+        return append(new long[] {profileId}, new boolean[] {male}, List.of(birthData));
+    }
+
+    /**
+     * Add natives in one commit. The planets and ascendant of each are calculated here, once.
+     *
+     * @param profileIds Identifier of each native
+     * @param male Whether each native is male
+     * @param natives Birth data of each native; the place name and any fraction of a second of
+     *                the birth time are not stored
+     * @return Row of the first native; the others follow in order
+     */
+    public synchronized int append(long[] profileIds, boolean[] male, List<BirthData> natives) {
+        int count = profileIds.length;
+        if (male.length != count || natives.size() != count) {
+            throw new IllegalArgumentException("Input arrays must have the same length");
+        }
+        int first = columns.size;
+        if (count > MAX_SIZE - first) {
+            throw new IllegalStateException("Native store " + directory + " cannot hold more than " + MAX_SIZE + " natives");
+        }
+
+        ByteBuffer[] rows = new ByteBuffer[COLUMN_NAMES.length];
+        for (int column = 0; column < rows.length; column++) {
+            rows[column] = ByteBuffer.allocate(count * COLUMN_WIDTHS[column]).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        int zoneCount = zones.size();
+        boolean committed = false;
+        try {
+            for (int i = 0; i < count; i++) {
+                encode(profileIds[i], male[i], natives.get(i), rows);
+            }
+            write(first, rows, zoneCount);
+            committed = true;
+        } catch (IOException e) {
+            throw new RuntimeException("Error appending to native store " + directory, e);
+        } finally {
+            // Forget zones first seen in an append that failed
+            while (!committed && zones.size() > zoneCount) {
+                zoneIndexes.remove(zones.remove(zones.size() - 1));
+            }
+        }
+        return first;
+    }
+
+    public long getProfileId(int row) {
+        return buffer(row, PROFILE_ID).getLong(row * Long.BYTES);
+    }
+
+    public boolean isMale(int row) {
+        return buffer(row, MALE).get(row) != 0;
+    }
+
+    /**
+     * Birth data of a native, without the place name and with the birth time in whole seconds.
+     */
+    public BirthData getBirthData(int row) {
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(buffer(row, BIRTH).getLong(row * Long.BYTES), 0, ZoneOffset.UTC);
+        int zone = buffer(row, ZONE).getShort(row * Short.BYTES);
+        return new BirthData(dateTime, buffer(row, LATITUDE).getDouble(row * Double.BYTES),
+                             buffer(row, LONGITUDE).getDouble(row * Double.BYTES), null,
+                             zone < 0 ? null : zones.get(zone));
+    }
+
+    /**
+     * Sidereal longitude of a planet at birth of a native.
+     */
+    public double getLongitude(int row, Planet planet) {
+        return buffer(row, FIRST_PLANET + planet.getIndex()).getDouble(row * Double.BYTES);
+    }
+
+    /**
+     * Sidereal ascendant (Lagna) at birth of a native.
+     */
+    public double getAscendant(int row) {
+        return buffer(row, ASCENDANT).getDouble(row * Double.BYTES);
+    }
+
+    /**
+     * Pada index of the Moon at birth of a native, see {@link AsthakootMatrix#padaIndex}.
+     */
+    public int getMoonPada(int row) {
+        return buffer(row, MOON_PADA).get(row);
+    }
+
+    /**
+     * Profile identifiers of rows from..to-1.
+     */
+    public long[] getProfileIds(int from, int to) {
+        long[] values = new long[to - from];
+        slice(from, to, PROFILE_ID).asLongBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * Sex of rows from..to-1, true for male.
+     */
+    public boolean[] getMale(int from, int to) {
+        ByteBuffer column = slice(from, to, MALE);
+        boolean[] values = new boolean[to - from];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = column.get(i) != 0;
+        }
+        return values;
+    }
+
+    /**
+     * Birth instants of rows from..to-1 in epoch seconds, reading the birth date-time as UTC like
+     * the dasa calculators do.
+     */
+    public long[] getBirthEpochSeconds(int from, int to) {
+        long[] values = new long[to - from];
+        slice(from, to, BIRTH).asLongBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * Sidereal longitudes of a planet at birth of rows from..to-1.
+     */
+    public double[] getLongitudes(Planet planet, int from, int to) {
+        double[] values = new double[to - from];
+        slice(from, to, FIRST_PLANET + planet.getIndex()).asDoubleBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * Sidereal ascendants at birth of rows from..to-1.
+     */
+    public double[] getAscendants(int from, int to) {
+        double[] values = new double[to - from];
+        slice(from, to, ASCENDANT).asDoubleBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * Moon pada indices of rows from..to-1, packed as {@link BulkKootaScorer} takes them.
+     */
+    public byte[] getMoonPadas(int from, int to) {
+        byte[] values = new byte[to - from];
+        slice(from, to, MOON_PADA).get(values);
+        return values;
+    }
+
+    /**
+     * Copy the natives of a store into a new store, recalculating every derived column with the
+     * current ephemeris settings. The source is left unchanged.
+     *
+     * @param source Directory of the existing store
+     * @param target Directory of the new store; must not hold a store yet
+     * @return The new store
+     */
+    public static NativeStore rebuild(Path source, Path target) {
+        if (Files.exists(target.resolve(COUNT_FILE))) {
+            throw new IllegalArgumentException("Directory already holds a native store: " + target);
+        }
+        NativeStore from = new NativeStore(source);
+        NativeStore to = new NativeStore(target);
+        int size = from.size();
+        for (int start = 0; start < size; start += REBUILD_BATCH_SIZE) {
+            int end = Math.min(size, start + REBUILD_BATCH_SIZE);
+            List<BirthData> natives = new ArrayList<>(end - start);
+            for (int row = start; row < end; row++) {
+                natives.add(from.getBirthData(row));
+            }
+            to.append(from.getProfileIds(start, end), from.getMale(start, end), natives);
+        }
+        return to;
+    }
+
+    /**
+     * Rebuild tool: {@code NativeStore <source directory> <target directory>}.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: NativeStore <source directory> <target directory>");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        NativeStore store = rebuild(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.printf("Rebuilt %d natives into %s in %.1fs%n", store.size(), args[1], (System.nanoTime() - start) / 1e9);
+    }
+
+    private void encode(long profileId, boolean male, BirthData birthData, ByteBuffer[] rows) {
+        LocalDateTime dateTime = birthData.getBirthDateTime();
+        double latitude = birthData.getLatitude();
+        double longitude = birthData.getLongitude();
+        rows[PROFILE_ID].putLong(profileId);
+        rows[MALE].put((byte) (male ? 1 : 0));
+        rows[BIRTH].putLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+        rows[LATITUDE].putDouble(latitude);
+        rows[LONGITUDE].putDouble(longitude);
+        rows[ZONE].putShort((short) zoneIndex(birthData.getTimeZone()));
+
+        // The same positions the calculators would compute at request time
+        double moonLongitude = 0;
+        for (Planet planet : PLANETS) {
+            double planetLongitude = SwissEphCalculator.calculatePlanetPosition(
+                dateTime, latitude, longitude, planet.getEnglishName()).getLongitude();
+            rows[FIRST_PLANET + planet.getIndex()].putDouble(planetLongitude);
+            if (planet == Planet.MOON) {
+                moonLongitude = planetLongitude;
+            }
+        }
+        rows[ASCENDANT].putDouble(SwissEphCalculator.calculateAscendant(dateTime, latitude, longitude));
+        rows[MOON_PADA].put((byte) AsthakootMatrix.padaIndex(moonLongitude));
+    }
+
+    private int zoneIndex(ZoneId zone) {
+        if (zone == null) {
+            return -1;
+        }
+        Integer index = zoneIndexes.get(zone);
+        if (index == null) {
+            if (zones.size() > Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many zones in native store " + directory);
+            }
+            index = zones.size();
+            zones.add(zone);
+            zoneIndexes.put(zone, index);
+        }
+        return index;
+    }
+
+    private void write(int first, ByteBuffer[] rows, int zoneCount) throws IOException {
+        for (int column = 0; column < rows.length; column++) {
+            try (FileChannel channel = FileChannel.open(columnFile(column), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // Drop anything left past the committed rows by an append that did not finish
+                long position = (long) first * COLUMN_WIDTHS[column];
+                channel.truncate(position);
+                ByteBuffer values = rows[column].flip();
+                while (values.hasRemaining()) {
+                    position += channel.write(values, position);
+                }
+                channel.force(false);
+            }
+        }
+        if (zones.size() > zoneCount) {
+            List<String> lines = new ArrayList<>();
+            zones.forEach(zone -> lines.add(zone.getId()));
+            replace(ZONES_FILE, String.join("\n", lines));
+        }
+        // Commit: readers and reopened stores only see rows below the count
+        int size = first + rows[PROFILE_ID].limit() / COLUMN_WIDTHS[PROFILE_ID];
+        replace(COUNT_FILE, String.valueOf(size));
+        columns = map(size);
+    }
+
+    private void replace(String name, String content) throws IOException {
+        // Write then rename, so a crash never leaves a partial file
+        Path tmp = directory.resolve(name + ".tmp");
+        Files.writeString(tmp, content, StandardCharsets.UTF_8);
+        Files.move(tmp, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Columns map(int size) throws IOException {
+        ByteBuffer[] buffers = new ByteBuffer[COLUMN_NAMES.length];
+        for (int column = 0; column < buffers.length; column++) {
+            long length = (long) size * COLUMN_WIDTHS[column];
+            try (FileChannel channel = FileChannel.open(columnFile(column), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                if (channel.size() < length) {
+                    throw new IOException("Column " + COLUMN_NAMES[column] + " is shorter than the " + size + " committed natives");
+                }
+                // The mapping stays valid after the channel is closed
+                buffers[column] = channel.map(FileChannel.MapMode.READ_ONLY, 0, length).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+        return new Columns(size, buffers);
+    }
+
+    private Path columnFile(int column) {
+        return directory.resolve(COLUMN_NAMES[column] + COLUMN_SUFFIX);
+    }
+
+    private ByteBuffer buffer(int row, int column) {
+        Columns current = columns;
+        if (row < 0 || row >= current.size) {
+            throw new IllegalArgumentException("Invalid row " + row + " of " + current.size);
+        }
+        return current.buffers[column];
+    }
+
+    private ByteBuffer slice(int from, int to, int column) {
+        Columns current = columns;
+        if (from < 0 || to > current.size || from > to) {
+            throw new IllegalArgumentException("Invalid row range " + from + " to " + to + " of " + current.size);
+        }
+        int width = COLUMN_WIDTHS[column];
+        return current.buffers[column].slice(from * width, (to - from) * width).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void defineColumn(int column, String name, int width) {
+        COLUMN_NAMES[column] = name;
+        COLUMN_WIDTHS[column] = width;
+    }
+
+    /**
+     * Mapped columns of the committed rows; replaced as a whole on each append.
+     */
+    private static final class Columns {
+        private final int size;
+        private final ByteBuffer[] buffers;
+
+        Columns(int size, ByteBuffer[] buffers) {
+            this.size = size;
+            this.buffers = buffers;
+        }
+    }
+}
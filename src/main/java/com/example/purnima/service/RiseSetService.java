@@ -0,0 +1,265 @@
+package com.example.purnima.service;
+
+import com.example.purnima.jfr.CacheLookupEvent;
+import com.example.purnima.util.SwissEphCalculator;
+import de.thmac.swisseph.SweConst;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sunrise and sunset times backed by a bounded cache.
+ * <p>
+ * Events are calculated for whole UTC dates at the nodes of a latitude/longitude grid
+ * (0.01 degrees, about 1 km, by default) and kept in a striped LRU cache, so calculations for
+ * the same day and place, or for places nearby, share them. Each stripe has its own lock and
+ * evicts its own least recently used node-days, so concurrent lookups rarely contend. Lookups return the next or previous
+ * event from any instant; once a day is cached, tomorrow's sunrise is a hit as well.
+ * <p>
+ * By default the nearest grid node is used, which moves events by a few seconds at most.
+ * With interpolation the events of the four surrounding nodes are interpolated instead.
+ * <p>
+ * The shared instance is configured with the system properties {@code purnima.riseset.cache-size},
+ * {@code purnima.riseset.grid-degrees} and {@code purnima.riseset.interpolate}.
+ */
+public class RiseSetService {
+
+    /**
+     * Events of the Sun.
+     */
+    public enum Event {
+        SUNRISE(SweConst.SE_CALC_RISE),
+        SUNSET(SweConst.SE_CALC_SET);
+
+        private final int flag;
+
+        Event(int flag) {
+            this.flag = flag;
+        }
+    }
+
+    // Days searched past the first one, e.g. when the Sun does not rise at high latitudes
+    private static final int MAX_EXTRA_DAYS = 2;
+    // Events of neighbouring nodes further apart than this are not the same event
+    private static final double MAX_NODE_SPREAD_DAYS = 1.0 / 24;
+    private static final int MAX_EVENTS_PER_DAY = 3;
+    private static final int MAX_STRIPES = 16;
+
+    private final double gridDegrees;
+    private final boolean interpolate;
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    /**
+     * @param maxEntries Maximum number of cached node-days
+     * @param gridDegrees Grid spacing in degrees of latitude and longitude
+     * @param interpolate Interpolate between grid nodes instead of using the nearest one
+     */
+    public RiseSetService(int maxEntries, double gridDegrees, boolean interpolate) {
+        if (maxEntries <= 0 || gridDegrees <= 0) {
+            throw new IllegalArgumentException("maxEntries and gridDegrees must be positive");
+        }
+        this.gridDegrees = gridDegrees;
+        this.interpolate = interpolate;
+        // A power of two, so the top bits of the hash pick the stripe
+        int stripeCount = Integer.highestOneBit(Math.min(MAX_STRIPES, maxEntries));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            // Split maxEntries exactly across the stripes
+            stripes[i] = new Stripe(maxEntries / stripeCount + (i < maxEntries % stripeCount ? 1 : 0));
+        }
+        this.stripeShift = 32 - Integer.numberOfTrailingZeros(stripeCount);
+    }
+
+    /**
+     * Shared instance used by the calculators.
+     */
+    public static RiseSetService getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * First event after an instant.
+     *
+     * @param event Sunrise or sunset
+     * @param julianDay Julian Day (UT) to search from
+     * @param latitude Latitude of the location
+     * @param longitude Longitude of the location
+     * @return Julian Day (UT) of the event, or NaN if the Sun does not rise or set within the next days
+     */
+    public double next(Event event, double julianDay, double latitude, double longitude) {
+        return find(event, julianDay, latitude, longitude, true);
+    }
+
+    /**
+     * Last event before an instant.
+     *
+     * @param event Sunrise or sunset
+     * @param julianDay Julian Day (UT) to search from
+     * @param latitude Latitude of the location
+     * @param longitude Longitude of the location
+     * @return Julian Day (UT) of the event, or NaN if the Sun did not rise or set within the previous days
+     */
+    public double previous(Event event, double julianDay, double latitude, double longitude) {
+        return find(event, julianDay, latitude, longitude, false);
+    }
+
+    /**
+     * Number of node-days currently cached.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    private double find(Event event, double julianDay, double latitude, double longitude, boolean forward) {
+        if (!interpolate) {
+            return findAtNode(event, julianDay, (int) Math.round(latitude / gridDegrees),
+                              (int) Math.round(longitude / gridDegrees), forward);
+        }
+
+        int latIndex = (int) Math.floor(latitude / gridDegrees);
+        int lonIndex = (int) Math.floor(longitude / gridDegrees);
+        double latFraction = latitude / gridDegrees - latIndex;
+        double lonFraction = longitude / gridDegrees - lonIndex;
+        double e00 = findAtNode(event, julianDay, latIndex, lonIndex, forward);
+        double e01 = findAtNode(event, julianDay, latIndex, lonIndex + 1, forward);
+        double e10 = findAtNode(event, julianDay, latIndex + 1, lonIndex, forward);
+        double e11 = findAtNode(event, julianDay, latIndex + 1, lonIndex + 1, forward);
+
+        double min = Math.min(Math.min(e00, e01), Math.min(e10, e11));
+        double max = Math.max(Math.max(e00, e01), Math.max(e10, e11));
+        if (Double.isNaN(min) || Double.isNaN(max) || max - min > MAX_NODE_SPREAD_DAYS) {
+            // Nodes disagree (the instant lies between their events, or the Sun stops rising): use the nearest
+            return findAtNode(event, julianDay, (int) Math.round(latitude / gridDegrees),
+                              (int) Math.round(longitude / gridDegrees), forward);
+        }
+        double south = e00 + (e01 - e00) * lonFraction;
+        double north = e10 + (e11 - e10) * lonFraction;
+        return south + (north - south) * latFraction;
+    }
+
+    private double findAtNode(Event event, double julianDay, int latIndex, int lonIndex, boolean forward) {
+        // Julian Days start at noon; day numbers here start at midnight UT
+        long day = (long) Math.floor(julianDay + 0.5);
+        for (int offset = 0; offset <= MAX_EXTRA_DAYS; offset++) {
+            double[] events = events(event, forward ? day + offset : day - offset, latIndex, lonIndex);
+            if (forward) {
+                for (double eventJulianDay : events) {
+                    if (eventJulianDay > julianDay) {
+                        return eventJulianDay;
+                    }
+                }
+            } else {
+                for (int i = events.length - 1; i >= 0; i--) {
+                    if (events[i] < julianDay) {
+                        return events[i];
+                    }
+                }
+            }
+        }
+        return Double.NaN;
+    }
+
+    private double[] events(Event event, long day, int latIndex, int lonIndex) {
+        CacheLookupEvent lookup = new CacheLookupEvent();
+        lookup.begin();
+        NodeDay key = new NodeDay(day, latIndex, lonIndex);
+        Stripe stripe = stripeFor(key);
+        double[][] entry;
+        synchronized (stripe) {
+            entry = stripe.get(key);
+        }
+        boolean hit = entry != null;
+        if (!hit) {
+            // Calculated outside the lock; a concurrent miss for the same key only repeats the work
+            double latitude = Math.max(-90, Math.min(90, latIndex * gridDegrees));
+            double longitude = lonIndex * gridDegrees;
+            entry = new double[][] {
+                calculateDay(Event.SUNRISE, day, latitude, longitude),
+                calculateDay(Event.SUNSET, day, latitude, longitude)
+            };
+            synchronized (stripe) {
+                stripe.put(key, entry);
+            }
+        }
+        if (lookup.shouldCommit()) {
+            lookup.cache = "rise-set";
+            lookup.hit = hit;
+            lookup.commit();
+        }
+        return entry[event.ordinal()];
+    }
+
+    private Stripe stripeFor(NodeDay key) {
+        // The stripe's map buckets use the low bits, so the stripe is picked with the high ones
+        return stripes.length == 1 ? stripes[0] : stripes[key.hashCode() >>> stripeShift];
+    }
+
+    /**
+     * All events within one UTC date, in order.
+     */
+    private static double[] calculateDay(Event event, long day, double latitude, double longitude) {
+        double dayStart = day - 0.5;
+        double[] events = new double[MAX_EVENTS_PER_DAY];
+        int count = 0;
+        double from = dayStart;
+        while (count < MAX_EVENTS_PER_DAY) {
+            double eventJulianDay = SwissEphCalculator.calculateRiseSetJulianDay(
+                from, latitude, longitude, SweConst.SE_SUN, event.flag);
+            if (Double.isNaN(eventJulianDay) || eventJulianDay >= dayStart + 1) {
+                break;
+            }
+            events[count++] = eventJulianDay;
+            from = eventJulianDay + 1.0 / 1440;
+        }
+        double[] result = new double[count];
+        System.arraycopy(events, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Grid node on one UTC date.
+     */
+    private record NodeDay(long day, int latIndex, int lonIndex) {
+
+        private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+        @Override
+        public int hashCode() {
+            // The default 31-based hash sends (lat + 1, lon - 31) to the same value, so neighbouring
+            // nodes would collide; multiplying by a large odd constant spreads them instead
+            long h = (day * GOLDEN_GAMMA + latIndex) * GOLDEN_GAMMA + lonIndex;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    /**
+     * One stripe of the cache: an access-ordered map that drops its least recently used entry.
+     */
+    private static final class Stripe extends LinkedHashMap<NodeDay, double[][]> {
+        private final int maxEntries;
+
+        Stripe(int maxEntries) {
+            super(Math.min(1024, maxEntries), 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<NodeDay, double[][]> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    private static class DefaultHolder {
+        private static final RiseSetService INSTANCE = new RiseSetService(
+            Integer.getInteger("purnima.riseset.cache-size", 50_000),
+            Double.parseDouble(System.getProperty("purnima.riseset.grid-degrees", "0.01")),
+            Boolean.getBoolean("purnima.riseset.interpolate"));
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.purnima.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer instrumentation for Swiss Ephemeris calls and calculator phases.
+ * <p>
+ * Meters are registered in Micrometer's global registry, which Spring Boot links to the
+ * application registry (and so to the actuator Prometheus endpoint). Outside Spring the
+ * global registry is empty and recording costs next to nothing.
+ * <ul>
+ *   <li>{@code purnima.ephemeris.call} - timer per primitive, tagged operation and endpoint</li>
+ *   <li>{@code purnima.calculation.phase} - timer per calculator phase, tagged phase and endpoint</li>
+ *   <li>{@code purnima.ephemeris.calls.per.request} - distribution of ephemeris calls made by
+ *       one request, tagged endpoint</li>
+ * </ul>
+ * The endpoint is taken from the {@link Scope} bound to the current thread. Code that hands
+ * work to another thread must bind the caller's scope there, as is done for the locale.
+ */
+public final class CalculationMetrics {
+
+    /**
+     * Instrumented Swiss Ephemeris primitives.
+     */
+    public enum Operation {
+        SWE_CALC_UT("swe_calc_ut"),
+        SWE_HOUSES("swe_houses"),
+        SWE_RISE_TRANS("swe_rise_trans");
+
+        private final String tag;
+
+        Operation(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /** Endpoint tag for calculations that run outside a request. */
+    public static final String NO_ENDPOINT = "none";
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final Map<String, EndpointMeters> METERS = new ConcurrentHashMap<>();
+
+    private CalculationMetrics() {
+    }
+
+    /**
+     * Open a scope for a request or job and bind it to the current thread.
+     *
+     * @param endpoint Low-cardinality endpoint name, e.g. the request mapping pattern
+     * @return The new scope; pass it to {@link #close(Scope)} when the request completes
+     */
+    public static Scope open(String endpoint) {
+        Scope scope = new Scope(meters(endpoint));
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Record the number of ephemeris calls made in the scope and unbind it from the current thread.
+     */
+    public static void close(Scope scope) {
+        scope.meters.callsPerRequest.record(scope.ephemerisCalls.get());
+        if (CURRENT.get() == scope) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Scope bound to the current thread, or null outside a request.
+     */
+    public static Scope currentScope() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Bind a scope captured on another thread to the current (worker) thread.
+     */
+    public static void setCurrentScope(Scope scope) {
+        if (scope != null) {
+            CURRENT.set(scope);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public static void resetCurrentScope() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Start time for {@link #recordEphemerisCall} or {@link #recordPhase}.
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Record one Swiss Ephemeris call that started at startNanos.
+     */
+    public static void recordEphemerisCall(Operation operation, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        Scope scope = CURRENT.get();
+        EndpointMeters meters;
+        if (scope != null) {
+            scope.ephemerisCalls.incrementAndGet();
+            meters = scope.meters;
+        } else {
+            meters = meters(NO_ENDPOINT);
+        }
+        meters.operations[operation.ordinal()].record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record a calculator phase (e.g. "panchang.tithi") that started at startNanos.
+     */
+    public static void recordPhase(String phase, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        Scope scope = CURRENT.get();
+        EndpointMeters meters = scope != null ? scope.meters : meters(NO_ENDPOINT);
+        meters.phase(phase).record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    private static EndpointMeters meters(String endpoint) {
+        return METERS.computeIfAbsent(endpoint, EndpointMeters::new);
+    }
+
+    /**
+     * Calculation context of one request or job; counts its ephemeris calls across threads.
+     */
+    public static final class Scope {
+        private final EndpointMeters meters;
+        private final AtomicInteger ephemerisCalls = new AtomicInteger();
+
+        private Scope(EndpointMeters meters) {
+            this.meters = meters;
+        }
+
+        public String getEndpoint() {
+            return meters.endpoint;
+        }
+
+        public int getEphemerisCalls() {
+            return ephemerisCalls.get();
+        }
+    }
+
+    /**
+     * Meters of one endpoint, created once so the hot path never builds tags.
+     */
+    private static final class EndpointMeters {
+        private final String endpoint;
+        private final Timer[] operations;
+        private final DistributionSummary callsPerRequest;
+        private final Map<String, Timer> phases = new ConcurrentHashMap<>();
+
+        EndpointMeters(String endpoint) {
+            MeterRegistry registry = Metrics.globalRegistry;
+            this.endpoint = endpoint;
+            this.operations = new Timer[Operation.values().length];
+            for (Operation operation : Operation.values()) {
+                operations[operation.ordinal()] = Timer.builder("purnima.ephemeris.call")
+                    .description("Swiss Ephemeris primitive calls")
+                    .tag("operation", operation.tag)
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+            }
+            this.callsPerRequest = DistributionSummary.builder("purnima.ephemeris.calls.per.request")
+                .description("Swiss Ephemeris calls made by one request")
+                .baseUnit("calls")
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(registry);
+        }
+
+        Timer phase(String phase) {
+            return phases.computeIfAbsent(phase, p -> Timer.builder("purnima.calculation.phase")
+                .description("Time spent in a calculator phase")
+                .tag("phase", p)
+                .tag("endpoint", endpoint)
+                .register(Metrics.globalRegistry));
+        }
+    }
+}
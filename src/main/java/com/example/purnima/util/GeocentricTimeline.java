@@ -0,0 +1,118 @@
+package com.example.purnima.util;
+
+import de.thmac.swisseph.SweConst;
+
+/**
+ * Geocentric Sun and Moon positions sampled over a time range, shared by calculations for many locations.
+ * <p>
+ * Swiss Ephemeris is called once per step (an hour by default) and positions in between are
+ * interpolated with four-point Lagrange polynomials, which is accurate to far better than an
+ * arc-second. Only the parallax correction, the same one SwissEphCalculator applies, is computed
+ * per location. Instants outside the range are calculated directly.
+ */
+public class GeocentricTimeline {
+
+    public static final double DEFAULT_STEP_DAYS = 1.0 / 24;
+
+    private static final int[] BODY_IDS = {SweConst.SE_SUN, SweConst.SE_MOON};
+    private static final int SUN = 0;
+    private static final int MOON = 1;
+
+    private final double startJulianDay;
+    private final double stepDays;
+    private final int size;
+    // [body][longitude (unwrapped), latitude, distance][node]
+    private final double[][][] positions;
+    private final double[] obliquity;
+
+    /**
+     * @param startJulianDay First instant (UT) to cover
+     * @param endJulianDay Last instant (UT) to cover
+     * @param stepDays Distance between samples in days
+     */
+    public GeocentricTimeline(double startJulianDay, double endJulianDay, double stepDays) {
+        if (!(stepDays > 0) || endJulianDay < startJulianDay) {
+            throw new IllegalArgumentException("Invalid timeline range or step");
+        }
+        // Extra nodes at both ends keep the interpolation stencil inside the samples
+        this.startJulianDay = startJulianDay - 2 * stepDays;
+        this.stepDays = stepDays;
+        this.size = (int) Math.ceil((endJulianDay - startJulianDay) / stepDays) + 5;
+        this.positions = new double[BODY_IDS.length][3][size];
+        this.obliquity = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            double julianDay = this.startJulianDay + i * stepDays;
+            for (int body = 0; body < BODY_IDS.length; body++) {
+                double[] xx = SwissEphCalculator.calculateGeocentricPosition(julianDay, BODY_IDS[body]);
+                double[] longitudes = positions[body][0];
+                // Unwrap so that interpolation never crosses 360 degrees
+                longitudes[i] = i == 0 ? xx[0] : longitudes[i - 1] + normalizeDifference(xx[0] - longitudes[i - 1]);
+                positions[body][1][i] = xx[1];
+                positions[body][2][i] = xx[2];
+            }
+            obliquity[i] = SwissEphCalculator.calculateTrueObliquity(julianDay);
+        }
+    }
+
+    /**
+     * Sidereal longitude of the Sun as seen from a location.
+     *
+     * @param julianDay Julian Day (UT)
+     * @param latitude Latitude of the location
+     * @param longitude Longitude of the location
+     * @return Longitude in degrees (0-360)
+     */
+    public double getSunLongitude(double julianDay, double latitude, double longitude) {
+        return topocentricLongitude(SUN, julianDay, latitude, longitude);
+    }
+
+    /**
+     * Sidereal longitude of the Moon as seen from a location.
+     *
+     * @param julianDay Julian Day (UT)
+     * @param latitude Latitude of the location
+     * @param longitude Longitude of the location
+     * @return Longitude in degrees (0-360)
+     */
+    public double getMoonLongitude(double julianDay, double latitude, double longitude) {
+        return topocentricLongitude(MOON, julianDay, latitude, longitude);
+    }
+
+    private double topocentricLongitude(int body, double julianDay, double latitude, double longitude) {
+        double x = (julianDay - startJulianDay) / stepDays;
+        // Stencil of nodes first..first+3 around x
+        int first = (int) Math.floor(x) - 1;
+        double[] xx;
+        double epsilon;
+        if (first < 0 || first + 3 >= size) {
+            xx = SwissEphCalculator.calculateGeocentricPosition(julianDay, BODY_IDS[body]);
+            epsilon = SwissEphCalculator.calculateTrueObliquity(julianDay);
+        } else {
+            double t = x - (first + 1);
+            double w0 = -t * (t - 1) * (t - 2) / 6;
+            double w1 = (t + 1) * (t - 1) * (t - 2) / 2;
+            double w2 = -(t + 1) * t * (t - 2) / 2;
+            double w3 = (t + 1) * t * (t - 1) / 6;
+            xx = new double[6];
+            for (int k = 0; k < 3; k++) {
+                double[] values = positions[body][k];
+                xx[k] = w0 * values[first] + w1 * values[first + 1] + w2 * values[first + 2] + w3 * values[first + 3];
+            }
+            xx[0] = ((xx[0] % 360) + 360) % 360;
+            epsilon = w0 * obliquity[first] + w1 * obliquity[first + 1] + w2 * obliquity[first + 2] + w3 * obliquity[first + 3];
+        }
+        SwissEphCalculator.applyTopocentricCorrection(xx, julianDay, latitude, longitude, epsilon);
+        return xx[0];
+    }
+
+    private static double normalizeDifference(double difference) {
+        if (difference > 180) {
+            return difference - 360;
+        }
+        if (difference < -180) {
+            return difference + 360;
+        }
+        return difference;
+    }
+}
@@ -8,6 +8,7 @@ import de.thmac.swisseph.SweDate;
 import de.thmac.swisseph.SwissEph;
 import de.thmac.swisseph.SweConst;
 import de.thmac.swisseph.DblObj;
+import com.example.purnima.jfr.EphemerisEvent;
 
 /**
  * Utility class for astronomical calculations.
@@ -30,9 +31,12 @@ public class SwissEphCalculator {
         PLANET_IDS.put("Ketu", -1); // Ketu is opposite to Rahu
     }
     
+    // Directory with the Swiss Ephemeris data files; if they are missing the built-in Moshier ephemeris is used
+    private static final String EPHE_PATH = System.getProperty("purnima.ephe.path", "/Users/ravikarri/Documents/GitHub/purnima/ephe");
+    
     private static final ThreadLocal<SwissEph> sw = ThreadLocal.withInitial(() -> {
         SwissEph swObj = new SwissEph();
-        swObj.swe_set_ephe_path("/Users/ravikarri/Documents/GitHub/purnima/ephe");
+        swObj.swe_set_ephe_path(EPHE_PATH);
         swObj.swe_set_sid_mode(SweConst.SE_SIDM_LAHIRI, 0, 0);
         return swObj;
     });
@@ -72,14 +76,14 @@ public class SwissEphCalculator {
             // Handle Ketu separately (opposite of Rahu)
             if (planetName.equals("Ketu")) {
                 planetId = SweConst.SE_MEAN_NODE;
-                int ret = sw.get().swe_calc_ut(julianDay, planetId, flags, xx, serr);
+                int ret = sweCalcUt(julianDay, planetId, flags, xx, serr);
                 if (ret < 0) {
                     throw new RuntimeException("SwissEph error: " + serr.toString());
                 }
                 // Ketu is 180 degrees from Rahu
                 xx[0] = (xx[0] + 180) % 360;
             } else {
-            int ret = sw.get().swe_calc_ut(julianDay, planetId, flags, xx, serr);
+            int ret = sweCalcUt(julianDay, planetId, flags, xx, serr);
                 if (ret < 0) {
                     throw new RuntimeException("SwissEph error: " + serr.toString());
                 }
@@ -127,7 +131,7 @@ public class SwissEphCalculator {
             // 'P' for Placidus, though for Ascendant it doesn't matter much which system, 
             // but we need to pass a system. Vedic often uses Whole Sign or Equal House for charts,
             // but the Ascendant point is the same.
-            int ret = sw.get().swe_houses(julianDay, flags, latitude, longitude, 'P', cusps, ascmc);
+            int ret = sweHouses(julianDay, flags, latitude, longitude, 'P', cusps, ascmc);
             
             if (ret < 0) {
                 throw new RuntimeException("SwissEph error calculating houses");
@@ -159,7 +163,7 @@ public class SwissEphCalculator {
             int flags = SweConst.SEFLG_SIDEREAL;
             
             // using Placidus ('P')
-            sw.get().swe_houses(julianDay, flags, latitude, longitude, 'P', cusps, ascmc);
+            sweHouses(julianDay, flags, latitude, longitude, 'P', cusps, ascmc);
             
             double[] result = new double[12];
             // SwissEph returns cusps 1-12 in indices 1-12
@@ -185,27 +189,37 @@ public class SwissEphCalculator {
             // Get Sun and Moon positions
             PlanetaryPosition sunPos = calculatePlanetPosition(dateTime, latitude, longitude, "Sun");
             PlanetaryPosition moonPos = calculatePlanetPosition(dateTime, latitude, longitude, "Moon");
-            
-            // Calculate lunar phase
-            double lunarPhase = moonPos.getLongitude() - sunPos.getLongitude();
-            if (lunarPhase < 0) {
-                lunarPhase += 360;
-            }
-            
-            // Calculate tithi (1-30)
-            int tithi = (int) Math.floor(lunarPhase / 12) + 1;
-            if (tithi > 30) tithi = 30;
-            
-            // Determine paksha (Shukla or Krishna)
-            boolean isShuklaPaksha = lunarPhase < 180;
-            
-            return new LunarPhase(tithi, lunarPhase, isShuklaPaksha);
+            return calculateLunarPhase(sunPos.getLongitude(), moonPos.getLongitude());
             
         } catch (Exception e) {
             throw new RuntimeException("Error calculating lunar phase", e);
         }
     }
     
+    /**
+     * Calculate lunar phase (Tithi) from sidereal Sun and Moon longitudes.
+     * 
+     * @param sunLongitude Longitude of the Sun in degrees
+     * @param moonLongitude Longitude of the Moon in degrees
+     * @return LunarPhase object containing tithi information
+     */
+    public static LunarPhase calculateLunarPhase(double sunLongitude, double moonLongitude) {
+        // Calculate lunar phase
+        double lunarPhase = moonLongitude - sunLongitude;
+        if (lunarPhase < 0) {
+            lunarPhase += 360;
+        }
+        
+        // Calculate tithi (1-30)
+        int tithi = (int) Math.floor(lunarPhase / 12) + 1;
+        if (tithi > 30) tithi = 30;
+        
+        // Determine paksha (Shukla or Krishna)
+        boolean isShuklaPaksha = lunarPhase < 180;
+        
+        return new LunarPhase(tithi, lunarPhase, isShuklaPaksha);
+    }
+    
     /**
      * Calculate Nakshatra for a given date, time, and location.
      * 
@@ -218,22 +232,73 @@ public class SwissEphCalculator {
         try {
             // Get Moon position
             PlanetaryPosition moonPos = calculatePlanetPosition(dateTime, latitude, longitude, "Moon");
-            
-            // Calculate nakshatra (1-27)
-            double moonLongitude = moonPos.getLongitude();
-            int nakshatraNumber = (int) Math.floor(moonLongitude * 27 / 360) + 1;
-            if (nakshatraNumber > 27) nakshatraNumber = 27;
-            
-            // Calculate degree within nakshatra
-            double degreeInNakshatra = (moonLongitude * 27 / 360 - (nakshatraNumber - 1)) * 13.333333;
-            
-            return new NakshatraInfo(nakshatraNumber, degreeInNakshatra);
+            return calculateNakshatra(moonPos.getLongitude());
             
         } catch (Exception e) {
             throw new RuntimeException("Error calculating nakshatra", e);
         }
     }
     
+    /**
+     * Calculate Nakshatra from the sidereal Moon longitude.
+     * 
+     * @param moonLongitude Longitude of the Moon in degrees
+     * @return NakshatraInfo object containing nakshatra details
+     */
+    public static NakshatraInfo calculateNakshatra(double moonLongitude) {
+        // Calculate nakshatra (1-27)
+        int nakshatraNumber = (int) Math.floor(moonLongitude * 27 / 360) + 1;
+        if (nakshatraNumber > 27) nakshatraNumber = 27;
+        
+        // Calculate degree within nakshatra
+        double degreeInNakshatra = (moonLongitude * 27 / 360 - (nakshatraNumber - 1)) * 13.333333;
+        
+        return new NakshatraInfo(nakshatraNumber, degreeInNakshatra);
+    }
+    
+    // Swiss Ephemeris primitives, instrumented with Micrometer and (when enabled) JFR
+    
+    private static int sweCalcUt(double julianDay, int body, int flags, double[] xx, StringBuffer serr) {
+        EphemerisEvent event = new EphemerisEvent();
+        event.begin();
+        long callStart = CalculationMetrics.start();
+        int ret = sw.get().swe_calc_ut(julianDay, body, flags, xx, serr);
+        CalculationMetrics.recordEphemerisCall(CalculationMetrics.Operation.SWE_CALC_UT, callStart);
+        commit(event, "swe_calc_ut", julianDay, body);
+        return ret;
+    }
+    
+    private static int sweHouses(double julianDay, int flags, double latitude, double longitude, char houseSystem,
+                                 double[] cusps, double[] ascmc) {
+        EphemerisEvent event = new EphemerisEvent();
+        event.begin();
+        long callStart = CalculationMetrics.start();
+        int ret = sw.get().swe_houses(julianDay, flags, latitude, longitude, houseSystem, cusps, ascmc);
+        CalculationMetrics.recordEphemerisCall(CalculationMetrics.Operation.SWE_HOUSES, callStart);
+        commit(event, "swe_houses", julianDay, -1);
+        return ret;
+    }
+    
+    private static int sweRiseTrans(double julianDay, int body, int flags, int riseSetFlag, double[] geopos,
+                                    DblObj tret, StringBuffer serr) {
+        EphemerisEvent event = new EphemerisEvent();
+        event.begin();
+        long callStart = CalculationMetrics.start();
+        int ret = sw.get().swe_rise_trans(julianDay, body, null, flags, riseSetFlag, geopos, 0, 0, tret, serr);
+        CalculationMetrics.recordEphemerisCall(CalculationMetrics.Operation.SWE_RISE_TRANS, callStart);
+        commit(event, "swe_rise_trans", julianDay, body);
+        return ret;
+    }
+    
+    private static void commit(EphemerisEvent event, String operation, double julianDay, int body) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.julianDay = julianDay;
+            event.body = body;
+            event.commit();
+        }
+    }
+    
     /**
      * Convert LocalDateTime to SweDate.
      * 
@@ -360,24 +425,33 @@ public class SwissEphCalculator {
             // Get Sun and Moon positions
             PlanetaryPosition sunPos = calculatePlanetPosition(dateTime, latitude, longitude, "Sun");
             PlanetaryPosition moonPos = calculatePlanetPosition(dateTime, latitude, longitude, "Moon");
-            
-            // Calculate Yoga
-            // Yoga is based on the sum of Sun and Moon longitudes
-            double sumLongitude = sunPos.getLongitude() + moonPos.getLongitude();
-            if (sumLongitude >= 360) {
-                sumLongitude -= 360;
-            }
-            
-            // There are 27 Yogas, each 13 degrees 20 minutes (13.3333 degrees)
-            int yogaNumber = (int) Math.floor(sumLongitude / 13.333333333) + 1;
-            if (yogaNumber > 27) yogaNumber = 27;
-            
-            return new YogaInfo(yogaNumber);
+            return calculateYoga(sunPos.getLongitude(), moonPos.getLongitude());
             
         } catch (Exception e) {
             throw new RuntimeException("Error calculating yoga", e);
         }
     }
+    
+    /**
+     * Calculate Yoga from sidereal Sun and Moon longitudes.
+     * 
+     * @param sunLongitude Longitude of the Sun in degrees
+     * @param moonLongitude Longitude of the Moon in degrees
+     * @return YogaInfo object containing yoga details
+     */
+    public static YogaInfo calculateYoga(double sunLongitude, double moonLongitude) {
+        // Yoga is based on the sum of Sun and Moon longitudes
+        double sumLongitude = sunLongitude + moonLongitude;
+        if (sumLongitude >= 360) {
+            sumLongitude -= 360;
+        }
+        
+        // There are 27 Yogas, each 13 degrees 20 minutes (13.3333 degrees)
+        int yogaNumber = (int) Math.floor(sumLongitude / 13.333333333) + 1;
+        if (yogaNumber > 27) yogaNumber = 27;
+        
+        return new YogaInfo(yogaNumber);
+    }
 
     /**
      * Represents Yoga information.
@@ -422,24 +496,34 @@ public class SwissEphCalculator {
             // Get Sun and Moon positions
             PlanetaryPosition sunPos = calculatePlanetPosition(dateTime, latitude, longitude, "Sun");
             PlanetaryPosition moonPos = calculatePlanetPosition(dateTime, latitude, longitude, "Moon");
-            
-            // Calculate lunar phase
-            double lunarPhase = moonPos.getLongitude() - sunPos.getLongitude();
-            if (lunarPhase < 0) {
-                lunarPhase += 360;
-            }
-            
-            // Calculate Karana (1-60)
-            // Each Karana is 6 degrees
-            int karanaNumber = (int) Math.floor(lunarPhase / 6) + 1;
-            if (karanaNumber > 60) karanaNumber = 60;
-            
-            return new KaranaInfo(karanaNumber);
+            return calculateKarana(sunPos.getLongitude(), moonPos.getLongitude());
             
         } catch (Exception e) {
             throw new RuntimeException("Error calculating karana", e);
         }
     }
+    
+    /**
+     * Calculate Karana from sidereal Sun and Moon longitudes.
+     * 
+     * @param sunLongitude Longitude of the Sun in degrees
+     * @param moonLongitude Longitude of the Moon in degrees
+     * @return KaranaInfo object containing karana details
+     */
+    public static KaranaInfo calculateKarana(double sunLongitude, double moonLongitude) {
+        // Calculate lunar phase
+        double lunarPhase = moonLongitude - sunLongitude;
+        if (lunarPhase < 0) {
+            lunarPhase += 360;
+        }
+        
+        // Calculate Karana (1-60)
+        // Each Karana is 6 degrees
+        int karanaNumber = (int) Math.floor(lunarPhase / 6) + 1;
+        if (karanaNumber > 60) karanaNumber = 60;
+        
+        return new KaranaInfo(karanaNumber);
+    }
 
     /**
      * Represents Karana information.
@@ -454,6 +538,42 @@ public class SwissEphCalculator {
         // Getters
         public int getKaranaNumber() { return karanaNumber; }
     }
+    /**
+     * Directory with the Swiss Ephemeris data files, set with the purnima.ephe.path system property.
+     */
+    public static String getEphemerisPath() {
+        return EPHE_PATH;
+    }
+
+    /**
+     * Calculate the sidereal geocentric position of a planet, without parallax correction.
+     * 
+     * @param julianDay Julian Day (UT)
+     * @param planetId SwissEph planet ID
+     * @return Longitude, latitude, distance and their speeds, as returned by swe_calc_ut
+     */
+    public static double[] calculateGeocentricPosition(double julianDay, int planetId) {
+        double[] xx = new double[6];
+        StringBuffer serr = new StringBuffer();
+        int ret = sweCalcUt(julianDay, planetId, SweConst.SEFLG_SIDEREAL | SweConst.SEFLG_SPEED, xx, serr);
+        if (ret < 0) {
+            throw new RuntimeException("SwissEph error: " + serr.toString());
+        }
+        return xx;
+    }
+
+    /**
+     * Calculate the true obliquity of the ecliptic.
+     * 
+     * @param julianDay Julian Day (UT)
+     * @return True obliquity in degrees
+     */
+    public static double calculateTrueObliquity(double julianDay) {
+        double[] epsi = new double[6];
+        sweCalcUt(julianDay, SweConst.SE_ECL_NUT, 0, epsi, new StringBuffer());
+        return epsi[0];
+    }
+
     /**
      * Get Ayanamsa for a specific date.
      * 
@@ -476,10 +596,22 @@ public class SwissEphCalculator {
      * @return LocalDateTime of the rise or set, or null if it doesn't occur
      */
     public static LocalDateTime calculateRiseSet(LocalDateTime dateTime, double latitude, double longitude, int planetId, int flag) {
+        double eventJulianDay = calculateRiseSetJulianDay(dateTimeToJulianDay(dateTime), latitude, longitude, planetId, flag);
+        return Double.isNaN(eventJulianDay) ? null : julianDayToDateTime(eventJulianDay, ZoneId.systemDefault());
+    }
+
+    /**
+     * Calculate the next rise or set of a planet after a Julian Day.
+     * 
+     * @param julianDay Julian Day (UT) to search from
+     * @param latitude Latitude of the location
+     * @param longitude Longitude of the location
+     * @param planetId SwissEph planet ID
+     * @param flag Rise/Set flag (SweConst.SE_CALC_RISE or SweConst.SE_CALC_SET)
+     * @return Julian Day (UT) of the rise or set, or NaN if it doesn't occur
+     */
+    public static double calculateRiseSetJulianDay(double julianDay, double latitude, double longitude, int planetId, int flag) {
         try {
-            SweDate sd = getSweDate(dateTime);
-            double julianDay = sd.getJulDay();
-            
             // geopos: longitude, latitude, height
             double[] geopos = new double[] {longitude, latitude, 0};
             DblObj tres = new DblObj();
@@ -498,14 +630,14 @@ public class SwissEphCalculator {
             // For more precision matching standard almanacs, we might need specific flags.
             int flags = SweConst.SEFLG_SWIEPH; 
             
-            int ret = sw.get().swe_rise_trans(julianDay, planetId, null, flags, flag, geopos, 0, 0, tres, serr);
+            int ret = sweRiseTrans(julianDay, planetId, flags, flag, geopos, tres, serr);
             
             if (ret < 0) {
                 // Error or event does not occur
-                return null;
+                return Double.NaN;
             }
             
-            return julianDayToDateTime(tres.val, ZoneId.systemDefault());
+            return tres.val;
             
         } catch (Exception e) {
             throw new RuntimeException("Error calculating rise/set", e);
@@ -528,12 +660,31 @@ public class SwissEphCalculator {
         return calculateRiseSet(dateTime, latitude, longitude, SweConst.SE_MOON, SweConst.SE_CALC_SET);
     }
 
-    private static void applyTopocentricCorrection(double[] xx, double julianDay, double latitude, double longitude) {
+    /**
+     * Correct a geocentric position for parallax as seen from the observer's location.
+     * Public so benchmarks and accuracy tests can apply the same model as the calculators.
+     *
+     * @param xx Position as returned by swe_calc_ut (longitude, latitude, distance, speeds); updated in place
+     * @param julianDay Julian Day (UT)
+     * @param latitude Latitude of the observer
+     * @param longitude Longitude of the observer
+     */
+    public static void applyTopocentricCorrection(double[] xx, double julianDay, double latitude, double longitude) {
         // 1. Get True Obliquity (Epsilon)
-        double[] epsi = new double[6];
-        sw.get().swe_calc_ut(julianDay, SweConst.SE_ECL_NUT, 0, epsi, new StringBuffer());
-        double epsilon = epsi[0]; // True obliquity
-        
+        applyTopocentricCorrection(xx, julianDay, latitude, longitude, calculateTrueObliquity(julianDay));
+    }
+    
+    /**
+     * Correct a geocentric position for parallax with a known true obliquity, e.g. interpolated
+     * by a GeocentricTimeline.
+     *
+     * @param xx Position as returned by swe_calc_ut (longitude, latitude, distance, speeds); updated in place
+     * @param julianDay Julian Day (UT)
+     * @param latitude Latitude of the observer
+     * @param longitude Longitude of the observer
+     * @param epsilon True obliquity of the ecliptic in degrees
+     */
+    public static void applyTopocentricCorrection(double[] xx, double julianDay, double latitude, double longitude, double epsilon) {
         // 2. Convert Ecliptic (Lon, Lat, Dist) to Equatorial (RA, Dec, Dist)
         double lon = xx[0];
         double lat = xx[1];
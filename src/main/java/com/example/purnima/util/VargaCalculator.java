@@ -0,0 +1,186 @@
+package com.example.purnima.util;
+
+import com.example.purnima.api.ChartGenerator.VargaType;
+
+/**
+ * Utility class for divisional chart (Varga) calculations.
+ * Derives the sign occupied in every Shodasha Varga (D1 to D60) arithmetically
+ * from a single snapshot of sidereal longitudes, following Parashari rules.
+ */
+public class VargaCalculator {
+
+    private static final VargaType[] VARGA_TYPES = VargaType.values();
+
+    /**
+     * Number of divisional charts derived per body.
+     */
+    public static final int VARGA_COUNT = VARGA_TYPES.length;
+
+    // Starting signs for movable, fixed and dual signs
+    private static final int[] SHODASHAMSA_START = {0, 4, 8};   // Aries, Leo, Sagittarius
+    private static final int[] VIMSAMSA_START = {0, 8, 4};      // Aries, Sagittarius, Leo
+    private static final int[] AKSHAVEDAMSA_START = {0, 4, 8};  // Aries, Leo, Sagittarius
+
+    // Trimsamsa boundaries (degrees) and signs for odd signs: Mars, Saturn, Jupiter, Mercury, Venus
+    private static final double[] TRIMSAMSA_ODD_LIMITS = {5, 10, 18, 25, 30};
+    private static final int[] TRIMSAMSA_ODD_SIGNS = {0, 10, 8, 2, 6};
+
+    // Trimsamsa boundaries (degrees) and signs for even signs: Venus, Mercury, Jupiter, Saturn, Mars
+    private static final double[] TRIMSAMSA_EVEN_LIMITS = {5, 12, 20, 25, 30};
+    private static final int[] TRIMSAMSA_EVEN_SIGNS = {1, 5, 11, 9, 7};
+
+    /**
+     * Calculate the sign occupied by a longitude in a divisional chart.
+     *
+     * @param longitude Sidereal longitude in degrees (0-360)
+     * @param vargaType Type of divisional chart
+     * @return Sign index (0 = Aries ... 11 = Pisces)
+     */
+    public static int calculateVargaSign(double longitude, VargaType vargaType) {
+        double lon = normalize(longitude);
+        int sign = (int) (lon / 30.0);
+        if (sign > 11) sign = 11;
+        double degree = lon - sign * 30.0;
+        int division = vargaType.getDivision();
+        int part = (int) (degree * division / 30.0);
+        if (part >= division) part = division - 1;
+
+        boolean oddSign = sign % 2 == 0; // Aries (index 0) is the first, odd sign
+        int modality = sign % 3;         // 0 = movable, 1 = fixed, 2 = dual
+
+        switch (vargaType) {
+            case RASHI:
+                return sign;
+            case HORA:
+                // Odd signs: Sun's hora (Leo) then Moon's hora (Cancer); reversed for even signs
+                return (oddSign == (part == 0)) ? 4 : 3;
+            case DREKKANA:
+                return (sign + part * 4) % 12;
+            case CHATURTHAMSA:
+                return (sign + part * 3) % 12;
+            case SAPTAMSA:
+                return (sign + (oddSign ? 0 : 6) + part) % 12;
+            case NAVAMSA:
+                return (sign * 9 + part) % 12;
+            case DASHAMSA:
+                return (sign + (oddSign ? 0 : 8) + part) % 12;
+            case DWADASHAMSA:
+                return (sign + part) % 12;
+            case SHODASHAMSA:
+                return (SHODASHAMSA_START[modality] + part) % 12;
+            case VIMSAMSA:
+                return (VIMSAMSA_START[modality] + part) % 12;
+            case CHATURVIMSAMSA:
+                return ((oddSign ? 4 : 3) + part) % 12;
+            case SAPTAVIMSAMSA:
+                return (sign * 27 + part) % 12;
+            case TRIMSAMSA:
+                return calculateTrimsamsaSign(degree, oddSign);
+            case KHAVEDAMSA:
+                return ((oddSign ? 0 : 6) + part) % 12;
+            case AKSHAVEDAMSA:
+                return (AKSHAVEDAMSA_START[modality] + part) % 12;
+            case SHASTIAMSA:
+                return (sign + part) % 12;
+            default:
+                return sign;
+        }
+    }
+
+    /**
+     * Calculate the degree within the divisional sign (0-30).
+     * The longitude inside the sign is stretched by the division factor.
+     *
+     * @param longitude Sidereal longitude in degrees (0-360)
+     * @param vargaType Type of divisional chart
+     * @return Degree within the varga sign
+     */
+    public static double calculateVargaDegree(double longitude, VargaType vargaType) {
+        double lon = normalize(longitude);
+        double degree = lon % 30.0;
+        return (degree * vargaType.getDivision()) % 30.0;
+    }
+
+    /**
+     * Derive all divisional charts for a snapshot of sidereal longitudes in one pass.
+     *
+     * @param longitudes Sidereal longitudes of each body (any order, e.g. planets followed by ascendant)
+     * @return VargaMatrix containing the varga sign of each body in every divisional chart
+     */
+    public static VargaMatrix calculateVargaMatrix(double[] longitudes) {
+        return calculateVargaMatrix(longitudes, new byte[VARGA_COUNT * longitudes.length]);
+    }
+
+    /**
+     * Derive all divisional charts into a caller-supplied buffer, so repeated
+     * calculations (e.g. batch processing) do not allocate.
+     *
+     * @param longitudes Sidereal longitudes of each body
+     * @param buffer Buffer of at least {@code VARGA_COUNT * longitudes.length} bytes
+     * @return VargaMatrix backed by the given buffer
+     */
+    public static VargaMatrix calculateVargaMatrix(double[] longitudes, byte[] buffer) {
+        int bodyCount = longitudes.length;
+        if (buffer.length < VARGA_COUNT * bodyCount) {
+            throw new IllegalArgumentException("Varga buffer too small: " + buffer.length);
+        }
+        for (int v = 0; v < VARGA_COUNT; v++) {
+            VargaType vargaType = VARGA_TYPES[v];
+            int offset = v * bodyCount;
+            for (int b = 0; b < bodyCount; b++) {
+                buffer[offset + b] = (byte) calculateVargaSign(longitudes[b], vargaType);
+            }
+        }
+        return new VargaMatrix(longitudes, buffer, bodyCount);
+    }
+
+    private static int calculateTrimsamsaSign(double degree, boolean oddSign) {
+        double[] limits = oddSign ? TRIMSAMSA_ODD_LIMITS : TRIMSAMSA_EVEN_LIMITS;
+        int[] signs = oddSign ? TRIMSAMSA_ODD_SIGNS : TRIMSAMSA_EVEN_SIGNS;
+        for (int i = 0; i < limits.length; i++) {
+            if (degree < limits[i]) {
+                return signs[i];
+            }
+        }
+        return signs[signs.length - 1];
+    }
+
+    private static double normalize(double longitude) {
+        double lon = longitude % 360.0;
+        return lon < 0 ? lon + 360.0 : lon;
+    }
+
+    /**
+     * Compact matrix of varga signs, one row per divisional chart and one column per body.
+     */
+    public static class VargaMatrix {
+        private final double[] longitudes;
+        private final byte[] signs;
+        private final int bodyCount;
+
+        public VargaMatrix(double[] longitudes, byte[] signs, int bodyCount) {
+            this.longitudes = longitudes;
+            this.signs = signs;
+            this.bodyCount = bodyCount;
+        }
+
+        // Getters
+        public double[] getLongitudes() { return longitudes; }
+        public byte[] getSigns() { return signs; }
+        public int getBodyCount() { return bodyCount; }
+
+        /**
+         * Get the sign index (0-11) of a body in a divisional chart.
+         */
+        public int getSign(VargaType vargaType, int bodyIndex) {
+            return signs[vargaType.ordinal() * bodyCount + bodyIndex];
+        }
+
+        /**
+         * Get the degree within the varga sign of a body in a divisional chart.
+         */
+        public double getDegree(VargaType vargaType, int bodyIndex) {
+            return calculateVargaDegree(longitudes[bodyIndex], vargaType);
+        }
+    }
+}
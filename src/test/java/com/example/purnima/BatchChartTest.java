@@ -0,0 +1,59 @@
+package com.example.purnima;
+
+import com.example.purnima.model.BirthData;
+import com.example.purnima.model.ChartResult;
+import com.example.purnima.service.AccurateChartGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BatchChartTest {
+
+    @AfterEach
+    public void resetLocale() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    public void testBatchMatchesSingleChartsInOrder() {
+        ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
+        messageSource.setBasename("classpath:messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        AccurateChartGenerator chartGenerator = new AccurateChartGenerator(messageSource);
+
+        LocaleContextHolder.setLocale(new Locale("hi"));
+
+        List<BirthData> batch = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(1990, 5, 15, 14, 30);
+        for (int i = 0; i < 50; i++) {
+            batch.add(new BirthData(start.plusDays(i * 37L).plusHours(i), 19.0760, 72.8777, "Native " + i));
+        }
+
+        List<ChartResult> results = chartGenerator.generateBirthCharts(batch);
+        assertEquals(batch.size(), results.size());
+
+        for (int i = 0; i < batch.size(); i++) {
+            ChartResult expected = chartGenerator.generateBirthChart(batch.get(i));
+            ChartResult actual = results.get(i);
+
+            assertEquals(batch.get(i).getPlaceName(), actual.getBirthData().getPlaceName());
+            for (int p = 0; p < expected.getPlanetaryPositions().length; p++) {
+                ChartResult.PlanetaryPosition e = expected.getPlanetaryPositions()[p];
+                ChartResult.PlanetaryPosition a = actual.getPlanetaryPositions()[p];
+                assertEquals(e.getRashi(), a.getRashi());
+                assertEquals(e.getDegreeInRashi(), a.getDegreeInRashi(), 1e-9);
+                assertEquals(e.getHouseNumber(), a.getHouseNumber());
+                // Workers must use the caller's locale
+                assertEquals(e.getPlanetName(), a.getPlanetName());
+            }
+        }
+    }
+}
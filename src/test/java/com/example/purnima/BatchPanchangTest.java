@@ -0,0 +1,102 @@
+package com.example.purnima;
+
+import com.example.purnima.model.Location;
+import com.example.purnima.model.PanchangResult;
+import com.example.purnima.service.DefaultPanchangCalculator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchPanchangTest {
+
+    @AfterEach
+    public void resetLocale() {
+        LocaleContextHolder.resetLocaleContext();
+    }
+
+    @Test
+    public void testLocationsMatchSingleLocationPanchang() {
+        ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
+        messageSource.setBasename("classpath:messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        DefaultPanchangCalculator calculator = new DefaultPanchangCalculator(messageSource);
+
+        LocaleContextHolder.setLocale(new Locale("hi"));
+
+        // Time zones from UTC-10 to UTC+14, enough locations to run in parallel
+        List<Location> locations = new ArrayList<>();
+        locations.add(new Location("Mumbai", 19.0760, 72.8777, ZoneId.of("Asia/Kolkata")));
+        locations.add(new Location("Delhi", 28.6139, 77.2090, ZoneId.of("Asia/Kolkata")));
+        locations.add(new Location("Chennai", 13.0827, 80.2707, ZoneId.of("Asia/Kolkata")));
+        locations.add(new Location("Kathmandu", 27.7172, 85.3240, ZoneId.of("Asia/Kathmandu")));
+        locations.add(new Location("Singapore", 1.3521, 103.8198, ZoneId.of("Asia/Singapore")));
+        locations.add(new Location("Tokyo", 35.6762, 139.6503, ZoneId.of("Asia/Tokyo")));
+        locations.add(new Location("Sydney", -33.8688, 151.2093, ZoneId.of("Australia/Sydney")));
+        locations.add(new Location("Auckland", -36.8485, 174.7633, ZoneId.of("Pacific/Auckland")));
+        locations.add(new Location("Kiritimati", 1.8721, -157.4278, ZoneId.of("Pacific/Kiritimati")));
+        locations.add(new Location("Honolulu", 21.3069, -157.8583, ZoneId.of("Pacific/Honolulu")));
+        locations.add(new Location("Los Angeles", 34.0522, -118.2437, ZoneId.of("America/Los_Angeles")));
+        locations.add(new Location("New York", 40.7128, -74.0060, ZoneId.of("America/New_York")));
+        locations.add(new Location("Sao Paulo", -23.5505, -46.6333, ZoneId.of("America/Sao_Paulo")));
+        locations.add(new Location("London", 51.5074, -0.1278, ZoneId.of("Europe/London")));
+        locations.add(new Location("Johannesburg", -26.2041, 28.0473, ZoneId.of("Africa/Johannesburg")));
+        locations.add(new Location("Dubai", 25.2048, 55.2708, ZoneId.of("Asia/Dubai")));
+        locations.add(new Location("Tromso", 69.6492, 18.9553, ZoneId.of("Europe/Oslo")));
+        locations.add(new Location("Reykjavik", 64.1466, -21.9426, ZoneId.of("Atlantic/Reykjavik")));
+
+        LocalDate date = LocalDate.of(2024, 3, 25);
+        List<PanchangResult> results = calculator.calculatePanchangForLocations(date, locations);
+        assertEquals(locations.size(), results.size());
+
+        for (int i = 0; i < locations.size(); i++) {
+            Location location = locations.get(i);
+            PanchangResult expected = calculator.calculatePanchang(date, location.getLatitude(), location.getLongitude(),
+                                                                   location.getPlaceName(), location.getTimeZone());
+            PanchangResult actual = results.get(i);
+
+            assertEquals(location.getPlaceName(), actual.getPlaceName());
+            assertEquals(expected.getSunrise(), actual.getSunrise());
+            assertEquals(expected.getSunset(), actual.getSunset());
+            assertElementsMatch(expected.getTithi(), actual.getTithi(),
+                t -> t.getTithiNumber() + " " + t.getTithiName(), PanchangResult.TithiInfo::getEndTime);
+            assertElementsMatch(expected.getNakshatra(), actual.getNakshatra(),
+                n -> n.getNakshatraNumber() + " " + n.getNakshatraName(), PanchangResult.NakshatraInfo::getEndTime);
+            assertElementsMatch(expected.getYoga(), actual.getYoga(),
+                y -> y.getYogaNumber() + " " + y.getYogaName(), PanchangResult.YogaInfo::getEndTime);
+            assertElementsMatch(expected.getKarana(), actual.getKarana(),
+                k -> k.getKaranaNumber() + " " + k.getKaranaName(), PanchangResult.KaranaInfo::getEndTime);
+        }
+    }
+
+    private static <T> void assertElementsMatch(List<T> expected, List<T> actual, Function<T, String> name, Function<T, String> endTime) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            // Workers must use the caller's locale
+            assertEquals(name.apply(expected.get(i)), name.apply(actual.get(i)));
+            String expectedEnd = endTime.apply(expected.get(i));
+            String actualEnd = endTime.apply(actual.get(i));
+            if (!expectedEnd.contains(":") || !actualEnd.contains(":")) {
+                assertEquals(expectedEnd, actualEnd);
+                continue;
+            }
+            // Interpolated positions may move a boundary by one bisection step
+            assertTrue(Math.abs(minutes(expectedEnd) - minutes(actualEnd)) <= 1, expectedEnd + " vs " + actualEnd);
+        }
+    }
+
+    private static int minutes(String time) {
+        String[] parts = time.split(":");
+        return Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
+    }
+}
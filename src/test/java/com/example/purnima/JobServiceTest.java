@@ -0,0 +1,156 @@
+package com.example.purnima;
+
+import com.example.purnima.model.JobResultPage;
+import com.example.purnima.model.JobStatus;
+import com.example.purnima.model.MuhurtaSlot;
+import com.example.purnima.service.AdmissionControl.SearchType;
+import com.example.purnima.service.AdmissionRejectedException;
+import com.example.purnima.service.ComputeExecutor;
+import com.example.purnima.service.ComputeExecutor.Lane;
+import com.example.purnima.service.DefaultMuhurtaCalculator;
+import com.example.purnima.service.InMemoryJobStore;
+import com.example.purnima.service.InvalidRequestException;
+import com.example.purnima.service.JobService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JobServiceTest {
+
+    private ReloadableResourceBundleMessageSource messageSource;
+    private ComputeExecutor computeExecutor;
+    private JobService jobService;
+
+    @BeforeEach
+    public void setUp() {
+        messageSource = new ReloadableResourceBundleMessageSource();
+        messageSource.setBasename("classpath:messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        computeExecutor = new ComputeExecutor(true, 2, 4, 4);
+        jobService = new JobService(new InMemoryJobStore(), new PurnimaAstrology(true), messageSource, computeExecutor,
+                                    1, 4, 2, 31, 60);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jobService.shutdown();
+        computeExecutor.shutdown();
+    }
+
+    @Test
+    public void testMuhurtaJobMatchesSynchronousSearch() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 17, 6, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 20, 18, 0);
+        ZoneId zone = ZoneId.of("Asia/Kolkata");
+
+        JobStatus submitted = jobService.submitMuhurtaSearch(SearchType.VEHICLE, start, end, 19.0760, 72.8777, zone, "a");
+        assertEquals(4, submitted.getTotalDays());
+
+        JobStatus status = awaitTerminal(submitted.getJobId());
+        assertEquals(JobStatus.State.COMPLETED, status.getState());
+        assertEquals(4, status.getDaysProcessed());
+
+        List<MuhurtaSlot> expected = new DefaultMuhurtaCalculator(messageSource)
+            .findVehiclePurchaseMuhurta(start, end, 19.0760, 72.8777, zone);
+        assertEquals(expected.size(), status.getResultCount());
+
+        // Page size 1 walks every result, including slots merged across day boundaries
+        for (int i = 0; i < expected.size(); i++) {
+            JobResultPage page = jobService.getResults(submitted.getJobId(), i, 1);
+            MuhurtaSlot slot = (MuhurtaSlot) page.getResults().get(0);
+            assertEquals(expected.get(i).getStartTime(), slot.getStartTime());
+            assertEquals(expected.get(i).getEndTime(), slot.getEndTime());
+        }
+        assertTrue(jobService.getResults(submitted.getJobId(), expected.size(), 1).getResults().isEmpty());
+    }
+
+    @Test
+    public void testRejectsRangeLongerThanMaximum() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        assertThrows(InvalidRequestException.class, () ->
+            jobService.submitMuhurtaSearch(SearchType.MARRIAGE, start, start.plusDays(40), 19.0760, 72.8777, ZoneId.of("UTC"), "a"));
+    }
+
+    @Test
+    public void testActiveJobsAreLimitedPerClient() throws InterruptedException {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        ZoneId zone = ZoneId.of("Asia/Kolkata");
+        JobStatus first = jobService.submitCalendar(start, start.plusDays(30), 19.0760, 72.8777, "Mumbai", zone, "a");
+        JobStatus second = jobService.submitCalendar(start, start.plusDays(30), 19.0760, 72.8777, "Mumbai", zone, "a");
+        assertThrows(AdmissionRejectedException.class, () ->
+            jobService.submitCalendar(start, start.plusDays(30), 19.0760, 72.8777, "Mumbai", zone, "a"));
+        // Other clients have their own quota
+        JobStatus other = jobService.submitCalendar(start, start, 19.0760, 72.8777, "Mumbai", zone, "b");
+
+        // A cancelled job gives its slot back
+        jobService.cancel(second.getJobId());
+        JobStatus third = jobService.submitCalendar(start, start, 19.0760, 72.8777, "Mumbai", zone, "a");
+        jobService.cancel(first.getJobId());
+        assertEquals(JobStatus.State.COMPLETED, awaitTerminal(third.getJobId()).getState());
+        assertEquals(JobStatus.State.COMPLETED, awaitTerminal(other.getJobId()).getState());
+    }
+
+    @Test
+    public void testJobDaysWaitForAFullBulkLane() throws Exception {
+        // Occupy the single bulk thread and its queue of four
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newCachedThreadPool();
+        try {
+            for (int i = 0; i < 5; i++) {
+                callers.submit(() -> computeExecutor.call(Lane.BULK, () -> awaitRelease(release)));
+            }
+            LocalDate date = LocalDate.of(2024, 1, 1);
+            JobStatus submitted = jobService.submitCalendar(date, date, 19.0760, 72.8777, "Mumbai", ZoneId.of("Asia/Kolkata"), "a");
+            Thread.sleep(300);
+            assertEquals(0, jobService.getStatus(submitted.getJobId()).getDaysProcessed());
+
+            release.countDown();
+            JobStatus status = awaitTerminal(submitted.getJobId());
+            assertEquals(JobStatus.State.COMPLETED, status.getState());
+            assertEquals(1, status.getResultCount());
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnknownJob() {
+        assertNull(jobService.getStatus("no-such-job"));
+        assertNull(jobService.getResults("no-such-job", 0, 10));
+        assertNull(jobService.cancel("no-such-job"));
+    }
+
+    private static Object awaitRelease(CountDownLatch release) {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private JobStatus awaitTerminal(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        JobStatus status = jobService.getStatus(jobId);
+        while (!status.getState().isTerminal() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            status = jobService.getStatus(jobId);
+        }
+        return status;
+    }
+}
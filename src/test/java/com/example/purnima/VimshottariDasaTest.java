@@ -72,4 +72,40 @@ public class VimshottariDasaTest {
             assertNotNull(subDasa.getSignificance(), "Significance should not be null for sub-dasa");
         }
     }
+
+    @Test
+    public void testDeeperLevelsWithinWindow() {
+        VimshottariDasaCalculator calculator = new VimshottariDasaCalculator();
+        BirthData birthData = new BirthData(LocalDateTime.of(1990, 5, 15, 14, 30), 19.0760, 72.8777, "Mumbai", ZoneId.of("Asia/Kolkata"));
+        LocalDateTime target = LocalDateTime.of(2025, 3, 10, 12, 0);
+        LocalDateTime from = target.minusDays(15);
+        LocalDateTime to = target.plusDays(15);
+        
+        List<DasaResult> dasas = calculator.calculateDasas(birthData, 5, from, to);
+        DasaResult current = calculator.getCurrentDasa(birthData, target, 5);
+        assertNotNull(current);
+        
+        // The path to the target in the windowed tree is the current dasa at every level
+        List<DasaResult> periods = dasas;
+        for (int level = 1; level <= 5; level++) {
+            assertTrue(periods.size() <= 9);
+            DasaResult containing = null;
+            for (DasaResult dasa : periods) {
+                assertEquals(level, dasa.getLevel());
+                assertTrue(dasa.getEndDate().isAfter(from) && !dasa.getStartDate().isAfter(to));
+                if (!dasa.getStartDate().isAfter(target) && !dasa.getEndDate().isBefore(target)) {
+                    containing = dasa;
+                    break;
+                }
+            }
+            assertNotNull(containing);
+            assertEquals(current.getPlanet(), containing.getPlanet());
+            assertEquals(current.getStartDate(), containing.getStartDate());
+            assertEquals(current.getEndDate(), containing.getEndDate());
+            
+            periods = containing.getSubDasas();
+            current = level < 5 ? current.getSubDasas().get(0) : null;
+        }
+        assertNull(periods);
+    }
 }
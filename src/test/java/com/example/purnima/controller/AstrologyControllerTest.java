@@ -0,0 +1,41 @@
+package com.example.purnima.controller;
+
+import com.example.purnima.model.BirthData;
+import com.example.purnima.model.Location;
+import com.example.purnima.service.ComputeExecutor;
+import com.example.purnima.service.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AstrologyControllerTest {
+
+    // Rejected requests never reach the calculators
+    private final AstrologyController controller = new AstrologyController(null, null, new ComputeExecutor(false, 1, 1, 1));
+
+    @Test
+    public void testLocationsAreRequired() {
+        AstrologyController.PanchangLocationsRequest request = new AstrologyController.PanchangLocationsRequest();
+        request.setDate(LocalDate.of(2025, 1, 1));
+        assertThrows(InvalidRequestException.class, () -> controller.getPanchangForLocations(request));
+    }
+
+    @Test
+    public void testTooManyLocationsAreRejected() {
+        AstrologyController.PanchangLocationsRequest request = new AstrologyController.PanchangLocationsRequest();
+        request.setDate(LocalDate.of(2025, 1, 1));
+        request.setLocations(Collections.nCopies(AstrologyController.MAX_PANCHANG_LOCATIONS + 1,
+                                                 new Location("Mumbai", 19.076, 72.877)));
+        assertThrows(InvalidRequestException.class, () -> controller.getPanchangForLocations(request));
+    }
+
+    @Test
+    public void testTooManyChartsAreRejected() {
+        List<BirthData> birthData = Collections.nCopies(AstrologyController.MAX_BATCH_CHARTS + 1, new BirthData());
+        assertThrows(InvalidRequestException.class, () -> controller.getBirthCharts(birthData));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.purnima.controller;
+
+import com.example.purnima.model.DasaResult;
+import com.example.purnima.service.ComputeExecutor;
+import com.example.purnima.service.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DasaControllerTest {
+
+    private final DasaController controller = new DasaController(null, new ComputeExecutor(false, 1, 1, 1));
+
+    @Test
+    public void testDeepLevelsNeedABoundedWindow() {
+        assertThrows(InvalidRequestException.class, () -> dasas(4, null, "2030-01-01T00:00:00"));
+        // The whole 120-year cycle at Prana depth
+        assertThrows(InvalidRequestException.class, () -> dasas(5, "1990-05-15T14:30:00", "2110-05-15T14:30:00"));
+        assertThrows(InvalidRequestException.class, () -> dasas(5, "2025-01-01T00:00:00", "2026-01-01T00:00:01"));
+        assertThrows(InvalidRequestException.class, () -> dasas(4, "2020-01-01T00:00:00", "2030-06-01T00:00:00"));
+    }
+
+    @Test
+    public void testWindowsWithinTheCapAreServed() {
+        assertFalse(dasas(5, "2025-01-01T00:00:00", "2026-01-01T00:00:00").isEmpty());
+        assertFalse(dasas(4, "2020-01-01T00:00:00", "2030-01-01T00:00:00").isEmpty());
+    }
+
+    private List<DasaResult> dasas(int depth, String from, String to) {
+        return controller.getVimshottariDasa("1990-05-15T14:30:00", 19.076, 72.877, "Mumbai", "Asia/Kolkata",
+                                             false, depth, from, to);
+    }
+}
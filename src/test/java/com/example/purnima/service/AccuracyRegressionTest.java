@@ -0,0 +1,467 @@
+package com.example.purnima.service;
+
+import com.example.purnima.util.SwissEphCalculator;
+import de.thmac.swisseph.DblObj;
+import de.thmac.swisseph.SweConst;
+import de.thmac.swisseph.SwissEph;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards the calculators against accuracy drift.
+ * <p>
+ * Thousands of seeded instants and locations are computed both through the calculators and
+ * through direct Swiss Ephemeris calls with the same flags and ayanamsa, with parallax applied
+ * by the test's own closed-form formula. Longitudes must agree within arc-second tolerances, and Panchang boundaries and rise/set times within tolerances
+ * in seconds. Any faster computation mode (interpolation, caching, coarser root finding) has
+ * to keep these tests green.
+ * <p>
+ * The suite is tagged {@code accuracy} and left out of {@code mvn test}; run it with
+ * {@code mvn -Paccuracy test}. Tolerances and sample counts are system properties, e.g.
+ * {@code mvn -Paccuracy test -Dpurnima.accuracy.samples=20000}. Error histograms are printed
+ * and written to {@code target/accuracy}.
+ */
+@Tag("accuracy")
+public class AccuracyRegressionTest {
+
+    private static final long SEED = 42L;
+    private static final int SAMPLES = Integer.getInteger("purnima.accuracy.samples", 2000);
+    private static final double LONGITUDE_TOLERANCE_ARCSEC = tolerance("purnima.accuracy.longitude-arcsec", 1.0);
+    // The boundary search bisects 24 hours 12 times, a resolution of about 21 seconds
+    private static final double BOUNDARY_TOLERANCE_SECONDS = tolerance("purnima.accuracy.boundary-seconds", 30.0);
+    // Rise/set times are truncated to whole seconds
+    private static final double RISE_SET_TOLERANCE_SECONDS = tolerance("purnima.accuracy.rise-set-seconds", 2.0);
+    // Snapping to the 0.01 degree grid moves sunrise by up to about 4.5 seconds at 60 degrees latitude
+    private static final double RISE_SET_CACHE_TOLERANCE_SECONDS = tolerance("purnima.accuracy.rise-set-cache-seconds", 6.0);
+
+    private static final String[] BODIES = {"Sun", "Moon", "Mercury", "Venus", "Mars", "Jupiter", "Saturn", "Rahu", "Ketu"};
+    private static final int[] BODY_IDS = {
+        SweConst.SE_SUN, SweConst.SE_MOON, SweConst.SE_MERCURY, SweConst.SE_VENUS, SweConst.SE_MARS,
+        SweConst.SE_JUPITER, SweConst.SE_SATURN, SweConst.SE_MEAN_NODE, SweConst.SE_MEAN_NODE
+    };
+
+    private static SwissEph reference;
+    private static DefaultPanchangCalculator panchangCalculator;
+
+    @BeforeAll
+    public static void setUp() {
+        reference = new SwissEph();
+        reference.swe_set_ephe_path(SwissEphCalculator.getEphemerisPath());
+        reference.swe_set_sid_mode(SweConst.SE_SIDM_LAHIRI, 0, 0);
+
+        ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
+        messageSource.setBasename("classpath:messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        panchangCalculator = new DefaultPanchangCalculator(messageSource);
+    }
+
+    @Test
+    public void testLongitudesMatchDirectCalls() {
+        ErrorHistogram planets = new ErrorHistogram("planet-longitude", "arcsec");
+        ErrorHistogram ascendant = new ErrorHistogram("ascendant", "arcsec");
+        Random random = new Random(SEED);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            LocalDateTime dateTime = randomInstant(random);
+            double latitude = randomLatitude(random);
+            double longitude = randomLongitude(random);
+            double julianDay = SwissEphCalculator.dateTimeToJulianDay(dateTime);
+
+            for (int b = 0; b < BODIES.length; b++) {
+                double actual = SwissEphCalculator.calculatePlanetPosition(dateTime, latitude, longitude, BODIES[b]).getLongitude();
+                double expected = referenceLongitude(julianDay, b, latitude, longitude);
+                planets.record(angleDifference(actual, expected) * 3600, BODIES[b] + " at " + dateTime);
+            }
+
+            double[] cusps = new double[13];
+            double[] ascmc = new double[10];
+            reference.swe_houses(julianDay, SweConst.SEFLG_SIDEREAL, latitude, longitude, 'P', cusps, ascmc);
+            double actual = SwissEphCalculator.calculateAscendant(dateTime, latitude, longitude);
+            ascendant.record(angleDifference(actual, ascmc[0]) * 3600, dateTime + " at " + latitude + "," + longitude);
+        }
+
+        planets.report();
+        ascendant.report();
+        planets.assertWithin(LONGITUDE_TOLERANCE_ARCSEC);
+        ascendant.assertWithin(LONGITUDE_TOLERANCE_ARCSEC);
+    }
+
+    @Test
+    public void testPanchangBoundariesMatchReferenceRootFinding() {
+        ErrorHistogram tithi = new ErrorHistogram("boundary-tithi", "s");
+        ErrorHistogram nakshatra = new ErrorHistogram("boundary-nakshatra", "s");
+        ErrorHistogram yoga = new ErrorHistogram("boundary-yoga", "s");
+        ErrorHistogram karana = new ErrorHistogram("boundary-karana", "s");
+        Random random = new Random(SEED + 1);
+
+        // Each reference boundary costs dozens of ephemeris calls, so fewer samples are used
+        for (int i = 0; i < Math.max(1, SAMPLES / 8); i++) {
+            LocalDateTime start = randomInstant(random);
+            double lat = randomLatitude(random);
+            double lon = randomLongitude(random);
+            double startJd = SwissEphCalculator.dateTimeToJulianDay(start);
+            String sample = start + " at " + lat + "," + lon;
+
+            // Element index as a continuous function of time, with the calculators' definitions
+            compareBoundary(tithi, sample, startJd,
+                panchangCalculator.findTithiEndTime(start, lat, lon, SwissEphCalculator.calculateLunarPhase(start, lat, lon).getTithi()),
+                jd -> lunarPhase(jd, lat, lon) / 12);
+            compareBoundary(nakshatra, sample, startJd,
+                panchangCalculator.findNakshatraEndTime(start, lat, lon, SwissEphCalculator.calculateNakshatra(start, lat, lon).getNakshatraNumber()),
+                jd -> referenceLongitude(jd, 1, lat, lon) * 27 / 360);
+            compareBoundary(yoga, sample, startJd,
+                panchangCalculator.findYogaEndTime(start, lat, lon, SwissEphCalculator.calculateYoga(start, lat, lon).getYogaNumber()),
+                jd -> ((referenceLongitude(jd, 0, lat, lon) + referenceLongitude(jd, 1, lat, lon)) % 360) / 13.333333333);
+            compareBoundary(karana, sample, startJd,
+                panchangCalculator.findKaranaEndTime(start, lat, lon, SwissEphCalculator.calculateKarana(start, lat, lon).getKaranaNumber()),
+                jd -> lunarPhase(jd, lat, lon) / 6);
+        }
+
+        for (ErrorHistogram histogram : new ErrorHistogram[] {tithi, nakshatra, yoga, karana}) {
+            histogram.report();
+        }
+        for (ErrorHistogram histogram : new ErrorHistogram[] {tithi, nakshatra, yoga, karana}) {
+            histogram.assertWithin(BOUNDARY_TOLERANCE_SECONDS);
+        }
+    }
+
+    @Test
+    public void testRiseSetMatchesDirectCalls() {
+        ErrorHistogram sun = new ErrorHistogram("rise-set-sun", "s");
+        ErrorHistogram moon = new ErrorHistogram("rise-set-moon", "s");
+        Random random = new Random(SEED + 2);
+        int[] events = {SweConst.SE_CALC_RISE, SweConst.SE_CALC_SET};
+
+        for (int i = 0; i < Math.max(1, SAMPLES / 4); i++) {
+            LocalDateTime dateTime = randomInstant(random);
+            double latitude = randomLatitude(random);
+            double longitude = randomLongitude(random);
+            double julianDay = SwissEphCalculator.dateTimeToJulianDay(dateTime);
+
+            for (int event : events) {
+                for (int body : new int[] {SweConst.SE_SUN, SweConst.SE_MOON}) {
+                    ErrorHistogram histogram = body == SweConst.SE_SUN ? sun : moon;
+                    String sample = (event == SweConst.SE_CALC_RISE ? "rise " : "set ") + dateTime + " at " + latitude + "," + longitude;
+
+                    DblObj tret = new DblObj();
+                    StringBuffer serr = new StringBuffer();
+                    int ret = reference.swe_rise_trans(julianDay, body, null, SweConst.SEFLG_SWIEPH, event,
+                        new double[] {longitude, latitude, 0}, 0, 0, tret, serr);
+                    LocalDateTime actual = SwissEphCalculator.calculateRiseSet(dateTime, latitude, longitude, body, event);
+
+                    if (ret < 0 || actual == null) {
+                        // Both must agree that the event does not occur
+                        histogram.recordMismatch(ret < 0 && actual == null, sample);
+                        continue;
+                    }
+                    double actualJd = SwissEphCalculator.dateTimeToJulianDay(actual);
+                    histogram.record((actualJd - tret.val) * 86400, sample);
+                }
+            }
+        }
+
+        sun.report();
+        moon.report();
+        sun.assertWithin(RISE_SET_TOLERANCE_SECONDS);
+        moon.assertWithin(RISE_SET_TOLERANCE_SECONDS);
+    }
+
+    @Test
+    public void testRiseSetCacheMatchesDirectCalls() {
+        ErrorHistogram nearest = new ErrorHistogram("rise-set-cache-nearest", "s");
+        ErrorHistogram interpolated = new ErrorHistogram("rise-set-cache-interpolated", "s");
+        RiseSetService nearestService = new RiseSetService(10_000, 0.01, false);
+        RiseSetService interpolatedService = new RiseSetService(10_000, 0.01, true);
+        Random random = new Random(SEED + 3);
+
+        for (int i = 0; i < Math.max(1, SAMPLES / 4); i++) {
+            LocalDateTime dateTime = randomInstant(random);
+            double latitude = randomLatitude(random);
+            double longitude = randomLongitude(random);
+            double julianDay = SwissEphCalculator.dateTimeToJulianDay(dateTime);
+
+            for (RiseSetService.Event event : RiseSetService.Event.values()) {
+                int flag = event == RiseSetService.Event.SUNRISE ? SweConst.SE_CALC_RISE : SweConst.SE_CALC_SET;
+                String sample = event + " " + dateTime + " at " + latitude + "," + longitude;
+                double expectedNext = referenceRiseSet(julianDay, latitude, longitude, flag);
+                double expectedPrevious = referencePreviousRiseSet(julianDay, latitude, longitude, flag);
+
+                compareRiseSet(nearest, "next " + sample, expectedNext,
+                    nearestService.next(event, julianDay, latitude, longitude));
+                compareRiseSet(nearest, "previous " + sample, expectedPrevious,
+                    nearestService.previous(event, julianDay, latitude, longitude));
+                compareRiseSet(interpolated, "next " + sample, expectedNext,
+                    interpolatedService.next(event, julianDay, latitude, longitude));
+                compareRiseSet(interpolated, "previous " + sample, expectedPrevious,
+                    interpolatedService.previous(event, julianDay, latitude, longitude));
+            }
+        }
+
+        nearest.report();
+        interpolated.report();
+        nearest.assertWithin(RISE_SET_CACHE_TOLERANCE_SECONDS);
+        interpolated.assertWithin(RISE_SET_CACHE_TOLERANCE_SECONDS);
+    }
+
+    private static void compareRiseSet(ErrorHistogram histogram, String sample, double expectedJd, double actualJd) {
+        if (Double.isNaN(expectedJd) || Double.isNaN(actualJd)) {
+            histogram.recordMismatch(Double.isNaN(expectedJd) && Double.isNaN(actualJd), sample);
+            return;
+        }
+        histogram.record((actualJd - expectedJd) * 86400, sample);
+    }
+
+    /**
+     * Next rise or set of the Sun from a direct swe_rise_trans call; NaN if it does not occur.
+     */
+    private static double referenceRiseSet(double julianDay, double latitude, double longitude, int flag) {
+        DblObj tret = new DblObj();
+        StringBuffer serr = new StringBuffer();
+        int ret = reference.swe_rise_trans(julianDay, SweConst.SE_SUN, null, SweConst.SEFLG_SWIEPH, flag,
+            new double[] {longitude, latitude, 0}, 0, 0, tret, serr);
+        return ret < 0 ? Double.NaN : tret.val;
+    }
+
+    /**
+     * Last rise or set of the Sun before julianDay, searching forward from two days earlier.
+     */
+    private static double referencePreviousRiseSet(double julianDay, double latitude, double longitude, int flag) {
+        double previous = Double.NaN;
+        double from = julianDay - 2;
+        while (true) {
+            double next = referenceRiseSet(from, latitude, longitude, flag);
+            if (Double.isNaN(next) || next >= julianDay) {
+                return previous;
+            }
+            previous = next;
+            from = next + 1.0 / 1440;
+        }
+    }
+
+    private static void compareBoundary(ErrorHistogram histogram, String sample, double startJd,
+                                        LocalDateTime actual, DoubleUnaryOperator element) {
+        double expectedJd = referenceBoundary(startJd, element);
+        if (Double.isNaN(expectedJd)) {
+            // The element lasts beyond the 24-hour search window
+            return;
+        }
+        double actualJd = SwissEphCalculator.dateTimeToJulianDay(actual);
+        histogram.record((actualJd - expectedJd) * 86400, sample);
+    }
+
+    /**
+     * First change of the element index within 24 hours of startJd, found by scanning hourly
+     * and bisecting to about 10 milliseconds; NaN if there is none.
+     */
+    private static double referenceBoundary(double startJd, DoubleUnaryOperator element) {
+        int startIndex = (int) Math.floor(element.applyAsDouble(startJd));
+        double step = 1.0 / 24;
+        double low = startJd;
+        double high = Double.NaN;
+        for (double jd = startJd + step; jd <= startJd + 1 + 1e-9; jd += step) {
+            if ((int) Math.floor(element.applyAsDouble(jd)) != startIndex) {
+                high = jd;
+                break;
+            }
+            low = jd;
+        }
+        if (Double.isNaN(high)) {
+            return Double.NaN;
+        }
+        while (high - low > 1e-7) {
+            double mid = (low + high) / 2;
+            if ((int) Math.floor(element.applyAsDouble(mid)) == startIndex) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Sidereal longitude from a direct swe_calc_ut call, corrected for parallax like the
+     * calculators but without their code.
+     */
+    private static double referenceLongitude(double julianDay, int body, double latitude, double longitude) {
+        double[] xx = new double[6];
+        StringBuffer serr = new StringBuffer();
+        int ret = reference.swe_calc_ut(julianDay, BODY_IDS[body], SweConst.SEFLG_SIDEREAL | SweConst.SEFLG_SPEED, xx, serr);
+        assertTrue(ret >= 0, "swe_calc_ut failed: " + serr);
+        if (body == 8) {
+            return (xx[0] + 180) % 360;
+        }
+        return body == 7 ? xx[0] : topocentricLongitude(xx[0], xx[1], xx[2], julianDay, latitude, longitude);
+    }
+
+    /**
+     * Topocentric ecliptic longitude by Meeus, Astronomical Algorithms, eq. 40.6, with the
+     * calculators' model: a spheroidal Earth without height, mean sidereal time (eq. 12.4) and
+     * the true obliquity of date.
+     */
+    private static double topocentricLongitude(double lon, double lat, double distance, double julianDay,
+                                               double latitude, double longitude) {
+        double[] nutation = new double[6];
+        StringBuffer serr = new StringBuffer();
+        assertTrue(reference.swe_calc_ut(julianDay, SweConst.SE_ECL_NUT, 0, nutation, serr) >= 0,
+                   "swe_calc_ut failed: " + serr);
+        double epsilon = Math.toRadians(nutation[0]);
+
+        double d = julianDay - 2451545.0;
+        double t = d / 36525;
+        double theta = Math.toRadians(280.46061837 + 360.98564736629 * d + 0.000387933 * t * t
+                                      - t * t * t / 38710000 + longitude);
+        double u = Math.atan((1 - 1 / 298.257223563) * Math.tan(Math.toRadians(latitude)));
+        double sinPi = 1 / (23454.7910 * distance);
+
+        double lambda = Math.toRadians(lon);
+        double beta = Math.toRadians(lat);
+        double n = Math.cos(lambda) * Math.cos(beta) - Math.cos(u) * sinPi * Math.cos(theta);
+        double y = Math.sin(lambda) * Math.cos(beta)
+            - sinPi * (Math.sin(u) * Math.sin(epsilon) + Math.cos(u) * Math.cos(epsilon) * Math.sin(theta));
+        double result = Math.toDegrees(Math.atan2(y, n));
+        return result < 0 ? result + 360 : result;
+    }
+
+    private static double lunarPhase(double julianDay, double latitude, double longitude) {
+        double phase = referenceLongitude(julianDay, 1, latitude, longitude) - referenceLongitude(julianDay, 0, latitude, longitude);
+        return phase < 0 ? phase + 360 : phase;
+    }
+
+    private static double angleDifference(double a, double b) {
+        double difference = (a - b) % 360;
+        if (difference > 180) {
+            difference -= 360;
+        } else if (difference < -180) {
+            difference += 360;
+        }
+        return difference;
+    }
+
+    private static LocalDateTime randomInstant(Random random) {
+        return LocalDateTime.of(1950, 1, 1, 0, 0).plusSeconds((long) (random.nextDouble() * 100 * 365.25 * 86400));
+    }
+
+    // Rise and set are not defined inside the polar circles on many days
+    private static double randomLatitude(Random random) {
+        return -60 + random.nextDouble() * 120;
+    }
+
+    private static double randomLongitude(Random random) {
+        return -180 + random.nextDouble() * 360;
+    }
+
+    private static double tolerance(String property, double defaultValue) {
+        String value = System.getProperty(property);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    /**
+     * Signed errors of one quantity, bucketed by magnitude.
+     */
+    private static final class ErrorHistogram {
+        private static final double[] EDGES = {0, 0.001, 0.01, 0.1, 0.5, 1, 2, 5, 10, 30, 60, 300};
+
+        private final String name;
+        private final String unit;
+        private final long[] counts = new long[EDGES.length];
+        private double[] errors = new double[1024];
+        private int size;
+        private int mismatches;
+        private double worst;
+        private String worstSample;
+        private String mismatchSample;
+
+        ErrorHistogram(String name, String unit) {
+            this.name = name;
+            this.unit = unit;
+        }
+
+        void record(double error, String sample) {
+            double magnitude = Math.abs(error);
+            int bucket = EDGES.length - 1;
+            while (bucket > 0 && magnitude < EDGES[bucket]) {
+                bucket--;
+            }
+            counts[bucket]++;
+            if (size == errors.length) {
+                errors = Arrays.copyOf(errors, size * 2);
+            }
+            errors[size++] = error;
+            if (worstSample == null || magnitude > worst) {
+                worst = magnitude;
+                worstSample = sample;
+            }
+        }
+
+        void recordMismatch(boolean agree, String sample) {
+            if (!agree) {
+                mismatches++;
+                mismatchSample = sample;
+            }
+        }
+
+        void report() {
+            double[] sorted = Arrays.copyOf(errors, size);
+            Arrays.sort(sorted);
+            StringBuilder out = new StringBuilder();
+            out.append(String.format(Locale.ROOT, "%s: %d samples, error %s min %.4f, median %.4f, p99 %.4f, max %.4f, max |error| %.4f%n",
+                name, size, unit, percentile(sorted, 0), percentile(sorted, 50), percentile(sorted, 99),
+                percentile(sorted, 100), worst));
+            for (int i = 0; i < EDGES.length; i++) {
+                String range = "[" + plain(EDGES[i]) + ", " + (i + 1 < EDGES.length ? plain(EDGES[i + 1]) : "inf") + ")";
+                int bar = size == 0 ? 0 : (int) Math.round(50.0 * counts[i] / size);
+                out.append(String.format(Locale.ROOT, "  |error| %-14s %8d %s%n", range, counts[i], "#".repeat(bar)));
+            }
+            if (mismatches > 0) {
+                out.append(String.format(Locale.ROOT, "  %d samples where only one side found the event, e.g. %s%n",
+                    mismatches, mismatchSample));
+            }
+            System.out.print(out);
+
+            try {
+                Path directory = Paths.get("target", "accuracy");
+                Files.createDirectories(directory);
+                Files.writeString(directory.resolve(name + ".txt"), out, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void assertWithin(double tolerance) {
+            assertEquals(0, mismatches, name + ": event found by only one side, e.g. " + mismatchSample);
+            assertTrue(worst <= tolerance, String.format(Locale.ROOT,
+                "%s: max error %.4f %s exceeds tolerance %.4f %s (%s)", name, worst, unit, tolerance, unit, worstSample));
+        }
+
+        private static String plain(double value) {
+            return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+        }
+
+        private static double percentile(double[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+    }
+}
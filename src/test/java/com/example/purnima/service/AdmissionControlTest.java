@@ -0,0 +1,101 @@
+package com.example.purnima.service;
+
+import com.example.purnima.service.AdmissionControl.SearchType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdmissionControlTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    // A week of marriage search: 336 slots on 4 of 7 days at 9 calls each
+    private static final LocalDateTime END = START.plusDays(7);
+    private static final double WEEK_COST = 1728;
+
+    @Test
+    public void testEstimatedCost() {
+        assertEquals(WEEK_COST, AdmissionControl.estimateCost(SearchType.MARRIAGE, START, END), 1e-9);
+        assertEquals(0, AdmissionControl.estimateCost(SearchType.MARRIAGE, END, START), 1e-9);
+    }
+
+    @Test
+    public void testOversizedRequestIsRejected() {
+        AdmissionControl admission = new AdmissionControl(true, WEEK_COST - 1, 1e9, 1e9, 1e9, 1e9, 0, 10, new String[0], new SimpleMeterRegistry());
+        assertThrows(AdmissionRejectedException.class, () -> search(admission, "a"));
+    }
+
+    @Test
+    public void testExhaustedClientIsRejectedUntilRefilled() throws Exception {
+        // Budget for one search, refilled in under 100 ms
+        AdmissionControl admission = admission(20_000, 10);
+        search(admission, "a");
+        assertThrows(AdmissionRejectedException.class, () -> search(admission, "a"));
+        // Other clients have their own budget
+        search(admission, "b");
+
+        Thread.sleep(200);
+        search(admission, "a");
+    }
+
+    @Test
+    public void testShortWaitIsQueued() {
+        AdmissionControl admission = new AdmissionControl(true, 1e9, 2000, 20_000, 1e9, 1e9, 1000, 10, new String[0], new SimpleMeterRegistry());
+        search(admission, "a");
+        long startNanos = System.nanoTime();
+        search(admission, "a");
+        // The second search waits for about (1728 - 272) / 20000 s
+        assertTrue(System.nanoTime() - startNanos >= 50_000_000L);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedClientIsEvicted() {
+        // Refills too slowly to matter during the test
+        AdmissionControl admission = admission(1, 2);
+        search(admission, "a");
+        search(admission, "b");
+        assertThrows(AdmissionRejectedException.class, () -> search(admission, "a"));
+
+        // c takes the place of b, the least recently used client
+        search(admission, "c");
+        assertEquals(2, admission.getClientCount());
+        assertThrows(AdmissionRejectedException.class, () -> search(admission, "a"));
+        search(admission, "b");
+    }
+
+    @Test
+    public void testMadeUpClientIdsDoNotGrowTheMap() {
+        AdmissionControl admission = admission(1, 100);
+        for (int i = 0; i < 1000; i++) {
+            search(admission, "client-" + i);
+        }
+        assertEquals(100, admission.getClientCount());
+    }
+
+    @Test
+    public void testClientIdIsOnlyTrustedFromGateways() {
+        AdmissionControl admission = admission(1, 100);
+        assertEquals("client:a", admission.clientKey("10.0.0.1", null, "a"));
+        assertEquals("client:a", admission.clientKey("10.0.0.1", "alice", "a"));
+        // Anyone else gets one budget, whatever id they send
+        assertEquals("address:192.0.2.7", admission.clientKey("192.0.2.7", null, "a"));
+        assertEquals("address:192.0.2.7", admission.clientKey("192.0.2.7", null, "b"));
+        assertEquals("user:alice", admission.clientKey("192.0.2.7", "alice", "b"));
+        assertEquals("address:10.0.0.1", admission.clientKey("10.0.0.1", null, null));
+
+        search(admission, admission.clientKey("192.0.2.7", null, "a"));
+        assertThrows(AdmissionRejectedException.class, () -> search(admission, admission.clientKey("192.0.2.7", null, "b")));
+    }
+
+    private static AdmissionControl admission(double refillPerSecond, int maxClients) {
+        return new AdmissionControl(true, 1e9, 2000, refillPerSecond, 1e9, 1e9, 0, maxClients, new String[] {"10.0.0.1"}, new SimpleMeterRegistry());
+    }
+
+    private static void search(AdmissionControl admission, String clientId) {
+        admission.admit(SearchType.MARRIAGE, START, END, clientId, () -> null);
+    }
+}
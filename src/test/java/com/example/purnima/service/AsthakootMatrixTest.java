@@ -0,0 +1,60 @@
+package com.example.purnima.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsthakootMatrixTest {
+
+    private static final int[] MAX_SCORES = {1, 2, 3, 4, 5, 6, 7, 8};
+
+    @Test
+    public void testTotalsAreTheSumOfKootas() {
+        for (int male = 0; male < AsthakootMatrix.PADA_COUNT; male++) {
+            for (int female = 0; female < AsthakootMatrix.PADA_COUNT; female++) {
+                int total = 0;
+                for (int koota = 0; koota < AsthakootMatrix.KOOTA_COUNT; koota++) {
+                    int score = AsthakootMatrix.getScore(male, female, koota);
+                    assertTrue(score >= 0 && score <= MAX_SCORES[koota]);
+                    total += score;
+                }
+                assertEquals(total, AsthakootMatrix.getTotalScore(male, female));
+            }
+        }
+    }
+
+    @Test
+    public void testSameMoonPosition() {
+        // Same nakshatra and rashi: everything agrees except Nadi, which is a dosha
+        int pada = AsthakootMatrix.padaIndex(45.0);
+        assertEquals(0, AsthakootMatrix.getScore(pada, pada, AsthakootMatrix.NADI));
+        assertEquals(7, AsthakootMatrix.getScore(pada, pada, AsthakootMatrix.BHAKOOT));
+        assertEquals(6, AsthakootMatrix.getScore(pada, pada, AsthakootMatrix.GANA));
+        assertEquals(28, AsthakootMatrix.getTotalScore(pada, pada));
+    }
+
+    @Test
+    public void testPadasWithinOneNakshatraAndRashiScoreAlike() {
+        // Ashwini lies entirely in Mesha, so its four padas have the same row
+        for (int female = 0; female < AsthakootMatrix.PADA_COUNT; female++) {
+            for (int pada = 1; pada < 4; pada++) {
+                for (int koota = 0; koota < AsthakootMatrix.KOOTA_COUNT; koota++) {
+                    assertEquals(AsthakootMatrix.getScore(0, female, koota), AsthakootMatrix.getScore(pada, female, koota));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPadaIndex() {
+        assertEquals(0, AsthakootMatrix.padaIndex(0.0));
+        assertEquals(0, AsthakootMatrix.padaIndex(3.3));
+        assertEquals(1, AsthakootMatrix.padaIndex(3.34));
+        // Krittika pada 2 is the first pada of Vrishabha
+        assertEquals(9, AsthakootMatrix.padaIndex(30.0));
+        assertEquals(107, AsthakootMatrix.padaIndex(359.999));
+        assertEquals(107, AsthakootMatrix.padaIndex(-0.1));
+        assertEquals(0, AsthakootMatrix.padaIndex(360.0));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.purnima.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BatchRunnerTest {
+
+    private static final int SIZE = 10_000;
+
+    @Test
+    public void testEveryIndexRunsOnce() {
+        assertEachIndexOnce(BatchRunner.sharedExecutor());
+    }
+
+    @Test
+    public void testCallerRunsTheBatchWhenHelpersAreRejected() {
+        Executor full = task -> {
+            throw new RejectedExecutionException("full");
+        };
+        assertEachIndexOnce(full);
+    }
+
+    @Test
+    public void testCallerRunsTheBatchWhenHelpersNeverStart() {
+        // A helper stuck behind other work must not hold up the batch
+        Executor queued = task -> { };
+        assertEachIndexOnce(queued);
+    }
+
+    @Test
+    public void testFailureIsRethrown() {
+        RuntimeException e = assertThrows(RuntimeException.class, () ->
+            BatchRunner.run(BatchRunner.sharedExecutor(), SIZE, 16, "testing", (from, to) -> {
+                if (from == 0) {
+                    throw new IllegalStateException("boom");
+                }
+            }));
+        assertEquals("Error testing", e.getMessage());
+    }
+
+    private static void assertEachIndexOnce(Executor executor) {
+        AtomicIntegerArray counts = new AtomicIntegerArray(SIZE);
+        BatchRunner.run(executor, SIZE, 16, "testing", (from, to) -> {
+            for (int i = from; i < to; i++) {
+                counts.incrementAndGet(i);
+            }
+        });
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(1, counts.get(i));
+        }
+    }
+}
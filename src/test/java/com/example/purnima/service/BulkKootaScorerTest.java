@@ -0,0 +1,116 @@
+package com.example.purnima.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkKootaScorerTest {
+
+    private static final int CANDIDATES = 10_000;
+
+    @Test
+    public void testScoresMatchTheMatrix() {
+        Random random = new Random(49);
+        byte[] padas = randomPadas(random);
+        BulkKootaScorer scorer = new BulkKootaScorer(18, true, true);
+
+        for (int q = 0; q < 20; q++) {
+            int queryPada = random.nextInt(AsthakootMatrix.PADA_COUNT);
+            boolean queryMale = random.nextBoolean();
+            // Odd bounds to exercise the scalar tail after the vector loop
+            int from = random.nextInt(50);
+            int to = CANDIDATES - random.nextInt(50);
+            byte[] scores = new byte[CANDIDATES];
+            int accepted = scorer.score(queryPada, queryMale, padas, from, to, scores);
+
+            int expectedAccepted = 0;
+            for (int i = from; i < to; i++) {
+                int expected = BulkKootaScorer.REJECTED;
+                if (padas[i] >= 0) {
+                    int male = queryMale ? queryPada : padas[i];
+                    int female = queryMale ? padas[i] : queryPada;
+                    int total = AsthakootMatrix.getTotalScore(male, female);
+                    if (total >= 18
+                            && AsthakootMatrix.getScore(male, female, AsthakootMatrix.NADI) > 0
+                            && AsthakootMatrix.getScore(male, female, AsthakootMatrix.BHAKOOT) > 0) {
+                        expected = total;
+                        expectedAccepted++;
+                    }
+                }
+                assertEquals(expected, scores[i]);
+            }
+            assertEquals(expectedAccepted, accepted);
+            assertEquals(0, scores[from > 0 ? from - 1 : to]);
+        }
+    }
+
+    @Test
+    public void testActiveKernelMatchesScalar() {
+        // The default build has no vector kernel, so this compares the scalar loop with itself;
+        // the vector profile sets purnima.koota.vector.required so the kernel is really exercised
+        if (Boolean.getBoolean("purnima.koota.vector.required")) {
+            assertTrue(BulkKootaScorer.isVectorized(), "Vector API kernel is not active");
+        }
+        Random random = new Random(7);
+        byte[] padas = new byte[CANDIDATES];
+        random.nextBytes(padas);
+        BulkKootaScorer scorer = new BulkKootaScorer();
+        for (int queryPada = 0; queryPada < AsthakootMatrix.PADA_COUNT; queryPada += 7) {
+            byte[] row = scorer.scoreRow(queryPada, queryPada % 2 == 0);
+            byte[] expected = new byte[CANDIDATES];
+            byte[] actual = new byte[CANDIDATES];
+            int expectedAccepted = BulkKootaScorer.SCALAR.score(row, padas, 3, CANDIDATES, expected);
+            assertEquals(expectedAccepted, scorer.score(queryPada, queryPada % 2 == 0, padas, 3, CANDIDATES, actual));
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testSelectTopMatchesSort() {
+        Random random = new Random(11);
+        byte[] padas = randomPadas(random);
+        byte[] scores = new byte[CANDIDATES];
+        new BulkKootaScorer(10, false, false).score(42, false, padas, 0, CANDIDATES, scores);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 100; i < CANDIDATES; i++) {
+            if (scores[i] >= 0) {
+                expected.add(i);
+            }
+        }
+        // Stable, so ties stay in index order
+        expected.sort(Comparator.comparingInt(i -> -scores[i]));
+
+        for (int limit : new int[] {0, 1, 37, 500, CANDIDATES}) {
+            int[] top = BulkKootaScorer.selectTop(scores, 100, CANDIDATES, limit);
+            assertEquals(Math.min(limit, expected.size()), top.length);
+            for (int k = 0; k < top.length; k++) {
+                assertEquals((int) expected.get(k), top[k]);
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        BulkKootaScorer scorer = new BulkKootaScorer();
+        assertThrows(IllegalArgumentException.class, () -> scorer.score(108, true, new byte[4], 0, 4, new byte[4]));
+        assertThrows(IllegalArgumentException.class, () -> scorer.score(0, true, new byte[4], 0, 5, new byte[5]));
+    }
+
+    private static byte[] randomPadas(Random random) {
+        byte[] padas = new byte[CANDIDATES];
+        for (int i = 0; i < CANDIDATES; i++) {
+            // About one in fifty has no known Moon
+            padas[i] = random.nextInt(50) == 0 ? BulkKootaScorer.REJECTED : (byte) random.nextInt(AsthakootMatrix.PADA_COUNT);
+        }
+        return padas;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.purnima.service;
+
+import com.example.purnima.api.ChartGenerator.ChartFormat;
+import com.example.purnima.model.BirthData;
+import com.example.purnima.model.ChartResult;
+import com.example.purnima.model.Planet;
+import com.example.purnima.model.Rashi;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Golden output of the streaming chart writers. The chart is built by hand, so the
+ * expected text covers escaping, negative degrees and rounding at the half-way points.
+ */
+public class ChartFormatWriterTest {
+
+    private final AccurateChartGenerator generator = new AccurateChartGenerator(new StaticMessageSource());
+
+    @Test
+    public void testCsv() {
+        assertEquals("""
+            Planet,Rashi,Degree,House,Retrograde,Exaltation
+            Sun,Aries,1.01,1,No,Exalted Sign
+            Moon,Taurus,0.29,2,Yes,"Own, ""Sign\"""
+            Mars,Capricorn,-12.35,10,No,Neutral
+            Mercury,Pisces,30.00,12,No,"Debilitated
+            Sign"
+            Jupiter,Gemini,0.00,3,Yes,<b>
+            Venus,Leo,10.08,5,No,
+            """, generator.generateChartInFormat(chart(), ChartFormat.CSV));
+    }
+
+    @Test
+    public void testHtml() {
+        assertEquals("""
+            <!DOCTYPE html>
+            <html>
+            <head>
+            <title>Birth Chart - Tom &amp; &quot;Jerry&#39;s&quot; &lt;Place&gt;</title>
+            <style>
+            body { font-family: Arial, sans-serif; margin: 20px; }
+            table { border-collapse: collapse; width: 100%; }
+            th, td { border: 1px solid #ddd; padding: 8px; text-align: left; }
+            th { background-color: #f2f2f2; }
+            </style>
+            </head>
+            <body>
+            <h1>Birth Chart (Swiss Ephemeris)</h1>
+            <p><strong>Name:</strong> Tom &amp; &quot;Jerry&#39;s&quot; &lt;Place&gt;</p>
+            <p><strong>Date &amp; Time:</strong> 1990-05-15T14:30</p>
+            <p><strong>Ascendant:</strong> Aries</p>
+            <h2>Planetary Positions</h2>
+            <table>
+            <tr><th>Planet</th><th>Rashi</th><th>Degree</th><th>House</th><th>Retrograde</th><th>Exaltation</th></tr>
+            <tr>
+            <td>Sun</td>
+            <td>Aries</td>
+            <td>1.01°</td>
+            <td>1</td>
+            <td>No</td>
+            <td>Exalted Sign</td>
+            </tr>
+            <tr>
+            <td>Moon</td>
+            <td>Taurus</td>
+            <td>0.29°</td>
+            <td>2</td>
+            <td>Yes</td>
+            <td>Own, &quot;Sign&quot;</td>
+            </tr>
+            <tr>
+            <td>Mars</td>
+            <td>Capricorn</td>
+            <td>-12.35°</td>
+            <td>10</td>
+            <td>No</td>
+            <td>Neutral</td>
+            </tr>
+            <tr>
+            <td>Mercury</td>
+            <td>Pisces</td>
+            <td>30.00°</td>
+            <td>12</td>
+            <td>No</td>
+            <td>Debilitated
+            Sign</td>
+            </tr>
+            <tr>
+            <td>Jupiter</td>
+            <td>Gemini</td>
+            <td>0.00°</td>
+            <td>3</td>
+            <td>Yes</td>
+            <td>&lt;b&gt;</td>
+            </tr>
+            <tr>
+            <td>Venus</td>
+            <td>Leo</td>
+            <td>10.08°</td>
+            <td>5</td>
+            <td>No</td>
+            <td></td>
+            </tr>
+            </table>
+            </body>
+            </html>""", generator.generateChartInFormat(chart(), ChartFormat.HTML));
+    }
+
+    @Test
+    public void testXml() {
+        String expectedPlanets = planetXml("Sun", "Aries", "1.005", "1", "false", "Exalted Sign")
+            + planetXml("Moon", "Taurus", "0.285", "2", "true", "Own, \"Sign\"")
+            + planetXml("Mars", "Capricorn", "-12.345", "10", "false", "Neutral")
+            + planetXml("Mercury", "Pisces", "29.995", "12", "false", "Debilitated\nSign")
+            + planetXml("Jupiter", "Gemini", "-0.001", "3", "true", "&lt;b&gt;")
+            + "\n    <planet>\n      <name>Venus</name>\n      <rashi>Leo</rashi>\n      <degree>10.075</degree>"
+            + "\n      <house>5</house>\n      <retrograde>false</retrograde>\n      <exaltation></exaltation>\n    </planet>";
+        assertEquals("""
+            <?xml version="1.0" encoding="UTF-8"?>
+            <birthChart>
+              <birthData>
+                <dateTime>1990-05-15T14:30</dateTime>
+                <latitude>19.076</latitude>
+                <longitude>72.877</longitude>
+                <placeName>Tom &amp; "Jerry's" &lt;Place&gt;</placeName>
+              </birthData>
+              <ascendant>Aries</ascendant>
+              <planets>""" + expectedPlanets + """
+
+              </planets>
+            </birthChart>""", generator.generateChartInFormat(chart(), ChartFormat.XML));
+    }
+
+    @Test
+    public void testTextRoundsDegrees() {
+        String text = generator.generateChartInFormat(chart(), ChartFormat.TEXT);
+        assertEquals("""
+            ASCENDANT (LAGNA)
+            Rashi: Aries (Mesha)
+            Degree: 12.35°
+
+            PLANETARY POSITIONS
+            ==================
+            Sun: Aries 1.01°
+            Moon: Taurus 0.29°
+            Mars: Capricorn -12.35°
+            Mercury: Pisces 30.00°
+            Jupiter: Gemini 0.00°
+            Venus: Leo 10.08°
+            """, text.substring(text.indexOf("ASCENDANT")));
+    }
+
+    private static String planetXml(String name, String rashi, String degree, String house,
+                                    String retrograde, String exaltation) {
+        return "\n    <planet>\n      <name>" + name + "</name>\n      <rashi>" + rashi + "</rashi>"
+            + "\n      <degree>" + degree + "</degree>\n      <house>" + house + "</house>"
+            + "\n      <retrograde>" + retrograde + "</retrograde>\n      <exaltation>" + exaltation + "</exaltation>"
+            + "\n    </planet>";
+    }
+
+    /**
+     * Chart whose names need escaping and whose degrees sit on rounding boundaries:
+     * 1.005, 0.285 and 10.075 are just below the half-way point in binary, -12.345 is
+     * negative, 29.995 carries into the next degree and -0.001 rounds to zero.
+     */
+    private static ChartResult chart() {
+        BirthData birthData = new BirthData(LocalDateTime.of(1990, 5, 15, 14, 30), 19.076, 72.877,
+                                            "Tom & \"Jerry's\" <Place>");
+        ChartResult.PlanetaryPosition[] positions = {
+            position(Planet.SUN, Rashi.MESH, 1.005, 1, false, "Exalted Sign"),
+            position(Planet.MOON, Rashi.VRISHABH, 0.285, 2, true, "Own, \"Sign\""),
+            position(Planet.MARS, Rashi.MAKAR, -12.345, 10, false, "Neutral"),
+            position(Planet.MERCURY, Rashi.MEEN, 29.995, 12, false, "Debilitated\nSign"),
+            position(Planet.JUPITER, Rashi.MITHUN, -0.001, 3, true, "<b>"),
+            position(Planet.VENUS, Rashi.SINH, 10.075, 5, false, null)
+        };
+        ChartResult.House[] houses = {
+            new ChartResult.House(1, Rashi.MESH, "Aries", 12.345, 42.345, new ChartResult.PlanetaryPosition[0])
+        };
+        return new ChartResult(birthData, positions, houses);
+    }
+
+    private static ChartResult.PlanetaryPosition position(Planet planet, Rashi rashi, double degree, int house,
+                                                          boolean retrograde, String exaltation) {
+        return new ChartResult.PlanetaryPosition(planet, planet.getEnglishName(), rashi, rashi.getEnglishName(),
+                                                 degree, house, retrograde, exaltation);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.purnima.service;
+
+import com.example.purnima.model.CompactPanchangResult;
+import com.example.purnima.model.LocaleDictionary;
+import com.example.purnima.model.PanchangResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CompactResultEncoderTest {
+
+    private static final ZoneId KOLKATA = ZoneId.of("Asia/Kolkata");
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 1);
+
+    private final CompactResultEncoder encoder = new CompactResultEncoder(new StaticMessageSource());
+
+    @Test
+    public void testTimesKeepTheirSeconds() {
+        Instant sunrise = at(7, 10, 42);
+        Instant tithiEnd = at(13, 5, 59);
+        PanchangResult panchang = panchang(
+            sunrise, new PanchangResult.TithiInfo(1, "Pratipada", "Pratipada", "00:00", "13:05",
+                                                  at(0, 0, 0), tithiEnd, true));
+
+        CompactPanchangResult compact = encoder.encodePanchang(panchang, KOLKATA);
+        assertEquals(sunrise.getEpochSecond(), (long) compact.getSunrise());
+        assertEquals(DATE.atStartOfDay(KOLKATA).toEpochSecond(), compact.getDayStart());
+        assertEquals(DATE.atStartOfDay(KOLKATA).toEpochSecond(), (long) compact.getTithi().get(0).getStart());
+        assertEquals(tithiEnd.getEpochSecond(), (long) compact.getTithi().get(0).getEnd());
+    }
+
+    @Test
+    public void testElementEndingNextDayKeepsItsEnd() {
+        Instant nextDay = DATE.plusDays(1).atTime(3, 20, 15).atZone(KOLKATA).toInstant();
+        PanchangResult panchang = panchang(
+            at(7, 10, 42), new PanchangResult.TithiInfo(2, "Dwitiya", "Dwitiya", "00:00", "Next Day",
+                                                        at(0, 0, 0), nextDay, true));
+
+        CompactPanchangResult compact = encoder.encodePanchang(panchang, KOLKATA);
+        assertEquals(nextDay.getEpochSecond(), (long) compact.getTithi().get(0).getEnd());
+    }
+
+    @Test
+    public void testDisplayTimesAreUsedWithoutInstants() {
+        PanchangResult panchang = panchang(
+            null, new PanchangResult.TithiInfo(3, "Tritiya", "Tritiya", "00:00", "Next Day", true));
+
+        CompactPanchangResult compact = encoder.encodePanchang(panchang, KOLKATA);
+        assertEquals(DATE.atTime(7, 10).atZone(KOLKATA).toEpochSecond(), (long) compact.getSunrise());
+        assertNull(compact.getTithi().get(0).getEnd());
+        // Muhurta ranges only exist as display times
+        assertEquals(DATE.atTime(4, 30).atZone(KOLKATA).toEpochSecond(), (long) compact.getMuhurta()[0]);
+        assertEquals(DATE.atTime(5, 30).atZone(KOLKATA).toEpochSecond(), (long) compact.getMuhurta()[1]);
+    }
+
+    @Test
+    public void testDictionaryFallsBackToEnglishAndIsCached() {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("tithi.1", Locale.forLanguageTag("hi"), "प्रतिपदा");
+        CompactResultEncoder localized = new CompactResultEncoder(messageSource);
+
+        LocaleDictionary hindi = localized.getDictionary(Locale.forLanguageTag("hi"));
+        assertEquals("प्रतिपदा", hindi.getTithis()[0]);
+        assertEquals("Tithi 2", hindi.getTithis()[1]);
+        assertEquals("Sunday", hindi.getVaras()[0]);
+        assertSame(hindi, localized.getDictionary(Locale.forLanguageTag("hi")));
+    }
+
+    private static Instant at(int hour, int minute, int second) {
+        return DATE.atTime(hour, minute, second).atZone(KOLKATA).toInstant();
+    }
+
+    private static PanchangResult panchang(Instant sunrise, PanchangResult.TithiInfo tithi) {
+        PanchangResult.MuhurtaInfo muhurta = new PanchangResult.MuhurtaInfo(
+            "04:30 - 05:30", "11:45 - 12:30", "18:00 - 18:30",
+            "16:30 - 18:00", "14:30 - 16:00", "12:00 - 13:30");
+        return new PanchangResult(DATE.atStartOfDay(), 19.076, 72.877, "Mumbai",
+                                  "07:10", "17:55", null, null, sunrise, null, null, null,
+                                  List.of(tithi), new PanchangResult.VaraInfo(4, "Wednesday", "Wednesday", "Mercury"),
+                                  List.of(), List.of(), List.of(), muhurta);
+    }
+}
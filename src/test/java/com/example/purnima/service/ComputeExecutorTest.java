@@ -0,0 +1,87 @@
+package com.example.purnima.service;
+
+import com.example.purnima.service.ComputeExecutor.Lane;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ComputeExecutorTest {
+
+    // Two cores: one bulk and one interactive thread, each with a queue of one
+    private final ComputeExecutor executor = new ComputeExecutor(true, 2, 1, 1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        executor.shutdown();
+    }
+
+    @Test
+    public void testFullBulkLaneDoesNotBlockInteractive() throws Exception {
+        fillBulkLane();
+        assertEquals(42, (int) executor.call(Lane.INTERACTIVE, () -> 42));
+    }
+
+    @Test
+    public void testFullQueueIsRejected() throws Exception {
+        Future<Integer> queued = fillBulkLane();
+        assertThrows(ComputeOverloadedException.class, () -> executor.call(Lane.BULK, () -> 0));
+
+        release.countDown();
+        assertEquals(1, (int) queued.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBatchHelpersOnlyUseIdleThreads() throws Exception {
+        fillBulkLane();
+        assertThrows(RejectedExecutionException.class, () -> executor.getExecutor(Lane.BULK).execute(() -> { }));
+
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.getExecutor(Lane.INTERACTIVE).execute(ran::countDown);
+        assertTrue(ran.await(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Occupy the single bulk thread and its queue slot until the test releases them.
+     *
+     * @return The queued call
+     */
+    private Future<Integer> fillBulkLane() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        callers.submit(() -> executor.call(Lane.BULK, () -> {
+            started.countDown();
+            awaitRelease();
+            return 0;
+        }));
+        started.await(10, TimeUnit.SECONDS);
+
+        Future<Integer> queued = callers.submit(() -> executor.call(Lane.BULK, () -> 1));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (executor.getQueueDepth(Lane.BULK) < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, executor.getQueueDepth(Lane.BULK));
+        return queued;
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
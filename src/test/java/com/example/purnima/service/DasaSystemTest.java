@@ -0,0 +1,119 @@
+package com.example.purnima.service;
+
+import com.example.purnima.model.Planet;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DasaSystemTest {
+
+    private static final DasaSystem[] SYSTEMS = {DasaSystem.VIMSHOTTARI, DasaSystem.ASHTOTTARI, DasaSystem.YOGINI};
+    private static final double NAKSHATRA_DEGREES = 360.0 / 27;
+    private static final double YEAR_SECONDS = 365.25 * 86400;
+
+    @Test
+    public void testCycleTotals() {
+        assertEquals(120, DasaSystem.VIMSHOTTARI.getTotalYears());
+        assertEquals(108, DasaSystem.ASHTOTTARI.getTotalYears());
+        assertEquals(36, DasaSystem.YOGINI.getTotalYears());
+    }
+
+    @Test
+    public void testStartingLord() {
+        // Vimshottari: Ashwini is Ketu, Rohini is Moon
+        assertEquals(Planet.KETU, firstPlanet(DasaSystem.VIMSHOTTARI, 0, 0.5));
+        assertEquals(Planet.MOON, firstPlanet(DasaSystem.VIMSHOTTARI, 3, 0.5));
+        assertEquals(0.5, DasaSystem.VIMSHOTTARI.fractionElapsed(middleOf(3)), 1e-9);
+
+        // Ashtottari: Ardra to Ashlesha share the Sun's six years
+        assertEquals(Planet.SUN, firstPlanet(DasaSystem.ASHTOTTARI, 5, 0.0));
+        assertEquals(Planet.SUN, firstPlanet(DasaSystem.ASHTOTTARI, 8, 0.5));
+        assertEquals(0.0, DasaSystem.ASHTOTTARI.fractionElapsed(5 * NAKSHATRA_DEGREES + 1e-9), 1e-9);
+        assertEquals(1.5 / 4, DasaSystem.ASHTOTTARI.fractionElapsed(middleOf(6)), 1e-9);
+        // Rahu's group wraps from Uttara Bhadrapada and Revati to Ashwini and Bharani
+        assertEquals(Planet.RAHU, firstPlanet(DasaSystem.ASHTOTTARI, 0, 0.5));
+        assertEquals(2.5 / 4, DasaSystem.ASHTOTTARI.fractionElapsed(middleOf(0)), 1e-9);
+        assertEquals(Planet.VENUS, firstPlanet(DasaSystem.ASHTOTTARI, 2, 0.5));
+        assertEquals(Planet.SATURN, firstPlanet(DasaSystem.ASHTOTTARI, 21, 0.5));
+
+        // Yogini: nakshatra number + 3 modulo 8, so Ashwini is Bhramari (Mars) and Mrigashira Sankata (Rahu)
+        assertEquals(Planet.MARS, firstPlanet(DasaSystem.YOGINI, 0, 0.5));
+        assertEquals(Planet.RAHU, firstPlanet(DasaSystem.YOGINI, 4, 0.5));
+        assertEquals(Planet.MOON, firstPlanet(DasaSystem.YOGINI, 5, 0.5));
+        assertEquals(0.25, DasaSystem.YOGINI.fractionElapsed(13 * NAKSHATRA_DEGREES + NAKSHATRA_DEGREES / 4), 1e-9);
+    }
+
+    @Test
+    public void testTimelinesCoverTheHorizon() {
+        Random random = new Random(47);
+        for (DasaSystem system : SYSTEMS) {
+            for (int n = 0; n < 50; n++) {
+                double birthSecond = DasaTimeline.toEpochSecond(LocalDateTime.of(1950, 1, 1, 0, 0)) + random.nextDouble() * 1e9;
+                double moonLongitude = random.nextDouble() * 360;
+                int firstLord = system.firstLord(moonLongitude);
+                DasaTimeline timeline = new DasaTimeline(system, birthSecond, firstLord,
+                                                         system.getYears(firstLord) - system.yearsElapsed(moonLongitude), 365.25);
+
+                assertEquals(birthSecond, timeline.getMahadasaStart(0));
+                int last = timeline.getMahadasaCount() - 1;
+                assertEquals(birthSecond + system.getHorizonYears() * YEAR_SECONDS, timeline.getMahadasaEnd(last), 1e-3);
+                for (int i = 1; i <= last; i++) {
+                    assertEquals(timeline.getMahadasaEnd(i - 1), timeline.getMahadasaStart(i));
+                    assertEquals((timeline.getMahadasaLord(i - 1) + 1) % system.getLordCount(), timeline.getMahadasaLord(i));
+                }
+                // The antardasas of a full mahadasa tile it
+                if (last > 1) {
+                    int count = system.getLordCount();
+                    assertEquals(timeline.getMahadasaStart(1), timeline.getAntardasaStart(count));
+                    assertEquals(timeline.getMahadasaEnd(1), timeline.getAntardasaEnd(2 * count - 1));
+                    assertEquals(timeline.getMahadasaLord(1), timeline.getAntardasaLord(count));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFindLordsMatchesTimeline() {
+        Random random = new Random(48);
+        int[] lords = new int[DasaTimeline.PRATYANTARDASA];
+        double[] starts = new double[DasaTimeline.PRATYANTARDASA];
+        double[] ends = new double[DasaTimeline.PRATYANTARDASA];
+        int[] found = new int[DasaTimeline.PRATYANTARDASA];
+        for (DasaSystem system : SYSTEMS) {
+            for (int n = 0; n < 500; n++) {
+                double birthSecond = random.nextDouble() * 1e9;
+                double moonLongitude = random.nextDouble() * 360;
+                int firstLord = system.firstLord(moonLongitude);
+                double elapsedYears = system.yearsElapsed(moonLongitude);
+                DasaTimeline timeline = new DasaTimeline(system, birthSecond, firstLord,
+                                                         system.getYears(firstLord) - elapsedYears, 365.25);
+
+                double years = random.nextDouble() * system.getHorizonYears();
+                assertEquals(3, timeline.find(birthSecond + years * YEAR_SECONDS, DasaTimeline.PRATYANTARDASA, lords, starts, ends));
+                double yearsLeft = system.findLords(firstLord, elapsedYears + years, DasaTimeline.PRATYANTARDASA, found);
+                // Instants within rounding of a boundary may fall on either side
+                if (ends[2] - (birthSecond + years * YEAR_SECONDS) < 1e-3 || years * YEAR_SECONDS < 1e-3) {
+                    continue;
+                }
+                for (int level = 0; level < DasaTimeline.PRATYANTARDASA; level++) {
+                    assertEquals(lords[level], found[level], system.getName() + " level " + (level + 1));
+                }
+                if (ends[2] < timeline.clip(Double.POSITIVE_INFINITY)) {
+                    assertTrue(Math.abs(birthSecond + (years + yearsLeft) * YEAR_SECONDS - ends[2]) < 1e-2);
+                }
+            }
+        }
+    }
+
+    private static Planet firstPlanet(DasaSystem system, int nakshatra, double traversed) {
+        return system.getLord(system.firstLord((nakshatra + traversed) * NAKSHATRA_DEGREES + 1e-9));
+    }
+
+    private static double middleOf(int nakshatra) {
+        return (nakshatra + 0.5) * NAKSHATRA_DEGREES;
+    }
+}
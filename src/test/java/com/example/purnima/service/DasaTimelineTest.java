@@ -0,0 +1,184 @@
+package com.example.purnima.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static com.example.purnima.service.DasaSystem.VIMSHOTTARI;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DasaTimelineTest {
+
+    private static final int NATIVES = 200;
+    private static final double YEAR_SECONDS = 365.25 * 86400;
+
+    @Test
+    public void testPeriodsAreContiguousOverTheCycle() {
+        Random random = new Random(42);
+        for (int n = 0; n < NATIVES; n++) {
+            LocalDateTime birth = randomBirth(random);
+            DasaTimeline timeline = randomTimeline(random, birth);
+
+            double birthSecond = DasaTimeline.toEpochSecond(birth);
+            assertEquals(birthSecond, timeline.getMahadasaStart(0));
+            assertEquals(birthSecond + VIMSHOTTARI.getTotalYears() * YEAR_SECONDS,
+                         timeline.getMahadasaEnd(timeline.getMahadasaCount() - 1));
+
+            for (int i = 0; i < timeline.getMahadasaCount(); i++) {
+                if (i > 0) {
+                    assertEquals(timeline.getMahadasaEnd(i - 1), timeline.getMahadasaStart(i));
+                    assertEquals((timeline.getMahadasaLord(i - 1) + 1) % VIMSHOTTARI.getLordCount(), timeline.getMahadasaLord(i));
+                    if (i < timeline.getMahadasaCount() - 1) {
+                        // Full mahadasas last their years, to well under a millisecond
+                        double years = (timeline.getMahadasaEnd(i) - timeline.getMahadasaStart(i)) / YEAR_SECONDS;
+                        assertTrue(Math.abs(years - VIMSHOTTARI.getYears(timeline.getMahadasaLord(i))) * YEAR_SECONDS < 1e-3);
+                    }
+                }
+                // Visible antardasas tile the visible part of their mahadasa
+                double previousEnd = timeline.getMahadasaStart(i);
+                for (int k = 0; k < VIMSHOTTARI.getLordCount(); k++) {
+                    int antardasa = i * VIMSHOTTARI.getLordCount() + k;
+                    double start = timeline.getAntardasaStart(antardasa);
+                    double end = timeline.getAntardasaEnd(antardasa);
+                    if (end > start) {
+                        assertEquals(previousEnd, start);
+                        previousEnd = end;
+                    }
+                }
+                assertEquals(timeline.getMahadasaEnd(i), previousEnd);
+            }
+        }
+    }
+
+    @Test
+    public void testFindMatchesLinearScan() {
+        Random random = new Random(43);
+        int[] lords = new int[3];
+        double[] starts = new double[3];
+        double[] ends = new double[3];
+
+        for (int n = 0; n < NATIVES; n++) {
+            LocalDateTime birth = randomBirth(random);
+            DasaTimeline timeline = randomTimeline(random, birth);
+            double birthSecond = DasaTimeline.toEpochSecond(birth);
+            double cycleSeconds = VIMSHOTTARI.getTotalYears() * YEAR_SECONDS;
+
+            for (int q = 0; q < 50; q++) {
+                // Mostly random instants, some exactly on a mahadasa boundary
+                double instant = q % 10 == 0
+                    ? timeline.getMahadasaStart(random.nextInt(timeline.getMahadasaCount()))
+                    : birthSecond + random.nextDouble() * cycleSeconds;
+                assertEquals(3, timeline.find(instant, DasaTimeline.PRATYANTARDASA, lords, starts, ends));
+
+                int mahadasa = 0;
+                while (timeline.getMahadasaEnd(mahadasa) < instant) {
+                    mahadasa++;
+                }
+                assertEquals(timeline.getMahadasaLord(mahadasa), lords[0]);
+                assertEquals(timeline.getMahadasaStart(mahadasa), starts[0]);
+                assertEquals(timeline.getMahadasaEnd(mahadasa), ends[0]);
+
+                int antardasa = mahadasa * VIMSHOTTARI.getLordCount();
+                while (timeline.getAntardasaEnd(antardasa) <= timeline.getAntardasaStart(antardasa)
+                       || timeline.getAntardasaEnd(antardasa) < instant) {
+                    antardasa++;
+                }
+                assertEquals(timeline.getAntardasaLord(antardasa), lords[1]);
+                assertEquals(timeline.getAntardasaStart(antardasa), starts[1]);
+                assertEquals(timeline.getAntardasaEnd(antardasa), ends[1]);
+
+                // The pratyantardasa lies within its antardasa and starts the lord sequence at the antardasa lord
+                assertTrue(starts[2] >= starts[1] && ends[2] <= ends[1]);
+                assertTrue(starts[2] <= instant && instant <= ends[2]);
+                if (starts[2] == starts[1] && starts[1] > birthSecond) {
+                    assertEquals(lords[1], lords[2]);
+                }
+            }
+
+            assertEquals(0, timeline.find(birthSecond - 1, DasaTimeline.PRATYANTARDASA, lords, starts, ends));
+            assertEquals(0, timeline.find(birthSecond + cycleSeconds + 1, DasaTimeline.MAHADASA, lords, starts, ends));
+        }
+    }
+
+    @Test
+    public void testDeepPeriodsKeepTheirProportion() {
+        Random random = new Random(44);
+        int[] lords = new int[DasaTimeline.PRANA];
+        double[] starts = new double[DasaTimeline.PRANA];
+        double[] ends = new double[DasaTimeline.PRANA];
+
+        for (int n = 0; n < NATIVES; n++) {
+            LocalDateTime birth = randomBirth(random);
+            DasaTimeline timeline = randomTimeline(random, birth);
+            double birthSecond = DasaTimeline.toEpochSecond(birth);
+            double instant = birthSecond + random.nextDouble() * VIMSHOTTARI.getTotalYears() * YEAR_SECONDS;
+            assertEquals(5, timeline.find(instant, DasaTimeline.PRANA, lords, starts, ends));
+            if (starts[4] == birthSecond || ends[4] == birthSecond + VIMSHOTTARI.getTotalYears() * YEAR_SECONDS) {
+                continue;
+            }
+
+            // A prana lasts the product of its five lords' years / 120^4 years
+            double years = 1;
+            for (int level = 0; level < DasaTimeline.PRANA; level++) {
+                years *= VIMSHOTTARI.getYears(lords[level]);
+            }
+            years /= Math.pow(VIMSHOTTARI.getTotalYears(), 4);
+            assertTrue(Math.abs(ends[4] - starts[4] - years * YEAR_SECONDS) < 1e-3);
+        }
+    }
+
+    @Test
+    public void testBulkEvaluationMatchesFind() {
+        // Enough natives to run in parallel chunks
+        int size = 100_000;
+        Random random = new Random(45);
+        double[] moonLongitudes = new double[size];
+        long[] birthSeconds = new long[size];
+        long target = (long) DasaTimeline.toEpochSecond(LocalDateTime.of(2025, 1, 1, 0, 0));
+        for (int i = 0; i < size; i++) {
+            moonLongitudes[i] = random.nextDouble() * 360;
+            // Some natives are born after the target or more than 120 years before it
+            birthSeconds[i] = target - (long) ((random.nextDouble() * 130 - 5) * YEAR_SECONDS);
+        }
+
+        byte[] mahadasaLords = new byte[size];
+        byte[] antardasaLords = new byte[size];
+        byte[] pratyantardasaLords = new byte[size];
+        long[] pratyantardasaEnds = new long[size];
+        new VimshottariDasaCalculator(null, 365.25).calculateCurrentDasas(moonLongitudes, birthSeconds, target,
+            mahadasaLords, antardasaLords, pratyantardasaLords, pratyantardasaEnds);
+
+        int[] lords = new int[3];
+        double[] starts = new double[3];
+        double[] ends = new double[3];
+        for (int i = 0; i < size; i++) {
+            int firstLord = VIMSHOTTARI.firstLord(moonLongitudes[i]);
+            double yearsRemaining = VIMSHOTTARI.getYears(firstLord) * (1 - VIMSHOTTARI.fractionElapsed(moonLongitudes[i]));
+            DasaTimeline timeline = new DasaTimeline(VIMSHOTTARI, birthSeconds[i], firstLord, yearsRemaining, 365.25);
+            if (timeline.find(target, DasaTimeline.PRATYANTARDASA, lords, starts, ends) == 0) {
+                assertEquals(-1, mahadasaLords[i]);
+                continue;
+            }
+            // Instants within rounding of a boundary may fall on either side
+            if (ends[2] - target < 1e-3 || target - starts[2] < 1e-3) {
+                continue;
+            }
+            assertEquals(lords[0], mahadasaLords[i]);
+            assertEquals(lords[1], antardasaLords[i]);
+            assertEquals(lords[2], pratyantardasaLords[i]);
+            assertEquals(Math.round(ends[2]), pratyantardasaEnds[i]);
+        }
+    }
+
+    private static LocalDateTime randomBirth(Random random) {
+        return LocalDateTime.of(1900, 1, 1, 0, 0).plusSeconds((long) (random.nextDouble() * 150 * 365.25 * 86400));
+    }
+
+    private static DasaTimeline randomTimeline(Random random, LocalDateTime birth) {
+        int firstLord = random.nextInt(VIMSHOTTARI.getLordCount());
+        double yearsRemaining = VIMSHOTTARI.getYears(firstLord) * (1 - random.nextDouble());
+        return new DasaTimeline(VIMSHOTTARI, DasaTimeline.toEpochSecond(birth), firstLord, yearsRemaining, 365.25);
+    }
+}
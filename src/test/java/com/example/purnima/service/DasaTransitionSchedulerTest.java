@@ -0,0 +1,110 @@
+package com.example.purnima.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DasaTransitionSchedulerTest {
+
+    private static final int NATIVES = 2000;
+    private static final double YEAR_SECONDS = 365.25 * 86400;
+    private static final long DAY_SECONDS = 86400;
+
+    @Test
+    public void testTransitionsMatchTimelines() {
+        Random random = new Random(46);
+        double[] moonLongitudes = new double[NATIVES];
+        long[] birthSeconds = new long[NATIVES];
+        long start = (long) DasaTimeline.toEpochSecond(LocalDateTime.of(2025, 1, 1, 0, 0));
+        for (int i = 0; i < NATIVES; i++) {
+            moonLongitudes[i] = random.nextDouble() * 360;
+            // A few are born during the window or reach the end of their cycle in it
+            birthSeconds[i] = start - (long) ((random.nextDouble() * 122 - 1) * YEAR_SECONDS);
+        }
+
+        DasaTransitionScheduler scheduler = new DasaTransitionScheduler(moonLongitudes, birthSeconds, start,
+                                                                        DasaTimeline.PRATYANTARDASA, 365.25);
+        List<long[]> transitions = new ArrayList<>();
+        long until = start;
+        // Windows of varying length over two years
+        while (until < start + 2 * 365 * DAY_SECONDS) {
+            until += (1 + random.nextInt(30)) * DAY_SECONDS;
+            long windowEnd = until;
+            scheduler.advance(until, (nativeIndex, epochSecond, level, mahadasaLord, antardasaLord, pratyantardasaLord) -> {
+                assertTrue(epochSecond <= windowEnd);
+                transitions.add(new long[] {nativeIndex, epochSecond, level, mahadasaLord, antardasaLord, pratyantardasaLord});
+            });
+            assertEquals(until, scheduler.getCurrentEpochSecond());
+            assertTrue(scheduler.peekNextTransition() > until);
+        }
+
+        // Each native's next transition is where its timeline says the current pratyantardasa ends
+        long[] expectedNext = new long[NATIVES];
+        int[] lords = new int[3];
+        double[] starts = new double[3];
+        double[] ends = new double[3];
+        DasaTimeline[] timelines = new DasaTimeline[NATIVES];
+        for (int i = 0; i < NATIVES; i++) {
+            int firstLord = DasaSystem.VIMSHOTTARI.firstLord(moonLongitudes[i]);
+            double yearsRemaining = DasaSystem.VIMSHOTTARI.getYears(firstLord) - DasaSystem.VIMSHOTTARI.yearsElapsed(moonLongitudes[i]);
+            timelines[i] = new DasaTimeline(DasaSystem.VIMSHOTTARI, birthSeconds[i], firstLord, yearsRemaining, 365.25);
+            expectedNext[i] = birthSeconds[i] > start ? birthSeconds[i] : nextBoundary(timelines[i], start, lords, starts, ends);
+        }
+
+        long previous = start;
+        for (long[] transition : transitions) {
+            int i = (int) transition[0];
+            long instant = transition[1];
+            assertTrue(instant >= previous);
+            previous = instant;
+            assertTrue(Math.abs(instant - expectedNext[i]) <= 1, "native " + i + " at " + instant + " expected " + expectedNext[i]);
+
+            // The periods entered are the ones running just after the boundary
+            assertEquals(3, timelines[i].find(instant + 10, DasaTimeline.PRATYANTARDASA, lords, starts, ends));
+            assertEquals(lords[0], (int) transition[3]);
+            assertEquals(lords[1], (int) transition[4]);
+            assertEquals(lords[2], (int) transition[5]);
+            expectedNext[i] = Math.round(ends[2]) < Math.round(timelines[i].clip(Double.POSITIVE_INFINITY))
+                ? Math.round(ends[2]) : Long.MAX_VALUE;
+        }
+
+        // No transition was missed
+        for (int i = 0; i < NATIVES; i++) {
+            assertTrue(expectedNext[i] > until, "native " + i + " missed a transition at " + expectedNext[i]);
+        }
+    }
+
+    @Test
+    public void testAntardasaTransitionsOnly() {
+        double[] moonLongitudes = {0.0, 100.0, 250.5};
+        long start = (long) DasaTimeline.toEpochSecond(LocalDateTime.of(2025, 1, 1, 0, 0));
+        long[] birthSeconds = {start - (long) (30 * YEAR_SECONDS), start - (long) (5 * YEAR_SECONDS), start - (long) (70 * YEAR_SECONDS)};
+        DasaTransitionScheduler scheduler = new DasaTransitionScheduler(moonLongitudes, birthSeconds, start,
+                                                                        DasaTimeline.ANTARDASA, 365.25);
+
+        int count = scheduler.advance(start + (long) (20 * YEAR_SECONDS), (nativeIndex, epochSecond, level, mahadasaLord,
+                                                                         antardasaLord, pratyantardasaLord) -> {
+            assertTrue(level == DasaTimeline.MAHADASA || level == DasaTimeline.ANTARDASA);
+            assertEquals(-1, pratyantardasaLord);
+            if (level == DasaTimeline.MAHADASA) {
+                // A mahadasa starts with its own antardasa
+                assertEquals(mahadasaLord, antardasaLord);
+            }
+        });
+        // About nine antardasas per native in 20 years
+        assertTrue(count > 3 * 5 && count < 3 * 40);
+    }
+
+    private static long nextBoundary(DasaTimeline timeline, long instant, int[] lords, double[] starts, double[] ends) {
+        if (timeline.find(instant + 1, DasaTimeline.PRATYANTARDASA, lords, starts, ends) == 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(ends[2]) < Math.round(timeline.clip(Double.POSITIVE_INFINITY)) ? Math.round(ends[2]) : Long.MAX_VALUE;
+    }
+}
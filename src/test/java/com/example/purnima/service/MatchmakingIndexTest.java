@@ -0,0 +1,76 @@
+package com.example.purnima.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MatchmakingIndexTest {
+
+    private static final int PROFILES = 20_000;
+
+    @Test
+    public void testSearchMatchesFullScan() {
+        Random random = new Random(48);
+        long[] ids = new long[PROFILES];
+        double[] moonLongitudes = new double[PROFILES];
+        boolean[] male = new boolean[PROFILES];
+        for (int i = 0; i < PROFILES; i++) {
+            ids[i] = 1_000_000L + i;
+            moonLongitudes[i] = random.nextDouble() * 360;
+            male[i] = random.nextBoolean();
+        }
+        MatchmakingIndex index = new MatchmakingIndex(ids, moonLongitudes, male);
+        assertEquals(PROFILES, index.size());
+
+        for (int q = 0; q < 50; q++) {
+            double queryMoon = random.nextDouble() * 360;
+            boolean queryMale = random.nextBoolean();
+            int queryPada = AsthakootMatrix.padaIndex(queryMoon);
+            // Only even identifiers, as a stand-in for age or location filters
+            List<MatchmakingIndex.Match> matches = index.search(queryMoon, queryMale, 100, 18, id -> id % 2 == 0);
+
+            // Scan every candidate of the opposite sex
+            List<int[]> expected = new ArrayList<>();
+            for (int i = 0; i < PROFILES; i++) {
+                if (male[i] == queryMale || ids[i] % 2 != 0) {
+                    continue;
+                }
+                int pada = AsthakootMatrix.padaIndex(moonLongitudes[i]);
+                int score = queryMale ? AsthakootMatrix.getTotalScore(queryPada, pada) : AsthakootMatrix.getTotalScore(pada, queryPada);
+                if (score >= 18) {
+                    expected.add(new int[] {i, score});
+                }
+            }
+            expected.sort(Comparator.comparingInt((int[] e) -> -e[1]));
+
+            assertEquals(Math.min(100, expected.size()), matches.size());
+            for (int k = 0; k < matches.size(); k++) {
+                MatchmakingIndex.Match match = matches.get(k);
+                assertEquals(expected.get(k)[1], match.getScore());
+                int i = (int) (match.getProfileId() - 1_000_000L);
+                assertTrue(male[i] != queryMale && match.getProfileId() % 2 == 0);
+                assertEquals(AsthakootMatrix.padaIndex(moonLongitudes[i]), match.getPada());
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyAndSmallIndexes() {
+        MatchmakingIndex empty = new MatchmakingIndex(new long[0], new double[0], new boolean[0]);
+        assertTrue(empty.search(100.0, true, 10).isEmpty());
+
+        MatchmakingIndex index = new MatchmakingIndex(new long[] {1, 2, 3}, new double[] {45.0, 45.0, 200.0},
+                                                      new boolean[] {true, false, false});
+        List<MatchmakingIndex.Match> matches = index.search(45.0, true, 10);
+        assertEquals(2, matches.size());
+        assertTrue(matches.get(0).getScore() >= matches.get(1).getScore());
+        // The same Moon position scores 28 of 36 (Nadi dosha)
+        assertEquals(28, index.search(45.0, false, 10).get(0).getScore());
+    }
+}
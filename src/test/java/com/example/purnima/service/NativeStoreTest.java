@@ -0,0 +1,167 @@
+package com.example.purnima.service;
+
+import com.example.purnima.model.BirthData;
+import com.example.purnima.model.Planet;
+import com.example.purnima.util.SwissEphCalculator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NativeStoreTest {
+
+    private static final ZoneId KOLKATA = ZoneId.of("Asia/Kolkata");
+    private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testDerivedColumnsMatchTheEphemeris() {
+        NativeStore store = new NativeStore(directory.resolve("natives"));
+        List<BirthData> natives = natives(20);
+        long[] ids = new long[natives.size()];
+        boolean[] male = new boolean[natives.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 500 + i;
+            male[i] = i % 3 == 0;
+        }
+        assertEquals(0, store.append(ids, male, natives));
+        assertEquals(20, store.append(99, true, new BirthData(LocalDateTime.of(2001, 1, 1, 0, 0), 0.0, 0.0, null, null)));
+
+        // Reopen, so everything is read back from the column files
+        NativeStore reopened = new NativeStore(directory.resolve("natives"));
+        assertEquals(21, reopened.size());
+        for (int row = 0; row < natives.size(); row++) {
+            BirthData expected = natives.get(row);
+            assertEquals(ids[row], reopened.getProfileId(row));
+            assertEquals(male[row], reopened.isMale(row));
+            BirthData birthData = reopened.getBirthData(row);
+            assertEquals(expected.getBirthDateTime(), birthData.getBirthDateTime());
+            assertEquals(expected.getLatitude(), birthData.getLatitude(), 0.0);
+            assertEquals(expected.getLongitude(), birthData.getLongitude(), 0.0);
+            assertEquals(expected.getTimeZone(), birthData.getTimeZone());
+            for (Planet planet : Planet.values()) {
+                double longitude = SwissEphCalculator.calculatePlanetPosition(expected.getBirthDateTime(),
+                    expected.getLatitude(), expected.getLongitude(), planet.getEnglishName()).getLongitude();
+                assertEquals(longitude, reopened.getLongitude(row, planet), 0.0);
+            }
+            assertEquals(SwissEphCalculator.calculateAscendant(expected.getBirthDateTime(), expected.getLatitude(),
+                expected.getLongitude()), reopened.getAscendant(row), 0.0);
+            assertEquals(AsthakootMatrix.padaIndex(reopened.getLongitude(row, Planet.MOON)), reopened.getMoonPada(row));
+        }
+        assertNull(reopened.getBirthData(20).getTimeZone());
+    }
+
+    @Test
+    public void testColumnsFeedTheBulkApis() {
+        NativeStore store = new NativeStore(directory);
+        List<BirthData> natives = natives(30);
+        long[] ids = new long[natives.size()];
+        boolean[] male = new boolean[natives.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+            male[i] = i % 2 == 0;
+        }
+        store.append(ids, male, natives);
+
+        int size = store.size();
+        double[] moons = store.getLongitudes(Planet.MOON, 0, size);
+        assertArrayEquals(ids, store.getProfileIds(0, size));
+        byte[] padas = store.getMoonPadas(0, size);
+        boolean[] storedMale = store.getMale(0, size);
+        for (int i = 0; i < size; i++) {
+            assertEquals(store.getLongitude(i, Planet.MOON), moons[i], 0.0);
+            assertEquals(AsthakootMatrix.padaIndex(moons[i]), padas[i]);
+            assertEquals(male[i], storedMale[i]);
+        }
+        assertArrayEquals(new double[] {store.getAscendant(4), store.getAscendant(5)}, store.getAscendants(4, 6), 0.0);
+
+        // Current dasas from the columns agree with the calculator working from birth data
+        VimshottariDasaCalculator calculator = new VimshottariDasaCalculator(null);
+        LocalDateTime target = LocalDateTime.of(2030, 6, 1, 0, 0);
+        byte[] mahadasas = new byte[size];
+        calculator.calculateCurrentDasas(moons, store.getBirthEpochSeconds(0, size), target.toEpochSecond(ZoneOffset.UTC),
+                                         mahadasas, new byte[size], new byte[size], null);
+        for (int i = 0; i < size; i++) {
+            assertEquals(calculator.getCurrentDasa(natives.get(i), target, false).getPlanet(),
+                         calculator.getSystem().getLord(mahadasas[i]).getEnglishName());
+        }
+
+        MatchmakingIndex index = new MatchmakingIndex(ids, moons, store.getMale(0, size));
+        assertEquals(size, index.size());
+    }
+
+    @Test
+    public void testUnfinishedAppendIsDropped() throws IOException {
+        NativeStore store = new NativeStore(directory);
+        store.append(new long[] {1, 2}, new boolean[] {true, false}, natives(2));
+
+        // A crash after writing part of the rows, before the count was committed
+        Files.write(directory.resolve("moon.col"), new byte[5], StandardOpenOption.APPEND);
+        Files.write(directory.resolve("profile-id.col"), new byte[8], StandardOpenOption.APPEND);
+
+        NativeStore reopened = new NativeStore(directory);
+        assertEquals(2, reopened.size());
+        List<BirthData> next = natives(3).subList(2, 3);
+        assertEquals(2, reopened.append(new long[] {3}, new boolean[] {true}, next));
+        assertEquals(3, reopened.getProfileId(2));
+        assertEquals(SwissEphCalculator.calculatePlanetPosition(next.get(0).getBirthDateTime(), next.get(0).getLatitude(),
+            next.get(0).getLongitude(), "Moon").getLongitude(), reopened.getLongitude(2, Planet.MOON), 0.0);
+        assertEquals(3 * Long.BYTES, Files.size(directory.resolve("profile-id.col")));
+    }
+
+    @Test
+    public void testBirthTimeIsKeptToTheSecond() {
+        NativeStore store = new NativeStore(directory);
+        LocalDateTime birth = LocalDateTime.of(1990, 5, 15, 14, 30, 12, 750_000_000);
+        store.append(7, true, new BirthData(birth, 19.076, 72.877, null, KOLKATA));
+
+        assertEquals(birth.withNano(0), store.getBirthData(0).getBirthDateTime());
+        assertEquals(birth.toEpochSecond(ZoneOffset.UTC), store.getBirthEpochSeconds(0, 1)[0]);
+    }
+
+    @Test
+    public void testRebuild() {
+        NativeStore source = new NativeStore(directory.resolve("source"));
+        List<BirthData> natives = natives(10);
+        long[] ids = {10, 11, 12, 13, 14, 15, 16, 17, 18, 19};
+        source.append(ids, new boolean[10], natives);
+
+        NativeStore rebuilt = NativeStore.rebuild(directory.resolve("source"), directory.resolve("target"));
+        assertEquals(10, rebuilt.size());
+        assertArrayEquals(ids, rebuilt.getProfileIds(0, 10));
+        assertArrayEquals(source.getLongitudes(Planet.SATURN, 0, 10), rebuilt.getLongitudes(Planet.SATURN, 0, 10), 0.0);
+        assertArrayEquals(source.getMoonPadas(0, 10), rebuilt.getMoonPadas(0, 10));
+        assertEquals(LONDON, rebuilt.getBirthData(1).getTimeZone());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> NativeStore.rebuild(directory.resolve("source"), directory.resolve("target")));
+        assertThrows(IllegalArgumentException.class, () -> rebuilt.getProfileId(10));
+        assertTrue(Files.exists(directory.resolve("target").resolve("zones.txt")));
+    }
+
+    private static List<BirthData> natives(int count) {
+        List<BirthData> natives = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LocalDateTime birth = LocalDateTime.of(1950 + i * 2, 1 + i % 12, 1 + i % 28, i % 24, (i * 7) % 60, (i * 13) % 60);
+            ZoneId zone = i % 2 == 0 ? KOLKATA : LONDON;
+            natives.add(new BirthData(birth, 10.0 + i, 70.0 + i * 0.5, "Place " + i, zone));
+        }
+        return natives;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.purnima.service;
+
+import com.example.purnima.service.RiseSetService.Event;
+import com.example.purnima.util.SwissEphCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RiseSetServiceTest {
+
+    private static final double NOON = SwissEphCalculator.dateTimeToJulianDay(LocalDateTime.of(2025, 1, 1, 6, 30));
+
+    @Test
+    public void testCacheStaysWithinItsSize() {
+        RiseSetService service = new RiseSetService(100, 0.01, false);
+        // Neighbouring nodes over several days, spread across all stripes
+        for (int day = 0; day < 5; day++) {
+            for (int node = 0; node < 100; node++) {
+                service.next(Event.SUNRISE, NOON + day, 19 + node * 0.01, 72.88);
+            }
+        }
+        assertTrue(service.size() <= 100);
+        assertTrue(service.size() > 50);
+    }
+
+    @Test
+    public void testCachedEventsMatchFreshOnes() {
+        RiseSetService small = new RiseSetService(3, 0.01, false);
+        for (int day = 0; day < 10; day++) {
+            double sunrise = small.previous(Event.SUNRISE, NOON + day, 19.076, 72.877);
+            double sunset = small.next(Event.SUNSET, NOON + day, 19.076, 72.877);
+            RiseSetService fresh = new RiseSetService(10, 0.01, false);
+            assertEquals(fresh.previous(Event.SUNRISE, NOON + day, 19.076, 72.877), sunrise, 0);
+            assertEquals(fresh.next(Event.SUNSET, NOON + day, 19.076, 72.877), sunset, 0);
+            // A second lookup is served from the cache
+            assertEquals(sunset, small.next(Event.SUNSET, NOON + day, 19.076, 72.877), 0);
+        }
+        assertTrue(small.size() <= 3);
+    }
+}
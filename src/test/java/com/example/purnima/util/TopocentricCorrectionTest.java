@@ -0,0 +1,44 @@
+package com.example.purnima.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Parallax correction against reference values worked out by hand with Meeus, Astronomical
+ * Algorithms, eq. 40.6, for a spheroidal Earth, mean sidereal time and the given obliquity.
+ */
+public class TopocentricCorrectionTest {
+
+    // A thousandth of an arc-second
+    private static final double TOLERANCE = 1e-3 / 3600;
+
+    @Test
+    public void testMoonOverMumbai() {
+        assertCorrected(150.0, 4.5, 0.00257, 2460311.0, 19.076, 72.877, 23.436, 150.467816639, 4.121714149);
+    }
+
+    @Test
+    public void testMoonSouthOfTheEquator() {
+        assertCorrected(300.0, -5.0, 0.0027, 2451545.25, -45.0, -70.0, 23.4393, 300.098166262, -4.701747326);
+    }
+
+    @Test
+    public void testMoonAtHighLatitude() {
+        assertCorrected(10.0, 0.0, 0.00243, 2440000.5, 59.9, 10.75, 23.4431, 10.068104085, -0.985943736);
+    }
+
+    @Test
+    public void testSunHasSecondsOfParallax() {
+        assertCorrected(280.0, 0.0, 0.9833, 2460311.0, 19.076, 72.877, 23.436, 279.997688022, -0.000848103);
+    }
+
+    private static void assertCorrected(double lon, double lat, double distance, double julianDay,
+                                        double latitude, double longitude, double epsilon,
+                                        double expectedLon, double expectedLat) {
+        double[] xx = {lon, lat, distance, 0, 0, 0};
+        SwissEphCalculator.applyTopocentricCorrection(xx, julianDay, latitude, longitude, epsilon);
+        assertEquals(expectedLon, xx[0], TOLERANCE);
+        assertEquals(expectedLat, xx[1], TOLERANCE);
+    }
+}
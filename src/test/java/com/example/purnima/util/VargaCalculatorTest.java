@@ -0,0 +1,64 @@
+package com.example.purnima.util;
+
+import com.example.purnima.api.ChartGenerator.VargaType;
+import com.example.purnima.util.VargaCalculator.VargaMatrix;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VargaCalculatorTest {
+
+    @Test
+    public void testNavamsaSigns() {
+        // Movable sign starts from itself, fixed from the 9th, dual from the 5th
+        assertEquals(0, VargaCalculator.calculateVargaSign(0.5, VargaType.NAVAMSA));    // Aries -> Aries
+        assertEquals(8, VargaCalculator.calculateVargaSign(29.9, VargaType.NAVAMSA));   // Aries end -> Sagittarius
+        assertEquals(9, VargaCalculator.calculateVargaSign(30.5, VargaType.NAVAMSA));   // Taurus -> Capricorn
+        assertEquals(6, VargaCalculator.calculateVargaSign(60.5, VargaType.NAVAMSA));   // Gemini -> Libra
+        assertEquals(11, VargaCalculator.calculateVargaSign(359.9, VargaType.NAVAMSA)); // Pisces end -> Pisces
+    }
+
+    @Test
+    public void testHoraAndTrimsamsa() {
+        assertEquals(4, VargaCalculator.calculateVargaSign(10, VargaType.HORA));  // Odd sign, first half -> Leo
+        assertEquals(3, VargaCalculator.calculateVargaSign(20, VargaType.HORA));  // Odd sign, second half -> Cancer
+        assertEquals(3, VargaCalculator.calculateVargaSign(40, VargaType.HORA));  // Even sign, first half -> Cancer
+        assertEquals(4, VargaCalculator.calculateVargaSign(50, VargaType.HORA));  // Even sign, second half -> Leo
+
+        assertEquals(0, VargaCalculator.calculateVargaSign(2, VargaType.TRIMSAMSA));   // Odd 0-5 -> Aries
+        assertEquals(6, VargaCalculator.calculateVargaSign(27, VargaType.TRIMSAMSA));  // Odd 25-30 -> Libra
+        assertEquals(1, VargaCalculator.calculateVargaSign(32, VargaType.TRIMSAMSA));  // Even 0-5 -> Taurus
+        assertEquals(7, VargaCalculator.calculateVargaSign(58, VargaType.TRIMSAMSA));  // Even 25-30 -> Scorpio
+    }
+
+    @Test
+    public void testRashiMatchesSign() {
+        for (int sign = 0; sign < 12; sign++) {
+            assertEquals(sign, VargaCalculator.calculateVargaSign(sign * 30 + 15, VargaType.RASHI));
+        }
+    }
+
+    @Test
+    public void testVargaMatrix() {
+        double[] longitudes = {0.5, 45.0, 200.5, 359.9};
+        VargaMatrix matrix = VargaCalculator.calculateVargaMatrix(longitudes);
+
+        assertEquals(longitudes.length, matrix.getBodyCount());
+        assertEquals(VargaCalculator.VARGA_COUNT * longitudes.length, matrix.getSigns().length);
+        for (VargaType vargaType : VargaType.values()) {
+            for (int b = 0; b < longitudes.length; b++) {
+                int sign = matrix.getSign(vargaType, b);
+                assertEquals(VargaCalculator.calculateVargaSign(longitudes[b], vargaType), sign);
+                assertTrue(sign >= 0 && sign < 12);
+                double degree = matrix.getDegree(vargaType, b);
+                assertTrue(degree >= 0 && degree < 30);
+            }
+        }
+    }
+
+    @Test
+    public void testBufferTooSmall() {
+        assertThrows(IllegalArgumentException.class,
+            () -> VargaCalculator.calculateVargaMatrix(new double[] {10, 20}, new byte[4]));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.purnima.service;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernel for {@link BulkKootaScorer}, loaded by reflection when the
+ * {@code jdk.incubator.vector} module is present.
+ * <p>
+ * The 128-byte score row is held in registers as 128 / lanes table vectors. Each pada code
+ * selects a table with its high bits and a lane with its low bits, so a vector of candidates is
+ * scored with lane shuffles and no gather from memory.
+ */
+final class VectorKootaKernel implements BulkKootaScorer.Kernel {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    private static final int TABLES = BulkKootaScorer.ROW_SIZE / LANES;
+    private static final int LANE_BITS = Integer.numberOfTrailingZeros(LANES);
+
+    public VectorKootaKernel() {
+        // A score row must fill at least one vector, which rules out species wider than 128 bytes
+        if (LANES > BulkKootaScorer.ROW_SIZE) {
+            throw new UnsupportedOperationException("Byte vectors of " + LANES + " lanes are wider than a score row");
+        }
+    }
+
+    @Override
+    public int score(byte[] row, byte[] candidatePadas, int from, int to, byte[] scores) {
+        ByteVector[] tables = new ByteVector[TABLES];
+        for (int t = 0; t < TABLES; t++) {
+            tables[t] = ByteVector.fromArray(SPECIES, row, t * LANES);
+        }
+
+        int accepted = 0;
+        int i = from;
+        for (int end = from + SPECIES.loopBound(to - from); i < end; i += LANES) {
+            ByteVector codes = ByteVector.fromArray(SPECIES, candidatePadas, i).and((byte) (BulkKootaScorer.ROW_SIZE - 1));
+            ByteVector lane = codes.and((byte) (LANES - 1));
+            ByteVector table = codes.lanewise(VectorOperators.LSHR, LANE_BITS);
+            ByteVector result = lane.selectFrom(tables[0]);
+            for (int t = 1; t < TABLES; t++) {
+                VectorMask<Byte> inTable = table.eq((byte) t);
+                result = result.blend(lane.selectFrom(tables[t]), inTable);
+            }
+            result.intoArray(scores, i);
+            accepted += result.compare(VectorOperators.GE, (byte) 0).trueCount();
+        }
+        return accepted + BulkKootaScorer.SCALAR.score(row, candidatePadas, i, to, scores);
+    }
+}